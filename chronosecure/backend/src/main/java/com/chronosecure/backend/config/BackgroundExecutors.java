@@ -0,0 +1,111 @@
+package com.chronosecure.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads of the background executors (sync, purges, recalculation, billing,
+ * report jobs). With spring.threads.virtual.enabled they are virtual threads,
+ * like the request and @Scheduled threads Spring Boot then creates; otherwise
+ * named daemon platform threads.
+ * <p>
+ * Executors keep their worker counts either way: a count is what bounds the
+ * database connections a background job holds, and with virtual threads it
+ * is the only bound left. Those counts are added up at startup, and web
+ * requests may then hold only the rest of the connection pool between them
+ * (RequestConnectionLimitingDataSource).
+ */
+@Component
+@Slf4j
+public class BackgroundExecutors {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean concurrencyLimitEnabled;
+
+    // Connections the background workers may hold at once
+    private final AtomicInteger reservedConnections = new AtomicInteger();
+    // Connections requests may hold at once; null (unlimited) until startup has finished
+    private volatile Semaphore requestConnectionPermits;
+
+    public boolean isVirtual() {
+        return virtualThreads;
+    }
+
+    public ThreadFactory threadFactory(String name) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(name + "-", 1).factory();
+        }
+        return Thread.ofPlatform().name(name + "-", 1).daemon(true).factory();
+    }
+
+    /**
+     * One worker, tasks run in submission order.
+     */
+    public ExecutorService singleThread(String name) {
+        reservedConnections.incrementAndGet();
+        return Executors.newSingleThreadExecutor(threadFactory(name));
+    }
+
+    /**
+     * At most {@code workers} tasks run at once, also on virtual threads.
+     * For pools that live as long as one job; reserve their connections once
+     * with {@link #reserveConnections}.
+     */
+    public ExecutorService bounded(String name, int workers) {
+        return Executors.newFixedThreadPool(workers, threadFactory(name));
+    }
+
+    public ScheduledExecutorService scheduler(String name) {
+        reservedConnections.incrementAndGet();
+        return Executors.newSingleThreadScheduledExecutor(threadFactory(name));
+    }
+
+    /**
+     * Count connections for workers not created here (per-job pools, TenantFairExecutor).
+     */
+    public void reserveConnections(int connections) {
+        reservedConnections.addAndGet(connections);
+    }
+
+    public Semaphore requestConnectionPermits() {
+        return requestConnectionPermits;
+    }
+
+    /**
+     * Size the request side of the pool: what the background workers do not count on.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkConnectionPool() {
+        int reserved = reservedConnections.get();
+        int forRequests = connectionPoolSize - reserved;
+        if (forRequests < 1) {
+            log.warn("Background workers ({}) can take every pooled connection ({}); requests are left one. "
+                    + "Raise spring.datasource.hikari.maximum-pool-size or lower the worker counts.",
+                    reserved, connectionPoolSize);
+            forRequests = 1;
+        }
+        requestConnectionPermits = new Semaphore(forRequests, true);
+        log.info("Background executors on {} threads; {} of {} pooled connections kept for background work, {} for requests",
+                virtualThreads ? "virtual" : "platform", reserved, connectionPoolSize, forRequests);
+        if (virtualThreads && !concurrencyLimitEnabled) {
+            // Tomcat no longer caps request threads, so nothing would stop thousands queueing on the pool
+            log.warn("Virtual threads are enabled without concurrency-limit; requests in flight are unbounded");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.chronosecure.backend.config;
+
+import com.chronosecure.backend.model.enums.SubscriptionPlan;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Billing configuration: per-plan pricing and billing run sizing.
+ * A plan without an entry is priced with the defaults (base fee of 1.00 a
+ * day plus 0.50 per head over 3), the original cost report formula.
+ */
+@Component
+@ConfigurationProperties(prefix = "billing")
+@Data
+public class BillingProperties {
+
+    private static final PlanPricing DEFAULT_PRICING = new PlanPricing();
+
+    private String currency = "AUD";
+
+    private Map<SubscriptionPlan, PlanPricing> plans = new EnumMap<>(SubscriptionPlan.class);
+
+    private Run run = new Run();
+
+    public PlanPricing pricingFor(SubscriptionPlan plan) {
+        return plan != null ? plans.getOrDefault(plan, DEFAULT_PRICING) : DEFAULT_PRICING;
+    }
+
+    @Data
+    public static class PlanPricing {
+        private BigDecimal dailyBaseFee = new BigDecimal("1.00");
+        private int includedHeadcount = 3;
+        private BigDecimal perHeadFee = new BigDecimal("0.50");
+
+        /**
+         * Usage charge for one day: every head over the included allowance.
+         */
+        public BigDecimal usageFee(int headcount) {
+            int billableHeads = Math.max(0, headcount - includedHeadcount);
+            return perHeadFee.multiply(BigDecimal.valueOf(billableHeads));
+        }
+    }
+
+    @Data
+    public static class Run {
+        // Chunks billed at once; each holds one database connection, so keep it below the pool size
+        private int parallelism = 4;
+        private int chunkSize = 200;
+    }
+}
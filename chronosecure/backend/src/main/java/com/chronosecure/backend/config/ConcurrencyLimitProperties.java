@@ -0,0 +1,45 @@
+package com.chronosecure.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive concurrency limit of the API: how many requests may run at once,
+ * moved between min and max by the measured latency, and which requests are
+ * shed first when it is reached.
+ * Request lists hold "METHOD /path/pattern" or just "/path/pattern" (any method).
+ */
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 50;
+    private int minLimit = 10;
+    // Keep below the Tomcat thread count so shedding starts before threads run out;
+    // with virtual threads it is the only cap on requests in flight
+    private int maxLimit = 180;
+
+    // Weight of each new estimate in the limit (0..1]
+    private double smoothing = 0.2;
+    // Latency increase tolerated before the limit comes down (1.5 = 50% over the long-term average)
+    private double rttTolerance = 1.5;
+    // Latency averaging window; the long-term average spans longWindow windows
+    private long windowMillis = 500;
+    private int minWindowSamples = 10;
+    private int longWindow = 600;
+
+    // Low priority requests only use this share of the limit
+    private double lowPriorityShare = 0.6;
+    // Critical requests may run over the limit by this factor before they are shed
+    private double criticalHeadroom = 1.5;
+
+    private List<String> critical = new ArrayList<>();
+    private List<String> low = new ArrayList<>();
+}
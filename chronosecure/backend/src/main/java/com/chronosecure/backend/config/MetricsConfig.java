@@ -0,0 +1,21 @@
+package com.chronosecure.backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables @Timed on service methods. Meters are named chronosecure.*; their
+ * histograms and SLO buckets are set by the management.metrics.distribution
+ * properties, and everything is scraped from /actuator/prometheus on the
+ * management port.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
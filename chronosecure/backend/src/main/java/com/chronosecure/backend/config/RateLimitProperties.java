@@ -0,0 +1,46 @@
+package com.chronosecure.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limits of the public (kiosk) endpoints, by rule name.
+ * A request is charged against every rule it matches: once in the bucket of
+ * its device (client IP plus X-Device-Id) and once in the bucket shared by
+ * every device behind that IP. X-Device-Id is set by the client, so the IP
+ * bucket is the bound that cannot be dodged.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound of live buckets; past it no device buckets are created and new devices are only limited per IP
+    private int maxBuckets = 100_000;
+
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+        // Path patterns, e.g. /api/v1/fingerprint/**
+        private List<String> paths = new ArrayList<>();
+        // HTTP methods the rule applies to; empty = all
+        private List<String> methods = new ArrayList<>();
+
+        // Burst a device may send at once, then refilled at perMinute
+        private int capacity = 30;
+        private double perMinute = 60;
+
+        // Allowance shared by all devices of one client IP (0 = ten devices' allowance)
+        private int ipCapacity = 0;
+        private double ipPerMinute = 0;
+    }
+}
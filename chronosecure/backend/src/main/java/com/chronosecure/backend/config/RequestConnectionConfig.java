@@ -0,0 +1,34 @@
+package com.chronosecure.backend.config;
+
+import com.chronosecure.backend.util.RequestConnectionLimitingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Bounds the connections web requests hold to the part of the pool the
+ * background workers do not count on (sized by BackgroundExecutors at startup).
+ */
+@Configuration
+public class RequestConnectionConfig {
+
+    @Bean
+    public static BeanPostProcessor requestConnectionLimitPostProcessor(
+            ObjectProvider<BackgroundExecutors> backgroundExecutors, Environment environment) {
+        long timeoutMillis = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof RequestConnectionLimitingDataSource)) {
+                    return new RequestConnectionLimitingDataSource(dataSource,
+                            () -> backgroundExecutors.getObject().requestConnectionPermits(), timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
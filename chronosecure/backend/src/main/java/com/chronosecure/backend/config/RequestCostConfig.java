@@ -0,0 +1,40 @@
+package com.chronosecure.backend.config;
+
+import com.chronosecure.backend.util.CostStatementInspector;
+import com.chronosecure.backend.util.CostTrackingDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Sources of per-request cost accounting (see RequestCostFilter): the
+ * DataSource is wrapped to count and time every statement, and Hibernate
+ * reports the SQL it generates.
+ */
+@Configuration
+@ConditionalOnProperty(name = "request-cost.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestCostConfig {
+
+    @Bean
+    public static BeanPostProcessor costTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CostTrackingDataSource)) {
+                    return new CostTrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer costStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CostStatementInspector());
+    }
+}
@@ -0,0 +1,12 @@
+package com.chronosecure.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (partition upkeep, nightly rollups).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,9 +1,14 @@
 package com.chronosecure.backend.config;
 
+import com.chronosecure.backend.security.ConcurrencyLimitFilter;
 import com.chronosecure.backend.security.JwtAuthenticationFilter;
+import com.chronosecure.backend.security.RateLimitFilter;
+import com.chronosecure.backend.security.RequestCostFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -28,6 +33,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -43,6 +50,9 @@ public class SecurityConfig {
 
                 // 4. Define Endpoint Permissions
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed downloads finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Allow Swagger UI access (for development)
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html",
                                 "/swagger-ui/index.html")
@@ -60,6 +70,12 @@ public class SecurityConfig {
                         // Allow Fingerprint Launch (for enrollment)
                         .requestMatchers("/api/v1/fingerprint/**").permitAll()
 
+                        // Finished report downloads are authorized by the job's download token
+                        .requestMatchers(HttpMethod.GET, "/api/v1/reports/jobs/*/download").permitAll()
+
+                        // Health checks and Prometheus scrapes; only served on the management port
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+
                         // Allow root path redirect
                         .requestMatchers("/", "/error").permitAll()
 
@@ -67,7 +83,13 @@ public class SecurityConfig {
                         .anyRequest().authenticated())
 
                 // 5. Add JWT filter before UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // 6. Rate limit the public kiosk endpoints before any token parsing or database work
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+
+                // 7. Shed load (low priority first) once latency shows the node is saturated
+                .addFilterAfter(concurrencyLimitFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -83,8 +105,12 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
 
         // ALLOW HEADERS (Content-Type for JSON, Authorization for JWT, X-Company-Id for
-        // multi-tenant)
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "X-Company-Id"));
+        // multi-tenant, X-Device-Id for per-kiosk rate limits)
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "X-Company-Id",
+                RateLimitFilter.DEVICE_ID_HEADER));
+
+        // Let kiosks read how long to back off after a 429, and the frontend the per-request cost
+        configuration.setExposedHeaders(List.of("Retry-After", RequestCostFilter.SERVER_TIMING_HEADER));
 
         // Allow credentials (cookies/auth headers)
         configuration.setAllowCredentials(true);
@@ -0,0 +1,440 @@
+package com.chronosecure.backend.config;
+
+import com.chronosecure.backend.model.AttendanceLog;
+import com.chronosecure.backend.model.AuditLog;
+import com.chronosecure.backend.model.CalculatedHours;
+import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.CompanyCalendar;
+import com.chronosecure.backend.model.Employee;
+import com.chronosecure.backend.model.TimeOffRequest;
+import com.chronosecure.backend.model.User;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import com.chronosecure.backend.model.enums.CalendarDayType;
+import com.chronosecure.backend.model.enums.SubscriptionPlan;
+import com.chronosecure.backend.model.enums.TimeOffStatus;
+import com.chronosecure.backend.model.enums.UserRole;
+import com.chronosecure.backend.repository.AttendanceLogJdbcRepository;
+import com.chronosecure.backend.repository.CompanyCalendarJdbcRepository;
+import com.chronosecure.backend.repository.EmployeeJdbcRepository;
+import com.chronosecure.backend.repository.RosterJdbcRepository;
+import com.chronosecure.backend.repository.SyntheticDataJdbcRepository;
+import com.chronosecure.backend.service.ReportCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills the database with synthetic tenants for load tests (profile synthetic-data):
+ * companies of employees with years of clock-in, break and clock-out events,
+ * leave requests, calendar overrides, calculated hours and biometric audit rows.
+ * Rows go through the JDBC bulk repositories; a manifest of the ids is written
+ * for the load harness. Nothing is written when the first company already exists.
+ */
+@Configuration
+@Profile("synthetic-data")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator {
+
+    // Rows buffered before they are sent
+    private static final int FLUSH_ROWS = 10_000;
+    private static final int KIOSKS_PER_COMPANY = 3;
+    private static final String USER_AGENT = "ChronoSecure-Kiosk/1.0";
+
+    private static final String[] FIRST_NAMES = {"Amal", "Nimali", "James", "Sofia", "Ravi", "Emma", "Kenji",
+            "Aisha", "Lucas", "Priya", "Omar", "Hannah", "Mateo", "Chloe", "Dinesh", "Olivia"};
+    private static final String[] LAST_NAMES = {"Perera", "Silva", "Smith", "Garcia", "Kumar", "Brown", "Tanaka",
+            "Khan", "Martin", "Fernando", "Ali", "Wilson", "Lopez", "Taylor", "Jayasuriya", "Moore"};
+    private static final String[] DEPARTMENTS = {"Production", "Warehouse", "Logistics", "Sales", "Maintenance",
+            "Administration"};
+    private static final String[] LEAVE_REASONS = {"Annual leave", "Sick leave", "Family event",
+            "Medical appointment"};
+
+    private final SyntheticDataProperties properties;
+    private final SyntheticDataJdbcRepository syntheticDataJdbcRepository;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final AttendanceLogJdbcRepository attendanceLogJdbcRepository;
+    private final CompanyCalendarJdbcRepository companyCalendarJdbcRepository;
+    private final RosterJdbcRepository rosterJdbcRepository;
+    private final ReportCacheService reportCacheService;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    @Bean
+    public CommandLineRunner generateSyntheticData() {
+        return args -> {
+            if (syntheticDataJdbcRepository.existsBySubdomain(subdomain(1))) {
+                log.info("Synthetic data already present ({} exists), nothing generated", subdomain(1));
+                return;
+            }
+
+            long started = System.nanoTime();
+            // Hashed once: BCrypt per admin would dominate small runs
+            String adminHash = passwordEncoder.encode(properties.getAdminPassword());
+            Rows rows = new Rows();
+
+            Path manifestPath = Path.of(properties.getManifestPath());
+            try (BufferedWriter manifest = Files.newBufferedWriter(manifestPath)) {
+                manifest.write("company_id,timezone,admin_email,employee_id,employee_code");
+                manifest.newLine();
+                for (int index = 1; index <= properties.getCompanies(); index++) {
+                    generateCompany(index, adminHash, rows, manifest);
+                }
+            }
+
+            log.info("Synthetic data generated in {}s: {} companies, {} employees, {} attendance events, "
+                            + "{} calculated days, {} leave requests, {} audit rows; manifest {}",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started), properties.getCompanies(),
+                    properties.getCompanies() * properties.getEmployeesPerCompany(), rows.logCount, rows.hoursCount,
+                    rows.timeOffCount, rows.auditCount, manifestPath.toAbsolutePath());
+        };
+    }
+
+    private void generateCompany(int index, String adminHash, Rows rows, BufferedWriter manifest) throws IOException {
+        // One generator per company, so a company's data does not depend on how many precede it
+        Random random = new Random(properties.getSeed() + index);
+        String subdomain = subdomain(index);
+        String timezone = properties.getTimezones().get((index - 1) % properties.getTimezones().size());
+        ZoneId zone = ZoneId.of(timezone);
+        LocalDate endDate = LocalDate.now(zone).minusDays(1);
+        LocalDate startDate = endDate.minusYears(properties.getYears()).plusDays(1);
+        Instant createdAt = startDate.minusDays(1).atStartOfDay(zone).toInstant();
+
+        Company company = Company.builder()
+                .id(UUID.randomUUID())
+                .name("Synthetic Company " + index)
+                .subdomain(subdomain)
+                .timezone(timezone)
+                .isActive(true)
+                .subscriptionPlan(SubscriptionPlan.PRO)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+        UUID companyId = company.getId();
+        String adminEmail = "admin@" + subdomain + ".example";
+        syntheticDataJdbcRepository.insertCompany(company);
+        syntheticDataJdbcRepository.insertUser(User.builder()
+                .id(UUID.randomUUID())
+                .companyId(companyId)
+                .email(adminEmail)
+                .passwordHash(adminHash)
+                .role(UserRole.COMPANY_ADMIN)
+                .firstName("Admin")
+                .lastName(company.getName())
+                .isActive(true)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build());
+
+        Map<LocalDate, CompanyCalendar> calendar = calendar(companyId, startDate, endDate, random);
+        companyCalendarJdbcRepository.batchUpsert(new ArrayList<>(calendar.values()));
+
+        List<Employee> employees = new ArrayList<>(properties.getEmployeesPerCompany());
+        for (int i = 1; i <= properties.getEmployeesPerCompany(); i++) {
+            String code = String.format("E%05d", i);
+            employees.add(Employee.builder()
+                    .id(UUID.randomUUID())
+                    .companyId(companyId)
+                    .employeeCode(code)
+                    .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .department(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)])
+                    .email(code.toLowerCase() + "@" + subdomain + ".example")
+                    .isActive(true)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long rosterVersion = rosterJdbcRepository.nextVersion(companyId);
+            employees.forEach(e -> e.setRosterVersion(rosterVersion));
+            employeeJdbcRepository.batchInsert(employees);
+        });
+
+        for (Employee employee : employees) {
+            manifest.write(String.join(",", companyId.toString(), timezone, adminEmail,
+                    employee.getId().toString(), employee.getEmployeeCode()));
+            manifest.newLine();
+
+            generateEmployee(employee, index, zone, startDate, endDate, calendar, random, rows);
+            rows.flushIfFull();
+        }
+        rows.flush();
+
+        // Bulk writes bypass the entity listener
+        reportCacheService.markAllChanged(companyId);
+        log.info("Synthetic company {} written: {} employees, {} to {} ({})",
+                subdomain, employees.size(), startDate, endDate, timezone);
+    }
+
+    /**
+     * Fixed and floating holidays, and a few Saturdays worked, per year of the range.
+     */
+    private Map<LocalDate, CompanyCalendar> calendar(UUID companyId, LocalDate startDate, LocalDate endDate,
+            Random random) {
+        Map<LocalDate, CompanyCalendar> entries = new TreeMap<>();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            addEntry(entries, companyId, LocalDate.of(year, 1, 1), CalendarDayType.HOLIDAY, 2.0, "New Year's Day");
+            addEntry(entries, companyId, LocalDate.of(year, 5, 1), CalendarDayType.HOLIDAY, 2.0, "Labour Day");
+            addEntry(entries, companyId, LocalDate.of(year, 12, 25), CalendarDayType.HOLIDAY, 2.0, "Christmas Day");
+
+            LocalDate companyDay = LocalDate.of(year, 1 + random.nextInt(12), 1 + random.nextInt(28))
+                    .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+            addEntry(entries, companyId, companyDay, CalendarDayType.HOLIDAY, 2.0, "Company Day");
+
+            for (int i = 0; i < 4; i++) {
+                LocalDate saturday = LocalDate.of(year, 1 + random.nextInt(12), 1)
+                        .with(TemporalAdjusters.firstInMonth(DayOfWeek.SATURDAY))
+                        .plusWeeks(random.nextInt(4));
+                addEntry(entries, companyId, saturday, CalendarDayType.WORKING_DAY, 1.5, "Stock take");
+            }
+        }
+        entries.keySet().removeIf(date -> date.isBefore(startDate) || date.isAfter(endDate));
+        return entries;
+    }
+
+    private static void addEntry(Map<LocalDate, CompanyCalendar> entries, UUID companyId, LocalDate date,
+            CalendarDayType type, double payMultiplier, String description) {
+        entries.putIfAbsent(date, new CompanyCalendar(UUID.randomUUID(), companyId, date, type, payMultiplier,
+                description));
+    }
+
+    /**
+     * Every day of the range for one employee: a habitual start time with daily
+     * jitter, a lunch break, occasional absences and forgotten clock-outs, rare
+     * weekend and holiday shifts, and approved leave credited as 8 hours.
+     */
+    private void generateEmployee(Employee employee, int companyIndex, ZoneId zone, LocalDate startDate,
+            LocalDate endDate, Map<LocalDate, CompanyCalendar> calendar, Random random, Rows rows) {
+        int shiftStartMinute = 450 + random.nextInt(121); // 07:30 to 09:30
+        int breakMinutes = random.nextBoolean() ? 30 : 60;
+        int kiosk = 1 + random.nextInt(KIOSKS_PER_COMPANY);
+        Kiosk device = new Kiosk("kiosk-" + companyIndex + "-" + kiosk, "10.0." + companyIndex + "." + kiosk);
+
+        Set<LocalDate> onLeave = leaveRequests(employee, zone, startDate, endDate, random, rows);
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            CalendarDayType type = dayType(date, calendar);
+            if (type == CalendarDayType.WORKING_DAY && onLeave.contains(date)) {
+                rows.hours.add(hours(employee, date, type, Duration.ZERO, Duration.ofHours(8),
+                        date.plusDays(1).atStartOfDay(zone).toInstant()));
+                continue;
+            }
+
+            double workProbability = type == CalendarDayType.WORKING_DAY ? 1 - properties.getAbsenceRate() : 0.05;
+            if (random.nextDouble() >= workProbability) {
+                if (type == CalendarDayType.WORKING_DAY) {
+                    rows.hours.add(hours(employee, date, type, Duration.ZERO, Duration.ZERO,
+                            date.plusDays(1).atStartOfDay(zone).toInstant()));
+                }
+                continue;
+            }
+
+            Instant clockIn = date.atStartOfDay(zone).plusMinutes(shiftStartMinute + jitter(random, 10)).toInstant();
+            Instant breakStart = clockIn.plus(Duration.ofMinutes(240 + jitter(random, 20)));
+            Instant breakEnd = breakStart.plus(Duration.ofMinutes(breakMinutes + jitter(random, 4)));
+            Instant clockOut = breakEnd.plus(Duration.ofMinutes(240 + jitter(random, 25)));
+            boolean missedClockOut = random.nextDouble() < properties.getMissedClockOutRate();
+
+            scan(employee, AttendanceEventType.CLOCK_IN, clockIn, device, random, rows);
+            scan(employee, AttendanceEventType.BREAK_START, breakStart, device, random, rows);
+            scan(employee, AttendanceEventType.BREAK_END, breakEnd, device, random, rows);
+            Duration worked = Duration.between(clockIn, breakStart);
+            if (!missedClockOut) {
+                scan(employee, AttendanceEventType.CLOCK_OUT, clockOut, device, random, rows);
+                worked = worked.plus(Duration.between(breakEnd, clockOut));
+            }
+            rows.hours.add(hours(employee, date, type, worked, Duration.ZERO, clockOut.plus(Duration.ofMinutes(5))));
+        }
+    }
+
+    /**
+     * Leave requests spread over the range, most of them approved.
+     *
+     * @return the days of approved leave
+     */
+    private Set<LocalDate> leaveRequests(Employee employee, ZoneId zone, LocalDate startDate, LocalDate endDate,
+            Random random, Rows rows) {
+        Set<LocalDate> approvedDays = new HashSet<>();
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        int count = properties.getLeaveRequestsPerYear() * properties.getYears();
+        for (int i = 0; i < count; i++) {
+            LocalDate from = startDate.plusDays(random.nextInt(days));
+            LocalDate to = from.plusDays(random.nextInt(5));
+            if (to.isAfter(endDate)) {
+                to = endDate;
+            }
+
+            double roll = random.nextDouble();
+            TimeOffStatus status = roll < 0.8 ? TimeOffStatus.APPROVED
+                    : roll < 0.9 ? TimeOffStatus.REJECTED
+                    : roll < 0.95 ? TimeOffStatus.CANCELLED
+                    : TimeOffStatus.PENDING;
+            Instant requestedAt = from.minusDays(3 + random.nextInt(25)).atStartOfDay(zone)
+                    .plusMinutes(540 + random.nextInt(480)).toInstant();
+
+            rows.timeOff.add(TimeOffRequest.builder()
+                    .id(UUID.randomUUID())
+                    .companyId(employee.getCompanyId())
+                    .employeeId(employee.getId())
+                    .startDate(from)
+                    .endDate(to)
+                    .reason(LEAVE_REASONS[random.nextInt(LEAVE_REASONS.length)])
+                    .status(status)
+                    .createdAt(requestedAt)
+                    .updatedAt(status == TimeOffStatus.PENDING ? requestedAt : requestedAt.plus(Duration.ofDays(1)))
+                    .build());
+            if (status == TimeOffStatus.APPROVED) {
+                from.datesUntil(to.plusDays(1)).forEach(approvedDays::add);
+            }
+        }
+        return approvedDays;
+    }
+
+    /**
+     * One kiosk scan: the attendance event and the audit row of its fingerprint
+     * verification, sometimes preceded by a failed attempt.
+     */
+    private void scan(Employee employee, AttendanceEventType eventType, Instant timestamp, Kiosk device,
+            Random random, Rows rows) {
+        BigDecimal confidence = BigDecimal.valueOf(0.85 + random.nextDouble() * 0.14).setScale(2, RoundingMode.HALF_UP);
+        if (random.nextDouble() < properties.getFailedVerificationRate()) {
+            rows.audits.add(verification(employee, timestamp.minusSeconds(5 + random.nextInt(20)), device,
+                    BigDecimal.valueOf(0.40 + random.nextDouble() * 0.3).setScale(2, RoundingMode.HALF_UP), false));
+        }
+        rows.audits.add(verification(employee, timestamp.minusSeconds(1), device, confidence, true));
+
+        rows.logs.add(AttendanceLog.builder()
+                .id(UUID.randomUUID())
+                .companyId(employee.getCompanyId())
+                .employee(employee)
+                .eventType(eventType)
+                .eventTimestamp(timestamp)
+                .deviceId(device.id())
+                .isOfflineSync(false)
+                .confidenceScore(confidence)
+                .build());
+    }
+
+    private static AuditLog verification(Employee employee, Instant timestamp, Kiosk device, BigDecimal confidence,
+            boolean verified) {
+        return AuditLog.builder()
+                .id(UUID.randomUUID())
+                .companyId(employee.getCompanyId())
+                .action(verified ? "BIOMETRIC_VERIFICATION_SUCCESS" : "BIOMETRIC_VERIFICATION_FAILED")
+                .resourceType("BIOMETRIC_DATA")
+                .resourceId(employee.getId())
+                .ipAddress(device.ipAddress())
+                .userAgent(USER_AGENT)
+                .details(Map.of(
+                        "employeeCode", employee.getEmployeeCode(),
+                        "confidenceScore", confidence.toPlainString(),
+                        "verified", String.valueOf(verified)))
+                .createdAt(timestamp)
+                .build();
+    }
+
+    /**
+     * Hours bucketed like the hours calculation: holidays first, then weekends by day of week.
+     */
+    private static CalculatedHours hours(Employee employee, LocalDate date, CalendarDayType type, Duration worked,
+            Duration leave, Instant calculatedAt) {
+        boolean sunday = date.getDayOfWeek() == DayOfWeek.SUNDAY;
+        return CalculatedHours.builder()
+                .id(UUID.randomUUID())
+                .companyId(employee.getCompanyId())
+                .employee(employee)
+                .workDate(date)
+                .totalHoursWorked(worked)
+                .weekdayHours(type == CalendarDayType.WORKING_DAY ? worked : Duration.ZERO)
+                .saturdayHours(type == CalendarDayType.WEEKEND && !sunday ? worked : Duration.ZERO)
+                .sundayHours(type == CalendarDayType.WEEKEND && sunday ? worked : Duration.ZERO)
+                .publicHolidayHours(type == CalendarDayType.HOLIDAY ? worked : Duration.ZERO)
+                .leaveHours(leave)
+                .calculatedAt(calculatedAt)
+                .build();
+    }
+
+    private static CalendarDayType dayType(LocalDate date, Map<LocalDate, CompanyCalendar> calendar) {
+        CompanyCalendar entry = calendar.get(date);
+        if (entry != null) {
+            return entry.getType();
+        }
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? CalendarDayType.WEEKEND : CalendarDayType.WORKING_DAY;
+    }
+
+    private static int jitter(Random random, int standardDeviationMinutes) {
+        return (int) Math.round(random.nextGaussian() * standardDeviationMinutes);
+    }
+
+    private String subdomain(int index) {
+        return String.format("%s-%04d", properties.getSubdomainPrefix(), index);
+    }
+
+    private record Kiosk(String id, String ipAddress) {
+    }
+
+    /**
+     * Rows waiting to be sent, and how many of each kind were sent so far.
+     */
+    private final class Rows {
+        private final List<AttendanceLog> logs = new ArrayList<>();
+        private final List<CalculatedHours> hours = new ArrayList<>();
+        private final List<TimeOffRequest> timeOff = new ArrayList<>();
+        private final List<AuditLog> audits = new ArrayList<>();
+        private long logCount;
+        private long hoursCount;
+        private long timeOffCount;
+        private long auditCount;
+
+        void flushIfFull() {
+            if (logs.size() + hours.size() + timeOff.size() + audits.size() >= FLUSH_ROWS) {
+                flush();
+            }
+        }
+
+        void flush() {
+            attendanceLogJdbcRepository.batchInsert(logs);
+            syntheticDataJdbcRepository.batchInsertCalculatedHours(hours);
+            syntheticDataJdbcRepository.batchInsertTimeOffRequests(timeOff);
+            syntheticDataJdbcRepository.batchInsertAuditLogs(audits);
+            logCount += logs.size();
+            hoursCount += hours.size();
+            timeOffCount += timeOff.size();
+            auditCount += audits.size();
+            logs.clear();
+            hours.clear();
+            timeOff.clear();
+            audits.clear();
+        }
+    }
+}
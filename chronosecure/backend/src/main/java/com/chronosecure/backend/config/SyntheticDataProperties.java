@@ -0,0 +1,47 @@
+package com.chronosecure.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Size and shape of the synthetic tenants written by {@link SyntheticDataGenerator}
+ * (profile synthetic-data). The same seed produces the same attendance patterns.
+ */
+@Component
+@ConfigurationProperties(prefix = "synthetic-data")
+@Data
+public class SyntheticDataProperties {
+
+    private int companies = 5;
+    private int employeesPerCompany = 200;
+
+    // History ending yesterday, in whole years
+    private int years = 2;
+
+    private long seed = 42;
+
+    // Companies are named <prefix>-0001, <prefix>-0002, ...; a run is skipped when the first one exists
+    private String subdomainPrefix = "synthetic";
+
+    // Password of every company admin (admin@<subdomain>.example)
+    private String adminPassword = "synthetic123";
+
+    // Round-robin over the companies
+    private List<String> timezones = new ArrayList<>(List.of("UTC", "Asia/Colombo", "Europe/London", "America/New_York"));
+
+    // Share of working days an employee is absent without leave
+    private double absenceRate = 0.03;
+    // Share of worked days without a CLOCK_OUT
+    private double missedClockOutRate = 0.02;
+    // Leave requests per employee and year, 1 to 5 days each
+    private int leaveRequestsPerYear = 3;
+    // Failed fingerprint verifications per successful one
+    private double failedVerificationRate = 0.02;
+
+    // CSV of company, admin and employee ids for the load harness
+    private String manifestPath = "./synthetic-manifest.csv";
+}
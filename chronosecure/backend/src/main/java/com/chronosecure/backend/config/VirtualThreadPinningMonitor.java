@@ -0,0 +1,184 @@
+package com.chronosecure.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports where virtual threads get pinned to their carrier thread, from the
+ * JDK's own jdk.VirtualThreadPinned flight recorder event (a virtual thread
+ * blocked while holding a monitor or with a native frame on its stack).
+ * <p>
+ * Pinnings are grouped by the first application frame of the stack, so one
+ * hot spot is one line of our code (or of a library when no frame of ours is
+ * involved). Each new hot spot is logged once with its stack; totals are
+ * available from {@link #hotSpots()}. Runs only in virtual-thread mode.
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.chronosecure.";
+    private static final String CONTINUATION_PACKAGE = "jdk.internal.vm.";
+    private static final int MAX_HOT_SPOTS = 500;
+    private static final int LOGGED_FRAMES = 12;
+
+    public enum Cause {
+        SYNCHRONIZED, NATIVE
+    }
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.virtual-threads.pinning-threshold-ms:20}")
+    private long thresholdMillis;
+
+    private final Map<String, HotSpotCounter> hotSpots = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        if (!virtualThreads) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::record);
+            stream.startAsync();
+            log.info("Virtual thread pinning monitor started (pinnings over {} ms)", thresholdMillis);
+        } catch (RuntimeException e) {
+            // e.g. flight recorder disabled in this JVM
+            log.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Pinning hot spots, longest total pinned time first.
+     */
+    public List<HotSpot> hotSpots() {
+        return hotSpots.values().stream()
+                .map(HotSpotCounter::snapshot)
+                .sorted(Comparator.comparingDouble(HotSpot::totalMillis).reversed())
+                .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        Cause cause = Cause.SYNCHRONIZED;
+        RecordedFrame application = null;
+        RecordedFrame library = null;
+        boolean parking = true;
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            // Frames of the blocking operation itself (park, sleep, socket wait) sit on top of every stack
+            if (parking && isJdk(type)) {
+                continue;
+            }
+            parking = false;
+            // A native frame anywhere below the blocking call pins (e.g. reflection's invoke0);
+            // the continuation entry at the bottom of every virtual thread does not count
+            if (Modifier.isNative(frame.getMethod().getModifiers()) && !type.startsWith(CONTINUATION_PACKAGE)) {
+                cause = Cause.NATIVE;
+            }
+            if (library == null && !isJdk(type)) {
+                library = frame;
+            }
+            if (application == null && type.startsWith(APPLICATION_PACKAGE)) {
+                application = frame;
+            }
+        }
+        RecordedFrame location = application != null ? application : library != null ? library
+                : frames.isEmpty() ? null : frames.get(0);
+        String where = location != null ? describe(location) : "unknown";
+        String key = cause + " " + where;
+
+        HotSpotCounter counter = hotSpots.get(key);
+        if (counter == null) {
+            if (hotSpots.size() >= MAX_HOT_SPOTS) {
+                return;
+            }
+            HotSpotCounter created = new HotSpotCounter(cause, where);
+            counter = hotSpots.putIfAbsent(key, created);
+            if (counter == null) {
+                counter = created;
+                log.warn("Virtual thread pinned ({}) for {} ms at {}\n{}", cause, event.getDuration().toMillis(), where,
+                        stackOf(frames));
+            }
+        }
+        counter.add(event.getDuration().toNanos());
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static String stackOf(List<RecordedFrame> frames) {
+        StringBuilder stack = new StringBuilder();
+        frames.stream().limit(LOGGED_FRAMES).forEach(frame -> stack.append("    at ").append(describe(frame)).append('\n'));
+        if (frames.size() > LOGGED_FRAMES) {
+            stack.append("    ... ").append(frames.size() - LOGGED_FRAMES).append(" more");
+        }
+        return stack.toString();
+    }
+
+    /**
+     * @param location first application frame (class.method:line) of the pinned stack
+     */
+    public record HotSpot(Cause cause, String location, long count, double totalMillis, double maxMillis) {
+    }
+
+    private static final class HotSpotCounter {
+
+        private final Cause cause;
+        private final String location;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        HotSpotCounter(Cause cause, String location) {
+            this.cause = cause;
+            this.location = location;
+        }
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        HotSpot snapshot() {
+            return new HotSpot(cause, location, count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.chronosecure.backend.controller;
 
+import com.chronosecure.backend.dto.AttendanceBatchRequest;
+import com.chronosecure.backend.dto.AttendanceBatchResponse;
 import com.chronosecure.backend.dto.AttendanceRequest;
+import com.chronosecure.backend.dto.KioskRoster;
 import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.enums.AttendanceEventType;
 import com.chronosecure.backend.repository.EmployeeRepository;
 import com.chronosecure.backend.service.AttendanceService;
+import com.chronosecure.backend.service.RosterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,9 +17,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -32,12 +38,19 @@ public class AttendanceController {
 
     private final AttendanceService attendanceService;
     private final EmployeeRepository employeeRepository;
+    private final RosterService rosterService;
 
-    @Operation(summary = "Get list of active employees for scanner app")
+    @Operation(summary = "Get list of active employees for scanner app", description = "Supports If-None-Match; 304 when the roster is unchanged.")
     @GetMapping("/employees")
     public ResponseEntity<List<java.util.Map<String, String>>> getEmployeesList(
-            @RequestParam UUID companyId) {
-        return ResponseEntity.ok(employeeRepository.findByCompanyIdAndIsActiveTrue(companyId).stream()
+            @RequestParam UUID companyId,
+            WebRequest webRequest) {
+        String etag = rosterETag(rosterService.currentVersion(companyId));
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(employeeRepository.findByCompanyIdAndIsActiveTrue(companyId).stream()
                 .map(e -> {
                     java.util.Map<String, String> map = new java.util.HashMap<>();
                     map.put("code", e.getEmployeeCode());
@@ -50,6 +63,26 @@ public class AttendanceController {
                 .collect(Collectors.toList()));
     }
 
+    @Operation(summary = "Get the versioned kiosk roster", description = "Full roster, or with since=<version> only the employees added, changed or deactivated after it. Supports If-None-Match; 304 when nothing changed.")
+    @GetMapping("/roster")
+    public ResponseEntity<KioskRoster> getRoster(
+            @RequestParam UUID companyId,
+            @RequestParam(required = false) Long since,
+            WebRequest webRequest) {
+        long version = rosterService.currentVersion(companyId);
+        String etag = rosterETag(version);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(rosterService.getRoster(companyId, version, since));
+    }
+
+    // Weak: the body may be gzip-encoded on the way out
+    private static String rosterETag(long version) {
+        return "W/\"roster-" + version + "\"";
+    }
+
     @Operation(summary = "Log an attendance event", description = "Records a Clock-In/Out or Break event. Requires strict tenant validation.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event logged successfully", content = @Content(schema = @Schema(implementation = AttendanceLog.class))),
@@ -67,6 +100,16 @@ public class AttendanceController {
         }
     }
 
+    @Operation(summary = "Log a batch of offline events", description = "Ingests an ordered array of events replayed by a kiosk after a network outage. Returns a result per event.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed", content = @Content(schema = @Schema(implementation = AttendanceBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PostMapping("/log/batch")
+    public ResponseEntity<AttendanceBatchResponse> logAttendanceBatch(@Valid @RequestBody AttendanceBatchRequest request) {
+        return ResponseEntity.ok(attendanceService.logAttendanceBatch(request));
+    }
+
     @Operation(summary = "Get next expected state", description = "Determines if the employee should likely 'Clock In' or 'Clock Out' based on history.")
     @GetMapping("/next-state/{companyId}/{employeeId}")
     public ResponseEntity<AttendanceEventType> getNextState(
@@ -1,5 +1,6 @@
 package com.chronosecure.backend.controller;
 
+import com.chronosecure.backend.dto.CalendarImportResult;
 import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.CompanyCalendar;
 import com.chronosecure.backend.model.TimeOffRequest;
@@ -8,6 +9,11 @@ import com.chronosecure.backend.model.enums.TimeOffStatus;
 import com.chronosecure.backend.repository.AttendanceLogRepository;
 import com.chronosecure.backend.repository.CompanyCalendarRepository;
 import com.chronosecure.backend.repository.TimeOffRequestRepository;
+import com.chronosecure.backend.service.CalendarService;
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.CompiledCalendar;
+import com.chronosecure.backend.util.DayBoundaries;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.Builder;
@@ -16,10 +22,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -35,6 +40,9 @@ public class CalendarController {
     private final CompanyCalendarRepository calendarRepository;
     private final AttendanceLogRepository attendanceLogRepository;
     private final TimeOffRequestRepository timeOffRequestRepository;
+    private final TimeZoneService timeZoneService;
+    private final CalendarService calendarService;
+    private final CompiledCalendarService compiledCalendarService;
 
     @Operation(summary = "Get calendar entries for a date range")
     @GetMapping
@@ -55,10 +63,8 @@ public class CalendarController {
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate) {
 
-        // 1. Fetch Company Calendar
-        Map<LocalDate, CompanyCalendar> companyMap = calendarRepository
-                .findByCompanyIdAndDateBetween(companyId, startDate, endDate).stream()
-                .collect(Collectors.toMap(CompanyCalendar::getDate, c -> c));
+        // 1. Company calendar (overrides, public holidays and weekends, compiled)
+        CompiledCalendar calendar = compiledCalendarService.calendarFor(companyId);
 
         // 2. Fetch Time Off Requests (Approved)
         List<TimeOffRequest> leaves = timeOffRequestRepository.findAll().stream()
@@ -68,20 +74,21 @@ public class CalendarController {
                         && req.getStatus() == TimeOffStatus.APPROVED)
                 .collect(Collectors.toList());
 
-        // 3. Fetch Attendance Logs
+        // 3. Fetch Attendance Logs (days in the company's zone)
+        DayBoundaries days = timeZoneService.daysFor(companyId);
         Map<LocalDate, List<AttendanceLog>> logsMap = attendanceLogRepository
                 .findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc(
                         employeeId,
-                        startDate.atStartOfDay(ZoneId.systemDefault()).toInstant(),
-                        endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant())
+                        days.startOf(startDate),
+                        days.endOf(endDate))
                 .stream()
-                .collect(Collectors.groupingBy(
-                        log -> LocalDateTime.ofInstant(log.getEventTimestamp(), ZoneId.systemDefault()).toLocalDate()));
+                .collect(Collectors.groupingBy(log -> days.dateOf(log.getEventTimestamp())));
 
         List<EmployeeCalendarDayDto> result = new ArrayList<>();
         LocalDate current = startDate;
+        LocalDate today = LocalDate.now(days.zone());
 
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm").withZone(days.zone());
 
         while (!current.isAfter(endDate)) {
             EmployeeCalendarDayDto dto = EmployeeCalendarDayDto.builder()
@@ -91,25 +98,12 @@ public class CalendarController {
                     .build();
 
             // Apply Company Settings
-            CompanyCalendar companyEntry = companyMap.get(current);
-            boolean isHoliday = false;
-            boolean isWeekend = false;
-            if (companyEntry != null) {
-                dto.setDayType(companyEntry.getType());
-                dto.setPayMultiplier(companyEntry.getPayMultiplier());
-                dto.setCompanyDescription(companyEntry.getDescription());
-                if (companyEntry.getType() == CalendarDayType.HOLIDAY)
-                    isHoliday = true;
-                if (companyEntry.getType() == CalendarDayType.WEEKEND)
-                    isWeekend = true;
-            } else {
-                // Default weekend logic
-                java.time.DayOfWeek dow = current.getDayOfWeek();
-                if (dow == java.time.DayOfWeek.SATURDAY || dow == java.time.DayOfWeek.SUNDAY) {
-                    dto.setDayType(CalendarDayType.WEEKEND);
-                    isWeekend = true;
-                }
-            }
+            CalendarDayType dayType = calendar.dayType(current);
+            boolean isHoliday = dayType == CalendarDayType.HOLIDAY;
+            boolean isWeekend = dayType == CalendarDayType.WEEKEND;
+            dto.setDayType(dayType);
+            dto.setPayMultiplier(calendar.payMultiplier(current));
+            dto.setCompanyDescription(calendar.description(current));
 
             // Apply Leaves
             LocalDate finalCurrent = current;
@@ -133,18 +127,14 @@ public class CalendarController {
                         .filter(l -> l
                                 .getEventType() == com.chronosecure.backend.model.enums.AttendanceEventType.CLOCK_IN)
                         .findFirst()
-                        .ifPresent(l -> dto.setCheckInTime(
-                                LocalDateTime.ofInstant(l.getEventTimestamp(), ZoneId.systemDefault())
-                                        .format(timeFormatter)));
+                        .ifPresent(l -> dto.setCheckInTime(timeFormatter.format(l.getEventTimestamp())));
 
                 // Find Last Clock Out
                 logs.stream()
                         .filter(l -> l
                                 .getEventType() == com.chronosecure.backend.model.enums.AttendanceEventType.CLOCK_OUT)
                         .reduce((first, second) -> second)
-                        .ifPresent(l -> dto.setCheckOutTime(
-                                LocalDateTime.ofInstant(l.getEventTimestamp(), ZoneId.systemDefault())
-                                        .format(timeFormatter)));
+                        .ifPresent(l -> dto.setCheckOutTime(timeFormatter.format(l.getEventTimestamp())));
             } else {
                 // No logs
                 if (isHoliday)
@@ -153,7 +143,7 @@ public class CalendarController {
                     dto.setStatus("WEEKEND");
                 else if ("LEAVE".equals(dto.getStatus())) {
                     // Keep LEAVE status (don't overwrite with FUTURE or ABSENT)
-                } else if (current.isAfter(LocalDate.now()))
+                } else if (current.isAfter(today))
                     dto.setStatus("FUTURE");
                 else
                     dto.setStatus("ABSENT");
@@ -173,22 +163,22 @@ public class CalendarController {
             @RequestHeader("X-Company-Id") UUID companyId,
             @RequestBody BulkCalendarUpdateRequest request) {
 
-        List<CompanyCalendar> updated = request.getDates().stream().map(date -> {
-            CompanyCalendar entry = calendarRepository.findByCompanyIdAndDate(companyId, date)
-                    .orElse(CompanyCalendar.builder()
-                            .companyId(companyId)
-                            .date(date)
-                            .build());
-
-            entry.setType(request.getType());
-            entry.setPayMultiplier(request.getPayMultiplier());
-            entry.setDescription(request.getDescription());
-            return calendarRepository.save(entry);
-        }).collect(Collectors.toList());
+        List<CompanyCalendar> updated = calendarService.setDays(companyId, request.getDates(), request.getType(),
+                request.getPayMultiplier(), request.getDescription());
 
         return ResponseEntity.ok(updated);
     }
 
+    @Operation(summary = "Import holidays from an iCalendar (.ics) feed")
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CalendarImportResult> importHolidays(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Double payMultiplier) {
+        return ResponseEntity.ok(calendarService.importHolidays(companyId, file, payMultiplier));
+    }
+
     @Data
     public static class BulkCalendarUpdateRequest {
         private List<LocalDate> dates;
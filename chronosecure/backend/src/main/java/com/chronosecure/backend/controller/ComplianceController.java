@@ -1,6 +1,9 @@
 package com.chronosecure.backend.controller;
 
-import com.chronosecure.backend.model.AuditLog;
+import com.chronosecure.backend.dto.AuditLogPage;
+import com.chronosecure.backend.dto.AuditLogQuery;
+import com.chronosecure.backend.dto.ErasureReceipt;
+import com.chronosecure.backend.service.AuditLogService;
 import com.chronosecure.backend.service.ComplianceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,8 +14,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Map;
 import java.util.UUID;
 
@@ -28,31 +32,32 @@ import java.util.UUID;
 public class ComplianceController {
 
     private final ComplianceService complianceService;
+    private final AuditLogService auditLogService;
 
     @Operation(summary = "Export employee data (GDPR Data Portability)")
     @GetMapping("/export/{employeeId}")
     @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Map<String, Object>> exportEmployeeData(
+    public ResponseEntity<StreamingResponseBody> exportEmployeeData(
             @RequestHeader("X-Company-Id") UUID companyId,
             @PathVariable UUID employeeId,
             HttpServletRequest request) {
         
-        Map<String, Object> exportData = complianceService.exportEmployeeData(companyId, employeeId);
+        StreamingResponseBody archive = complianceService.exportEmployeeData(companyId, employeeId);
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employee-data-export.json")
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(exportData);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employee-data-export-" + employeeId + ".zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(archive);
     }
 
     @Operation(summary = "Hard delete employee data (GDPR Right to be Forgotten)")
     @DeleteMapping("/delete/{employeeId}")
     @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Void> hardDeleteEmployeeData(
+    public ResponseEntity<ErasureReceipt> hardDeleteEmployeeData(
             @RequestHeader("X-Company-Id") UUID companyId,
             @PathVariable UUID employeeId) {
         
-        complianceService.hardDeleteEmployeeData(companyId, employeeId);
-        return ResponseEntity.noContent().build();
+        ErasureReceipt receipt = complianceService.hardDeleteEmployeeData(companyId, employeeId);
+        return ResponseEntity.ok(receipt);
     }
 
     @Operation(summary = "Grant biometric consent (BIPA Compliance)")
@@ -84,15 +89,31 @@ public class ComplianceController {
         return ResponseEntity.ok(Map.of("hasConsent", hasConsent));
     }
 
-    @Operation(summary = "Get audit logs (APPI Compliance)")
+    @Operation(summary = "Search audit logs (APPI Compliance), newest first, keyset paged")
     @GetMapping("/audit-logs")
     @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<AuditLog>> getAuditLogs(
+    public ResponseEntity<AuditLogPage> getAuditLogs(
             @RequestHeader("X-Company-Id") UUID companyId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) String details,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "100") int limit) {
         
-        List<AuditLog> logs = complianceService.getAuditLogs(companyId, limit);
-        return ResponseEntity.ok(logs);
+        AuditLogQuery query = AuditLogQuery.builder()
+                .action(action)
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .details(details)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+        return ResponseEntity.ok(auditLogService.search(companyId, query));
     }
 
     private String getClientIpAddress(HttpServletRequest request) {
@@ -1,8 +1,10 @@
 package com.chronosecure.backend.controller;
 
 import com.chronosecure.backend.dto.EmployeeCreateRequest;
+import com.chronosecure.backend.dto.EmployeeImportStatus;
 import com.chronosecure.backend.dto.EmployeeUpdateRequest;
 import com.chronosecure.backend.model.Employee;
+import com.chronosecure.backend.service.EmployeeImportService;
 import com.chronosecure.backend.service.EmployeeService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -11,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,6 +25,7 @@ import java.util.UUID;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
 
     @PostMapping
     @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
@@ -32,6 +36,27 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(employee);
     }
 
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<EmployeeImportStatus> importEmployees(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @RequestParam("file") MultipartFile file,
+            HttpServletRequest request) {
+        EmployeeImportStatus status = employeeImportService.startImport(
+                companyId, file, getClientIpAddress(request), request.getHeader("User-Agent"));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<EmployeeImportStatus> getImportStatus(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @PathVariable UUID jobId) {
+        return employeeImportService.getImportStatus(companyId, jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN') or hasRole('EMPLOYEE')")
     public ResponseEntity<List<Employee>> getAllEmployees(
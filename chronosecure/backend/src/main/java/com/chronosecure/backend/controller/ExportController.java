@@ -0,0 +1,104 @@
+package com.chronosecure.backend.controller;
+
+import com.chronosecure.backend.model.enums.ExportFormat;
+import com.chronosecure.backend.service.BulkExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Export Controller
+ * Streams bulk CSV / NDJSON exports for BI tooling. Responses are gzip-encoded
+ * whenever the client accepts it.
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+@Tag(name = "Exports", description = "Bulk CSV / NDJSON data export endpoints")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ExportController {
+
+    private final BulkExportService bulkExportService;
+
+    @Operation(summary = "Export attendance logs (CSV or NDJSON)")
+    @GetMapping("/attendance-logs")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAttendanceLogs(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) UUID employeeId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = bulkExportService.exportAttendanceLogs(companyId, employeeId, startDate, endDate,
+                exportFormat, gzip);
+        return streamed("attendance-logs", startDate, endDate, exportFormat, gzip, body);
+    }
+
+    @Operation(summary = "Export calculated hours (CSV or NDJSON)")
+    @GetMapping("/calculated-hours")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCalculatedHours(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) UUID employeeId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = bulkExportService.exportCalculatedHours(companyId, employeeId, startDate, endDate,
+                exportFormat, gzip);
+        return streamed("calculated-hours", startDate, endDate, exportFormat, gzip, body);
+    }
+
+    @Operation(summary = "Export the daily status matrix (CSV or NDJSON)")
+    @GetMapping("/daily-status")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDailyStatus(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) UUID employeeId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = bulkExportService.exportDailyStatus(companyId, employeeId, startDate, endDate,
+                exportFormat, gzip);
+        return streamed("daily-status", startDate, endDate, exportFormat, gzip, body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> streamed(String name, LocalDate startDate, LocalDate endDate,
+            ExportFormat format, boolean gzip, StreamingResponseBody body) {
+        String filename = String.format("%s-%s-to-%s.%s", name, startDate, endDate, format.getExtension());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+}
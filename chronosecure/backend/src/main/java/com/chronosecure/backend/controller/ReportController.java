@@ -1,17 +1,24 @@
 package com.chronosecure.backend.controller;
 
+import com.chronosecure.backend.dto.ReportJobRequest;
+import com.chronosecure.backend.model.ReportJob;
+import com.chronosecure.backend.service.ReportJobService;
 import com.chronosecure.backend.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -26,6 +33,7 @@ import java.util.UUID;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
 
     @Operation(summary = "Generate company attendance report (Excel)")
     @GetMapping("/company")
@@ -63,6 +71,25 @@ public class ReportController {
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
                 .body(resource);
     }
+
+    @Operation(summary = "Download every employee's attendance report as one ZIP")
+    @GetMapping("/employee/bundle")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> generateEmployeeReportBundle(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+
+        StreamingResponseBody bundle = reportService.generateEmployeeReportBundle(companyId, startDate, endDate);
+
+        String filename = String.format("employee-attendance-reports-%s-to-%s.zip", startDate, endDate);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(bundle);
+    }
+
     @Operation(summary = "Generate cost summary report (Excel)")
     @GetMapping("/company/cost")
     @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
@@ -80,5 +107,43 @@ public class ReportController {
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
                 .body(resource);
     }
-}
 
+    @Operation(summary = "Queue a report for background generation")
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ReportJob> submitReportJob(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @Valid @RequestBody ReportJobRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submit(companyId, request));
+    }
+
+    @Operation(summary = "List recent report jobs")
+    @GetMapping("/jobs")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<ReportJob>> getReportJobs(@RequestHeader("X-Company-Id") UUID companyId) {
+        return ResponseEntity.ok(reportJobService.getRecentJobs(companyId));
+    }
+
+    @Operation(summary = "Get the status of a report job")
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ReportJob> getReportJob(
+            @RequestHeader("X-Company-Id") UUID companyId,
+            @PathVariable UUID jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(companyId, jobId));
+    }
+
+    @Operation(summary = "Download a finished report (authorized by its download token)")
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReportJob(
+            @PathVariable UUID jobId,
+            @RequestParam String token) {
+
+        ReportJob job = reportJobService.getDownloadableJob(jobId, token);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(reportJobService.openFile(job));
+    }
+}
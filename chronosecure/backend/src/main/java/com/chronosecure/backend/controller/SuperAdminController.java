@@ -1,13 +1,25 @@
 package com.chronosecure.backend.controller;
 
+import com.chronosecure.backend.model.BillingRun;
 import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.Invoice;
+import com.chronosecure.backend.model.TenantPurgeJob;
 import com.chronosecure.backend.model.User;
 import com.chronosecure.backend.model.enums.SubscriptionPlan;
+import com.chronosecure.backend.config.VirtualThreadPinningMonitor;
+import com.chronosecure.backend.dto.AuditPartitionMigrationStatus;
 import com.chronosecure.backend.dto.CompanyDetailResponse;
+import com.chronosecure.backend.security.AdaptiveConcurrencyLimiter;
+import com.chronosecure.backend.security.RateLimiter;
+import com.chronosecure.backend.service.AuditLogService;
+import com.chronosecure.backend.service.BillingService;
 import com.chronosecure.backend.service.SuperAdminService;
 import com.chronosecure.backend.service.ReportService;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import java.time.LocalDate;
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,6 +41,11 @@ public class SuperAdminController {
 
     private final SuperAdminService superAdminService;
     private final ReportService reportService;
+    private final BillingService billingService;
+    private final AuditLogService auditLogService;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final VirtualThreadPinningMonitor pinningMonitor;
 
     @Operation(summary = "List all registered companies")
     @GetMapping("/companies")
@@ -57,8 +74,9 @@ public class SuperAdminController {
         if (startDate == null) startDate = endDate.withDayOfMonth(1);
         
         Resource file = reportService.generateCostReport(companyId, startDate, endDate);
+        String filename = String.format("cost-report-%s-to-%s.xlsx", startDate, endDate);
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFilename() + "\"")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
                 .body(file);
     }
@@ -88,11 +106,99 @@ public class SuperAdminController {
         return ResponseEntity.ok(superAdminService.getUsersByCompany(companyId));
     }
 
-    @Operation(summary = "Delete a company and its users")
+    @Operation(summary = "Delete a company and all of its data (runs in the background)")
     @DeleteMapping("/companies/{companyId}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Void> deleteCompany(@PathVariable UUID companyId) {
-        superAdminService.deleteCompany(companyId);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<TenantPurgeJob> deleteCompany(@PathVariable UUID companyId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(superAdminService.deleteCompany(companyId));
+    }
+
+    @Operation(summary = "Get progress of a company deletion")
+    @GetMapping("/purge-jobs/{jobId}")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<TenantPurgeJob> getPurgeJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(superAdminService.getPurgeJob(jobId));
+    }
+
+    @Operation(summary = "Start a billing run over all companies (runs in the background)")
+    @PostMapping("/billing-runs")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BillingRun> startBillingRun(
+            @RequestParam(required = false) LocalDate periodStart,
+            @RequestParam(required = false) LocalDate periodEnd) {
+
+        // Default to the previous calendar month
+        if (periodStart == null && periodEnd == null) {
+            LocalDate lastMonth = LocalDate.now().minusMonths(1);
+            periodStart = lastMonth.withDayOfMonth(1);
+            periodEnd = lastMonth.withDayOfMonth(lastMonth.lengthOfMonth());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(billingService.startRun(periodStart, periodEnd));
+    }
+
+    @Operation(summary = "List recent billing runs")
+    @GetMapping("/billing-runs")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<BillingRun>> getBillingRuns() {
+        return ResponseEntity.ok(billingService.getRecentRuns());
+    }
+
+    @Operation(summary = "Get progress and totals of a billing run")
+    @GetMapping("/billing-runs/{runId}")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<BillingRun> getBillingRun(@PathVariable UUID runId) {
+        return ResponseEntity.ok(billingService.getRun(runId));
+    }
+
+    @Operation(summary = "Get the invoices produced by a billing run")
+    @GetMapping("/billing-runs/{runId}/invoices")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Page<Invoice>> getBillingRunInvoices(
+            @PathVariable UUID runId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(billingService.getRunInvoices(runId, PageRequest.of(page, Math.min(size, 500))));
+    }
+
+    @Operation(summary = "Get invoice history of a company")
+    @GetMapping("/companies/{companyId}/invoices")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<Invoice>> getCompanyInvoices(@PathVariable UUID companyId) {
+        return ResponseEntity.ok(billingService.getCompanyInvoices(companyId));
+    }
+
+    @Operation(summary = "Move audit_logs to monthly partitions (runs in the background)")
+    @PostMapping("/audit-logs/partitioning")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<AuditPartitionMigrationStatus> startAuditPartitioning() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(auditLogService.startPartitionMigration());
+    }
+
+    @Operation(summary = "Get the status of the audit_logs partition migration on this node")
+    @GetMapping("/audit-logs/partitioning")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<AuditPartitionMigrationStatus> getAuditPartitioning() {
+        return ResponseEntity.ok(auditLogService.getPartitionMigration());
+    }
+
+    @Operation(summary = "Get allowed and rejected requests per kiosk rate limit rule since startup")
+    @GetMapping("/rate-limits")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<RateLimiter.RuleStats>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.stats());
+    }
+
+    @Operation(summary = "Get the adaptive concurrency limit, latency estimates and shed requests of this node")
+    @GetMapping("/concurrency-limit")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<AdaptiveConcurrencyLimiter.Snapshot> getConcurrencyLimit() {
+        return ResponseEntity.ok(concurrencyLimiter.snapshot());
+    }
+
+    @Operation(summary = "Get where virtual threads were pinned to their carrier on this node (virtual-thread mode)")
+    @GetMapping("/virtual-threads/pinning")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<VirtualThreadPinningMonitor.HotSpot>> getPinningHotSpots() {
+        return ResponseEntity.ok(pinningMonitor.hotSpots());
     }
 }
@@ -0,0 +1,47 @@
+package com.chronosecure.backend.dto;
+
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Offline-sync batch sent by a kiosk after a network outage.
+ * Events are replayed in the order the device captured them.
+ */
+@Data
+public class AttendanceBatchRequest {
+
+    // Default tenant for every event in the batch (kiosks belong to one company)
+    private UUID companyId;
+
+    private String deviceId; // The ID of the Kiosk/Tablet replaying the events
+
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 1000, message = "A batch may contain at most 1000 events")
+    @Valid
+    private List<Event> events;
+
+    @Data
+    public static class Event {
+        private UUID companyId; // Optional, overrides the batch companyId
+
+        @NotNull(message = "Employee ID is mandatory")
+        private UUID employeeId;
+
+        @NotNull(message = "Event type is mandatory")
+        private AttendanceEventType eventType;
+
+        // Offline events must carry the capture time from the device clock
+        @NotNull(message = "Event timestamp is mandatory")
+        private Instant eventTimestamp;
+
+        private Double confidenceScore;
+    }
+}
@@ -0,0 +1,41 @@
+package com.chronosecure.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-item outcome of an offline-sync batch.
+ * Results are returned in the same order as the submitted events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceBatchResponse {
+    private int accepted;
+    private int duplicates;
+    private int rejected;
+    private List<ItemResult> results;
+
+    public enum ItemStatus {
+        ACCEPTED,
+        DUPLICATE, // Already stored (kiosk replayed an event the server had received)
+        REJECTED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private int index;
+        private ItemStatus status;
+        private UUID logId;
+        private String message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.chronosecure.backend.dto;
+
+import com.chronosecure.backend.model.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of audit entries, newest first.
+ * Pass nextCursor back to fetch the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogPage {
+    private List<AuditLog> items;
+    private String nextCursor;
+}
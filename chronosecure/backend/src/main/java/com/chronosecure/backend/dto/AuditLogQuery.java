@@ -0,0 +1,27 @@
+package com.chronosecure.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Filters for the compliance audit log screen. All fields are optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogQuery {
+    private String action;
+    private String resourceType;
+    private UUID resourceId;
+    private LocalDate startDate; // Inclusive, UTC
+    private LocalDate endDate; // Inclusive, UTC
+    private String details; // JSON object matched by containment, e.g. {"reason":"GDPR Right to be Forgotten"}
+    private String cursor; // nextCursor of the previous page
+    private Integer limit;
+}
@@ -0,0 +1,31 @@
+package com.chronosecure.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress snapshot of the audit_logs partition migration on this node.
+ * rowsCopied grows as chunks are committed; poll until status is COMPLETED or FAILED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AuditPartitionMigrationStatus {
+    private Status status;
+    private long rowsCopied;
+    private String message;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public enum Status {
+        NOT_STARTED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
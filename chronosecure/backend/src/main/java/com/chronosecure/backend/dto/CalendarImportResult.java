@@ -0,0 +1,21 @@
+package com.chronosecure.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of an iCalendar holiday import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarImportResult {
+    private String fileName;
+    private int eventsRead;
+    private int eventsSkipped; // Cancelled or recurring events are not imported
+    private int daysImported;
+    private int daysChanged; // Days whose calendar entry was created or actually changed
+}
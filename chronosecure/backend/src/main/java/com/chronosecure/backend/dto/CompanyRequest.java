@@ -15,4 +15,7 @@ public class CompanyRequest {
     private String name;
 
     private String billingAddress;
+
+    // IANA region id; an empty string clears it
+    private String timezone;
 }
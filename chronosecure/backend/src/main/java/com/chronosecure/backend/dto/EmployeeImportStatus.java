@@ -0,0 +1,46 @@
+package com.chronosecure.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress snapshot of a bulk employee import.
+ * Counters grow as chunks are committed; poll until status is COMPLETED or FAILED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeImportStatus {
+    private UUID jobId;
+    private String fileName;
+    private Status status;
+    private int rowsRead;
+    private int imported;
+    private int skipped;
+    private List<RowError> errors; // First errors only, see EmployeeImportServiceImpl.MAX_REPORTED_ERRORS
+    private String message;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row; // 1-based spreadsheet row, header is row 1
+        private String message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.chronosecure.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Proof of a GDPR "Right to be Forgotten" erasure.
+ * Contains only counts and identifiers, never the erased personal data.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErasureReceipt {
+    private UUID receiptId; // Id of the audit log entry recording the erasure
+    private UUID companyId;
+    private UUID employeeId;
+    private long attendanceLogsDeleted;
+    private long calculatedHoursDeleted;
+    private long timeOffRequestsDeleted;
+    private int consentsRevoked;
+    private int consentRecordsDeleted;
+    private int photosScheduledForDeletion; // Files are removed in the background
+    private Instant completedAt;
+}
@@ -0,0 +1,20 @@
+package com.chronosecure.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Kiosk roster at a version: the full active roster, or only the employees
+ * added, changed or deactivated since the version the kiosk already holds.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record KioskRoster(long version, boolean full, List<Entry> employees) {
+
+    /**
+     * {@code active} is only sent in deltas; a full roster lists active employees only.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(String id, String code, String name, Boolean active) {
+    }
+}
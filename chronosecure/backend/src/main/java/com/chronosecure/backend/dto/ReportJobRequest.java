@@ -0,0 +1,30 @@
+package com.chronosecure.backend.dto;
+
+import com.chronosecure.backend.model.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobRequest {
+
+    @NotNull
+    private ReportType reportType;
+
+    // Required for EMPLOYEE reports
+    private UUID employeeId;
+
+    @NotNull
+    private LocalDate startDate;
+
+    @NotNull
+    private LocalDate endDate;
+}
@@ -0,0 +1,11 @@
+package com.chronosecure.backend.exception;
+
+/**
+ * Thrown when a caller has exhausted a quota; mapped to 429 Too Many Requests.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
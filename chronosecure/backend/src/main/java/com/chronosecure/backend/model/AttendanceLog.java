@@ -16,7 +16,13 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "attendance_logs")
+@EntityListeners(ReportDataChangeListener.class)
+@Table(name = "attendance_logs", indexes = {
+        @Index(name = "idx_attendance_company_timestamp", columnList = "company_id, event_timestamp"),
+        @Index(name = "idx_attendance_employee_timestamp", columnList = "employee_id, event_timestamp DESC"),
+        // Key-ordered chunks of a tenant purge
+        @Index(name = "idx_attendance_company_id", columnList = "company_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
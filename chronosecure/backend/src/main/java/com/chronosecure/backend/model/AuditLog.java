@@ -5,10 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
@@ -16,6 +19,8 @@ import java.util.UUID;
 /**
  * Audit Log Entity for APPI Compliance
  * Tracks all data access and modifications for compliance reporting
+ * The table is range-partitioned by created_at (see AuditLogPartitionRepository);
+ * reads go through AuditLogQueryRepository.
  */
 @Entity
 @Table(name = "audit_logs")
@@ -34,6 +39,8 @@ public class AuditLog {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @JsonIgnore
+    @ToString.Exclude
     private User user;
 
     @Column(name = "company_id")
@@ -0,0 +1,76 @@
+package com.chronosecure.backend.model;
+
+import com.chronosecure.backend.model.enums.BillingRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Billing Run Entity
+ * One platform-wide billing pass over every company for a period.
+ * Counters are advanced as chunks of companies are invoiced.
+ */
+@Entity
+@Table(name = "billing_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BillingRunStatus status;
+
+    @Column(name = "companies_total", nullable = false)
+    @Builder.Default
+    private long companiesTotal = 0L;
+
+    @Column(name = "companies_invoiced", nullable = false)
+    @Builder.Default
+    private long companiesInvoiced = 0L;
+
+    @Column(name = "companies_failed", nullable = false)
+    @Builder.Default
+    private long companiesFailed = 0L;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(length = 3, nullable = false)
+    private String currency;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
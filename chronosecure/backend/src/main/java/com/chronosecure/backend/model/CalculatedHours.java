@@ -13,8 +13,12 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(ReportDataChangeListener.class)
 @Table(name = "calculated_hours", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "employee_id", "work_date" })
+}, indexes = {
+        // Key-ordered chunks of a tenant purge
+        @Index(name = "idx_calculated_hours_company_id", columnList = "company_id, id")
 })
 @Data
 @NoArgsConstructor
@@ -36,6 +36,10 @@ public class Company {
     @Column(name = "stripe_customer_id")
     private String stripeCustomerId;
 
+    // IANA region id (e.g. "Australia/Sydney"); null = platform default
+    @Column(name = "timezone", length = 64)
+    private String timezone;
+
     @Column(name = "is_active")
     @Builder.Default
     private boolean isActive = true;
@@ -15,6 +15,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(ReportDataChangeListener.class)
 @Table(name = "company_calendars", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"companyId", "date"})
 })
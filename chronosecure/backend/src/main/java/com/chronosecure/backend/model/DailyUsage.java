@@ -0,0 +1,50 @@
+package com.chronosecure.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Daily Usage Entity
+ * Billable headcount per company and day: the number of distinct employees
+ * who clocked in. Maintained at ingestion and reconciled nightly from
+ * attendance_logs; cost reports read from here instead of the raw logs.
+ */
+@Entity
+@Table(name = "daily_usage")
+@IdClass(DailyUsage.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyUsage {
+
+    @Id
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Id
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Column(nullable = false)
+    private int headcount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID companyId;
+        private LocalDate usageDate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.chronosecure.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Daily Usage Member Entity
+ * One row per employee counted in a day's headcount. The primary key makes
+ * the increment idempotent: a second clock-in on the same day is a no-op.
+ */
+@Entity
+@Table(name = "daily_usage_members", indexes = {
+        @Index(name = "idx_daily_usage_members_employee", columnList = "employee_id")
+})
+@IdClass(DailyUsageMember.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyUsageMember {
+
+    @Id
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Id
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Id
+    @Column(name = "employee_id", nullable = false)
+    private UUID employeeId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID companyId;
+        private LocalDate usageDate;
+        private UUID employeeId;
+    }
+}
@@ -22,8 +22,11 @@ import java.util.UUID;
  * hashes
  */
 @Entity
+@EntityListeners({ ReportDataChangeListener.class, RosterVersionListener.class })
 @Table(name = "employees", uniqueConstraints = {
         @UniqueConstraint(name = "uk_company_employee_code", columnNames = { "company_id", "employee_code" })
+}, indexes = {
+        @Index(name = "idx_employees_company_roster", columnList = "company_id, roster_version")
 })
 @Data
 @NoArgsConstructor
@@ -87,4 +90,12 @@ public class Employee {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private Instant updatedAt;
+
+    /**
+     * Company roster version of the last write, for kiosk delta sync
+     * (set by {@link RosterVersionListener})
+     */
+    @Column(name = "roster_version")
+    @JsonIgnore
+    private Long rosterVersion;
 }
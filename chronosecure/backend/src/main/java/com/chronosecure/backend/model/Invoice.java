@@ -0,0 +1,87 @@
+package com.chronosecure.backend.model;
+
+import com.chronosecure.backend.model.enums.SubscriptionPlan;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Invoice Entity
+ * Snapshot of what a company owed for a billing period, as computed by one
+ * billing run. Plan, prices and name are copied so later changes to the
+ * company or the price list do not rewrite issued invoices.
+ */
+@Entity
+@Table(name = "invoices", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_invoices_run_company", columnNames = { "billing_run_id", "company_id" })
+}, indexes = {
+        @Index(name = "idx_invoices_company_period", columnList = "company_id, period_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Invoice {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "billing_run_id", nullable = false)
+    private UUID billingRunId;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "company_name")
+    private String companyName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subscription_plan", length = 20)
+    private SubscriptionPlan subscriptionPlan;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "billable_days", nullable = false)
+    private int billableDays;
+
+    /**
+     * Sum of the daily headcounts over the period (person-days)
+     */
+    @Column(name = "total_headcount", nullable = false)
+    private long totalHeadcount;
+
+    @Column(name = "daily_base_fee", nullable = false, precision = 10, scale = 2)
+    private BigDecimal dailyBaseFee;
+
+    @Column(name = "included_headcount", nullable = false)
+    private int includedHeadcount;
+
+    @Column(name = "per_head_fee", nullable = false, precision = 10, scale = 2)
+    private BigDecimal perHeadFee;
+
+    @Column(name = "base_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal baseAmount;
+
+    @Column(name = "usage_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal usageAmount;
+
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(length = 3, nullable = false)
+    private String currency;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -10,6 +10,7 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(ReportDataChangeListener.class)
 @Table(name = "public_holidays", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"company_id", "holiday_date"})
 })
@@ -0,0 +1,70 @@
+package com.chronosecure.backend.model;
+
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.service.TimeZoneService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Entity listener that moves the report data version of the months an
+ * entity belongs to whenever it is written through JPA, and drops the
+ * compiled calendar of a company whose calendar or holidays change. Bulk
+ * JDBC writes bypass it and call {@link ReportCacheService} themselves.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class ReportDataChangeListener {
+
+    private final ObjectProvider<ReportCacheService> reportCacheService;
+    private final ObjectProvider<TimeZoneService> timeZoneService;
+    private final ObjectProvider<CompiledCalendarService> compiledCalendarService;
+
+    public ReportDataChangeListener(ObjectProvider<ReportCacheService> reportCacheService,
+            ObjectProvider<TimeZoneService> timeZoneService,
+            ObjectProvider<CompiledCalendarService> compiledCalendarService) {
+        this.reportCacheService = reportCacheService;
+        this.timeZoneService = timeZoneService;
+        this.compiledCalendarService = compiledCalendarService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof CompanyCalendar entry) {
+            compiledCalendarService.ifAvailable(calendars -> calendars.evict(entry.getCompanyId()));
+        } else if (entity instanceof PublicHoliday holiday && holiday.getCompany() != null) {
+            compiledCalendarService.ifAvailable(calendars -> calendars.evict(holiday.getCompany().getId()));
+        }
+
+        ReportCacheService cache = reportCacheService.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+
+        if (entity instanceof AttendanceLog log && log.getEventTimestamp() != null) {
+            TimeZoneService zones = timeZoneService.getIfAvailable();
+            LocalDate day = zones != null
+                    ? zones.daysFor(log.getCompanyId()).dateOf(log.getEventTimestamp())
+                    : LocalDate.ofInstant(log.getEventTimestamp(), ZoneId.systemDefault());
+            cache.markChanged(log.getCompanyId(), List.of(day));
+        } else if (entity instanceof CalculatedHours hours && hours.getWorkDate() != null) {
+            cache.markChanged(hours.getCompanyId(), List.of(hours.getWorkDate()));
+        } else if (entity instanceof TimeOffRequest request && request.getStartDate() != null && request.getEndDate() != null) {
+            cache.markChanged(request.getCompanyId(), request.getStartDate(), request.getEndDate());
+        } else if (entity instanceof CompanyCalendar entry && entry.getDate() != null) {
+            cache.markChanged(entry.getCompanyId(), List.of(entry.getDate()));
+        } else if (entity instanceof PublicHoliday holiday && holiday.getCompany() != null && holiday.getHolidayDate() != null) {
+            cache.markChanged(holiday.getCompany().getId(), List.of(holiday.getHolidayDate()));
+        } else if (entity instanceof Employee employee) {
+            // Names, departments and status appear in every period's report
+            cache.markAllChanged(employee.getCompanyId());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.chronosecure.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Report Data Version Entity
+ * Change counter per company and month for the data reports are built from
+ * (logs, leaves, calendar entries, hours, employees). Cached reports are
+ * keyed by the versions of the months they cover. The row for
+ * {@link #ALL_PERIODS} is bumped by changes that span every month.
+ */
+@Entity
+@Table(name = "report_data_versions")
+@IdClass(ReportDataVersion.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportDataVersion {
+
+    public static final LocalDate ALL_PERIODS = LocalDate.of(1970, 1, 1);
+
+    @Id
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    /**
+     * First day of the month
+     */
+    @Id
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID companyId;
+        private LocalDate periodMonth;
+    }
+}
@@ -0,0 +1,88 @@
+package com.chronosecure.backend.model;
+
+import com.chronosecure.backend.model.enums.ReportJobStatus;
+import com.chronosecure.backend.model.enums.ReportType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Report Job Entity
+ * A report generated in the background. Persisted so queued and running
+ * jobs survive a restart; the finished file is kept until expiresAt and
+ * can be fetched with the download token. A running job belongs to the
+ * instance in owner, which refreshes heartbeatAt while it is alive.
+ */
+@Entity
+@Table(name = "report_jobs", indexes = {
+        @Index(name = "idx_report_jobs_company_created", columnList = "company_id, created_at"),
+        @Index(name = "idx_report_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 20)
+    private ReportType reportType;
+
+    @Column(name = "employee_id")
+    private UUID employeeId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "download_token", nullable = false, length = 64)
+    private String downloadToken;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(length = 64)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
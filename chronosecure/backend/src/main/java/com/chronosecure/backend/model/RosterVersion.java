@@ -0,0 +1,35 @@
+package com.chronosecure.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Roster Version Entity
+ * Change counter of a company's kiosk roster. Every employee write takes the
+ * next version and stamps it on the employee, so a kiosk can ask for the
+ * changes since the version it holds. Deletions cannot be expressed as a
+ * delta; they move {@code fullSyncVersion} and older kiosks resync fully.
+ */
+@Entity
+@Table(name = "roster_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RosterVersion {
+
+    @Id
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "full_sync_version", nullable = false)
+    private long fullSyncVersion;
+}
@@ -0,0 +1,39 @@
+package com.chronosecure.backend.model;
+
+import com.chronosecure.backend.repository.RosterJdbcRepository;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener that stamps every employee write with the company's next
+ * roster version, and forces a full kiosk resync when an employee row is
+ * deleted. Bulk JDBC inserts bypass it and take a version themselves.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class RosterVersionListener {
+
+    private final ObjectProvider<RosterJdbcRepository> rosterJdbcRepository;
+
+    public RosterVersionListener(ObjectProvider<RosterJdbcRepository> rosterJdbcRepository) {
+        this.rosterJdbcRepository = rosterJdbcRepository;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void onWrite(Employee employee) {
+        RosterJdbcRepository roster = rosterJdbcRepository.getIfAvailable();
+        if (roster != null && employee.getCompanyId() != null) {
+            employee.setRosterVersion(roster.nextVersion(employee.getCompanyId()));
+        }
+    }
+
+    @PreRemove
+    public void onRemove(Employee employee) {
+        RosterJdbcRepository roster = rosterJdbcRepository.getIfAvailable();
+        if (roster != null && employee.getCompanyId() != null) {
+            roster.requireFullSync(employee.getCompanyId());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.chronosecure.backend.model;
+
+import com.chronosecure.backend.model.enums.TenantPurgeStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tenant Purge Job Entity
+ * Durable progress of a company deletion so it can resume after a restart.
+ * Deliberately not linked to companies: the company row is the last thing deleted.
+ */
+@Entity
+@Table(name = "tenant_purge_jobs", indexes = {
+        @Index(name = "idx_tenant_purge_company", columnList = "company_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TenantPurgeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "company_name")
+    private String companyName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TenantPurgeStatus status;
+
+    /**
+     * Table currently being purged; earlier stages are already empty for this tenant
+     */
+    @Column(length = 50)
+    private String stage;
+
+    @Column(name = "rows_deleted", nullable = false)
+    @Builder.Default
+    private long rowsDeleted = 0L;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
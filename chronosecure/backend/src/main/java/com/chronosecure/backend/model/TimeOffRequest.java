@@ -17,7 +17,11 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "time_off_requests")
+@EntityListeners(ReportDataChangeListener.class)
+@Table(name = "time_off_requests", indexes = {
+        // Key-ordered chunks of a tenant purge
+        @Index(name = "idx_time_off_requests_company_id", columnList = "company_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,8 @@
+package com.chronosecure.backend.model.enums;
+
+public enum BillingRunStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.chronosecure.backend.model.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    EXPIRED
+}
@@ -0,0 +1,7 @@
+package com.chronosecure.backend.model.enums;
+
+public enum ReportType {
+    COMPANY,
+    EMPLOYEE,
+    COST
+}
@@ -0,0 +1,8 @@
+package com.chronosecure.backend.model.enums;
+
+public enum TenantPurgeStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
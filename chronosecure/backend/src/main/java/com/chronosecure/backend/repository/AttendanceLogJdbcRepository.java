@@ -0,0 +1,51 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.AttendanceLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC access for high-volume attendance writes.
+ * Bypasses the persistence context so large offline batches are sent
+ * to the database as a handful of batched statements instead of one
+ * INSERT (plus entity bookkeeping) per event.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceLogJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO attendance_logs "
+            + "(id, company_id, employee_id, event_type, event_timestamp, photo_url, device_id, is_offline_sync, confidence_score) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Batch insert logs. Every log must already carry its id, company and employee.
+     */
+    public void batchInsert(List<AttendanceLog> logs) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, logs, BATCH_SIZE, (ps, log) -> {
+            ps.setObject(1, log.getId());
+            ps.setObject(2, log.getCompanyId());
+            ps.setObject(3, log.getEmployee().getId());
+            ps.setString(4, log.getEventType().name());
+            ps.setObject(5, OffsetDateTime.ofInstant(log.getEventTimestamp(), ZoneOffset.UTC));
+            ps.setString(6, log.getPhotoUrl());
+            ps.setString(7, log.getDeviceId());
+            ps.setBoolean(8, log.isOfflineSync());
+            if (log.getConfidenceScore() != null) {
+                ps.setBigDecimal(9, log.getConfidenceScore());
+            } else {
+                ps.setNull(9, Types.NUMERIC);
+            }
+        });
+    }
+}
@@ -7,7 +7,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -18,6 +20,9 @@ public interface AttendanceLogRepository extends JpaRepository<AttendanceLog, UU
     List<AttendanceLog> findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc(
             UUID employeeId, Instant startOfDay, Instant endOfDay);
 
+    // Kiosk next-state: the employee's latest event (top-1 on idx_attendance_employee_timestamp)
+    Optional<AttendanceLog> findFirstByEmployeeIdAndEventTimestampIsNotNullOrderByEventTimestampDesc(UUID employeeId);
+
     // 2. Real-time Dashboard: Get the very last event for a list of employees
     // Efficiently finds the current status (In/Out/Break) for everyone in a
     // company.
@@ -32,7 +37,24 @@ public interface AttendanceLogRepository extends JpaRepository<AttendanceLog, UU
     // Fetch history for company within date range
     List<AttendanceLog> findByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(
             UUID companyId, Instant start, Instant end);
+
+    // Same, with the employees joined in for listings that show their names
+    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = "employee")
+    List<AttendanceLog> findWithEmployeeByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(
+            UUID companyId, Instant start, Instant end);
             
     // For delete cleanup
     List<AttendanceLog> findByCompanyId(UUID companyId);
+
+    // Offline-sync de-duplication: (employeeId, eventTimestamp, eventType) already stored
+    // for a set of employees within the time span covered by a replayed batch.
+    @Query("SELECT log.employee.id, log.eventTimestamp, log.eventType FROM AttendanceLog log " +
+            "WHERE log.employee.id IN :employeeIds " +
+            "AND log.eventTimestamp BETWEEN :start AND :end")
+    List<Object[]> findEventKeysForEmployees(@Param("employeeIds") Collection<UUID> employeeIds,
+            @Param("start") Instant start, @Param("end") Instant end);
+
+    // GDPR erasure: photo files to remove once the rows are gone
+    @Query("SELECT log.photoUrl FROM AttendanceLog log WHERE log.employee.id = :employeeId AND log.photoUrl IS NOT NULL")
+    List<String> findPhotoUrlsByEmployeeId(@Param("employeeId") UUID employeeId);
 }
@@ -0,0 +1,198 @@
+package com.chronosecure.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DDL for the monthly range partitions of audit_logs (PostgreSQL only).
+ * Hibernate creates audit_logs as a plain table. The migration builds a
+ * partitioned copy next to it (audit_logs_migration), fills it in chunks while
+ * the plain table keeps taking writes, and swaps the two in a short final
+ * transaction; after that only new monthly partitions are added.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogPartitionRepository {
+
+    private static final String TABLE = "audit_logs";
+    private static final String MIGRATION_TABLE = "audit_logs_migration";
+
+    private static final String COLUMNS =
+            "id, user_id, company_id, action, resource_type, resource_id, ip_address, user_agent, details, created_at";
+    private static final String SOURCE_COLUMNS = "id, user_id, company_id, action, resource_type, resource_id, "
+            + "ip_address, user_agent, details, COALESCE(created_at, CURRENT_TIMESTAMP) AS created_at";
+
+    // Index name and definition, %s being the table
+    private static final List<String[]> INDEXES = List.of(
+            new String[] {"idx_audit_logs_user", "(user_id)"},
+            new String[] {"idx_audit_logs_company_created", "(company_id, created_at DESC, id DESC)"},
+            new String[] {"idx_audit_logs_company_id", "(company_id, id)"},
+            new String[] {"idx_audit_logs_details", "USING GIN (details jsonb_path_ops)"});
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param rows rows read from the plain table
+     * @param lastId highest id read, where the next chunk starts (null when nothing was read)
+     */
+    public record CopyChunk(int rows, UUID lastId) {
+    }
+
+    public boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    /**
+     * @return true once audit_logs is a partitioned table (relkind 'p')
+     */
+    public boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass('audit_logs')", String.class);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    public boolean migrationTableExists() {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('" + MIGRATION_TABLE + "') IS NOT NULL", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Oldest entry of the plain table, used to size the partitions of the migration.
+     */
+    public Instant findOldestEntry() {
+        OffsetDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM audit_logs", OffsetDateTime.class);
+        return oldest != null ? oldest.toInstant() : null;
+    }
+
+    public void createIndexes() {
+        createIndexes(TABLE);
+    }
+
+    public void createDefaultPartition() {
+        createDefaultPartition(TABLE);
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        createMonthlyPartition(TABLE, month);
+    }
+
+    /**
+     * First migration step, outside a transaction: hand the index names over to
+     * the partitioned table by renaming the plain table's indexes, and index
+     * created_at so the final catch-up reads only recent rows. Safe to repeat.
+     */
+    public void prepareLegacyTable() {
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?",
+                String.class, TABLE);
+        for (String[] index : INDEXES) {
+            if (existing.contains(index[0]) && existing.contains(index[0] + "_legacy")) {
+                // Recreated by a restart after an interrupted migration
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY " + index[0]);
+            } else if (existing.contains(index[0])) {
+                jdbcTemplate.execute("ALTER INDEX " + index[0] + " RENAME TO " + index[0] + "_legacy");
+            }
+        }
+        // CONCURRENTLY: writes to audit_logs continue while it is built
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_legacy_created ON audit_logs (created_at)");
+    }
+
+    /**
+     * Create the empty partitioned table with its partitions, keys and indexes.
+     * Run in one transaction, so the table exists only once complete.
+     */
+    public void createMigrationTable(YearMonth firstMonth, YearMonth lastMonth) {
+        jdbcTemplate.execute("CREATE TABLE " + MIGRATION_TABLE + " (LIKE audit_logs INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + MIGRATION_TABLE + " ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP, "
+                + "ALTER COLUMN created_at SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + MIGRATION_TABLE + " ADD CONSTRAINT pk_audit_logs PRIMARY KEY (id, created_at)");
+        // Same as schema.sql: deleting a user keeps their audit trail
+        jdbcTemplate.execute("ALTER TABLE " + MIGRATION_TABLE + " ADD CONSTRAINT fk_audit_logs_user "
+                + "FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE SET NULL");
+
+        createDefaultPartition(MIGRATION_TABLE);
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            createMonthlyPartition(MIGRATION_TABLE, month);
+        }
+        createIndexes(MIGRATION_TABLE);
+    }
+
+    /**
+     * Copy up to {@code limit} rows of the plain table, in id order after
+     * {@code afterId}, created in [from, to). A null {@code from} also takes rows
+     * without created_at. Rows copied before are skipped, so a restarted
+     * migration can go over them again.
+     */
+    public CopyChunk copyChunk(Instant from, Instant to, UUID afterId, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        if (from == null) {
+            where.append("(created_at < ? OR created_at IS NULL)");
+        } else {
+            where.append("created_at >= ? AND created_at < ?");
+            args.add(OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+        }
+        args.add(OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+        if (afterId != null) {
+            where.append(" AND id > ?");
+            args.add(afterId);
+        }
+
+        String sql = "WITH batch AS (SELECT " + SOURCE_COLUMNS + " FROM audit_logs WHERE " + where
+                + " ORDER BY id LIMIT " + limit + "), "
+                + "copied AS (INSERT INTO " + MIGRATION_TABLE + " (" + COLUMNS + ") SELECT " + COLUMNS
+                + " FROM batch ON CONFLICT DO NOTHING) "
+                + "SELECT (SELECT COUNT(*) FROM batch) AS copied_rows, (SELECT id FROM batch ORDER BY id DESC LIMIT 1) AS last_id";
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
+                new CopyChunk(rs.getInt("copied_rows"), rs.getObject("last_id", UUID.class)), args.toArray());
+    }
+
+    /**
+     * Last migration step, in one transaction: copy what was written since
+     * {@code copiedUntil}, then put the partitioned table in place of the plain
+     * one. audit_logs is locked only for the catch-up and the renames.
+     *
+     * @return rows copied by the catch-up
+     */
+    public int swapInMigrationTable(Instant copiedUntil) {
+        jdbcTemplate.execute("LOCK TABLE audit_logs IN ACCESS EXCLUSIVE MODE");
+        int copied = jdbcTemplate.update("INSERT INTO " + MIGRATION_TABLE + " (" + COLUMNS + ") SELECT " + SOURCE_COLUMNS
+                + " FROM audit_logs WHERE created_at >= ? ON CONFLICT DO NOTHING",
+                OffsetDateTime.ofInstant(copiedUntil, ZoneOffset.UTC));
+        jdbcTemplate.execute("ALTER TABLE audit_logs RENAME TO audit_logs_legacy");
+        jdbcTemplate.execute("ALTER TABLE " + MIGRATION_TABLE + " RENAME TO audit_logs");
+        jdbcTemplate.execute("DROP TABLE audit_logs_legacy");
+        return copied;
+    }
+
+    private void createIndexes(String table) {
+        for (String[] index : INDEXES) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + index[0] + " ON " + table + " " + index[1]);
+        }
+    }
+
+    private void createDefaultPartition(String parent) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF " + parent + " DEFAULT");
+    }
+
+    private void createMonthlyPartition(String parent, YearMonth month) {
+        OffsetDateTime from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = from.plusMonths(1);
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS audit_logs_y%04dm%02d PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                month.getYear(), month.getMonthValue(), parent, from, to));
+    }
+}
@@ -0,0 +1,112 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.AuditLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated reads over the partitioned audit_logs table.
+ * Pages are ordered by (created_at, id) descending and continue strictly after
+ * the last row of the previous page, so the cost of a page does not depend on
+ * how deep the caller has scrolled. Served by idx_audit_logs_company_created;
+ * the details filter uses the GIN index idx_audit_logs_details.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogQueryRepository {
+
+    private static final TypeReference<Map<String, Object>> DETAILS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public record Filter(String action, String resourceType, UUID resourceId, Instant from, Instant to,
+            String detailsJson) {
+    }
+
+    /**
+     * @param afterCreatedAt with {@code afterId}, the last row of the previous page (both null for the first page)
+     */
+    public List<AuditLog> findPage(UUID companyId, Filter filter, Instant afterCreatedAt, UUID afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, user_id, company_id, action, resource_type, resource_id, "
+                + "ip_address, user_agent, details::text AS details, created_at FROM audit_logs WHERE company_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(companyId);
+
+        if (filter.action() != null) {
+            sql.append(" AND action = ?");
+            args.add(filter.action());
+        }
+        if (filter.resourceType() != null) {
+            sql.append(" AND resource_type = ?");
+            args.add(filter.resourceType());
+        }
+        if (filter.resourceId() != null) {
+            sql.append(" AND resource_id = ?");
+            args.add(filter.resourceId());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(OffsetDateTime.ofInstant(filter.from(), ZoneOffset.UTC));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(OffsetDateTime.ofInstant(filter.to(), ZoneOffset.UTC));
+        }
+        if (filter.detailsJson() != null) {
+            sql.append(" AND details @> CAST(? AS jsonb)");
+            args.add(filter.detailsJson());
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            args.add(OffsetDateTime.ofInstant(afterCreatedAt, ZoneOffset.UTC));
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    private AuditLog mapRow(ResultSet rs) throws SQLException {
+        OffsetDateTime createdAt = rs.getObject("created_at", OffsetDateTime.class);
+        return AuditLog.builder()
+                .id(rs.getObject("id", UUID.class))
+                .userId(rs.getObject("user_id", UUID.class))
+                .companyId(rs.getObject("company_id", UUID.class))
+                .action(rs.getString("action"))
+                .resourceType(rs.getString("resource_type"))
+                .resourceId(rs.getObject("resource_id", UUID.class))
+                .ipAddress(rs.getString("ip_address"))
+                .userAgent(rs.getString("user_agent"))
+                .details(readDetails(rs.getString("details")))
+                .createdAt(createdAt != null ? createdAt.toInstant() : null)
+                .build();
+    }
+
+    private Map<String, Object> readDetails(String json) throws SQLException {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, DETAILS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable audit details", e);
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.util.UUID;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
-    List<AuditLog> findByCompanyIdOrderByCreatedAtDesc(UUID companyId);
+    // Tenant-wide listing is paged through AuditLogQueryRepository; an unbounded finder here would load the whole history
     List<AuditLog> findByUserIdOrderByCreatedAtDesc(UUID userId);
     List<AuditLog> findByCompanyIdAndCreatedAtBetween(UUID companyId, Instant start, Instant end);
 }
@@ -0,0 +1,43 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.BillingRun;
+import com.chronosecure.backend.model.enums.BillingRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BillingRunRepository extends JpaRepository<BillingRun, UUID> {
+
+    // Startup: runs interrupted by a restart
+    List<BillingRun> findByStatusIn(Collection<BillingRunStatus> statuses);
+
+    // Idempotent start: reuse an unfinished run for the same period
+    Optional<BillingRun> findFirstByPeriodStartAndPeriodEndAndStatusIn(LocalDate periodStart, LocalDate periodEnd,
+            Collection<BillingRunStatus> statuses);
+
+    List<BillingRun> findTop50ByOrderByCreatedAtDesc();
+
+    // Progress is recorded in the same transaction as the invoices it describes;
+    // companies found to owe nothing are taken out of the total
+    @Modifying
+    @Query("UPDATE BillingRun r SET r.companiesInvoiced = r.companiesInvoiced + :invoiced, " +
+            "r.companiesTotal = r.companiesTotal - :skipped, " +
+            "r.totalAmount = r.totalAmount + :amount, r.updatedAt = CURRENT_INSTANT WHERE r.id = :id")
+    int recordProgress(@Param("id") UUID id, @Param("invoiced") long invoiced, @Param("skipped") long skipped,
+            @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BillingRun r SET r.companiesFailed = r.companiesFailed + :failed, r.lastError = :error, " +
+            "r.updatedAt = CURRENT_INSTANT WHERE r.id = :id")
+    int recordFailure(@Param("id") UUID id, @Param("failed") long failed, @Param("error") String error);
+}
@@ -0,0 +1,82 @@
+package com.chronosecure.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based deletes in bounded, key-ordered chunks.
+ * Each call removes at most {@code limit} rows, so callers can commit between
+ * chunks and keep lock footprints and transaction sizes small on big tenants.
+ * Chunks continue after the last id deleted, so with an index on
+ * (predicate column, id) every chunk reads only the rows it deletes instead of
+ * re-reading and sorting everything that is left.
+ * Table names and predicates come from code, never from request input.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkDeleteJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param deleted rows deleted; less than the limit means nothing is left
+     * @param lastId highest id deleted, where the next chunk starts (null when nothing was deleted)
+     */
+    public record Chunk(int deleted, UUID lastId) {
+    }
+
+    /**
+     * Delete up to {@code limit} rows of {@code table} matching {@code where}
+     * whose id is above {@code afterId} (null for the first chunk).
+     */
+    public Chunk deleteChunk(String table, String where, UUID afterId, int limit, Object... args) {
+        List<Object> params = new ArrayList<>(Arrays.asList(args));
+        String keyset = "";
+        if (afterId != null) {
+            keyset = " AND id > ?";
+            params.add(afterId);
+        }
+        // The highest id is taken in SQL: PostgreSQL orders UUIDs unlike UUID.compareTo
+        String sql = "WITH deleted AS (DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table
+                + " WHERE (" + where + ")" + keyset + " ORDER BY id LIMIT " + limit + ") RETURNING id) "
+                + "SELECT (SELECT COUNT(*) FROM deleted) AS deleted, "
+                + "(SELECT id FROM deleted ORDER BY id DESC LIMIT 1) AS last_id";
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
+                new Chunk(rs.getInt("deleted"), rs.getObject("last_id", UUID.class)), params.toArray());
+    }
+
+    /**
+     * Delete up to {@code limit} rows of a table without an id column (composite
+     * keys), in no particular order. The predicate must lead the table's key,
+     * so each chunk is an index range read that stops after {@code limit} rows.
+     *
+     * @return number of rows deleted; less than {@code limit} means nothing is left
+     */
+    public int deleteUnorderedChunk(String table, String where, int limit, Object... args) {
+        String sql = "DELETE FROM " + table + " WHERE ctid IN (SELECT ctid FROM " + table
+                + " WHERE " + where + " LIMIT " + limit + ")";
+        return jdbcTemplate.update(sql, args);
+    }
+
+    /**
+     * Delete every matching row, one chunk per statement. Outside a transaction
+     * each chunk commits on its own, so no long-running transaction is held.
+     *
+     * @return total rows deleted
+     */
+    public long deleteInChunks(String table, String where, int chunkSize, Object... args) {
+        long total = 0;
+        Chunk chunk = new Chunk(0, null);
+        do {
+            chunk = deleteChunk(table, where, chunk.lastId(), chunkSize, args);
+            total += chunk.deleted();
+        } while (chunk.deleted() == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.chronosecure.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Forward-only reads of a company's attendance data for bulk (BI) exports.
+ * Same contract as {@link EmployeeExportJdbcRepository}: rows go straight to
+ * the callback and callers must hold a transaction so the driver streams with
+ * a server-side cursor. The fetch size is larger because these exports cover
+ * whole companies over months.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkExportJdbcRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void streamAttendanceLogs(UUID companyId, UUID employeeId, Instant from, Instant to,
+            RowCallbackHandler handler) {
+        List<Object> args = new ArrayList<>(List.of(companyId, utc(from), utc(to)));
+        String sql = "SELECT a.id, a.employee_id, e.employee_code, a.event_type, a.event_timestamp, a.device_id, "
+                + "a.is_offline_sync, a.confidence_score "
+                + "FROM attendance_logs a JOIN employees e ON e.id = a.employee_id "
+                + "WHERE a.company_id = ? AND a.event_timestamp >= ? AND a.event_timestamp < ?";
+        if (employeeId != null) {
+            sql += " AND a.employee_id = ?";
+            args.add(employeeId);
+        }
+        stream(sql + " ORDER BY a.event_timestamp, a.id", handler, args.toArray());
+    }
+
+    public void streamCalculatedHours(UUID companyId, UUID employeeId, LocalDate from, LocalDate to,
+            RowCallbackHandler handler) {
+        List<Object> args = new ArrayList<>(List.of(companyId, from, to));
+        String sql = "SELECT h.employee_id, e.employee_code, h.work_date, h.total_hours_worked, h.weekday_hours, "
+                + "h.saturday_hours, h.sunday_hours, h.public_holiday_hours, h.leave_hours "
+                + "FROM calculated_hours h JOIN employees e ON e.id = h.employee_id "
+                + "WHERE h.company_id = ? AND h.work_date BETWEEN ? AND ?";
+        if (employeeId != null) {
+            sql += " AND h.employee_id = ?";
+            args.add(employeeId);
+        }
+        stream(sql + " ORDER BY h.work_date, e.employee_code", handler, args.toArray());
+    }
+
+    /**
+     * One row per employee and day of [from, to], carrying everything the
+     * company report uses to decide a day's status: the calculated hours, the
+     * first clock-in and last clock-out of the day in {@code zoneId}, and
+     * whether an approved leave covers the day. Ordered by employee, then day.
+     */
+    public void streamDailyStatus(UUID companyId, UUID employeeId, LocalDate from, LocalDate to, String zoneId,
+            Instant fromInstant, Instant toInstant, RowCallbackHandler handler) {
+        List<Object> args = new ArrayList<>(List.of(from, to, zoneId, companyId, utc(fromInstant), utc(toInstant),
+                companyId));
+        String sql = "SELECT e.id AS employee_id, e.employee_code, e.first_name, e.last_name, d.day, "
+                + "h.total_hours_worked, h.public_holiday_hours, h.leave_hours, l.first_in, l.last_out, "
+                + "EXISTS (SELECT 1 FROM time_off_requests t WHERE t.employee_id = e.id AND t.status = 'APPROVED' "
+                + "AND d.day BETWEEN t.start_date AND t.end_date) AS on_leave "
+                + "FROM employees e "
+                + "CROSS JOIN (SELECT CAST(g AS date) AS day "
+                + "FROM generate_series(CAST(? AS date), CAST(? AS date), interval '1 day') g) d "
+                + "LEFT JOIN calculated_hours h ON h.employee_id = e.id AND h.work_date = d.day "
+                + "LEFT JOIN (SELECT employee_id, CAST(event_timestamp AT TIME ZONE ? AS date) AS day, "
+                + "MIN(event_timestamp) FILTER (WHERE event_type = 'CLOCK_IN') AS first_in, "
+                + "MAX(event_timestamp) FILTER (WHERE event_type = 'CLOCK_OUT') AS last_out "
+                + "FROM attendance_logs WHERE company_id = ? AND event_timestamp >= ? AND event_timestamp < ? "
+                + "GROUP BY 1, 2) l ON l.employee_id = e.id AND l.day = d.day "
+                + "WHERE e.company_id = ?";
+        if (employeeId != null) {
+            sql += " AND e.id = ?";
+            args.add(employeeId);
+        }
+        stream(sql + " ORDER BY e.employee_code, e.id, d.day", handler, args.toArray());
+    }
+
+    private void stream(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, handler);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
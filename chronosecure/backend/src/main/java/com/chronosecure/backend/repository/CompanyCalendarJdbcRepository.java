@@ -0,0 +1,78 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.CompanyCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC access for bulk calendar writes.
+ * A year of holidays and weekend overrides is sent as a few batched upserts
+ * instead of a lookup and a save per date.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CompanyCalendarJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = "INSERT INTO company_calendars "
+            + "(id, company_id, date, type, pay_multiplier, description) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (company_id, date) DO UPDATE SET type = EXCLUDED.type, "
+            + "pay_multiplier = EXCLUDED.pay_multiplier, description = EXCLUDED.description";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert or update entries by company and date. Every entry must carry an
+     * id, used only when its row does not exist yet.
+     */
+    public void batchUpsert(List<CompanyCalendar> entries) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setObject(1, entry.getId());
+            ps.setObject(2, entry.getCompanyId());
+            ps.setObject(3, entry.getDate());
+            ps.setString(4, entry.getType() != null ? entry.getType().name() : null);
+            if (entry.getPayMultiplier() != null) {
+                ps.setDouble(5, entry.getPayMultiplier());
+            } else {
+                ps.setNull(5, Types.DOUBLE);
+            }
+            ps.setString(6, entry.getDescription());
+        });
+    }
+
+    /**
+     * Employees with calculated hours on any of these dates, with those dates.
+     */
+    public Map<UUID, List<LocalDate>> findCalculatedEmployeeDays(UUID companyId, Collection<LocalDate> dates) {
+        Map<UUID, List<LocalDate>> employeeDays = new HashMap<>();
+        List<LocalDate> all = new ArrayList<>(dates);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<LocalDate> chunk = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+            String sql = "SELECT employee_id, work_date FROM calculated_hours WHERE company_id = ? AND work_date IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = companyId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query(sql, rs -> {
+                employeeDays.computeIfAbsent(rs.getObject("employee_id", UUID.class), k -> new ArrayList<>())
+                        .add(rs.getObject("work_date", LocalDate.class));
+            }, args);
+        }
+        return employeeDays;
+    }
+}
@@ -1,9 +1,15 @@
 package com.chronosecure.backend.repository;
 
 import com.chronosecure.backend.model.Company;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +21,12 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
     
     // For internal admin checks
     Optional<Company> findByStripeCustomerId(String stripeCustomerId);
+
+    // Keyset walk over all tenants (billing runs); start from the nil UUID
+    List<Company> findByIdGreaterThanOrderByIdAsc(UUID afterId, Pageable pageable);
+
+    // SELECT ... FOR UPDATE: serialises check-then-insert sequences of one tenant
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Company c WHERE c.id = :id")
+    Optional<Company> lockById(@Param("id") UUID id);
 }
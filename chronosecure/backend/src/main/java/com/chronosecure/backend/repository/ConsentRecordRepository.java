@@ -2,8 +2,12 @@ package com.chronosecure.backend.repository;
 
 import com.chronosecure.backend.model.ConsentRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +19,16 @@ public interface ConsentRecordRepository extends JpaRepository<ConsentRecord, UU
     boolean existsByEmployeeIdAndConsentTypeAndGrantedTrue(UUID employeeId, String consentType);
     
     void deleteByEmployeeIdIn(List<UUID> employeeIds);
+
+    // GDPR erasure: revoke every active consent in one statement
+    @Modifying
+    @Query("UPDATE ConsentRecord c SET c.granted = false, c.revokedAt = :revokedAt, c.updatedAt = :revokedAt " +
+            "WHERE c.employeeId = :employeeId AND c.granted = true")
+    int revokeAllByEmployeeId(@Param("employeeId") UUID employeeId, @Param("revokedAt") Instant revokedAt);
+
+    @Modifying
+    @Query("DELETE FROM ConsentRecord c WHERE c.employeeId = :employeeId")
+    int deleteAllByEmployeeId(@Param("employeeId") UUID employeeId);
 }
 
 
@@ -0,0 +1,156 @@
+package com.chronosecure.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC access for the daily_usage rollup.
+ * Increments go through daily_usage_members so that only an employee's
+ * first clock-in of the day bumps the headcount, in one round trip.
+ * A day's headcount never goes down: an employee counted once stays billed
+ * even after their logs are erased.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailyUsageJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INCREMENT_SQL = "WITH added AS ("
+            + "INSERT INTO daily_usage_members (company_id, usage_date, employee_id) VALUES (?, ?, ?) "
+            + "ON CONFLICT DO NOTHING RETURNING company_id, usage_date) "
+            + "INSERT INTO daily_usage (company_id, usage_date, headcount, updated_at) "
+            + "SELECT company_id, usage_date, 1, now() FROM added "
+            + "ON CONFLICT (company_id, usage_date) "
+            + "DO UPDATE SET headcount = daily_usage.headcount + 1, updated_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record UsageKey(UUID companyId, LocalDate usageDate, UUID employeeId) {
+    }
+
+    /**
+     * Count each employee once per day. Keys already recorded are ignored.
+     */
+    public void increment(List<UsageKey> keys) {
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, keys, BATCH_SIZE, (ps, key) -> {
+            ps.setObject(1, key.companyId());
+            ps.setObject(2, key.usageDate());
+            ps.setObject(3, key.employeeId());
+        });
+    }
+
+    /**
+     * Headcount per day for one company; days nobody clocked in are absent.
+     */
+    public Map<LocalDate, Integer> findHeadcounts(UUID companyId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Integer> headcounts = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT usage_date, headcount FROM daily_usage "
+                        + "WHERE company_id = ? AND usage_date BETWEEN ? AND ? ORDER BY usage_date",
+                rs -> {
+                    headcounts.put(rs.getObject("usage_date", LocalDate.class), rs.getInt("headcount"));
+                }, companyId, from, to);
+        return headcounts;
+    }
+
+    /**
+     * Headcounts for several companies at once (billing runs), keyed by company
+     * then day; companies without usage in the range are absent.
+     */
+    public Map<UUID, Map<LocalDate, Integer>> findHeadcounts(Collection<UUID> companyIds, LocalDate from, LocalDate to) {
+        Map<UUID, Map<LocalDate, Integer>> headcounts = new HashMap<>();
+        if (companyIds.isEmpty()) {
+            return headcounts;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(companyIds.size(), "?"));
+        List<Object> args = new ArrayList<>(companyIds);
+        args.add(from);
+        args.add(to);
+        jdbcTemplate.query("SELECT company_id, usage_date, headcount FROM daily_usage "
+                        + "WHERE company_id IN (" + placeholders + ") AND usage_date BETWEEN ? AND ?",
+                rs -> {
+                    headcounts.computeIfAbsent(rs.getObject("company_id", UUID.class), k -> new HashMap<>())
+                            .put(rs.getObject("usage_date", LocalDate.class), rs.getInt("headcount"));
+                }, args.toArray());
+        return headcounts;
+    }
+
+    public LocalDate findFirstUsageDate() {
+        return jdbcTemplate.queryForObject("SELECT MIN(usage_date) FROM daily_usage", LocalDate.class);
+    }
+
+    /**
+     * Local date of the earliest clock-in, in its company's zone.
+     */
+    public LocalDate findFirstClockInDate(String defaultZoneId) {
+        List<LocalDate> first = jdbcTemplate.query("SELECT CAST(a.event_timestamp AT TIME ZONE "
+                        + "COALESCE(c.timezone, ?) AS date) FROM attendance_logs a "
+                        + "JOIN companies c ON c.id = a.company_id "
+                        + "WHERE a.event_type = 'CLOCK_IN' ORDER BY a.event_timestamp LIMIT 1",
+                (rs, rowNum) -> rs.getObject(1, LocalDate.class), defaultZoneId);
+        return first.isEmpty() ? null : first.get(0);
+    }
+
+    /**
+     * Rebuild members for every company over [from, to] from attendance_logs,
+     * counting days in each company's own zone (or {@code defaultZoneId}), and
+     * raise headcounts that fall short of them. Headcounts above the members
+     * (employees erased since) are kept. Must run in a transaction so readers
+     * never see the members empty.
+     *
+     * @return days whose headcount was written, by company
+     */
+    public Map<UUID, List<LocalDate>> rebuild(LocalDate from, LocalDate to, String defaultZoneId) {
+        // Wide enough for any offset; the date filter below does the exact cut per company
+        Instant fromInstant = from.minusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant toInstant = to.plusDays(2).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        jdbcTemplate.update("DELETE FROM daily_usage_members WHERE usage_date BETWEEN ? AND ?", from, to);
+        jdbcTemplate.update("INSERT INTO daily_usage_members (company_id, usage_date, employee_id) "
+                        + "SELECT DISTINCT company_id, usage_date, employee_id FROM ("
+                        + "SELECT a.company_id, a.employee_id, "
+                        + "CAST(a.event_timestamp AT TIME ZONE COALESCE(c.timezone, ?) AS date) AS usage_date "
+                        + "FROM attendance_logs a JOIN companies c ON c.id = a.company_id "
+                        + "WHERE a.event_type = 'CLOCK_IN' AND a.event_timestamp >= ? AND a.event_timestamp < ?) e "
+                        + "WHERE usage_date BETWEEN ? AND ?",
+                defaultZoneId,
+                OffsetDateTime.ofInstant(fromInstant, ZoneOffset.UTC),
+                OffsetDateTime.ofInstant(toInstant, ZoneOffset.UTC),
+                from, to);
+
+        Map<UUID, List<LocalDate>> written = new HashMap<>();
+        jdbcTemplate.query("INSERT INTO daily_usage (company_id, usage_date, headcount, updated_at) "
+                        + "SELECT company_id, usage_date, COUNT(*), now() FROM daily_usage_members "
+                        + "WHERE usage_date BETWEEN ? AND ? GROUP BY company_id, usage_date "
+                        + "ON CONFLICT (company_id, usage_date) DO UPDATE SET headcount = EXCLUDED.headcount, updated_at = now() "
+                        + "WHERE EXCLUDED.headcount > daily_usage.headcount "
+                        + "RETURNING company_id, usage_date",
+                rs -> {
+                    written.computeIfAbsent(rs.getObject("company_id", UUID.class), k -> new ArrayList<>())
+                            .add(rs.getObject("usage_date", LocalDate.class));
+                }, from, to);
+        return written;
+    }
+
+    /**
+     * Forget which days an employee was counted on (GDPR erasure). The
+     * aggregate headcounts are left as they are.
+     */
+    public int deleteMembersByEmployeeId(UUID employeeId) {
+        return jdbcTemplate.update("DELETE FROM daily_usage_members WHERE employee_id = ?", employeeId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.chronosecure.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+/**
+ * Forward-only reads of an employee's full history for data-portability exports.
+ * Rows are handed to the callback as they arrive, so nothing is materialised.
+ * Callers must hold a transaction: the PostgreSQL driver only honours the
+ * fetch size (and streams with a server-side cursor) when autocommit is off.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeExportJdbcRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void streamAttendanceLogs(UUID employeeId, RowCallbackHandler handler) {
+        stream("SELECT id, event_type, event_timestamp, photo_url, device_id, is_offline_sync, confidence_score "
+                + "FROM attendance_logs WHERE employee_id = ? ORDER BY event_timestamp", handler, employeeId);
+    }
+
+    public void streamCalculatedHours(UUID employeeId, RowCallbackHandler handler) {
+        stream("SELECT work_date, total_hours_worked, weekday_hours, saturday_hours, sunday_hours, "
+                + "public_holiday_hours, leave_hours FROM calculated_hours WHERE employee_id = ? ORDER BY work_date",
+                handler, employeeId);
+    }
+
+    public void streamConsentRecords(UUID employeeId, RowCallbackHandler handler) {
+        stream("SELECT consent_type, granted, granted_at, revoked_at FROM consent_records "
+                + "WHERE employee_id = ? ORDER BY created_at", handler, employeeId);
+    }
+
+    public void streamPhotoUrls(UUID employeeId, RowCallbackHandler handler) {
+        stream("SELECT photo_url FROM attendance_logs WHERE employee_id = ? AND photo_url IS NOT NULL "
+                + "ORDER BY event_timestamp", handler, employeeId);
+    }
+
+    private void stream(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, handler);
+    }
+}
@@ -0,0 +1,66 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.ConsentRecord;
+import com.chronosecure.backend.model.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC access for bulk employee onboarding.
+ * Ids, timestamps and roster versions are assigned by the caller since
+ * Hibernate's generators, @CreationTimestamp and entity listeners are not
+ * involved here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_EMPLOYEE_SQL = "INSERT INTO employees "
+            + "(id, company_id, employee_code, first_name, last_name, pin_hash, department, email, is_active, created_at, updated_at, roster_version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CONSENT_SQL = "INSERT INTO consent_records "
+            + "(id, employee_id, consent_type, granted, granted_at, ip_address, user_agent, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<Employee> employees) {
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE_SQL, employees, BATCH_SIZE, (ps, e) -> {
+            ps.setObject(1, e.getId());
+            ps.setObject(2, e.getCompanyId());
+            ps.setString(3, e.getEmployeeCode());
+            ps.setString(4, e.getFirstName());
+            ps.setString(5, e.getLastName());
+            ps.setString(6, e.getPinHash());
+            ps.setString(7, e.getDepartment());
+            ps.setString(8, e.getEmail());
+            ps.setBoolean(9, e.isActive());
+            ps.setObject(10, OffsetDateTime.ofInstant(e.getCreatedAt(), ZoneOffset.UTC));
+            ps.setObject(11, OffsetDateTime.ofInstant(e.getUpdatedAt(), ZoneOffset.UTC));
+            ps.setObject(12, e.getRosterVersion(), Types.BIGINT);
+        });
+    }
+
+    public void batchInsertConsents(List<ConsentRecord> consents) {
+        jdbcTemplate.batchUpdate(INSERT_CONSENT_SQL, consents, BATCH_SIZE, (ps, c) -> {
+            ps.setObject(1, c.getId());
+            ps.setObject(2, c.getEmployeeId());
+            ps.setString(3, c.getConsentType());
+            ps.setBoolean(4, c.isGranted());
+            ps.setObject(5, OffsetDateTime.ofInstant(c.getGrantedAt(), ZoneOffset.UTC));
+            ps.setString(6, c.getIpAddress());
+            ps.setString(7, c.getUserAgent());
+            ps.setObject(8, OffsetDateTime.ofInstant(c.getCreatedAt(), ZoneOffset.UTC));
+            ps.setObject(9, OffsetDateTime.ofInstant(c.getUpdatedAt(), ZoneOffset.UTC));
+        });
+    }
+}
@@ -2,8 +2,11 @@ package com.chronosecure.backend.repository;
 
 import com.chronosecure.backend.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,4 +31,11 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
     
     // Kiosk mode: Find employee by code across all companies
     Optional<Employee> findByEmployeeCode(String employeeCode);
+
+    // Bulk validation: resolve many employees in a single round trip
+    List<Employee> findByIdIn(Collection<UUID> ids);
+
+    // Bulk import: which of these codes are already taken in the company (one query per chunk)
+    @Query("SELECT e.employeeCode FROM Employee e WHERE e.companyId = :companyId AND e.employeeCode IN :codes")
+    List<String> findExistingEmployeeCodes(@Param("companyId") UUID companyId, @Param("codes") Collection<String> codes);
 }
@@ -0,0 +1,60 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.Invoice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC access for invoice snapshots written by billing runs.
+ * Upserting on (billing_run_id, company_id) makes a resumed run rewrite
+ * the invoices it had already produced instead of failing on them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvoiceJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = "INSERT INTO invoices "
+            + "(id, billing_run_id, company_id, company_name, subscription_plan, period_start, period_end, "
+            + "billable_days, total_headcount, daily_base_fee, included_headcount, per_head_fee, "
+            + "base_amount, usage_amount, total_amount, currency, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (billing_run_id, company_id) DO UPDATE SET "
+            + "company_name = EXCLUDED.company_name, subscription_plan = EXCLUDED.subscription_plan, "
+            + "period_start = EXCLUDED.period_start, period_end = EXCLUDED.period_end, "
+            + "billable_days = EXCLUDED.billable_days, total_headcount = EXCLUDED.total_headcount, "
+            + "daily_base_fee = EXCLUDED.daily_base_fee, included_headcount = EXCLUDED.included_headcount, "
+            + "per_head_fee = EXCLUDED.per_head_fee, base_amount = EXCLUDED.base_amount, "
+            + "usage_amount = EXCLUDED.usage_amount, total_amount = EXCLUDED.total_amount, "
+            + "currency = EXCLUDED.currency, created_at = EXCLUDED.created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsert(List<Invoice> invoices) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, invoices, BATCH_SIZE, (ps, invoice) -> {
+            ps.setObject(1, invoice.getId());
+            ps.setObject(2, invoice.getBillingRunId());
+            ps.setObject(3, invoice.getCompanyId());
+            ps.setString(4, invoice.getCompanyName());
+            ps.setString(5, invoice.getSubscriptionPlan() != null ? invoice.getSubscriptionPlan().name() : null);
+            ps.setObject(6, invoice.getPeriodStart());
+            ps.setObject(7, invoice.getPeriodEnd());
+            ps.setInt(8, invoice.getBillableDays());
+            ps.setLong(9, invoice.getTotalHeadcount());
+            ps.setBigDecimal(10, invoice.getDailyBaseFee());
+            ps.setInt(11, invoice.getIncludedHeadcount());
+            ps.setBigDecimal(12, invoice.getPerHeadFee());
+            ps.setBigDecimal(13, invoice.getBaseAmount());
+            ps.setBigDecimal(14, invoice.getUsageAmount());
+            ps.setBigDecimal(15, invoice.getTotalAmount());
+            ps.setString(16, invoice.getCurrency());
+            ps.setObject(17, OffsetDateTime.ofInstant(invoice.getCreatedAt(), ZoneOffset.UTC));
+        });
+    }
+}
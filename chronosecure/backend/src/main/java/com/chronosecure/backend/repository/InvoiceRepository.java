@@ -0,0 +1,18 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.Invoice;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
+
+    Page<Invoice> findByBillingRunIdOrderByCompanyNameAsc(UUID billingRunId, Pageable pageable);
+
+    List<Invoice> findByCompanyIdOrderByPeriodStartDescCreatedAtDesc(UUID companyId);
+}
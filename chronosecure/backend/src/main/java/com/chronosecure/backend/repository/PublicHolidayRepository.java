@@ -15,6 +15,9 @@ public interface PublicHolidayRepository extends JpaRepository<PublicHoliday, UU
     // Check if a specific date is a holiday for this company
     Optional<PublicHoliday> findByCompanyIdAndHolidayDate(UUID companyId, LocalDate date);
 
+    // All holidays of a period (compiled into the company calendar)
+    List<PublicHoliday> findByCompanyIdAndHolidayDateBetween(UUID companyId, LocalDate startDate, LocalDate endDate);
+
     // List upcoming holidays for the dashboard
     List<PublicHoliday> findByCompanyIdAndHolidayDateAfterOrderByHolidayDateAsc(UUID companyId, LocalDate today);
 }
@@ -0,0 +1,49 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.ReportDataVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * JDBC access for report data versions: one upsert per touched month.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReportDataVersionJdbcRepository {
+
+    private static final String BUMP_SQL = "INSERT INTO report_data_versions (company_id, period_month, version) "
+            + "VALUES (?, ?, 1) ON CONFLICT (company_id, period_month) "
+            + "DO UPDATE SET version = report_data_versions.version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void bump(UUID companyId, Collection<LocalDate> months) {
+        List<LocalDate> sorted = months.stream().sorted().toList(); // Stable lock order between writers
+        jdbcTemplate.batchUpdate(BUMP_SQL, sorted, sorted.size(), (ps, month) -> {
+            ps.setObject(1, companyId);
+            ps.setObject(2, month);
+        });
+    }
+
+    /**
+     * Versions of the company-wide row and of the months in [fromMonth, toMonth];
+     * months never changed are absent.
+     */
+    public Map<LocalDate, Long> findVersions(UUID companyId, LocalDate fromMonth, LocalDate toMonth) {
+        Map<LocalDate, Long> versions = new TreeMap<>();
+        jdbcTemplate.query("SELECT period_month, version FROM report_data_versions "
+                        + "WHERE company_id = ? AND (period_month = ? OR period_month BETWEEN ? AND ?)",
+                rs -> {
+                    versions.put(rs.getObject("period_month", LocalDate.class), rs.getLong("version"));
+                }, companyId, ReportDataVersion.ALL_PERIODS, fromMonth, toMonth);
+        return versions;
+    }
+}
@@ -0,0 +1,65 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.ReportJob;
+import com.chronosecure.backend.model.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, UUID> {
+
+    Optional<ReportJob> findByIdAndCompanyId(UUID id, UUID companyId);
+
+    List<ReportJob> findTop50ByCompanyIdOrderByCreatedAtDesc(UUID companyId);
+
+    // Admission control: jobs a tenant already has waiting or running
+    long countByCompanyIdAndStatusIn(UUID companyId, Collection<ReportJobStatus> statuses);
+
+    // Recovery: unfinished jobs, oldest first
+    List<ReportJob> findByStatusInOrderByCreatedAtAsc(Collection<ReportJobStatus> statuses);
+
+    List<ReportJob> findByStatusAndExpiresAtBefore(ReportJobStatus status, Instant now);
+
+    // Takes a queued job for one instance; 0 when another instance took it first
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :running, j.owner = :owner, j.startedAt = CURRENT_INSTANT, " +
+            "j.heartbeatAt = CURRENT_INSTANT WHERE j.id = :id AND j.status = :queued")
+    int claim(@Param("id") UUID id, @Param("owner") String owner,
+            @Param("queued") ReportJobStatus queued, @Param("running") ReportJobStatus running);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.heartbeatAt = CURRENT_INSTANT WHERE j.owner = :owner AND j.status = :running")
+    int heartbeat(@Param("owner") String owner, @Param("running") ReportJobStatus running);
+
+    // Puts a running job back in the queue if its owner stopped refreshing the heartbeat
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :queued, j.owner = NULL, j.startedAt = NULL, j.heartbeatAt = NULL " +
+            "WHERE j.id = :id AND j.status = :running AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    int requeueIfStale(@Param("id") UUID id, @Param("staleBefore") Instant staleBefore,
+            @Param("running") ReportJobStatus running, @Param("queued") ReportJobStatus queued);
+
+    // Only the owner finishes a job; 0 when it was re-queued meanwhile
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :completed, j.fileName = :fileName, j.fileSize = :fileSize, " +
+            "j.completedAt = :completedAt, j.expiresAt = :expiresAt WHERE j.id = :id AND j.owner = :owner " +
+            "AND j.status = :running")
+    int complete(@Param("id") UUID id, @Param("owner") String owner, @Param("fileName") String fileName,
+            @Param("fileSize") long fileSize, @Param("completedAt") Instant completedAt,
+            @Param("expiresAt") Instant expiresAt, @Param("running") ReportJobStatus running,
+            @Param("completed") ReportJobStatus completed);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :failed, j.errorMessage = :error, j.completedAt = CURRENT_INSTANT " +
+            "WHERE j.id = :id AND j.owner = :owner AND j.status = :running")
+    int fail(@Param("id") UUID id, @Param("owner") String owner, @Param("error") String error,
+            @Param("running") ReportJobStatus running, @Param("failed") ReportJobStatus failed);
+}
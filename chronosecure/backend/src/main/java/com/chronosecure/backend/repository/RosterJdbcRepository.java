@@ -0,0 +1,82 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.dto.KioskRoster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access for the kiosk roster and its version counter.
+ * Taking a version locks the company's counter row until commit, so versions
+ * become visible in the order they were taken and a delta never skips one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RosterJdbcRepository {
+
+    private static final String NEXT_VERSION_SQL = "INSERT INTO roster_versions (company_id, version, full_sync_version) "
+            + "VALUES (?, 1, 0) ON CONFLICT (company_id) "
+            + "DO UPDATE SET version = roster_versions.version + 1 RETURNING version";
+
+    private static final String FULL_SYNC_SQL = "INSERT INTO roster_versions (company_id, version, full_sync_version) "
+            + "VALUES (?, 1, 1) ON CONFLICT (company_id) "
+            + "DO UPDATE SET version = roster_versions.version + 1, full_sync_version = roster_versions.version + 1";
+
+    private static final String ROSTER_COLUMNS = "SELECT id, employee_code, first_name, last_name, is_active FROM employees ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Versions(long version, long fullSyncVersion) {
+    }
+
+    /**
+     * Take the company's next roster version (call inside the writing transaction)
+     */
+    public long nextVersion(UUID companyId) {
+        Long version = jdbcTemplate.queryForObject(NEXT_VERSION_SQL, Long.class, companyId);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Record a change a delta cannot carry (an employee row deleted)
+     */
+    public void requireFullSync(UUID companyId) {
+        jdbcTemplate.update(FULL_SYNC_SQL, companyId);
+    }
+
+    public Versions findVersions(UUID companyId) {
+        List<Versions> rows = jdbcTemplate.query(
+                "SELECT version, full_sync_version FROM roster_versions WHERE company_id = ?",
+                (rs, i) -> new Versions(rs.getLong("version"), rs.getLong("full_sync_version")), companyId);
+        return rows.isEmpty() ? new Versions(0, 0) : rows.get(0);
+    }
+
+    public List<KioskRoster.Entry> findActive(UUID companyId) {
+        return jdbcTemplate.query(ROSTER_COLUMNS + "WHERE company_id = ? AND is_active ORDER BY employee_code",
+                entry(false), companyId);
+    }
+
+    /**
+     * Employees written after {@code sinceVersion}, deactivated ones included
+     */
+    public List<KioskRoster.Entry> findChangedSince(UUID companyId, long sinceVersion) {
+        return jdbcTemplate.query(ROSTER_COLUMNS + "WHERE company_id = ? AND roster_version > ? ORDER BY employee_code",
+                entry(true), companyId, sinceVersion);
+    }
+
+    private static RowMapper<KioskRoster.Entry> entry(boolean withActive) {
+        return (rs, i) -> {
+            String name = (nullToEmpty(rs.getString("first_name")) + " " + nullToEmpty(rs.getString("last_name"))).trim();
+            return new KioskRoster.Entry(rs.getObject("id", UUID.class).toString(), rs.getString("employee_code"), name,
+                    withActive ? rs.getBoolean("is_active") : null);
+        };
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,162 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.AuditLog;
+import com.chronosecure.backend.model.CalculatedHours;
+import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.TimeOffRequest;
+import com.chronosecure.backend.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC inserts for the tables the synthetic data generator fills that have no
+ * bulk repository of their own. Ids and timestamps are assigned by the caller;
+ * durations are written as nanoseconds, like Hibernate's mapping.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyntheticDataJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_COMPANY_SQL = "INSERT INTO companies "
+            + "(id, name, subdomain, timezone, is_active, subscription_plan, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(id, company_id, email, password_hash, role, first_name, last_name, is_active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TIME_OFF_SQL = "INSERT INTO time_off_requests "
+            + "(id, company_id, employee_id, start_date, end_date, reason, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HOURS_SQL = "INSERT INTO calculated_hours "
+            + "(id, company_id, employee_id, work_date, total_hours_worked, weekday_hours, saturday_hours, "
+            + "sunday_hours, public_holiday_hours, leave_hours, calculated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_AUDIT_SQL = "INSERT INTO audit_logs "
+            + "(id, user_id, company_id, action, resource_type, resource_id, ip_address, user_agent, details, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public boolean existsBySubdomain(String subdomain) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM companies WHERE subdomain = ?",
+                Integer.class, subdomain);
+        return count != null && count > 0;
+    }
+
+    public void insertCompany(Company company) {
+        jdbcTemplate.update(INSERT_COMPANY_SQL, ps -> {
+            ps.setObject(1, company.getId());
+            ps.setString(2, company.getName());
+            ps.setString(3, company.getSubdomain());
+            ps.setString(4, company.getTimezone());
+            ps.setBoolean(5, company.isActive());
+            ps.setString(6, company.getSubscriptionPlan().name());
+            setInstant(ps, 7, company.getCreatedAt());
+            setInstant(ps, 8, company.getUpdatedAt());
+        });
+    }
+
+    public void insertUser(User user) {
+        jdbcTemplate.update(INSERT_USER_SQL, ps -> {
+            ps.setObject(1, user.getId());
+            ps.setObject(2, user.getCompanyId());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getPasswordHash());
+            ps.setString(5, user.getRole().name());
+            ps.setString(6, user.getFirstName());
+            ps.setString(7, user.getLastName());
+            ps.setBoolean(8, user.isActive());
+            setInstant(ps, 9, user.getCreatedAt());
+            setInstant(ps, 10, user.getUpdatedAt());
+        });
+    }
+
+    public void batchInsertTimeOffRequests(List<TimeOffRequest> requests) {
+        jdbcTemplate.batchUpdate(INSERT_TIME_OFF_SQL, requests, BATCH_SIZE, (ps, r) -> {
+            ps.setObject(1, r.getId());
+            ps.setObject(2, r.getCompanyId());
+            ps.setObject(3, r.getEmployeeId());
+            ps.setObject(4, r.getStartDate());
+            ps.setObject(5, r.getEndDate());
+            ps.setString(6, r.getReason());
+            ps.setString(7, r.getStatus().name());
+            setInstant(ps, 8, r.getCreatedAt());
+            setInstant(ps, 9, r.getUpdatedAt());
+        });
+    }
+
+    /**
+     * Batch insert hours. Every row must carry its id, company and employee.
+     */
+    public void batchInsertCalculatedHours(List<CalculatedHours> hours) {
+        jdbcTemplate.batchUpdate(INSERT_HOURS_SQL, hours, BATCH_SIZE, (ps, h) -> {
+            ps.setObject(1, h.getId());
+            ps.setObject(2, h.getCompanyId());
+            ps.setObject(3, h.getEmployee().getId());
+            ps.setObject(4, h.getWorkDate());
+            setDuration(ps, 5, h.getTotalHoursWorked());
+            setDuration(ps, 6, h.getWeekdayHours());
+            setDuration(ps, 7, h.getSaturdayHours());
+            setDuration(ps, 8, h.getSundayHours());
+            setDuration(ps, 9, h.getPublicHolidayHours());
+            setDuration(ps, 10, h.getLeaveHours());
+            setInstant(ps, 11, h.getCalculatedAt());
+        });
+    }
+
+    public void batchInsertAuditLogs(List<AuditLog> entries) {
+        jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, entries, BATCH_SIZE, (ps, a) -> {
+            ps.setObject(1, a.getId());
+            ps.setObject(2, a.getUserId());
+            ps.setObject(3, a.getCompanyId());
+            ps.setString(4, a.getAction());
+            ps.setString(5, a.getResourceType());
+            ps.setObject(6, a.getResourceId());
+            ps.setString(7, a.getIpAddress());
+            ps.setString(8, a.getUserAgent());
+            ps.setString(9, toJson(a));
+            setInstant(ps, 10, a.getCreatedAt());
+        });
+    }
+
+    private String toJson(AuditLog entry) throws SQLException {
+        if (entry.getDetails() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(entry.getDetails());
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Could not serialize audit details", e);
+        }
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant instant) throws SQLException {
+        ps.setObject(index, OffsetDateTime.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    private static void setDuration(PreparedStatement ps, int index, Duration duration) throws SQLException {
+        if (duration != null) {
+            ps.setLong(index, duration.toNanos());
+        } else {
+            ps.setNull(index, Types.NUMERIC);
+        }
+    }
+}
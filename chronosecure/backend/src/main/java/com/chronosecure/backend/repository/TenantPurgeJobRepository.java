@@ -0,0 +1,35 @@
+package com.chronosecure.backend.repository;
+
+import com.chronosecure.backend.model.TenantPurgeJob;
+import com.chronosecure.backend.model.enums.TenantPurgeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TenantPurgeJobRepository extends JpaRepository<TenantPurgeJob, UUID> {
+
+    // Startup: jobs interrupted by a restart
+    List<TenantPurgeJob> findByStatusIn(Collection<TenantPurgeStatus> statuses);
+
+    // Idempotent DELETE: reuse an unfinished job for the same company
+    Optional<TenantPurgeJob> findFirstByCompanyIdAndStatusIn(UUID companyId, Collection<TenantPurgeStatus> statuses);
+
+    // Billing: companies of a chunk that are being deleted
+    @Query("SELECT j.companyId FROM TenantPurgeJob j WHERE j.companyId IN :companyIds AND j.status IN :statuses")
+    List<UUID> findCompanyIdsWithStatus(@Param("companyIds") Collection<UUID> companyIds,
+            @Param("statuses") Collection<TenantPurgeStatus> statuses);
+
+    // Progress is recorded in the same transaction as the chunk it describes
+    @Modifying
+    @Query("UPDATE TenantPurgeJob j SET j.stage = :stage, j.rowsDeleted = j.rowsDeleted + :deleted, " +
+            "j.updatedAt = CURRENT_INSTANT WHERE j.id = :id")
+    int recordProgress(@Param("id") UUID id, @Param("stage") String stage, @Param("deleted") long deleted);
+}
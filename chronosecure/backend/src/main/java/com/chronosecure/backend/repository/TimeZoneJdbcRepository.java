@@ -0,0 +1,39 @@
+package com.chronosecure.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Time zone lookups for the zone cache. Plain JDBC on purpose: zones are
+ * resolved from JPA entity listeners, where a repository query would flush
+ * the session being written.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimeZoneJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record LocationZone(UUID companyId, String timezone) {
+    }
+
+    /**
+     * @return the company's zone id, or null when it has none (or does not exist)
+     */
+    public String findCompanyTimezone(UUID companyId) {
+        List<String> zones = jdbcTemplate.query("SELECT timezone FROM companies WHERE id = ?",
+                (rs, rowNum) -> rs.getString(1), companyId);
+        return zones.isEmpty() ? null : zones.get(0);
+    }
+
+    public Optional<LocationZone> findLocationTimezone(UUID locationId) {
+        return jdbcTemplate.query("SELECT company_id, timezone FROM locations WHERE id = ?",
+                (rs, rowNum) -> new LocationZone(rs.getObject("company_id", UUID.class), rs.getString("timezone")),
+                locationId).stream().findFirst();
+    }
+}
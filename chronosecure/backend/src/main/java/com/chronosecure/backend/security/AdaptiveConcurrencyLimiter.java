@@ -0,0 +1,192 @@
+package com.chronosecure.backend.security;
+
+import com.chronosecure.backend.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the requests in flight to a number derived from their latency
+ * (gradient algorithm, as in Netflix concurrency-limits' Gradient2).
+ * <p>
+ * Every window the average latency is compared with its long-term average:
+ * while they match the limit grows by a small queue allowance, and once
+ * latency rises (the database saturates) the limit shrinks in proportion, so
+ * requests wait at the door instead of on the connection pool. Low priority
+ * requests only get a share of the limit and critical ones may exceed it,
+ * so reports and listings are shed well before kiosk writes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    public enum Priority {
+        CRITICAL, NORMAL, LOW
+    }
+
+    // Requests allowed to queue beyond what the latency gradient supports; what lets the limit probe upwards
+    private static final int QUEUE_ALLOWANCE = 4;
+
+    private final ConcurrencyLimitProperties properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private final Map<Priority, LongAdder> admitted = new EnumMap<>(Priority.class);
+    private final Map<Priority, LongAdder> shed = new EnumMap<>(Priority.class);
+
+    private volatile double limit;
+    private volatile double shortRtt;
+    private volatile double longRtt;
+
+    @PostConstruct
+    void init() {
+        if (properties.getMinLimit() <= 0 || properties.getMaxLimit() < properties.getMinLimit()) {
+            throw new IllegalArgumentException("Concurrency limit needs 0 < min-limit <= max-limit");
+        }
+        for (Priority priority : Priority.values()) {
+            admitted.put(priority, new LongAdder());
+            shed.put(priority, new LongAdder());
+        }
+        limit = clamp(properties.getInitialLimit());
+    }
+
+    /**
+     * Admit a request unless its priority's share of the limit is in use.
+     * Every admitted request must be followed by exactly one {@link #release}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        if (!properties.isEnabled()) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        double ceiling = switch (priority) {
+            case CRITICAL -> limit * properties.getCriticalHeadroom();
+            case NORMAL -> limit;
+            case LOW -> Math.max(1, limit * properties.getLowPriorityShare());
+        };
+        while (true) {
+            int current = inFlight.get();
+            if (current >= ceiling) {
+                shed.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                admitted.get(priority).increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param latencyNanos time the request held its slot
+     * @param sample       whether the latency says something about load (successful,
+     *                     not a deliberately long download)
+     */
+    public void release(long latencyNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (!sample || !properties.isEnabled()) {
+            return;
+        }
+        windowRttSum.add(latencyNanos);
+        windowSamples.increment();
+
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= TimeUnit.MILLISECONDS.toNanos(properties.getWindowMillis())
+                && windowSamples.sum() >= properties.getMinWindowSamples()
+                && windowStart.compareAndSet(start, now)) {
+            // Only the thread that closed the window gets here
+            long samples = windowSamples.sumThenReset();
+            long rttSum = windowRttSum.sumThenReset();
+            int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+            if (samples > 0) {
+                updateLimit((double) rttSum / samples, maxInFlight);
+            }
+        }
+    }
+
+    private void updateLimit(double rtt, int maxInFlight) {
+        shortRtt = rtt;
+        double longTerm = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / properties.getLongWindow();
+        if (longTerm / rtt > 2) {
+            // Latency fell far below the long-term average (a slow spell ended); catch up faster
+            longTerm *= 0.95;
+        }
+        longRtt = longTerm;
+
+        double current = limit;
+        // Don't raise a limit that is not being used, or it grows without bound on a quiet node
+        if (maxInFlight < current / 2 && rtt <= longTerm) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longTerm / rtt));
+        double estimate = current * gradient + QUEUE_ALLOWANCE;
+        double updated = clamp(current * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing());
+        limit = updated;
+
+        if ((int) updated != (int) current) {
+            log.debug("Concurrency limit {} -> {} (rtt {} ms, long-term {} ms, max in flight {})",
+                    (int) current, (int) updated, millis(rtt), millis(longTerm), maxInFlight);
+        }
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chronosecure.concurrency.limit", this, limiter -> limiter.limit).register(registry);
+        Gauge.builder("chronosecure.concurrency.inflight", inFlight, AtomicInteger::get).register(registry);
+        Gauge.builder("chronosecure.concurrency.rtt", this, limiter -> limiter.shortRtt / 1e9)
+                .baseUnit("seconds")
+                .register(registry);
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("chronosecure.concurrency.requests", admitted.get(priority), LongAdder::sum)
+                    .tags("priority", tag, "result", "admitted")
+                    .register(registry);
+            FunctionCounter.builder("chronosecure.concurrency.requests", shed.get(priority), LongAdder::sum)
+                    .tags("priority", tag, "result", "shed")
+                    .register(registry);
+        }
+    }
+
+    public Snapshot snapshot() {
+        Map<Priority, Long> admittedCounts = new EnumMap<>(Priority.class);
+        Map<Priority, Long> shedCounts = new EnumMap<>(Priority.class);
+        admitted.forEach((priority, count) -> admittedCounts.put(priority, count.sum()));
+        shed.forEach((priority, count) -> shedCounts.put(priority, count.sum()));
+        return new Snapshot((int) limit, inFlight.get(), millis(shortRtt), millis(longRtt), admittedCounts, shedCounts);
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * Current limit and latency estimates, and requests admitted and shed per priority since startup.
+     */
+    public record Snapshot(int limit, int inFlight, double rttMillis, double longTermRttMillis,
+            Map<Priority, Long> admitted, Map<Priority, Long> shed) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.chronosecure.backend.security;
+
+import com.chronosecure.backend.config.ConcurrencyLimitProperties;
+import com.chronosecure.backend.security.AdaptiveConcurrencyLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits API requests through the {@link AdaptiveConcurrencyLimiter} and
+ * answers the ones it sheds with 503 and Retry-After, before they take a
+ * Tomcat thread into the services or a database connection.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private List<RequestMatcher> critical = List.of();
+    private List<RequestMatcher> low = List.of();
+
+    @PostConstruct
+    void compileMatchers() {
+        critical = properties.getCritical().stream().map(RequestMatcher::parse).toList();
+        low = properties.getLow().stream().map(RequestMatcher::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod()) || !request.getRequestURI().contains("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        if (!limiter.tryAcquire(priority)) {
+            log.debug("Shed {} request {} {}", priority, request.getMethod(), request.getRequestURI());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Streamed downloads keep their slot until the response is finished;
+                // their latency is dominated by the client, so it is not sampled
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(start));
+            } else {
+                // Low priority latency is dominated by report size
+                boolean sample = !failed && priority != Priority.LOW && response.getStatus() < 500;
+                limiter.release(System.nanoTime() - start, sample);
+            }
+        }
+    }
+
+    private Priority priorityOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        String method = request.getMethod();
+        for (RequestMatcher matcher : critical) {
+            if (matcher.matches(method, path)) {
+                return Priority.CRITICAL;
+            }
+        }
+        for (RequestMatcher matcher : low) {
+            if (matcher.matches(method, path)) {
+                return Priority.LOW;
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        // Same body as GlobalExceptionHandler, which filters are not routed through
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("message", "Server is busy, please retry shortly");
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Gives the slot of an async request back once, on whichever of complete,
+     * error or timeout comes first.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-registered by the container on a new startAsync; the slot is still held
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start, false);
+            }
+        }
+    }
+
+    /**
+     * "METHOD /pattern" or "/pattern" for any method.
+     */
+    private record RequestMatcher(String method, PathPattern pattern) {
+
+        static RequestMatcher parse(String spec) {
+            String[] parts = spec.trim().split("\\s+", 2);
+            return parts.length == 2
+                    ? new RequestMatcher(parts[0].toUpperCase(Locale.ROOT), PathPatternParser.defaultInstance.parse(parts[1]))
+                    : new RequestMatcher(null, PathPatternParser.defaultInstance.parse(parts[0]));
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.chronosecure.backend.security;
+
+import com.chronosecure.backend.config.RateLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-process token buckets for the public endpoints (see {@link RateLimitProperties}).
+ * <p>
+ * Each bucket is a single {@link AtomicLong} updated by compare-and-set
+ * (the GCRA form of a token bucket: it stores the time at which the bucket
+ * would be full again), so the request path takes no lock. A full bucket
+ * carries no state, which is what the periodic sweep removes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiter implements MeterBinder {
+
+    private static final int MAX_DEVICE_ID_LENGTH = 64;
+    // IP allowance of a rule that sets none: this many devices' worth
+    private static final int DEFAULT_DEVICES_PER_IP = 10;
+
+    private final RateLimitProperties properties;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private List<CompiledRule> rules = List.of();
+
+    @PostConstruct
+    void compileRules() {
+        List<CompiledRule> compiled = new ArrayList<>();
+        properties.getRules().forEach((name, rule) -> {
+            if (rule.getCapacity() <= 0 || rule.getPerMinute() <= 0) {
+                throw new IllegalArgumentException("Rate limit rule '" + name + "' needs a positive capacity and per-minute");
+            }
+            List<PathPattern> patterns = rule.getPaths().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+            Set<String> methods = rule.getMethods().stream()
+                    .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            // X-Device-Id is chosen by the client, so the IP bucket is what actually bounds a caller
+            compiled.add(new CompiledRule(name, patterns, methods,
+                    Limit.of(rule.getCapacity(), rule.getPerMinute()),
+                    rule.getIpCapacity() > 0 && rule.getIpPerMinute() > 0
+                            ? Limit.of(rule.getIpCapacity(), rule.getIpPerMinute())
+                            : Limit.of(rule.getCapacity() * DEFAULT_DEVICES_PER_IP,
+                                    rule.getPerMinute() * DEFAULT_DEVICES_PER_IP)));
+        });
+        rules = List.copyOf(compiled);
+        log.info("Rate limiting {} with {} rules", properties.isEnabled() ? "enabled" : "disabled", rules.size());
+    }
+
+    /**
+     * Take one token from every bucket the request is charged to.
+     *
+     * @param deviceId X-Device-Id of the caller, may be null
+     * @return null when allowed, otherwise the rule that rejected it and the wait
+     */
+    public Rejection tryAcquire(String method, String path, String clientIp, String deviceId) {
+        if (!properties.isEnabled() || rules.isEmpty()) {
+            return null;
+        }
+        PathContainer container = null;
+        long now = System.nanoTime();
+        for (CompiledRule rule : rules) {
+            if (!rule.methods().isEmpty() && !rule.methods().contains(method)) {
+                continue;
+            }
+            if (container == null) {
+                container = PathContainer.parsePath(path);
+            }
+            if (!rule.matches(container)) {
+                continue;
+            }
+
+            // Device first, so a looping device does not also drain the allowance of its neighbours.
+            // Past max-buckets no new device buckets are created and only the IP bucket applies
+            Bucket device = deviceBucket(rule.name(), clientIp, deviceId, now);
+            long wait = device != null ? device.acquire(now, rule.limit()) : 0;
+            if (wait == 0) {
+                wait = bucket(rule.name() + "|ip|" + clientIp, now).acquire(now, rule.ipLimit());
+                if (wait > 0 && device != null) {
+                    device.refund(rule.limit()); // Rejected requests cost the device nothing
+                }
+            }
+            if (wait > 0) {
+                rule.rejected().increment();
+                log.debug("Rate limit '{}' rejected {} {} from {} (device {})", rule.name(), method, path, clientIp, deviceId);
+                return new Rejection(rule.name(), Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999)));
+            }
+            rule.allowed().increment();
+        }
+        return null;
+    }
+
+    /**
+     * Allowed and rejected requests per rule since startup.
+     */
+    public List<RuleStats> stats() {
+        return rules.stream()
+                .map(rule -> new RuleStats(rule.name(), rule.allowed().sum(), rule.rejected().sum()))
+                .toList();
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CompiledRule rule : rules) {
+            FunctionCounter.builder("chronosecure.ratelimit.requests", rule.allowed(), LongAdder::sum)
+                    .tags("rule", rule.name(), "result", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("chronosecure.ratelimit.requests", rule.rejected(), LongAdder::sum)
+                    .tags("rule", rule.name(), "result", "rejected")
+                    .register(registry);
+        }
+        Gauge.builder("chronosecure.ratelimit.buckets", buckets, Map::size).register(registry);
+    }
+
+    /**
+     * Drop buckets that have refilled completely; recreating one is equivalent.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+        int removed = before - buckets.size();
+        if (removed > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} left", removed, buckets.size());
+        }
+    }
+
+    /**
+     * @return the device's bucket (callers without X-Device-Id share one per IP),
+     *         or null when it does not exist and max-buckets is reached
+     */
+    private Bucket deviceBucket(String rule, String clientIp, String deviceId, long now) {
+        String key;
+        if (deviceId == null || deviceId.isBlank()) {
+            key = rule + "|" + clientIp;
+        } else {
+            String device = deviceId.length() > MAX_DEVICE_ID_LENGTH ? deviceId.substring(0, MAX_DEVICE_ID_LENGTH) : deviceId;
+            key = rule + "|" + clientIp + "|" + device;
+        }
+        Bucket bucket = buckets.get(key);
+        if (bucket != null || buckets.size() >= properties.getMaxBuckets()) {
+            return bucket;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    private Bucket bucket(String key, long now) {
+        Bucket bucket = buckets.get(key);
+        return bucket != null ? bucket : buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    public record Rejection(String rule, long retryAfterSeconds) {
+    }
+
+    public record RuleStats(String rule, long allowed, long rejected) {
+    }
+
+    private record CompiledRule(String name, List<PathPattern> patterns, Set<String> methods, Limit limit,
+            Limit ipLimit, LongAdder allowed, LongAdder rejected) {
+
+        CompiledRule(String name, List<PathPattern> patterns, Set<String> methods, Limit limit, Limit ipLimit) {
+            this(name, patterns, methods, limit, ipLimit, new LongAdder(), new LongAdder());
+        }
+
+        boolean matches(PathContainer path) {
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param interval  nanoseconds to refill one token
+     * @param tolerance how far ahead of now a bucket may be booked (capacity - 1 tokens)
+     */
+    record Limit(long interval, long tolerance) {
+
+        static Limit of(int capacity, double perMinute) {
+            long interval = Math.max(1, (long) (TimeUnit.MINUTES.toNanos(1) / perMinute));
+            return new Limit(interval, interval * (capacity - 1));
+        }
+    }
+
+    static final class Bucket {
+
+        // Time at which the bucket is full again; never earlier than creation
+        private final AtomicLong fullAt;
+
+        Bucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * @return 0 when a token was taken, otherwise nanoseconds until one is available
+         */
+        long acquire(long now, Limit limit) {
+            while (true) {
+                long current = fullAt.get();
+                long base = current - now > 0 ? current : now;
+                long wait = base - now - limit.tolerance();
+                if (wait > 0) {
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, base + limit.interval())) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Give back a token taken by {@link #acquire}.
+         */
+        void refund(Limit limit) {
+            fullAt.addAndGet(-limit.interval());
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.chronosecure.backend.security;
+
+import com.chronosecure.backend.util.RequestCost;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Tracks the {@link RequestCost} of every request: statements and database
+ * time, Hibernate statements, CPU time and allocated bytes. The cost is sent
+ * in a Server-Timing header and logged for slow requests. Runs outside the
+ * security chain, so authentication lookups count too.
+ * <p>
+ * The header is added when the response starts to commit, so lazy loads
+ * during serialization of a large body are only in the log line.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Value("${request-cost.enabled:true}")
+    private boolean enabled;
+
+    @Value("${request-cost.server-timing:true}")
+    private boolean serverTiming;
+
+    @Value("${request-cost.slow-request-ms:1000}")
+    private long slowRequestMillis;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestCost cost = RequestCost.start();
+        ServerTimingResponse timed = serverTiming ? new ServerTimingResponse(response, cost) : null;
+        try {
+            filterChain.doFilter(request, timed != null ? timed : response);
+        } finally {
+            if (timed != null) {
+                timed.addServerTiming(); // Responses without a body
+            }
+            RequestCost.Snapshot snapshot = cost.finish();
+            if (snapshot.elapsedMillis() >= slowRequestMillis) {
+                log.warn("Slow request method={} path={} status={} durationMs={} statements={} hibernateStatements={} "
+                                + "dbMs={} cpuMs={} allocatedBytes={} async={}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        Math.round(snapshot.elapsedMillis()), snapshot.statements(), snapshot.hibernateStatements(),
+                        Math.round(snapshot.dbNanos() / 1e6),
+                        snapshot.cpuNanos() >= 0 ? Math.round(snapshot.cpuNanos() / 1e6) : -1,
+                        snapshot.allocatedBytes(), request.isAsyncStarted());
+            }
+        }
+    }
+
+    /**
+     * Adds the Server-Timing header just before the response commits.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestCost cost;
+        private boolean added;
+        private ServletOutputStream outputStream;
+
+        ServerTimingResponse(HttpServletResponse response, RequestCost cost) {
+            super(response);
+            this.cost = cost;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, cost.snapshot().serverTiming());
+            }
+            added = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CommitAwareOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            // Writers are only used for small error and text bodies; no need to wait for the first write
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+
+        private final class CommitAwareOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            CommitAwareOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                addServerTiming();
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                addServerTiming();
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                addServerTiming();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                addServerTiming();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.chronosecure.backend.service;
 
+import com.chronosecure.backend.dto.AttendanceBatchRequest;
+import com.chronosecure.backend.dto.AttendanceBatchResponse;
 import com.chronosecure.backend.dto.AttendanceRequest;
 import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.enums.AttendanceEventType;
@@ -11,6 +13,9 @@ public interface AttendanceService {
     // Core method to log an event
     AttendanceLog logAttendance(AttendanceRequest request);
 
+    // Offline sync: ingest an ordered batch of events replayed by a kiosk
+    AttendanceBatchResponse logAttendanceBatch(AttendanceBatchRequest request);
+
     // Helper: Determine what the employee should do next (e.g., if last was
     // CLOCK_IN, next is BREAK/OUT)
     AttendanceEventType getNextExpectedEvent(UUID companyId, UUID employeeId);
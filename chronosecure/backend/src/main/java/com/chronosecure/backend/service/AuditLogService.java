@@ -0,0 +1,24 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.dto.AuditLogPage;
+import com.chronosecure.backend.dto.AuditLogQuery;
+import com.chronosecure.backend.dto.AuditPartitionMigrationStatus;
+
+import java.util.UUID;
+
+/**
+ * Read side of the audit trail (APPI Compliance): paged, filtered search,
+ * plus the one-off migration of audit_logs to monthly partitions.
+ */
+public interface AuditLogService {
+
+    AuditLogPage search(UUID companyId, AuditLogQuery query);
+
+    /**
+     * Start moving an unpartitioned audit_logs table to monthly partitions in
+     * the background. Returns the running migration if one was already started.
+     */
+    AuditPartitionMigrationStatus startPartitionMigration();
+
+    AuditPartitionMigrationStatus getPartitionMigration();
+}
@@ -0,0 +1,27 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.model.BillingRun;
+import com.chronosecure.backend.model.Invoice;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Platform billing: invoices every company for a period in one background run.
+ */
+public interface BillingService {
+
+    // Queues a run; an unfinished run for the same period is returned instead of a new one
+    BillingRun startRun(LocalDate periodStart, LocalDate periodEnd);
+
+    BillingRun getRun(UUID runId);
+
+    List<BillingRun> getRecentRuns();
+
+    Page<Invoice> getRunInvoices(UUID runId, Pageable pageable);
+
+    List<Invoice> getCompanyInvoices(UUID companyId);
+}
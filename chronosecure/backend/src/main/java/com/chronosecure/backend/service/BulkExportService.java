@@ -0,0 +1,34 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.model.enums.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Service for bulk CSV / NDJSON exports consumed by BI tooling.
+ * Every export streams from the database to the response; the employee
+ * filter is optional and the date range is inclusive.
+ */
+public interface BulkExportService {
+
+    /**
+     * Raw clock events, ordered by time
+     */
+    StreamingResponseBody exportAttendanceLogs(UUID companyId, UUID employeeId, LocalDate startDate,
+            LocalDate endDate, ExportFormat format, boolean gzip);
+
+    /**
+     * Calculated hours per employee and day, in seconds
+     */
+    StreamingResponseBody exportCalculatedHours(UUID companyId, UUID employeeId, LocalDate startDate,
+            LocalDate endDate, ExportFormat format, boolean gzip);
+
+    /**
+     * One row per employee and day with the status shown in the company report
+     * (PRESENT, LEAVE, HOLIDAY, WEEKEND or ABSENT)
+     */
+    StreamingResponseBody exportDailyStatus(UUID companyId, UUID employeeId, LocalDate startDate,
+            LocalDate endDate, ExportFormat format, boolean gzip);
+}
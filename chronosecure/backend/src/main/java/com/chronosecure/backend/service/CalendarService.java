@@ -0,0 +1,31 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.dto.CalendarImportResult;
+import com.chronosecure.backend.model.CompanyCalendar;
+import com.chronosecure.backend.model.enums.CalendarDayType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Company calendar writes (holidays, weekend and working-day overrides).
+ * Writes are set-based; calculated hours of the days that changed are
+ * recalculated once, in the background, after commit.
+ */
+public interface CalendarService {
+
+    /**
+     * Give every date the same type, pay multiplier and description.
+     */
+    List<CompanyCalendar> setDays(UUID companyId, Collection<LocalDate> dates, CalendarDayType type,
+            Double payMultiplier, String description);
+
+    /**
+     * Import the events of an iCalendar (.ics) feed as holidays.
+     * Cancelled and recurring events are skipped.
+     */
+    CalendarImportResult importHolidays(UUID companyId, MultipartFile file, Double payMultiplier);
+}
@@ -0,0 +1,22 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.util.CompiledCalendar;
+
+import java.util.UUID;
+
+/**
+ * Serves each company's calendar (overrides, public holidays and the
+ * weekend rule) compiled for cheap per-day classification.
+ */
+public interface CompiledCalendarService {
+
+    /**
+     * The company's current compiled calendar; years are compiled on first use
+     */
+    CompiledCalendar calendarFor(UUID companyId);
+
+    /**
+     * Drop the company's compiled calendar once the current transaction commits
+     */
+    void evict(UUID companyId);
+}
@@ -1,7 +1,9 @@
 package com.chronosecure.backend.service;
 
+import com.chronosecure.backend.dto.ErasureReceipt;
 import com.chronosecure.backend.model.AuditLog;
 import com.chronosecure.backend.model.ConsentRecord;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -14,14 +16,14 @@ public interface ComplianceService {
     
     // GDPR Compliance
     /**
-     * Export all data for an employee (GDPR Data Portability)
+     * Export all data for an employee (GDPR Data Portability) as a streamed ZIP archive
      */
-    Map<String, Object> exportEmployeeData(UUID companyId, UUID employeeId);
+    StreamingResponseBody exportEmployeeData(UUID companyId, UUID employeeId);
     
     /**
      * Hard delete employee data (GDPR Right to be Forgotten)
      */
-    void hardDeleteEmployeeData(UUID companyId, UUID employeeId);
+    ErasureReceipt hardDeleteEmployeeData(UUID companyId, UUID employeeId);
     
     // BIPA Compliance
     /**
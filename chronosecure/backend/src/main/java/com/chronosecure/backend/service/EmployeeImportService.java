@@ -0,0 +1,18 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.dto.EmployeeImportStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bulk employee onboarding from CSV or XLSX files.
+ * Imports run in the background; callers poll the returned job for progress.
+ */
+public interface EmployeeImportService {
+
+    EmployeeImportStatus startImport(UUID companyId, MultipartFile file, String ipAddress, String userAgent);
+
+    Optional<EmployeeImportStatus> getImportStatus(UUID companyId, UUID jobId);
+}
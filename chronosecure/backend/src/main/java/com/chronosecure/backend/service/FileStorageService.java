@@ -2,6 +2,7 @@ package com.chronosecure.backend.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 public interface FileStorageService {
@@ -9,6 +10,7 @@ public interface FileStorageService {
     String uploadBase64Image(String base64Image, UUID employeeId, String folder);
     void deleteFile(String fileUrl);
     byte[] downloadFile(String fileUrl);
+    InputStream openFile(String fileUrl); // Caller closes; for streaming without loading the file
 }
 
 
@@ -1,5 +1,6 @@
 package com.chronosecure.backend.service;
 
+import com.chronosecure.backend.config.BackgroundExecutors;
 import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.Employee;
 import com.chronosecure.backend.model.TimeOffRequest;
@@ -8,13 +9,19 @@ import com.chronosecure.backend.model.enums.TimeOffStatus;
 import com.chronosecure.backend.repository.AttendanceLogRepository;
 import com.chronosecure.backend.repository.EmployeeRepository;
 import com.chronosecure.backend.repository.TimeOffRequestRepository;
+import com.chronosecure.backend.util.DayBoundaries;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.cloud.FirestoreClient;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
@@ -22,13 +29,13 @@ import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -41,12 +48,34 @@ public class FirebaseSyncService {
     private final AttendanceLogRepository attendanceLogRepository;
     private final TimeOffRequestRepository timeOffRequestRepository;
     private final com.chronosecure.backend.service.HoursCalculationService hoursCalculationService;
+    private final UsageRollupService usageRollupService;
+    private final TimeZoneService timeZoneService;
+    private final LastEventService lastEventService;
+    private final BackgroundExecutors backgroundExecutors;
+    private final MeterRegistry meterRegistry;
 
     private Firestore db;
+    private ScheduledExecutorService scheduler;
     private long lastSyncedUnixTime = System.currentTimeMillis() / 1000 - 86400; // Last 24 hours
 
+    // Kiosk scan to row in our database, per synced document
+    private Timer syncLag;
+    private DistributionSummary batchSize;
+    private volatile long lastPollMillis = System.currentTimeMillis();
+
     @PostConstruct
     public void initAndStartSync() {
+        syncLag = Timer.builder("chronosecure.firestore.sync.lag")
+                .description("Time from the kiosk scan to its sync from Firestore")
+                .register(meterRegistry);
+        batchSize = DistributionSummary.builder("chronosecure.firestore.sync.batch.size")
+                .description("Documents per non-empty Firestore poll")
+                .register(meterRegistry);
+        // Grows while polls fail; stays near the poll interval when sync is healthy
+        Gauge.builder("chronosecure.firestore.sync.since.last.poll", this,
+                        sync -> (System.currentTimeMillis() - sync.lastPollMillis) / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
         try {
             if (FirebaseApp.getApps().isEmpty()) {
                 log.info("Initializing Firebase App explicitly in Sync Service...");
@@ -66,8 +95,15 @@ public class FirebaseSyncService {
         }
     }
 
+    @PreDestroy
+    public void stopSync() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
     private void startSyncTask() {
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        scheduler = backgroundExecutors.scheduler("firebase-sync");
         scheduler.scheduleAtFixedRate(this::syncAttendance, 5, 5, TimeUnit.SECONDS);
         log.info("Firebase Sync Task started.");
     }
@@ -84,9 +120,11 @@ public class FirebaseSyncService {
                     .get()
                     .get()
                     .getDocuments();
+            lastPollMillis = System.currentTimeMillis();
 
             if (documents.isEmpty())
                 return;
+            batchSize.record(documents.size());
 
             log.info("Found {} new attendance logs in Firebase", documents.size());
 
@@ -94,6 +132,7 @@ public class FirebaseSyncService {
                 Long unixTime = doc.getLong("unix");
                 if (unixTime != null) {
                     this.lastSyncedUnixTime = unixTime;
+                    syncLag.record(Duration.ofMillis(Math.max(0L, lastPollMillis - unixTime * 1000)));
                 }
 
                 String result = doc.getString("result");
@@ -119,9 +158,10 @@ public class FirebaseSyncService {
                 if ("TIME_OFF".equals(result)) {
                     Instant scanTime = Instant
                             .ofEpochSecond(unixTime != null ? unixTime : Instant.now().getEpochSecond());
-                    LocalDate date = LocalDate.ofInstant(scanTime, ZoneId.systemDefault());
+                    ZoneId zone = timeZoneService.zoneFor(employee.getCompanyId());
+                    LocalDate date = DayBoundaries.of(zone).dateOf(scanTime);
                     String timeStr = java.time.format.DateTimeFormatter.ofPattern("hh:mm a")
-                            .withZone(ZoneId.systemDefault()).format(scanTime);
+                            .withZone(zone).format(scanTime);
 
                     // 1. Create TimeOff Request
                     TimeOffRequest req = TimeOffRequest.builder()
@@ -144,6 +184,7 @@ public class FirebaseSyncService {
                             .isOfflineSync(true)
                             .build();
                     attendanceLogRepository.save(logOut);
+                    lastEventService.record(List.of(logOut));
 
                     // 3. Trigger Hours Calculation
                     hoursCalculationService.calculateHoursForDate(employee.getCompanyId(), employee.getId(), date);
@@ -184,6 +225,8 @@ public class FirebaseSyncService {
                             .build();
 
                     attendanceLogRepository.save(logEntry);
+                    usageRollupService.recordClockIns(List.of(logEntry));
+                    lastEventService.record(List.of(logEntry));
 
                     // Invalidate conflicting time off requests for TODAY since they are present
                     this.invalidateConflictingRequests(employee);
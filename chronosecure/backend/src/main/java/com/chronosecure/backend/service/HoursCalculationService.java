@@ -5,7 +5,9 @@ import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.PublicHoliday;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -24,9 +26,16 @@ public interface HoursCalculationService {
      * Recalculate hours for a date range (used by batch jobs)
      */
     List<CalculatedHours> recalculateHoursForRange(UUID companyId, UUID employeeId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Queue a coalesced background recalculation after bulk writes.
+     * Each affected employee-day is recalculated once in its own short transaction,
+     * no matter how many events touched it or how often it is queued before it runs.
+     */
+    void scheduleRecalculation(UUID companyId, Map<UUID, ? extends Collection<LocalDate>> employeeDays);
     
     /**
-     * Check if a date is a public holiday for the company
+     * Check if a date is a holiday for the company (calendar override or public holiday)
      */
     boolean isPublicHoliday(UUID companyId, LocalDate date);
 }
@@ -0,0 +1,40 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.model.AttendanceLog;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Latest attendance event per employee, kept in memory for a few seconds
+ * ({@code attendance.last-event-cache.ttl-seconds}) and updated on every log
+ * write, so kiosks can ask for the next expected event before each scan
+ * without querying the logs every time. Each instance has its own cache.
+ */
+public interface LastEventService {
+
+    record LastEvent(UUID companyId, AttendanceEventType eventType, Instant eventTimestamp) {
+    }
+
+    /**
+     * The employee's most recent event, loaded with a top-1 query on a miss
+     */
+    Optional<LastEvent> lastEvent(UUID employeeId);
+
+    /**
+     * Record stored logs. Call inside the transaction that stores them; the
+     * cache is updated once it commits. Older events (offline replays) never
+     * replace a newer one.
+     */
+    void record(Collection<AttendanceLog> logs);
+
+    /**
+     * Forget an employee whose logs were deleted
+     */
+    void evictEmployee(UUID employeeId);
+
+    void evictCompany(UUID companyId);
+}
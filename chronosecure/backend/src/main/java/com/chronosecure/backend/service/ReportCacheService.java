@@ -0,0 +1,38 @@
+package com.chronosecure.backend.service;
+
+import org.springframework.core.io.Resource;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Disk cache for generated reports, invalidated by tenant data versions.
+ */
+public interface ReportCacheService {
+
+    /**
+     * Serve the cached file for this report if the tenant's data in the range
+     * is unchanged since it was built; otherwise build, store and serve it.
+     *
+     * @param subject extra identity of the report (e.g. the employee), may be null
+     * @param variant anything else the content depends on (e.g. pricing), may be null
+     */
+    Resource getOrGenerate(String reportType, UUID companyId, String subject, LocalDate startDate,
+            LocalDate endDate, String variant, Supplier<Resource> generator);
+
+    /**
+     * Record that report data of these days changed. Inside a transaction the
+     * versions move after commit, so a report built meanwhile is not cached
+     * under the new version.
+     */
+    void markChanged(UUID companyId, Collection<LocalDate> dates);
+
+    void markChanged(UUID companyId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Record a change that affects every period of the company.
+     */
+    void markAllChanged(UUID companyId);
+}
@@ -0,0 +1,27 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.dto.ReportJobRequest;
+import com.chronosecure.backend.model.ReportJob;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Background report generation: submit, poll, download.
+ */
+public interface ReportJobService {
+
+    ReportJob submit(UUID companyId, ReportJobRequest request);
+
+    ReportJob getJob(UUID companyId, UUID jobId);
+
+    List<ReportJob> getRecentJobs(UUID companyId);
+
+    /**
+     * The finished job, if the token matches and its file has not expired.
+     */
+    ReportJob getDownloadableJob(UUID jobId, String token);
+
+    Resource openFile(ReportJob job);
+}
@@ -1,6 +1,7 @@
 package com.chronosecure.backend.service;
 
 import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -20,6 +21,11 @@ public interface ReportService {
      */
     Resource generateEmployeeReport(UUID companyId, UUID employeeId, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Stream a ZIP with one employee report per employee of the company
+     */
+    StreamingResponseBody generateEmployeeReportBundle(UUID companyId, LocalDate startDate, LocalDate endDate);
+
     /**
      * Generate Cost Summary Report with daily active user pricing
      */
@@ -0,0 +1,24 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.dto.KioskRoster;
+
+import java.util.UUID;
+
+/**
+ * Versioned kiosk roster, so scanner apps can revalidate with an ETag and
+ * fetch only what changed.
+ */
+public interface RosterService {
+
+    /**
+     * The company's current roster version (one primary-key read)
+     */
+    long currentVersion(UUID companyId);
+
+    /**
+     * The roster as of at least {@code version}, which the caller read first.
+     * A delta is returned when {@code sinceVersion} is still deltable;
+     * otherwise (null, zero or older than the last deletion) the full roster.
+     */
+    KioskRoster getRoster(UUID companyId, long version, Long sinceVersion);
+}
@@ -1,6 +1,7 @@
 package com.chronosecure.backend.service;
 
 import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.TenantPurgeJob;
 import com.chronosecure.backend.model.User;
 import com.chronosecure.backend.model.enums.SubscriptionPlan;
 
@@ -16,5 +17,8 @@ public interface SuperAdminService {
     
     com.chronosecure.backend.dto.CompanyDetailResponse getCompanyFullDetails(UUID companyId);
 
-    void deleteCompany(UUID companyId);
+    // Deactivates the company and purges its data in the background
+    TenantPurgeJob deleteCompany(UUID companyId);
+
+    TenantPurgeJob getPurgeJob(UUID jobId);
 }
@@ -0,0 +1,19 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.model.TenantPurgeJob;
+
+import java.util.UUID;
+
+/**
+ * Background deletion of a company and all of its data.
+ */
+public interface TenantPurgeService {
+
+    /**
+     * Deactivate the company and queue its purge. Calling again for the same
+     * company returns the unfinished job (and retries it if it had failed).
+     */
+    TenantPurgeJob startPurge(UUID companyId);
+
+    TenantPurgeJob getPurgeJob(UUID jobId);
+}
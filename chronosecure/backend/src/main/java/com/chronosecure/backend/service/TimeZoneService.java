@@ -0,0 +1,40 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.util.DayBoundaries;
+
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Resolves which time zone a tenant's days are counted in.
+ * A location's zone wins over its company's; a company without a zone uses
+ * the platform default ({@code app.default-timezone}).
+ */
+public interface TimeZoneService {
+
+    ZoneId defaultZone();
+
+    ZoneId zoneFor(UUID companyId);
+
+    ZoneId zoneForLocation(UUID locationId);
+
+    /**
+     * Cached day boundaries in the company's zone
+     */
+    DayBoundaries daysFor(UUID companyId);
+
+    /**
+     * Check a zone id supplied by a user; blank means "not set"
+     *
+     * @return the zone id, or null when blank
+     * @throws IllegalArgumentException if it is not a known region id (e.g. "Australia/Sydney")
+     */
+    String validate(String timezone);
+
+    /**
+     * Forget a cached company zone once the current transaction commits
+     */
+    void evictCompany(UUID companyId);
+
+    void evictLocation(UUID locationId);
+}
@@ -0,0 +1,31 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.model.AttendanceLog;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Daily billable-headcount rollup (distinct employees clocking in per day).
+ */
+public interface UsageRollupService {
+
+    /**
+     * Count the clock-ins among these logs. Call inside the transaction that
+     * stores them so the rollup commits (or rolls back) with the logs.
+     */
+    void recordClockIns(Collection<AttendanceLog> logs);
+
+    /**
+     * Headcount for every day in [startDate, endDate]; days without usage are 0.
+     */
+    Map<LocalDate, Integer> getDailyHeadcount(UUID companyId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Rebuild the rollup for [from, to] from the attendance logs. Headcounts
+     * are raised to match the logs, never lowered.
+     */
+    void reconcile(LocalDate from, LocalDate to);
+}
@@ -1,28 +1,46 @@
 package com.chronosecure.backend.service.impl;
 
+import com.chronosecure.backend.dto.AttendanceBatchRequest;
+import com.chronosecure.backend.dto.AttendanceBatchResponse;
 import com.chronosecure.backend.dto.AttendanceRequest;
 import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.Company;
 import com.chronosecure.backend.model.Employee;
 import com.chronosecure.backend.model.enums.AttendanceEventType;
 import com.chronosecure.backend.model.enums.TimeOffStatus;
+import com.chronosecure.backend.repository.AttendanceLogJdbcRepository;
 import com.chronosecure.backend.repository.AttendanceLogRepository;
 import com.chronosecure.backend.repository.CompanyRepository;
 import com.chronosecure.backend.repository.EmployeeRepository;
 import com.chronosecure.backend.service.AttendanceService;
 import com.chronosecure.backend.service.FileStorageService;
+import com.chronosecure.backend.service.HoursCalculationService;
 import com.chronosecure.backend.service.LivenessDetectionService;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.service.LastEventService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.service.UsageRollupService;
+import com.chronosecure.backend.util.DayBoundaries;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -38,9 +56,17 @@ public class AttendanceServiceImpl implements AttendanceService {
         private final com.chronosecure.backend.repository.TimeOffRequestRepository timeOffRequestRepository;
         private final FileStorageService fileStorageService;
         private final LivenessDetectionService livenessDetectionService;
+        private final AttendanceLogJdbcRepository attendanceLogJdbcRepository;
+        private final HoursCalculationService hoursCalculationService;
+        private final UsageRollupService usageRollupService;
+        private final ReportCacheService reportCacheService;
+        private final TransactionTemplate transactionTemplate;
+        private final TimeZoneService timeZoneService;
+        private final LastEventService lastEventService;
 
         @Override
         @Transactional
+        @Timed(value = "chronosecure.attendance.log", description = "Kiosk attendance event, validation to save")
         public AttendanceLog logAttendance(AttendanceRequest request) {
                 log.info("Processing attendance request for Employee: {} at Company: {}", request.getEmployeeId(),
                                 request.getCompanyId());
@@ -107,11 +133,13 @@ public class AttendanceServiceImpl implements AttendanceService {
 
                 // 5. Save
                 AttendanceLog savedLog = attendanceLogRepository.save(newLog);
+                usageRollupService.recordClockIns(List.of(savedLog));
+                lastEventService.record(List.of(savedLog));
 
                 // 6. Invalidate Conflicting Time Off Requests (Auto-Reject ONLY if CLOCKING IN)
                 if (request.getEventType() == AttendanceEventType.CLOCK_IN) {
                     try {
-                        java.time.LocalDate today = java.time.LocalDate.now();
+                        java.time.LocalDate today = java.time.LocalDate.now(timeZoneService.zoneFor(company.getId()));
                         List<com.chronosecure.backend.model.TimeOffRequest> allCompanyRequests = timeOffRequestRepository
                                         .findByCompanyIdOrderByCreatedAtDesc(request.getCompanyId());
 
@@ -167,25 +195,151 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
 
         @Override
-        public AttendanceEventType getNextExpectedEvent(UUID companyId, UUID employeeId) {
-                // Fetch the very last log for this employee
-                // Ideally, we limit this query to the last 24 hours to avoid full table scans,
-                // but for now, we find the latest by timestamp.
-                Instant startOfToday = Instant.now().minusSeconds(86400); // Simple 24h lookback
+        @Timed(value = "chronosecure.attendance.log.batch", description = "Offline kiosk batch replay")
+        public AttendanceBatchResponse logAttendanceBatch(AttendanceBatchRequest request) {
+                List<AttendanceBatchRequest.Event> events = request.getEvents();
+                log.info("Processing offline batch of {} events from Device: {}", events.size(), request.getDeviceId());
+
+                AttendanceBatchResponse.ItemResult[] results = new AttendanceBatchResponse.ItemResult[events.size()];
+                // Company -> Employee -> Days touched by this batch (for coalesced recalculation)
+                Map<UUID, Map<UUID, Set<LocalDate>>> affectedDays = new HashMap<>();
+
+                transactionTemplate.executeWithoutResult(status -> {
+                        // 1. Set-based tenant and employee validation (one query each for the whole batch)
+                        Set<UUID> companyIds = new HashSet<>();
+                        Set<UUID> employeeIds = new HashSet<>();
+                        Instant windowStart = null;
+                        Instant windowEnd = null;
+                        for (AttendanceBatchRequest.Event event : events) {
+                                UUID companyId = resolveCompanyId(request, event);
+                                if (companyId != null) {
+                                        companyIds.add(companyId);
+                                }
+                                employeeIds.add(event.getEmployeeId());
+                                Instant ts = event.getEventTimestamp().truncatedTo(ChronoUnit.MICROS);
+                                windowStart = windowStart == null || ts.isBefore(windowStart) ? ts : windowStart;
+                                windowEnd = windowEnd == null || ts.isAfter(windowEnd) ? ts : windowEnd;
+                        }
 
-                List<AttendanceLog> logs = attendanceLogRepository
-                                .findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc(employeeId,
-                                                startOfToday,
-                                                Instant.now());
+                        Set<UUID> knownCompanies = companyRepository.findAllById(companyIds).stream()
+                                        .map(Company::getId)
+                                        .collect(Collectors.toSet());
+                        Map<UUID, Employee> employees = employeeRepository.findByIdIn(employeeIds).stream()
+                                        .collect(Collectors.toMap(Employee::getId, e -> e));
+
+                        // 2. De-duplicate against events the server already holds for this window
+                        Set<EventKey> seen = new HashSet<>();
+                        if (!employees.isEmpty()) {
+                                for (Object[] row : attendanceLogRepository.findEventKeysForEmployees(
+                                                employees.keySet(), windowStart, windowEnd)) {
+                                        seen.add(new EventKey((UUID) row[0], (Instant) row[1],
+                                                        (AttendanceEventType) row[2]));
+                                }
+                        }
+
+                        // 3. Validate each item in order and build the logs to insert
+                        List<AttendanceLog> toInsert = new ArrayList<>();
+                        for (int i = 0; i < events.size(); i++) {
+                                AttendanceBatchRequest.Event event = events.get(i);
+                                UUID companyId = resolveCompanyId(request, event);
+                                if (companyId == null || !knownCompanies.contains(companyId)) {
+                                        results[i] = batchItem(i, AttendanceBatchResponse.ItemStatus.REJECTED, null,
+                                                        "Company not found");
+                                        continue;
+                                }
+
+                                Employee employee = employees.get(event.getEmployeeId());
+                                if (employee == null || !employee.getCompanyId().equals(companyId)) {
+                                        results[i] = batchItem(i, AttendanceBatchResponse.ItemStatus.REJECTED, null,
+                                                        "Employee not found or does not belong to this company");
+                                        continue;
+                                }
+
+                                Instant ts = event.getEventTimestamp().truncatedTo(ChronoUnit.MICROS);
+                                if (!seen.add(new EventKey(employee.getId(), ts, event.getEventType()))) {
+                                        results[i] = batchItem(i, AttendanceBatchResponse.ItemStatus.DUPLICATE, null,
+                                                        "Event already recorded");
+                                        continue;
+                                }
+
+                                AttendanceLog newLog = AttendanceLog.builder()
+                                                .id(UUID.randomUUID())
+                                                .companyId(companyId)
+                                                .employee(employee)
+                                                .eventType(event.getEventType())
+                                                .eventTimestamp(ts)
+                                                .deviceId(request.getDeviceId())
+                                                .confidenceScore(event.getConfidenceScore() != null
+                                                                ? BigDecimal.valueOf(event.getConfidenceScore())
+                                                                : null)
+                                                .isOfflineSync(true)
+                                                .build();
+                                toInsert.add(newLog);
+                                results[i] = batchItem(i, AttendanceBatchResponse.ItemStatus.ACCEPTED, newLog.getId(),
+                                                null);
+
+                                affectedDays.computeIfAbsent(companyId, k -> new HashMap<>())
+                                                .computeIfAbsent(employee.getId(), k -> new HashSet<>())
+                                                .add(timeZoneService.daysFor(companyId).dateOf(ts));
+                        }
 
-                if (logs.isEmpty()) {
+                        // 4. Single JDBC-batched insert inside this transaction
+                        attendanceLogJdbcRepository.batchInsert(toInsert);
+                        usageRollupService.recordClockIns(toInsert);
+                        lastEventService.record(toInsert);
+                        affectedDays.forEach((companyId, days) -> reportCacheService.markChanged(companyId,
+                                        days.values().stream().flatMap(Set::stream).collect(Collectors.toSet())));
+                });
+
+                // 5. One recalculation per affected employee-day, after commit
+                affectedDays.forEach(hoursCalculationService::scheduleRecalculation);
+
+                List<AttendanceBatchResponse.ItemResult> resultList = Arrays.asList(results);
+                Map<AttendanceBatchResponse.ItemStatus, Long> counts = resultList.stream()
+                                .collect(Collectors.groupingBy(AttendanceBatchResponse.ItemResult::getStatus,
+                                                Collectors.counting()));
+
+                log.info("Offline batch from Device: {} done - accepted {}, duplicates {}, rejected {}",
+                                request.getDeviceId(),
+                                counts.getOrDefault(AttendanceBatchResponse.ItemStatus.ACCEPTED, 0L),
+                                counts.getOrDefault(AttendanceBatchResponse.ItemStatus.DUPLICATE, 0L),
+                                counts.getOrDefault(AttendanceBatchResponse.ItemStatus.REJECTED, 0L));
+
+                return AttendanceBatchResponse.builder()
+                                .accepted(counts.getOrDefault(AttendanceBatchResponse.ItemStatus.ACCEPTED, 0L).intValue())
+                                .duplicates(counts.getOrDefault(AttendanceBatchResponse.ItemStatus.DUPLICATE, 0L).intValue())
+                                .rejected(counts.getOrDefault(AttendanceBatchResponse.ItemStatus.REJECTED, 0L).intValue())
+                                .results(resultList)
+                                .build();
+        }
+
+        private UUID resolveCompanyId(AttendanceBatchRequest request, AttendanceBatchRequest.Event event) {
+                return event.getCompanyId() != null ? event.getCompanyId() : request.getCompanyId();
+        }
+
+        private AttendanceBatchResponse.ItemResult batchItem(int index, AttendanceBatchResponse.ItemStatus status,
+                        UUID logId, String message) {
+                return AttendanceBatchResponse.ItemResult.builder()
+                                .index(index)
+                                .status(status)
+                                .logId(logId)
+                                .message(message)
+                                .build();
+        }
+
+        private record EventKey(UUID employeeId, Instant eventTimestamp, AttendanceEventType eventType) {
+        }
+
+        @Override
+        public AttendanceEventType getNextExpectedEvent(UUID companyId, UUID employeeId) {
+                // Latest event from the in-memory store (top-1 indexed query on a miss), however long ago
+                Optional<LastEventService.LastEvent> last = lastEventService.lastEvent(employeeId);
+                if (last.isEmpty() || !companyId.equals(last.get().companyId())) {
                         return AttendanceEventType.CLOCK_IN;
                 }
 
-                AttendanceLog lastLog = logs.get(logs.size() - 1);
-
                 // Simple State Machine Logic
-                return switch (lastLog.getEventType()) {
+                return switch (last.get().eventType()) {
                         case CLOCK_IN -> AttendanceEventType.BREAK_START; // Or CLOCK_OUT
                         case BREAK_START -> AttendanceEventType.BREAK_END;
                         case BREAK_END -> AttendanceEventType.CLOCK_OUT; // Or another BREAK_START
@@ -200,13 +354,14 @@ public class AttendanceServiceImpl implements AttendanceService {
                 long totalEmployees = employees.size();
 
                 // 2. Fetch Today's Logs
-                java.time.ZoneId zone = java.time.ZoneId.systemDefault();
-                Instant start = java.time.LocalDate.now().atStartOfDay(zone).toInstant();
+                java.time.ZoneId zone = timeZoneService.zoneFor(companyId);
+                Instant start = DayBoundaries.of(zone).startOf(java.time.LocalDate.now(zone));
                 Instant end = Instant.now();
 
+                // Employees joined in: the recent activity shows names, also of employees no longer active
                 List<AttendanceLog> todayLogs = attendanceLogRepository
-                                .findByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(companyId, start,
-                                                end);
+                                .findWithEmployeeByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(companyId,
+                                                start, end);
 
                 // 3. Determine Status per Employee
                 java.util.Map<UUID, AttendanceLog> latestLogMap = todayLogs.stream()
@@ -236,7 +391,7 @@ public class AttendanceServiceImpl implements AttendanceService {
 
                 // Count employees on approved leave for today (inclusive date range),
                 // but only if they have no attendance logs today.
-                LocalDate today = LocalDate.now();
+                LocalDate today = LocalDate.now(zone);
                 Set<UUID> employeesWithLogsToday = latestLogMap.keySet();
 
                 long onLeaveCount = timeOffRequestRepository.findByCompanyId(companyId).stream()
@@ -282,16 +437,14 @@ public class AttendanceServiceImpl implements AttendanceService {
         @Override
         public List<com.chronosecure.backend.dto.AttendanceLogResponse> getAttendanceLogs(UUID companyId,
                         java.time.LocalDate startDate, java.time.LocalDate endDate) {
-                // Convert LocalDate to Instant (Start of day / End of day in UTC or system
-                // zone)
-                // Ideally use company's time zone, but defaulting to system default/UTC for now
-                java.time.ZoneId zone = java.time.ZoneId.systemDefault();
-                Instant start = startDate.atStartOfDay(zone).toInstant();
-                Instant end = endDate.plusDays(1).atStartOfDay(zone).toInstant();
+                // Start of the first day to the end of the last, in the company's zone
+                DayBoundaries days = timeZoneService.daysFor(companyId);
+                Instant start = days.startOf(startDate);
+                Instant end = days.endOf(endDate);
 
                 List<AttendanceLog> logs = attendanceLogRepository
-                                .findByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(companyId, start,
-                                                end);
+                                .findWithEmployeeByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(companyId,
+                                                start, end);
 
                 return logs.stream().map(log -> com.chronosecure.backend.dto.AttendanceLogResponse.builder()
                                 .id(log.getId())
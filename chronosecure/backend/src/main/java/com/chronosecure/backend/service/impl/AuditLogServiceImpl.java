@@ -0,0 +1,277 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.dto.AuditLogPage;
+import com.chronosecure.backend.dto.AuditLogQuery;
+import com.chronosecure.backend.dto.AuditPartitionMigrationStatus;
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.model.AuditLog;
+import com.chronosecure.backend.repository.AuditLogPartitionRepository;
+import com.chronosecure.backend.repository.AuditLogQueryRepository;
+import com.chronosecure.backend.service.AuditLogService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Audit Log Service Implementation
+ * Keyset-paged search plus upkeep of the monthly audit_logs partitions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogServiceImpl implements AuditLogService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Rows newer than now minus this margin are left to the next pass, so a
+    // commit carrying a slightly older timestamp is not skipped
+    private static final Duration COMMIT_MARGIN = Duration.ofMinutes(1);
+    private static final int MAX_CATCH_UP_PASSES = 10;
+
+    private final AuditLogQueryRepository auditLogQueryRepository;
+    private final AuditLogPartitionRepository auditLogPartitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BackgroundExecutors backgroundExecutors;
+
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${audit.partitions.migration-chunk-size:10000}")
+    private int migrationChunkSize;
+
+    private ExecutorService migrationExecutor;
+    private final AtomicReference<AuditPartitionMigrationStatus> migration = new AtomicReference<>(
+            AuditPartitionMigrationStatus.builder().status(AuditPartitionMigrationStatus.Status.NOT_STARTED).build());
+
+    @PostConstruct
+    public void startMigrationExecutor() {
+        migrationExecutor = backgroundExecutors.singleThread("audit-partitioning");
+    }
+
+    @PreDestroy
+    public void shutdownMigration() {
+        // An interrupted migration keeps audit_logs_migration and resumes when started again
+        migrationExecutor.shutdownNow();
+    }
+
+    @Override
+    public AuditLogPage search(UUID companyId, AuditLogQuery query) {
+        int limit = query.getLimit() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(query.getLimit(), MAX_PAGE_SIZE));
+
+        Instant afterCreatedAt = null;
+        UUID afterId = null;
+        if (query.getCursor() != null && !query.getCursor().isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(query.getCursor()), StandardCharsets.UTF_8).split("\\|");
+                afterCreatedAt = Instant.parse(parts[0]);
+                afterId = UUID.fromString(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        AuditLogQueryRepository.Filter filter = new AuditLogQueryRepository.Filter(
+                blankToNull(query.getAction()),
+                blankToNull(query.getResourceType()),
+                query.getResourceId(),
+                query.getStartDate() != null ? query.getStartDate().atStartOfDay(ZoneOffset.UTC).toInstant() : null,
+                query.getEndDate() != null ? query.getEndDate().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() : null,
+                normalizeDetails(query.getDetails()));
+
+        // One extra row tells us whether another page exists without a COUNT
+        List<AuditLog> rows = auditLogQueryRepository.findPage(companyId, filter, afterCreatedAt, afterId, limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            AuditLog last = rows.get(limit - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return AuditLogPage.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Make sure partitions exist for the coming months. An unpartitioned table
+     * is left as it is: it is converted by an explicit migration
+     * (POST /super-admin/audit-logs/partitioning), never at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preparePartitions() {
+        if (!auditLogPartitionRepository.isPostgres()) {
+            return;
+        }
+        if (!auditLogPartitionRepository.isPartitioned()) {
+            log.warn("audit_logs is not partitioned yet; start the migration with POST /api/v1/super-admin/audit-logs/partitioning");
+            if (!auditLogPartitionRepository.migrationTableExists()) {
+                // During a migration the index names belong to audit_logs_migration
+                auditLogPartitionRepository.createIndexes();
+            }
+            return;
+        }
+        auditLogPartitionRepository.createIndexes();
+        maintainPartitions();
+    }
+
+    @Override
+    public AuditPartitionMigrationStatus startPartitionMigration() {
+        if (!auditLogPartitionRepository.isPostgres()) {
+            throw new IllegalArgumentException("audit_logs is partitioned on PostgreSQL only");
+        }
+        if (auditLogPartitionRepository.isPartitioned()) {
+            throw new IllegalArgumentException("audit_logs is already partitioned");
+        }
+        AuditPartitionMigrationStatus current = migration.get();
+        if (current.getStatus() == AuditPartitionMigrationStatus.Status.RUNNING) {
+            return current;
+        }
+        AuditPartitionMigrationStatus started = AuditPartitionMigrationStatus.builder()
+                .status(AuditPartitionMigrationStatus.Status.RUNNING)
+                .startedAt(Instant.now())
+                .build();
+        if (!migration.compareAndSet(current, started)) {
+            return migration.get();
+        }
+        migrationExecutor.submit(this::migrateToPartitions);
+        return started;
+    }
+
+    @Override
+    public AuditPartitionMigrationStatus getPartitionMigration() {
+        return migration.get();
+    }
+
+    /**
+     * Copy audit_logs into a partitioned table in committed chunks while the
+     * application keeps writing, then swap the tables in one short transaction.
+     * Chunks skip rows already copied, so a migration interrupted by a restart
+     * picks up where it stopped when started again.
+     */
+    private void migrateToPartitions() {
+        try {
+            Instant copiedUntil = Instant.now().minus(COMMIT_MARGIN);
+            auditLogPartitionRepository.prepareLegacyTable();
+            if (!auditLogPartitionRepository.migrationTableExists()) {
+                Instant oldest = auditLogPartitionRepository.findOldestEntry();
+                YearMonth first = oldest != null ? YearMonth.from(oldest.atZone(ZoneOffset.UTC)) : YearMonth.now(ZoneOffset.UTC);
+                YearMonth last = YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead);
+                log.info("Creating partitioned audit_logs_migration ({} to {})", first, last);
+                transactionTemplate.executeWithoutResult(status -> auditLogPartitionRepository.createMigrationTable(first, last));
+            }
+
+            copyRange(null, copiedUntil);
+            // Catch up on rows written during the copy until one pass is small
+            for (int pass = 0; pass < MAX_CATCH_UP_PASSES; pass++) {
+                Instant until = Instant.now().minus(COMMIT_MARGIN);
+                long copied = copyRange(copiedUntil, until);
+                copiedUntil = until;
+                if (copied < migrationChunkSize) {
+                    break;
+                }
+            }
+
+            Instant swapFrom = copiedUntil;
+            Integer copied = transactionTemplate.execute(status -> auditLogPartitionRepository.swapInMigrationTable(swapFrom));
+            addCopied(copied != null ? copied : 0);
+            auditLogPartitionRepository.createIndexes();
+            maintainPartitions();
+
+            migration.updateAndGet(m -> m.toBuilder()
+                    .status(AuditPartitionMigrationStatus.Status.COMPLETED)
+                    .finishedAt(Instant.now())
+                    .build());
+            log.info("audit_logs is now partitioned ({} rows copied)", migration.get().getRowsCopied());
+        } catch (RuntimeException e) {
+            log.error("audit_logs partition migration failed", e);
+            migration.updateAndGet(m -> m.toBuilder()
+                    .status(AuditPartitionMigrationStatus.Status.FAILED)
+                    .message(e.getMessage())
+                    .finishedAt(Instant.now())
+                    .build());
+        }
+    }
+
+    /**
+     * @return rows read in [from, to); each chunk commits on its own
+     */
+    private long copyRange(Instant from, Instant to) {
+        long total = 0;
+        AuditLogPartitionRepository.CopyChunk chunk = new AuditLogPartitionRepository.CopyChunk(0, null);
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Migration interrupted by shutdown");
+            }
+            chunk = auditLogPartitionRepository.copyChunk(from, to, chunk.lastId(), migrationChunkSize);
+            total += chunk.rows();
+            addCopied(chunk.rows());
+        } while (chunk.rows() == migrationChunkSize);
+        log.info("Copied {} audit_logs rows created before {}", total, to);
+        return total;
+    }
+
+    private void addCopied(long rows) {
+        migration.updateAndGet(m -> m.toBuilder().rowsCopied(m.getRowsCopied() + rows).build());
+    }
+
+    @Scheduled(cron = "${audit.partitions.cron:0 30 2 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        if (!auditLogPartitionRepository.isPostgres() || !auditLogPartitionRepository.isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        auditLogPartitionRepository.createDefaultPartition();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                auditLogPartitionRepository.createMonthlyPartition(month);
+            } catch (RuntimeException e) {
+                // Fails when the default partition already holds rows for that month
+                log.error("Could not create audit_logs partition for {}", month, e);
+            }
+        }
+    }
+
+    private String normalizeDetails(String details) {
+        if (details == null || details.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(details);
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("details filter must be a JSON object");
+            }
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("details filter is not valid JSON");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,323 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.config.BillingProperties;
+import com.chronosecure.backend.model.BillingRun;
+import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.Invoice;
+import com.chronosecure.backend.model.enums.BillingRunStatus;
+import com.chronosecure.backend.model.enums.TenantPurgeStatus;
+import com.chronosecure.backend.repository.BillingRunRepository;
+import com.chronosecure.backend.repository.CompanyRepository;
+import com.chronosecure.backend.repository.DailyUsageJdbcRepository;
+import com.chronosecure.backend.repository.InvoiceJdbcRepository;
+import com.chronosecure.backend.repository.InvoiceRepository;
+import com.chronosecure.backend.repository.TenantPurgeJobRepository;
+import com.chronosecure.backend.service.BillingService;
+import com.chronosecure.backend.service.TimeZoneService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Billing Implementation
+ * A run walks the companies in key order, one chunk at a time, and bills
+ * the chunks on a small worker pool. Each chunk reads the daily_usage
+ * rollup for all of its companies in one query and writes its invoices
+ * and the run's progress in one transaction, so at most
+ * {@code billing.run.parallelism} connections are busy at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BillingServiceImpl implements BillingService {
+
+    private static final List<BillingRunStatus> UNFINISHED = List.of(BillingRunStatus.PENDING, BillingRunStatus.RUNNING);
+    // A company with an open purge is being deleted and is not billed
+    private static final List<TenantPurgeStatus> OPEN_PURGES =
+            List.of(TenantPurgeStatus.PENDING, TenantPurgeStatus.RUNNING, TenantPurgeStatus.FAILED);
+    private static final UUID FIRST_KEY = new UUID(0L, 0L);
+
+    private final BillingRunRepository billingRunRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceJdbcRepository invoiceJdbcRepository;
+    private final CompanyRepository companyRepository;
+    private final TenantPurgeJobRepository tenantPurgeJobRepository;
+    private final DailyUsageJdbcRepository dailyUsageJdbcRepository;
+    private final BillingProperties billingProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TimeZoneService timeZoneService;
+    private final BackgroundExecutors backgroundExecutors;
+
+    // Runs are serialised; the parallelism is inside a run
+    private ExecutorService runExecutor;
+    private final Set<UUID> queuedRuns = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void startRunExecutor() {
+        runExecutor = backgroundExecutors.singleThread("billing-run");
+        backgroundExecutors.reserveConnections(Math.max(1, billingProperties.getRun().getParallelism()));
+    }
+
+    @Override
+    public BillingRun startRun(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null || periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("Billing period end must not be before its start");
+        }
+
+        BillingRun run = transactionTemplate.execute(status -> billingRunRepository
+                .findFirstByPeriodStartAndPeriodEndAndStatusIn(periodStart, periodEnd, UNFINISHED)
+                .orElseGet(() -> billingRunRepository.save(BillingRun.builder()
+                        .periodStart(periodStart)
+                        .periodEnd(periodEnd)
+                        .status(BillingRunStatus.PENDING)
+                        .currency(billingProperties.getCurrency())
+                        .build())));
+
+        enqueue(run.getId());
+        log.info("Queued billing run {} for {} to {}", run.getId(), periodStart, periodEnd);
+        return run;
+    }
+
+    @Override
+    public BillingRun getRun(UUID runId) {
+        return billingRunRepository.findById(runId)
+                .orElseThrow(() -> new EntityNotFoundException("Billing run not found"));
+    }
+
+    @Override
+    public List<BillingRun> getRecentRuns() {
+        return billingRunRepository.findTop50ByOrderByCreatedAtDesc();
+    }
+
+    @Override
+    public Page<Invoice> getRunInvoices(UUID runId, Pageable pageable) {
+        getRun(runId);
+        return invoiceRepository.findByBillingRunIdOrderByCompanyNameAsc(runId, pageable);
+    }
+
+    @Override
+    public List<Invoice> getCompanyInvoices(UUID companyId) {
+        return invoiceRepository.findByCompanyIdOrderByPeriodStartDescCreatedAtDesc(companyId);
+    }
+
+    /**
+     * Month-end run: bills the previous calendar month.
+     */
+    @Scheduled(cron = "${billing.run.cron:0 0 3 1 * *}")
+    public void runMonthEndBilling() {
+        LocalDate lastMonth = LocalDate.now().minusMonths(1);
+        startRun(lastMonth.withDayOfMonth(1), lastMonth.withDayOfMonth(lastMonth.lengthOfMonth()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        for (BillingRun run : billingRunRepository.findByStatusIn(UNFINISHED)) {
+            log.info("Resuming billing run {} for {} to {}", run.getId(), run.getPeriodStart(), run.getPeriodEnd());
+            enqueue(run.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdownRuns() {
+        // Interrupted runs stay RUNNING and are redone from the start on the next boot
+        runExecutor.shutdownNow();
+    }
+
+    private void enqueue(UUID runId) {
+        if (queuedRuns.add(runId)) {
+            runExecutor.submit(() -> {
+                try {
+                    executeRun(runId);
+                } finally {
+                    queuedRuns.remove(runId);
+                }
+            });
+        }
+    }
+
+    private void executeRun(UUID runId) {
+        BillingRun run = billingRunRepository.findById(runId).orElse(null);
+        if (run == null || !UNFINISHED.contains(run.getStatus())) {
+            return;
+        }
+
+        // Invoices are upserted per company, so a resumed run simply starts over
+        run.setStatus(BillingRunStatus.RUNNING);
+        run.setCompaniesTotal(companyRepository.count());
+        run.setCompaniesInvoiced(0L);
+        run.setCompaniesFailed(0L);
+        run.setTotalAmount(BigDecimal.ZERO);
+        run.setLastError(null);
+        billingRunRepository.save(run);
+
+        int parallelism = Math.max(1, billingProperties.getRun().getParallelism());
+        int chunkSize = Math.max(1, billingProperties.getRun().getChunkSize());
+        ExecutorService workers = backgroundExecutors.bounded("billing-worker", parallelism);
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<Future<?>> chunks = new ArrayList<>();
+        long startedAt = System.currentTimeMillis();
+
+        try {
+            UUID afterId = FIRST_KEY;
+            List<Company> companies;
+            do {
+                companies = companyRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, chunkSize));
+                if (companies.isEmpty()) {
+                    break;
+                }
+                afterId = companies.get(companies.size() - 1).getId();
+
+                // Don't read ahead of the workers: at most one pending chunk per worker
+                inFlight.acquire();
+                List<Company> chunk = companies;
+                chunks.add(workers.submit(() -> {
+                    try {
+                        billChunk(run, chunk);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            } while (companies.size() == chunkSize);
+
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+            log.info("Billing run {} interrupted", runId);
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            workers.shutdownNow();
+            log.error("Billing run {} failed", runId, e);
+            BillingRun failed = getRun(runId);
+            failed.setStatus(BillingRunStatus.FAILED);
+            failed.setLastError(e.getMessage());
+            billingRunRepository.save(failed);
+            return;
+        }
+        workers.shutdown();
+
+        BillingRun done = getRun(runId);
+        done.setStatus(done.getCompaniesFailed() > 0 ? BillingRunStatus.FAILED : BillingRunStatus.COMPLETED);
+        done.setCompletedAt(Instant.now());
+        billingRunRepository.save(done);
+        log.info("Billing run {} finished in {} ms: {} invoiced, {} failed, total {} {}", runId,
+                System.currentTimeMillis() - startedAt, done.getCompaniesInvoiced(), done.getCompaniesFailed(),
+                done.getTotalAmount(), done.getCurrency());
+    }
+
+    private void billChunk(BillingRun run, List<Company> companies) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<UUID> companyIds = companies.stream().map(Company::getId).toList();
+                Map<UUID, Map<LocalDate, Integer>> usage = dailyUsageJdbcRepository.findHeadcounts(
+                        companyIds, run.getPeriodStart(), run.getPeriodEnd());
+                Set<UUID> purging = new HashSet<>(tenantPurgeJobRepository.findCompanyIdsWithStatus(companyIds, OPEN_PURGES));
+
+                Instant now = Instant.now();
+                List<Invoice> invoices = new ArrayList<>(companies.size());
+                for (Company company : companies) {
+                    Map<LocalDate, Integer> headcounts = usage.getOrDefault(company.getId(), Map.of());
+                    // Deactivated companies are billed only when they were used in the period
+                    if (purging.contains(company.getId()) || (!company.isActive() && headcounts.isEmpty())) {
+                        continue;
+                    }
+                    Invoice invoice = buildInvoice(run, company, headcounts, now);
+                    if (invoice != null) {
+                        invoices.add(invoice);
+                    }
+                }
+
+                invoiceJdbcRepository.upsert(invoices);
+                BigDecimal amount = invoices.stream().map(Invoice::getTotalAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+                billingRunRepository.recordProgress(run.getId(), invoices.size(), companies.size() - invoices.size(), amount);
+            });
+        } catch (Exception e) {
+            // One bad chunk does not stop the run; it is reported on the run instead
+            log.error("Billing run {} failed for {} companies starting at {}", run.getId(), companies.size(),
+                    companies.get(0).getId(), e);
+            transactionTemplate.executeWithoutResult(status ->
+                    billingRunRepository.recordFailure(run.getId(), companies.size(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Charges for the part of the period the company existed: a daily base fee
+     * plus the plan's per-head fee for every head over the included allowance.
+     *
+     * @return null when the company was created after the period
+     */
+    private Invoice buildInvoice(BillingRun run, Company company, Map<LocalDate, Integer> headcounts, Instant now) {
+        LocalDate start = run.getPeriodStart();
+        if (company.getCreatedAt() != null) {
+            LocalDate created = timeZoneService.daysFor(company.getId()).dateOf(company.getCreatedAt());
+            if (created.isAfter(start)) {
+                start = created;
+            }
+        }
+        if (start.isAfter(run.getPeriodEnd())) {
+            return null;
+        }
+
+        BillingProperties.PlanPricing pricing = billingProperties.pricingFor(company.getSubscriptionPlan());
+        int billableDays = (int) ChronoUnit.DAYS.between(start, run.getPeriodEnd()) + 1;
+
+        long totalHeadcount = 0;
+        BigDecimal usageAmount = BigDecimal.ZERO;
+        for (Map.Entry<LocalDate, Integer> day : headcounts.entrySet()) {
+            if (!day.getKey().isBefore(start)) {
+                totalHeadcount += day.getValue();
+                usageAmount = usageAmount.add(pricing.usageFee(day.getValue()));
+            }
+        }
+        BigDecimal baseAmount = pricing.getDailyBaseFee().multiply(BigDecimal.valueOf(billableDays));
+
+        return Invoice.builder()
+                .id(UUID.randomUUID())
+                .billingRunId(run.getId())
+                .companyId(company.getId())
+                .companyName(company.getName())
+                .subscriptionPlan(company.getSubscriptionPlan())
+                .periodStart(start)
+                .periodEnd(run.getPeriodEnd())
+                .billableDays(billableDays)
+                .totalHeadcount(totalHeadcount)
+                .dailyBaseFee(pricing.getDailyBaseFee())
+                .includedHeadcount(pricing.getIncludedHeadcount())
+                .perHeadFee(pricing.getPerHeadFee())
+                .baseAmount(baseAmount)
+                .usageAmount(usageAmount)
+                .totalAmount(baseAmount.add(usageAmount))
+                .currency(run.getCurrency())
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,258 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.model.enums.ExportFormat;
+import com.chronosecure.backend.repository.BulkExportJdbcRepository;
+import com.chronosecure.backend.repository.EmployeeRepository;
+import com.chronosecure.backend.service.BulkExportService;
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.CompiledCalendar;
+import com.chronosecure.backend.util.DayBoundaries;
+import com.chronosecure.backend.util.TabularExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk Export Implementation
+ * Rows travel from a forward-only cursor through the format writer and gzip
+ * straight into the response, so memory stays flat however long the range.
+ * Gzip runs at its fastest level: exports are CPU-bound on compression
+ * long before the network is the limit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkExportServiceImpl implements BulkExportService {
+
+    private static final List<String> ATTENDANCE_LOG_COLUMNS = List.of("id", "employee_id", "employee_code",
+            "event_type", "event_timestamp", "device_id", "is_offline_sync", "confidence_score");
+
+    private static final List<String> CALCULATED_HOURS_COLUMNS = List.of("employee_id", "employee_code",
+            "work_date", "total_seconds", "weekday_seconds", "saturday_seconds", "sunday_seconds",
+            "public_holiday_seconds", "leave_seconds");
+
+    private static final List<String> DAILY_STATUS_COLUMNS = List.of("employee_id", "employee_code",
+            "employee_name", "date", "status", "worked_seconds", "check_in", "check_out");
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final BulkExportJdbcRepository bulkExportJdbcRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final TimeZoneService timeZoneService;
+    private final CompiledCalendarService compiledCalendarService;
+
+    @Override
+    public StreamingResponseBody exportAttendanceLogs(UUID companyId, UUID employeeId, LocalDate startDate,
+            LocalDate endDate, ExportFormat format, boolean gzip) {
+        validate(companyId, employeeId, startDate, endDate);
+        DayBoundaries days = timeZoneService.daysFor(companyId);
+        Instant from = days.startOf(startDate);
+        Instant to = days.endOf(endDate);
+
+        log.info("Exporting attendance logs ({}) for company {} from {} to {}", format, companyId, startDate, endDate);
+        return export(format, gzip, ATTENDANCE_LOG_COLUMNS, writer ->
+                bulkExportJdbcRepository.streamAttendanceLogs(companyId, employeeId, from, to, rows(writer, rs -> {
+                    writer.value(rs.getString("id"));
+                    writer.value(rs.getString("employee_id"));
+                    writer.value(rs.getString("employee_code"));
+                    writer.value(rs.getString("event_type"));
+                    writer.value(timestampValue(rs, "event_timestamp"));
+                    writer.value(rs.getString("device_id"));
+                    writer.value(rs.getBoolean("is_offline_sync"));
+                    BigDecimal confidence = rs.getBigDecimal("confidence_score");
+                    writer.value(confidence != null ? confidence.toPlainString() : null);
+                })));
+    }
+
+    @Override
+    public StreamingResponseBody exportCalculatedHours(UUID companyId, UUID employeeId, LocalDate startDate,
+            LocalDate endDate, ExportFormat format, boolean gzip) {
+        validate(companyId, employeeId, startDate, endDate);
+
+        log.info("Exporting calculated hours ({}) for company {} from {} to {}", format, companyId, startDate, endDate);
+        return export(format, gzip, CALCULATED_HOURS_COLUMNS, writer ->
+                bulkExportJdbcRepository.streamCalculatedHours(companyId, employeeId, startDate, endDate,
+                        rows(writer, rs -> {
+                            writer.value(rs.getString("employee_id"));
+                            writer.value(rs.getString("employee_code"));
+                            writer.value(rs.getString("work_date"));
+                            writeSeconds(writer, rs, "total_hours_worked");
+                            writeSeconds(writer, rs, "weekday_hours");
+                            writeSeconds(writer, rs, "saturday_hours");
+                            writeSeconds(writer, rs, "sunday_hours");
+                            writeSeconds(writer, rs, "public_holiday_hours");
+                            writeSeconds(writer, rs, "leave_hours");
+                        })));
+    }
+
+    @Override
+    public StreamingResponseBody exportDailyStatus(UUID companyId, UUID employeeId, LocalDate startDate,
+            LocalDate endDate, ExportFormat format, boolean gzip) {
+        validate(companyId, employeeId, startDate, endDate);
+        DayBoundaries days = timeZoneService.daysFor(companyId);
+        Instant from = days.startOf(startDate);
+        Instant to = days.endOf(endDate);
+        CompiledCalendar calendar = compiledCalendarService.calendarFor(companyId).prepare(startDate, endDate);
+
+        log.info("Exporting daily status ({}) for company {} from {} to {}", format, companyId, startDate, endDate);
+        return export(format, gzip, DAILY_STATUS_COLUMNS, writer ->
+                bulkExportJdbcRepository.streamDailyStatus(companyId, employeeId, startDate, endDate, days.zone().getId(),
+                        from, to, rows(writer, rs -> writeDailyStatus(writer, rs, calendar))));
+    }
+
+    /**
+     * Same decision as the company report: calculated hours first, falling
+     * back to the clock-in/clock-out span when none were calculated; an
+     * approved leave always wins and an empty holiday or weekend is not an absence.
+     */
+    private static void writeDailyStatus(TabularExportWriter writer, ResultSet rs, CompiledCalendar calendar)
+            throws SQLException, IOException {
+        LocalDate day = rs.getObject("day", LocalDate.class);
+        Instant firstIn = instantValue(rs, "first_in");
+        Instant lastOut = instantValue(rs, "last_out");
+
+        long total = nanos(rs, "total_hours_worked");
+        long leave = nanos(rs, "leave_hours");
+        long holiday = nanos(rs, "public_holiday_hours");
+        if (total == 0 && firstIn != null) {
+            // The report replaces the calculated row with one derived from the logs
+            total = lastOut != null && lastOut.isAfter(firstIn) ? Duration.between(firstIn, lastOut).toNanos() : 0;
+            leave = 0;
+            holiday = 0;
+        }
+
+        String status = "ABSENT";
+        if (leave != 0) {
+            status = "LEAVE";
+        } else if (total != 0) {
+            status = "PRESENT";
+        } else if (holiday != 0) {
+            status = "HOLIDAY";
+        }
+        if (rs.getBoolean("on_leave")) {
+            status = "LEAVE";
+        }
+        if ("ABSENT".equals(status)) {
+            if (calendar.isHoliday(day)) {
+                status = "HOLIDAY";
+            } else if (calendar.isWeekend(day)) {
+                status = "WEEKEND";
+            }
+        }
+
+        writer.value(rs.getString("employee_id"));
+        writer.value(rs.getString("employee_code"));
+        writer.value(rs.getString("first_name") + " " + rs.getString("last_name"));
+        writer.value(day.toString());
+        writer.value(status);
+        writer.value("PRESENT".equals(status) ? Duration.ofNanos(total).toSeconds() : 0L);
+        writer.value(firstIn != null ? firstIn.toString() : null);
+        writer.value(lastOut != null ? lastOut.toString() : null);
+    }
+
+    private void validate(UUID companyId, UUID employeeId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        // Fail before the response is committed if the employee is not ours
+        if (employeeId != null && employeeRepository.findByCompanyIdAndId(companyId, employeeId).isEmpty()) {
+            throw new EntityNotFoundException("Employee not found");
+        }
+    }
+
+    private StreamingResponseBody export(ExportFormat format, boolean gzip, List<String> columns,
+            Consumer<TabularExportWriter> query) {
+        return out -> {
+            OutputStream target = gzip ? fastGzip(out) : out;
+            TabularExportWriter writer = TabularExportWriter.open(format, target, objectMapper.getFactory(), columns);
+
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+            try {
+                readOnly.executeWithoutResult(status -> query.accept(writer));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            writer.finish();
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+            target.flush();
+        };
+    }
+
+    @FunctionalInterface
+    private interface ExportRowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private static RowCallbackHandler rows(TabularExportWriter writer, ExportRowWriter row) {
+        return rs -> {
+            try {
+                writer.startRow();
+                row.write(rs);
+                writer.endRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static GZIPOutputStream fastGzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, GZIP_BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    private static Instant instantValue(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value != null ? value.toInstant() : null;
+    }
+
+    private static String timestampValue(ResultSet rs, String column) throws SQLException {
+        Instant value = instantValue(rs, column);
+        return value != null ? value.toString() : null;
+    }
+
+    // Durations are stored as nanoseconds (Hibernate's default NUMERIC mapping); null reads as 0
+    private static long nanos(ResultSet rs, String column) throws SQLException {
+        return rs.getLong(column);
+    }
+
+    private static void writeSeconds(TabularExportWriter writer, ResultSet rs, String column)
+            throws SQLException, IOException {
+        long value = rs.getLong(column);
+        if (rs.wasNull()) {
+            writer.nullValue();
+        } else {
+            writer.value(Duration.ofNanos(value).toSeconds());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.dto.CalendarImportResult;
+import com.chronosecure.backend.model.CompanyCalendar;
+import com.chronosecure.backend.model.enums.CalendarDayType;
+import com.chronosecure.backend.repository.CompanyCalendarJdbcRepository;
+import com.chronosecure.backend.repository.CompanyCalendarRepository;
+import com.chronosecure.backend.service.CalendarService;
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.service.HoursCalculationService;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.ICalendarReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Calendar Service Implementation
+ * Each write is one range read of the existing entries, one batched upsert
+ * of the entries that actually change and one coalesced recalculation of
+ * the calculated hours on those days.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarServiceImpl implements CalendarService {
+
+    // Ten years of days; anything larger is a mistake rather than a calendar
+    private static final int MAX_DAYS_PER_WRITE = 3660;
+    private static final int MAX_EVENT_DAYS = 366;
+    private static final int DESCRIPTION_LENGTH = 255;
+
+    private final CompanyCalendarRepository calendarRepository;
+    private final CompanyCalendarJdbcRepository calendarJdbcRepository;
+    private final CompiledCalendarService compiledCalendarService;
+    private final HoursCalculationService hoursCalculationService;
+    private final ReportCacheService reportCacheService;
+    private final TimeZoneService timeZoneService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public List<CompanyCalendar> setDays(UUID companyId, Collection<LocalDate> dates, CalendarDayType type,
+            Double payMultiplier, String description) {
+        if (dates == null || dates.isEmpty()) {
+            throw new IllegalArgumentException("At least one date is required");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Calendar day type is required");
+        }
+
+        TreeMap<LocalDate, CompanyCalendar> desired = new TreeMap<>();
+        for (LocalDate date : dates) {
+            if (date != null) {
+                desired.put(date, entry(companyId, date, type, payMultiplier, description));
+            }
+        }
+        checkSize(desired.size());
+
+        int changed = upsert(companyId, desired);
+        log.info("Calendar update for company {}: {} days, {} changed", companyId, desired.size(), changed);
+        return new ArrayList<>(desired.values());
+    }
+
+    @Override
+    public CalendarImportResult importHolidays(UUID companyId, MultipartFile file, Double payMultiplier) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || !fileName.toLowerCase(Locale.ROOT).endsWith(".ics")) {
+            throw new IllegalArgumentException("Only .ics files are supported");
+        }
+
+        TreeMap<LocalDate, CompanyCalendar> desired = new TreeMap<>();
+        int[] events = new int[2]; // read, skipped
+        try (InputStream in = file.getInputStream()) {
+            ICalendarReader.read(in, timeZoneService.zoneFor(companyId), event -> {
+                events[0]++;
+                if (event.isCancelled() || event.recurring()) {
+                    events[1]++;
+                    return;
+                }
+                if (ChronoUnit.DAYS.between(event.startDate(), event.endDate()) > MAX_EVENT_DAYS) {
+                    throw new IllegalArgumentException("Event '" + event.summary() + "' spans more than "
+                            + MAX_EVENT_DAYS + " days");
+                }
+                for (LocalDate day = event.startDate(); day.isBefore(event.endDate()); day = day.plusDays(1)) {
+                    CompanyCalendar existing = desired.get(day);
+                    String description = existing == null ? event.summary()
+                            : join(existing.getDescription(), event.summary());
+                    desired.put(day, entry(companyId, day, CalendarDayType.HOLIDAY, payMultiplier, description));
+                }
+                checkSize(desired.size());
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read calendar file " + fileName, e);
+        }
+
+        int changed = upsert(companyId, desired);
+        log.info("Imported {} holidays ({} events, {} skipped) for company {} from {}",
+                desired.size(), events[0], events[1], companyId, fileName);
+        return CalendarImportResult.builder()
+                .fileName(fileName)
+                .eventsRead(events[0])
+                .eventsSkipped(events[1])
+                .daysImported(desired.size())
+                .daysChanged(changed)
+                .build();
+    }
+
+    /**
+     * Write the entries that differ from what is stored and recalculate the
+     * hours on their days. Entries get the id of the stored row they replace.
+     *
+     * @return number of days created or changed
+     */
+    private int upsert(UUID companyId, TreeMap<LocalDate, CompanyCalendar> desired) {
+        if (desired.isEmpty()) {
+            return 0;
+        }
+
+        CalendarWrite write = transactionTemplate.execute(status -> {
+            Map<LocalDate, CompanyCalendar> existing = calendarRepository
+                    .findByCompanyIdAndDateBetween(companyId, desired.firstKey(), desired.lastKey()).stream()
+                    .collect(Collectors.toMap(CompanyCalendar::getDate, Function.identity()));
+
+            List<CompanyCalendar> changed = new ArrayList<>();
+            desired.forEach((date, entry) -> {
+                CompanyCalendar current = existing.get(date);
+                entry.setId(current != null ? current.getId() : UUID.randomUUID());
+                if (current == null || !sameSettings(current, entry)) {
+                    changed.add(entry);
+                }
+            });
+            if (changed.isEmpty()) {
+                return new CalendarWrite(0, Map.of());
+            }
+
+            List<LocalDate> changedDates = changed.stream().map(CompanyCalendar::getDate).toList();
+            calendarJdbcRepository.batchUpsert(changed);
+            reportCacheService.markChanged(companyId, changedDates);
+            compiledCalendarService.evict(companyId);
+            return new CalendarWrite(changed.size(),
+                    calendarJdbcRepository.findCalculatedEmployeeDays(companyId, changedDates));
+        });
+
+        // After commit (and the calendar eviction), so the recalculation reads the new calendar
+        if (!write.employeeDays().isEmpty()) {
+            hoursCalculationService.scheduleRecalculation(companyId, write.employeeDays());
+        }
+        return write.changedDays();
+    }
+
+    private record CalendarWrite(int changedDays, Map<UUID, List<LocalDate>> employeeDays) {
+    }
+
+    private static CompanyCalendar entry(UUID companyId, LocalDate date, CalendarDayType type, Double payMultiplier,
+            String description) {
+        return CompanyCalendar.builder()
+                .companyId(companyId)
+                .date(date)
+                .type(type)
+                .payMultiplier(payMultiplier)
+                .description(truncate(description))
+                .build();
+    }
+
+    private static boolean sameSettings(CompanyCalendar a, CompanyCalendar b) {
+        return a.getType() == b.getType()
+                && Objects.equals(a.getPayMultiplier(), b.getPayMultiplier())
+                && Objects.equals(a.getDescription(), b.getDescription());
+    }
+
+    private static void checkSize(int days) {
+        if (days > MAX_DAYS_PER_WRITE) {
+            throw new IllegalArgumentException("At most " + MAX_DAYS_PER_WRITE + " days can be set at once");
+        }
+    }
+
+    private static String join(String first, String second) {
+        if (first == null || first.isBlank()) {
+            return second;
+        }
+        if (second == null || second.isBlank() || first.contains(second)) {
+            return first;
+        }
+        return first + " / " + second;
+    }
+
+    private static String truncate(String description) {
+        if (description == null || description.length() <= DESCRIPTION_LENGTH) {
+            return description;
+        }
+        return description.substring(0, DESCRIPTION_LENGTH);
+    }
+}
@@ -4,6 +4,8 @@ import com.chronosecure.backend.dto.CompanyRequest;
 import com.chronosecure.backend.model.Company;
 import com.chronosecure.backend.repository.CompanyRepository;
 import com.chronosecure.backend.service.CompanyService;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.service.TimeZoneService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +17,8 @@ import java.util.UUID;
 public class CompanyServiceImpl implements CompanyService {
 
     private final CompanyRepository companyRepository;
+    private final TimeZoneService timeZoneService;
+    private final ReportCacheService reportCacheService;
 
     @Override
     @Transactional
@@ -30,6 +34,16 @@ public class CompanyServiceImpl implements CompanyService {
             company.setBillingAddress(request.getBillingAddress());
         }
 
+        if (request.getTimezone() != null) {
+            String timezone = timeZoneService.validate(request.getTimezone());
+            if (!java.util.Objects.equals(timezone, company.getTimezone())) {
+                company.setTimezone(timezone);
+                timeZoneService.evictCompany(companyId);
+                // Every cached report was bucketed into days in the old zone
+                reportCacheService.markAllChanged(companyId);
+            }
+        }
+
         return companyRepository.save(company);
     }
 }
@@ -0,0 +1,111 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.model.PublicHoliday;
+import com.chronosecure.backend.repository.CompanyCalendarRepository;
+import com.chronosecure.backend.repository.PublicHolidayRepository;
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.util.CacheMetrics;
+import com.chronosecure.backend.util.CompiledCalendar;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled Calendar Implementation
+ * One compiled calendar per company, each year built from two range queries
+ * on first use. Calendar writes evict the company after commit; the next
+ * reader gets a fresh instance. Writes handled by other instances are not
+ * seen here, so a calendar is also rebuilt once it is older than the TTL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompiledCalendarServiceImpl implements CompiledCalendarService {
+
+    // A compiled year is a few hundred bytes; past this many companies start over rather than grow
+    private static final int MAX_CACHED_COMPANIES = 10_000;
+
+    private final CompanyCalendarRepository calendarRepository;
+    private final PublicHolidayRepository publicHolidayRepository;
+    private final MeterRegistry meterRegistry;
+
+    // How long a company's calendar is used before it is compiled again (0 = on every lookup)
+    @Value("${calendar.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<UUID, Entry> calendars = new ConcurrentHashMap<>();
+    private CacheMetrics cacheMetrics;
+
+    @PostConstruct
+    public void registerMetrics() {
+        cacheMetrics = CacheMetrics.register(meterRegistry, "calendar");
+    }
+
+    /**
+     * @param createdAt {@link System#nanoTime()} when the calendar was created
+     */
+    private record Entry(CompiledCalendar calendar, long createdAt) {
+    }
+
+    @Override
+    public CompiledCalendar calendarFor(UUID companyId) {
+        long now = System.nanoTime();
+        Entry cached = calendars.get(companyId);
+        if (cached != null && isFresh(cached, now)) {
+            cacheMetrics.hit();
+            return cached.calendar();
+        }
+        cacheMetrics.miss();
+        if (calendars.size() >= MAX_CACHED_COMPANIES) {
+            calendars.clear();
+        }
+        // A concurrent miss may have replaced the stale entry already
+        return calendars.compute(companyId, (id, current) -> current != null && isFresh(current, now)
+                ? current
+                : new Entry(new CompiledCalendar(year -> compileYear(id, year)), now)).calendar();
+    }
+
+    @Override
+    public void evict(UUID companyId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            calendars.remove(companyId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                calendars.remove(companyId);
+            }
+        });
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return now - entry.createdAt() < TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private CompiledCalendar.Year compileYear(UUID companyId, int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        LocalDate last = LocalDate.of(year, 12, 31);
+
+        Map<LocalDate, String> publicHolidays = new HashMap<>();
+        for (PublicHoliday holiday : publicHolidayRepository.findByCompanyIdAndHolidayDateBetween(companyId, first, last)) {
+            publicHolidays.put(holiday.getHolidayDate(), holiday.getHolidayName());
+        }
+
+        log.debug("Compiling calendar of company {} for {}", companyId, year);
+        return CompiledCalendar.Year.compile(year,
+                calendarRepository.findByCompanyIdAndDateBetween(companyId, first, last), publicHolidays);
+    }
+}
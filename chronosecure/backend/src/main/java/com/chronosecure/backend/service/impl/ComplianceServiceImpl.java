@@ -1,16 +1,41 @@
 package com.chronosecure.backend.service.impl;
 
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.dto.AuditLogQuery;
+import com.chronosecure.backend.dto.ErasureReceipt;
 import com.chronosecure.backend.model.*;
 import com.chronosecure.backend.model.enums.AttendanceEventType;
 import com.chronosecure.backend.repository.*;
+import com.chronosecure.backend.service.AuditLogService;
 import com.chronosecure.backend.service.ComplianceService;
+import com.chronosecure.backend.service.FileStorageService;
+import com.chronosecure.backend.service.LastEventService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import java.util.stream.Collectors;
 
 /**
@@ -27,123 +52,302 @@ public class ComplianceServiceImpl implements ComplianceService {
     private final CalculatedHoursRepository calculatedHoursRepository;
     private final ConsentRecordRepository consentRecordRepository;
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogService auditLogService;
     private final UserRepository userRepository;
+    private final BulkDeleteJdbcRepository bulkDeleteJdbcRepository;
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeExportJdbcRepository employeeExportJdbcRepository;
+    private final DailyUsageJdbcRepository dailyUsageJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final LastEventService lastEventService;
+    private final BackgroundExecutors backgroundExecutors;
+
+    @Value("${compliance.erasure.chunk-size:5000}")
+    private int erasureChunkSize;
+
+    // Photo files are removed off the request thread, after the erasure has committed
+    private ExecutorService photoErasureExecutor;
 
     @Override
-    @Transactional(readOnly = true)
-    public Map<String, Object> exportEmployeeData(UUID companyId, UUID employeeId) {
+    public StreamingResponseBody exportEmployeeData(UUID companyId, UUID employeeId) {
         log.info("Exporting employee data for GDPR compliance - Employee: {}", employeeId);
-        
-        // APPI Compliance: Log data access
-        logDataAccess(null, companyId, "EXPORT_EMPLOYEE_DATA", "EMPLOYEE", employeeId, 
-                null, null, Map.of("reason", "GDPR Data Portability Request"));
-        
+
+        // Fail before the response is committed if the employee is not ours
         Employee employee = employeeRepository.findByCompanyIdAndId(companyId, employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
-        
-        // Fetch all related data
-        List<AttendanceLog> attendanceLogs = attendanceLogRepository
-                .findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc(
-                        employeeId, Instant.ofEpochMilli(0), Instant.now());
-        
-        List<CalculatedHours> calculatedHours = calculatedHoursRepository
-                .findByEmployeeIdAndWorkDateBetweenOrderByWorkDateAsc(
-                        employeeId, java.time.LocalDate.of(2000, 1, 1), java.time.LocalDate.now());
-        
-        List<ConsentRecord> consentRecords = consentRecordRepository
-                .findByEmployeeId(employeeId);
-        
-        // Build export data structure
-        Map<String, Object> exportData = new HashMap<>();
-        exportData.put("employee", Map.of(
-                "id", employee.getId().toString(),
-                "employeeCode", employee.getEmployeeCode(),
-                "firstName", employee.getFirstName(),
-                "lastName", employee.getLastName(),
-                "email", employee.getEmail() != null ? employee.getEmail() : "",
-                "department", employee.getDepartment() != null ? employee.getDepartment() : "",
-                "createdAt", employee.getCreatedAt().toString(),
-                "updatedAt", employee.getUpdatedAt().toString()
-        ));
-        
-        exportData.put("attendanceLogs", attendanceLogs.stream()
-                .map(log -> Map.of(
-                        "id", log.getId().toString(),
-                        "eventType", log.getEventType().toString(),
-                        "eventTimestamp", log.getEventTimestamp().toString(),
-                        "photoUrl", log.getPhotoUrl() != null ? log.getPhotoUrl() : "",
-                        "deviceId", log.getDeviceId() != null ? log.getDeviceId() : ""
-                ))
-                .collect(Collectors.toList()));
-        
-        exportData.put("calculatedHours", calculatedHours.stream()
-                .map(hours -> Map.of(
-                        "workDate", hours.getWorkDate().toString(),
-                        "totalHoursWorked", hours.getTotalHoursWorked().toString(),
-                        "weekdayHours", hours.getWeekdayHours().toString(),
-                        "saturdayHours", hours.getSaturdayHours().toString(),
-                        "sundayHours", hours.getSundayHours().toString(),
-                        "publicHolidayHours", hours.getPublicHolidayHours().toString()
-                ))
-                .collect(Collectors.toList()));
-        
-        exportData.put("consentRecords", consentRecords.stream()
-                .map(consent -> Map.of(
-                        "consentType", consent.getConsentType(),
-                        "granted", consent.isGranted(),
-                        "grantedAt", consent.getGrantedAt() != null ? consent.getGrantedAt().toString() : "",
-                        "revokedAt", consent.getRevokedAt() != null ? consent.getRevokedAt().toString() : ""
-                ))
-                .collect(Collectors.toList()));
-        
-        exportData.put("exportDate", Instant.now().toString());
-        exportData.put("complianceStandard", "GDPR Article 20 - Right to Data Portability");
-        
-        return exportData;
+
+        // APPI Compliance: Log data access
+        logDataAccess(null, companyId, "EXPORT_EMPLOYEE_DATA", "EMPLOYEE", employeeId,
+                null, null, Map.of("reason", "GDPR Data Portability Request"));
+
+        return out -> writeExportArchive(employee, out);
+    }
+
+    /**
+     * Write the export ZIP: employee.json, one NDJSON file per table read with a
+     * forward-only cursor, and the photos copied straight from the file store.
+     */
+    private void writeExportArchive(Employee employee, OutputStream out) throws IOException {
+        UUID employeeId = employee.getId();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        JsonGenerator json = objectMapper.getFactory().createGenerator(zip);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null); // NDJSON: records are separated by newlines only
+
+        zip.putNextEntry(new ZipEntry("employee.json"));
+        json.writeStartObject();
+        json.writeStringField("id", employeeId.toString());
+        json.writeStringField("employeeCode", employee.getEmployeeCode());
+        json.writeStringField("firstName", employee.getFirstName());
+        json.writeStringField("lastName", employee.getLastName());
+        json.writeStringField("email", employee.getEmail() != null ? employee.getEmail() : "");
+        json.writeStringField("department", employee.getDepartment() != null ? employee.getDepartment() : "");
+        json.writeStringField("createdAt", String.valueOf(employee.getCreatedAt()));
+        json.writeStringField("updatedAt", String.valueOf(employee.getUpdatedAt()));
+        json.writeStringField("exportDate", Instant.now().toString());
+        json.writeStringField("complianceStandard", "GDPR Article 20 - Right to Data Portability");
+        json.writeEndObject();
+        json.flush();
+        zip.closeEntry();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try {
+                    writeNdjsonEntry(zip, json, "attendance_logs.ndjson",
+                            handler -> employeeExportJdbcRepository.streamAttendanceLogs(employeeId, handler),
+                            rs -> {
+                                json.writeStringField("id", rs.getString("id"));
+                                json.writeStringField("eventType", rs.getString("event_type"));
+                                json.writeStringField("eventTimestamp", timestampValue(rs, "event_timestamp"));
+                                json.writeStringField("photoUrl", Objects.toString(rs.getString("photo_url"), ""));
+                                json.writeStringField("deviceId", Objects.toString(rs.getString("device_id"), ""));
+                                json.writeBooleanField("isOfflineSync", rs.getBoolean("is_offline_sync"));
+                                json.writeStringField("confidenceScore", Objects.toString(rs.getBigDecimal("confidence_score"), ""));
+                            });
+
+                    writeNdjsonEntry(zip, json, "calculated_hours.ndjson",
+                            handler -> employeeExportJdbcRepository.streamCalculatedHours(employeeId, handler),
+                            rs -> {
+                                json.writeStringField("workDate", rs.getString("work_date"));
+                                json.writeStringField("totalHoursWorked", durationValue(rs.getObject("total_hours_worked")));
+                                json.writeStringField("weekdayHours", durationValue(rs.getObject("weekday_hours")));
+                                json.writeStringField("saturdayHours", durationValue(rs.getObject("saturday_hours")));
+                                json.writeStringField("sundayHours", durationValue(rs.getObject("sunday_hours")));
+                                json.writeStringField("publicHolidayHours", durationValue(rs.getObject("public_holiday_hours")));
+                                json.writeStringField("leaveHours", durationValue(rs.getObject("leave_hours")));
+                            });
+
+                    writeNdjsonEntry(zip, json, "consent_records.ndjson",
+                            handler -> employeeExportJdbcRepository.streamConsentRecords(employeeId, handler),
+                            rs -> {
+                                json.writeStringField("consentType", rs.getString("consent_type"));
+                                json.writeBooleanField("granted", rs.getBoolean("granted"));
+                                json.writeStringField("grantedAt", timestampValue(rs, "granted_at"));
+                                json.writeStringField("revokedAt", timestampValue(rs, "revoked_at"));
+                            });
+
+                    employeeExportJdbcRepository.streamPhotoUrls(employeeId, rs -> copyPhoto(zip, rs.getString(1)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        zip.finish();
+        zip.flush();
+    }
+
+    @FunctionalInterface
+    private interface ExportRowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private void writeNdjsonEntry(ZipOutputStream zip, JsonGenerator json, String name,
+            java.util.function.Consumer<RowCallbackHandler> query, ExportRowWriter writer) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        query.accept(rs -> {
+            try {
+                json.writeStartObject();
+                writer.write(rs);
+                json.writeEndObject();
+                json.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        json.flush();
+        zip.closeEntry();
+    }
+
+    private void copyPhoto(ZipOutputStream zip, String photoUrl) {
+        InputStream photo;
+        try {
+            photo = fileStorageService.openFile(photoUrl);
+        } catch (RuntimeException e) {
+            log.warn("Photo {} missing from file store, skipped in export", photoUrl);
+            return;
+        }
+        try (photo) {
+            zip.putNextEntry(new ZipEntry("photos/" + photoUrl.substring(photoUrl.lastIndexOf('/') + 1)));
+            photo.transferTo(zip);
+            zip.closeEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String timestampValue(ResultSet rs, String column) throws SQLException {
+        java.time.OffsetDateTime value = rs.getObject(column, java.time.OffsetDateTime.class);
+        return value != null ? value.toInstant().toString() : "";
+    }
+
+    // Durations are stored as nanoseconds (Hibernate's default NUMERIC mapping)
+    private static String durationValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Number number) {
+            return java.time.Duration.ofNanos(number.longValue()).toString();
+        }
+        return value.toString();
     }
 
     @Override
-    @Transactional
-    public void hardDeleteEmployeeData(UUID companyId, UUID employeeId) {
+    public ErasureReceipt hardDeleteEmployeeData(UUID companyId, UUID employeeId) {
         log.warn("Performing GDPR hard delete for Employee: {} at Company: {}", employeeId, companyId);
-        
-        // APPI Compliance: Log deletion
-        logDataAccess(null, companyId, "HARD_DELETE_EMPLOYEE_DATA", "EMPLOYEE", employeeId,
-                null, null, Map.of("reason", "GDPR Right to be Forgotten"));
-        
+
         // Verify employee belongs to company
         Employee employee = employeeRepository.findByCompanyIdAndId(companyId, employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
-        
-        // Delete all related data (cascade should handle most, but we're explicit for GDPR)
-        // Note: BIPA Compliance - We should NOT delete consent records, but mark them as revoked
-        List<ConsentRecord> consents = consentRecordRepository.findByEmployeeId(employeeId);
-        for (ConsentRecord consent : consents) {
-            if (consent.isGranted()) {
-                consent.setGranted(false);
-                consent.setRevokedAt(Instant.now());
-                consentRecordRepository.save(consent);
+
+        List<String> photoUrls = attendanceLogRepository.findPhotoUrlsByEmployeeId(employeeId);
+
+        // BIPA Compliance: Clear biometric data and lock the kiosk out before anything else
+        transactionTemplate.executeWithoutResult(status -> {
+            employee.setFingerprintTemplateHash(null);
+            employee.setPinHash(null);
+            employee.setActive(false);
+            employeeRepository.save(employee);
+        });
+
+        // Bulk deletes in chunks that commit individually, so no long transaction is held
+        long logsDeleted = bulkDeleteJdbcRepository.deleteInChunks(
+                "attendance_logs", "employee_id = ?", erasureChunkSize, employeeId);
+        long hoursDeleted = bulkDeleteJdbcRepository.deleteInChunks(
+                "calculated_hours", "employee_id = ?", erasureChunkSize, employeeId);
+        long timeOffDeleted = bulkDeleteJdbcRepository.deleteInChunks(
+                "time_off_requests", "employee_id = ?", erasureChunkSize, employeeId);
+
+        ErasureReceipt receipt = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+
+            // Rows written while the chunks above were running
+            long lateLogs = bulkDeleteJdbcRepository.deleteInChunks(
+                    "attendance_logs", "employee_id = ?", erasureChunkSize, employeeId);
+            long lateHours = bulkDeleteJdbcRepository.deleteInChunks(
+                    "calculated_hours", "employee_id = ?", erasureChunkSize, employeeId);
+
+            // BIPA Compliance: Consent is revoked first; the revocation is kept in the
+            // audit trail because the records themselves reference the erased employee
+            int revoked = consentRecordRepository.revokeAllByEmployeeId(employeeId, now);
+            List<Map<String, Object>> consentHistory = consentRecordRepository.findByEmployeeId(employeeId).stream()
+                    .map(consent -> {
+                        Map<String, Object> entry = new HashMap<>();
+                        entry.put("consentType", consent.getConsentType());
+                        entry.put("grantedAt", consent.getGrantedAt() != null ? consent.getGrantedAt().toString() : "");
+                        entry.put("revokedAt", consent.getRevokedAt() != null ? consent.getRevokedAt().toString() : now.toString());
+                        return entry;
+                    })
+                    .collect(Collectors.toList());
+            int consentsDeleted = consentRecordRepository.deleteAllByEmployeeId(employeeId);
+
+            // Billing headcounts stay, also through the nightly rebuild (it never lowers them);
+            // only the record of which days this employee was counted goes
+            dailyUsageJdbcRepository.deleteMembersByEmployeeId(employeeId);
+
+            employeeRepository.deleteById(employeeId);
+            lastEventService.evictEmployee(employeeId);
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("reason", "GDPR Right to be Forgotten");
+            details.put("attendanceLogsDeleted", logsDeleted + lateLogs);
+            details.put("calculatedHoursDeleted", hoursDeleted + lateHours);
+            details.put("timeOffRequestsDeleted", timeOffDeleted);
+            details.put("consentRecordsDeleted", consentsDeleted);
+            details.put("photosScheduledForDeletion", photoUrls.size());
+
+            // APPI Compliance: Erasure and consent revocation are audited together in one batch
+            List<AuditLog> auditEntries = new ArrayList<>();
+            auditEntries.add(AuditLog.builder()
+                    .companyId(companyId)
+                    .action("HARD_DELETE_EMPLOYEE_DATA")
+                    .resourceType("EMPLOYEE")
+                    .resourceId(employeeId)
+                    .details(details)
+                    .build());
+            if (!consentHistory.isEmpty()) {
+                auditEntries.add(AuditLog.builder()
+                        .companyId(companyId)
+                        .action("REVOKE_BIOMETRIC_CONSENT")
+                        .resourceType("CONSENT_RECORD")
+                        .resourceId(employeeId)
+                        .details(Map.of("reason", "GDPR Right to be Forgotten", "consents", consentHistory))
+                        .build());
+            }
+            List<AuditLog> saved = auditLogRepository.saveAll(auditEntries);
+
+            return ErasureReceipt.builder()
+                    .receiptId(saved.get(0).getId())
+                    .companyId(companyId)
+                    .employeeId(employeeId)
+                    .attendanceLogsDeleted(logsDeleted + lateLogs)
+                    .calculatedHoursDeleted(hoursDeleted + lateHours)
+                    .timeOffRequestsDeleted(timeOffDeleted)
+                    .consentsRevoked(revoked)
+                    .consentRecordsDeleted(consentsDeleted)
+                    .photosScheduledForDeletion(photoUrls.size())
+                    .completedAt(now)
+                    .build();
+        });
+
+        // Files go only after the rows are committed; each failure is logged and the rest still go
+        if (!photoUrls.isEmpty()) {
+            try {
+                photoErasureExecutor.execute(() -> deletePhotos(employeeId, photoUrls));
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the rows are gone, so the files are listed for manual removal
+                log.error("Could not schedule deletion of {} photos of erased employee {}: {}",
+                        photoUrls.size(), employeeId, photoUrls, e);
+            }
+        }
+
+        log.info("GDPR hard delete completed for Employee: {} (receipt {})", employeeId, receipt.getReceiptId());
+        return receipt;
+    }
+
+    private void deletePhotos(UUID employeeId, List<String> photoUrls) {
+        for (String url : photoUrls) {
+            try {
+                fileStorageService.deleteFile(url);
+            } catch (RuntimeException e) {
+                log.error("Could not delete photo {} of erased employee {}", url, employeeId, e);
             }
         }
-        
-        // Delete calculated hours
-        calculatedHoursRepository.findByEmployeeIdAndWorkDateBetweenOrderByWorkDateAsc(
-                employeeId, java.time.LocalDate.of(2000, 1, 1), java.time.LocalDate.now())
-                .forEach(calculatedHoursRepository::delete);
-        
-        // Delete attendance logs
-        attendanceLogRepository.findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc(
-                employeeId, Instant.ofEpochMilli(0), Instant.now())
-                .forEach(attendanceLogRepository::delete);
-        
-        // Finally, delete the employee record
-        // BIPA Compliance: Clear biometric data (fingerprint hash) before deletion
-        employee.setFingerprintTemplateHash(null);
-        employee.setPinHash(null);
-        employeeRepository.save(employee);
-        employeeRepository.delete(employee);
-        
-        log.info("GDPR hard delete completed for Employee: {}", employeeId);
+    }
+
+    @PostConstruct
+    public void startPhotoErasure() {
+        photoErasureExecutor = backgroundExecutors.singleThread("photo-erasure");
+    }
+
+    @PreDestroy
+    public void shutdownPhotoErasure() {
+        photoErasureExecutor.shutdown();
     }
 
     @Override
@@ -223,12 +427,8 @@ public class ComplianceServiceImpl implements ComplianceService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<AuditLog> getAuditLogs(UUID companyId, int limit) {
-        return auditLogRepository.findByCompanyIdOrderByCreatedAtDesc(companyId)
-                .stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        // First page of the keyset search; never loads the tenant's full history
+        return auditLogService.search(companyId, AuditLogQuery.builder().limit(limit).build()).getItems();
     }
 }
-
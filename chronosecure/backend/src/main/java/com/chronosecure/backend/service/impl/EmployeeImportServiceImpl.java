@@ -0,0 +1,435 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.dto.EmployeeImportStatus;
+import com.chronosecure.backend.model.ConsentRecord;
+import com.chronosecure.backend.model.Employee;
+import com.chronosecure.backend.repository.EmployeeJdbcRepository;
+import com.chronosecure.backend.repository.RosterJdbcRepository;
+import com.chronosecure.backend.repository.EmployeeRepository;
+import com.chronosecure.backend.service.EmployeeImportService;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.util.TabularFileReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk Employee Import Implementation
+ * Streams the uploaded file in chunks: each chunk is checked against the
+ * database with one set query, PINs are hashed in parallel, and employees
+ * plus consent records are written with JDBC batches in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final Duration JOB_RETENTION = Duration.ofHours(24);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final RosterJdbcRepository rosterJdbcRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportCacheService reportCacheService;
+    private final BackgroundExecutors backgroundExecutors;
+
+    // Imports run one at a time per node; the parallelism goes into PIN hashing
+    private ExecutorService importExecutor;
+
+    // BCrypt is CPU bound, so the pool is bounded by the core count and keeps platform threads
+    private final ExecutorService pinHashingExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "pin-hashing");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private enum Column {
+        EMPLOYEE_CODE, FIRST_NAME, LAST_NAME, DEPARTMENT, EMAIL, PIN, BIOMETRIC_CONSENT
+    }
+
+    private record ImportRow(int rowNumber, String employeeCode, String firstName, String lastName,
+            String department, String email, String pin, boolean grantBiometricConsent) {
+    }
+
+    @Override
+    public EmployeeImportStatus startImport(UUID companyId, MultipartFile file, String ipAddress, String userAgent) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        String fileName = file.getOriginalFilename();
+        if (!TabularFileReader.isSupported(fileName)) {
+            throw new IllegalArgumentException("Only .csv and .xlsx files are supported");
+        }
+
+        Path tempFile;
+        try {
+            // The multipart upload is gone once the request returns, so keep our own copy
+            tempFile = Files.createTempFile("employee-import-", fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx") ? ".xlsx" : ".csv");
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store import file", e);
+        }
+
+        evictFinishedJobs();
+        ImportJob job = new ImportJob(UUID.randomUUID(), companyId, fileName);
+        jobs.put(job.jobId, job);
+        importExecutor.submit(() -> runImport(job, tempFile, ipAddress, userAgent));
+
+        log.info("Queued employee import {} ({}) for company {}", job.jobId, fileName, companyId);
+        return job.snapshot();
+    }
+
+    @Override
+    public Optional<EmployeeImportStatus> getImportStatus(UUID companyId, UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.companyId.equals(companyId))
+                .map(ImportJob::snapshot);
+    }
+
+    @PostConstruct
+    public void startImports() {
+        importExecutor = backgroundExecutors.singleThread("employee-import");
+    }
+
+    @PreDestroy
+    public void shutdownImports() {
+        importExecutor.shutdownNow();
+        pinHashingExecutor.shutdownNow();
+    }
+
+    private void runImport(ImportJob job, Path file, String ipAddress, String userAgent) {
+        job.status = EmployeeImportStatus.Status.RUNNING;
+        job.startedAt = Instant.now();
+        try {
+            ChunkedImport chunkedImport = new ChunkedImport(job, ipAddress, userAgent);
+            TabularFileReader.read(file, job.fileName, chunkedImport::accept);
+            chunkedImport.flush();
+
+            job.status = EmployeeImportStatus.Status.COMPLETED;
+            log.info("Employee import {} finished: {} imported, {} skipped", job.jobId, job.imported, job.skipped);
+        } catch (Exception e) {
+            log.error("Employee import {} failed", job.jobId, e);
+            job.message = e.getMessage();
+            job.status = EmployeeImportStatus.Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Insert one chunk. Rows whose code is already taken are reported and dropped;
+     * if a concurrent create wins the race, the chunk is re-checked and retried once.
+     */
+    private void importChunk(ImportJob job, List<ImportRow> rows, String ipAddress, String userAgent) {
+        List<ImportRow> remaining = withoutExistingCodes(job, rows);
+        if (remaining.isEmpty()) {
+            return;
+        }
+
+        List<String> pinHashes = hashPins(remaining);
+
+        for (int attempt = 1; ; attempt++) {
+            Instant now = Instant.now();
+            List<Employee> employees = new ArrayList<>(remaining.size());
+            List<ConsentRecord> consents = new ArrayList<>();
+            for (int i = 0; i < remaining.size(); i++) {
+                ImportRow row = remaining.get(i);
+                Employee employee = Employee.builder()
+                        .id(UUID.randomUUID())
+                        .companyId(job.companyId)
+                        .employeeCode(row.employeeCode())
+                        .firstName(row.firstName())
+                        .lastName(row.lastName())
+                        .department(row.department())
+                        .email(row.email())
+                        .pinHash(pinHashes.get(i))
+                        .isActive(true)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build();
+                employees.add(employee);
+
+                // BIPA Compliance: Record consent only when explicitly granted in the file
+                if (row.grantBiometricConsent()) {
+                    consents.add(ConsentRecord.builder()
+                            .id(UUID.randomUUID())
+                            .employeeId(employee.getId())
+                            .consentType("BIOMETRIC")
+                            .granted(true)
+                            .grantedAt(now)
+                            .ipAddress(ipAddress)
+                            .userAgent(userAgent)
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build());
+                }
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    long rosterVersion = rosterJdbcRepository.nextVersion(job.companyId);
+                    employees.forEach(e -> e.setRosterVersion(rosterVersion));
+                    employeeJdbcRepository.batchInsert(employees);
+                    if (!consents.isEmpty()) {
+                        employeeJdbcRepository.batchInsertConsents(consents);
+                    }
+                    reportCacheService.markAllChanged(job.companyId);
+                });
+                job.imported += employees.size();
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt > 1) {
+                    throw e;
+                }
+                List<ImportRow> stillFree = withoutExistingCodes(job, remaining);
+                List<String> stillFreeHashes = new ArrayList<>(stillFree.size());
+                for (int i = 0, j = 0; i < remaining.size() && j < stillFree.size(); i++) {
+                    if (remaining.get(i) == stillFree.get(j)) {
+                        stillFreeHashes.add(pinHashes.get(i));
+                        j++;
+                    }
+                }
+                remaining = stillFree;
+                pinHashes = stillFreeHashes;
+                if (remaining.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<ImportRow> withoutExistingCodes(ImportJob job, List<ImportRow> rows) {
+        Set<String> existing = new HashSet<>(employeeRepository.findExistingEmployeeCodes(
+                job.companyId, rows.stream().map(ImportRow::employeeCode).toList()));
+        if (existing.isEmpty()) {
+            return rows;
+        }
+        List<ImportRow> remaining = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existing.contains(row.employeeCode())) {
+                job.reject(row.rowNumber(), "Employee code already exists for this company");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    private List<String> hashPins(List<ImportRow> rows) {
+        List<CompletableFuture<String>> futures = rows.stream()
+                .map(row -> row.pin() == null
+                        ? CompletableFuture.<String>completedFuture(null)
+                        : CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.pin()), pinHashingExecutor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static String normalizeHeader(String header) {
+        return header == null ? "" : header.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private static Column columnFor(String header) {
+        return switch (normalizeHeader(header)) {
+            case "employeecode", "code" -> Column.EMPLOYEE_CODE;
+            case "firstname" -> Column.FIRST_NAME;
+            case "lastname" -> Column.LAST_NAME;
+            case "department" -> Column.DEPARTMENT;
+            case "email" -> Column.EMAIL;
+            case "pin" -> Column.PIN;
+            case "grantbiometricconsent", "biometricconsent" -> Column.BIOMETRIC_CONSENT;
+            default -> null;
+        };
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static boolean isTrue(String value) {
+        String v = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return v.equals("true") || v.equals("yes") || v.equals("y") || v.equals("1");
+    }
+
+    /**
+     * Receives parsed rows, validates them and hands full chunks to {@link #importChunk}.
+     */
+    private final class ChunkedImport {
+
+        private final ImportJob job;
+        private final String ipAddress;
+        private final String userAgent;
+        private final Set<String> seenCodes = new HashSet<>();
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private Map<Column, Integer> columns;
+        private int rowNumber;
+
+        private ChunkedImport(ImportJob job, String ipAddress, String userAgent) {
+            this.job = job;
+            this.ipAddress = ipAddress;
+            this.userAgent = userAgent;
+        }
+
+        void accept(List<String> cells) {
+            rowNumber++;
+            if (columns == null) {
+                columns = readHeader(cells);
+                return;
+            }
+            job.rowsRead++;
+
+            String code = cell(cells, Column.EMPLOYEE_CODE);
+            String firstName = cell(cells, Column.FIRST_NAME);
+            String lastName = cell(cells, Column.LAST_NAME);
+            String department = cell(cells, Column.DEPARTMENT);
+            String email = cell(cells, Column.EMAIL);
+
+            String error = null;
+            if (code == null || firstName == null || lastName == null) {
+                error = "Employee code, first name and last name are required";
+            } else if (code.length() > 50 || firstName.length() > 100 || lastName.length() > 100
+                    || (department != null && department.length() > 100) || (email != null && email.length() > 255)) {
+                error = "Value too long";
+            } else if (!seenCodes.add(code)) {
+                error = "Duplicate employee code in file";
+            }
+            if (error != null) {
+                job.reject(rowNumber, error);
+                return;
+            }
+
+            chunk.add(new ImportRow(rowNumber, code, firstName, lastName, department, email,
+                    cell(cells, Column.PIN), isTrue(cell(cells, Column.BIOMETRIC_CONSENT))));
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (columns == null) {
+                throw new IllegalArgumentException("Import file has no header row");
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, List.copyOf(chunk), ipAddress, userAgent);
+                chunk.clear();
+            }
+        }
+
+        private Map<Column, Integer> readHeader(List<String> cells) {
+            Map<Column, Integer> result = new EnumMap<>(Column.class);
+            for (int i = 0; i < cells.size(); i++) {
+                Column column = columnFor(cells.get(i));
+                if (column != null) {
+                    result.putIfAbsent(column, i);
+                }
+            }
+            if (!result.containsKey(Column.EMPLOYEE_CODE) || !result.containsKey(Column.FIRST_NAME)
+                    || !result.containsKey(Column.LAST_NAME)) {
+                throw new IllegalArgumentException("Header must contain employeeCode, firstName and lastName columns");
+            }
+            return result;
+        }
+
+        private String cell(List<String> cells, Column column) {
+            Integer index = columns.get(column);
+            return index == null || index >= cells.size() ? null : trimToNull(cells.get(index));
+        }
+    }
+
+    /**
+     * Mutable job state. Only the import thread writes; status readers take snapshots.
+     */
+    private static final class ImportJob {
+
+        private final UUID jobId;
+        private final UUID companyId;
+        private final String fileName;
+        private final List<EmployeeImportStatus.RowError> errors = new ArrayList<>();
+        private volatile EmployeeImportStatus.Status status = EmployeeImportStatus.Status.QUEUED;
+        private volatile int rowsRead;
+        private volatile int imported;
+        private volatile int skipped;
+        private volatile String message;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        private ImportJob(UUID jobId, UUID companyId, String fileName) {
+            this.jobId = jobId;
+            this.companyId = companyId;
+            this.fileName = fileName;
+        }
+
+        private void reject(int row, String reason) {
+            skipped++;
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new EmployeeImportStatus.RowError(row, reason));
+                }
+            }
+        }
+
+        private EmployeeImportStatus snapshot() {
+            List<EmployeeImportStatus.RowError> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = List.copyOf(errors);
+            }
+            return EmployeeImportStatus.builder()
+                    .jobId(jobId)
+                    .fileName(fileName)
+                    .status(status)
+                    .rowsRead(rowsRead)
+                    .imported(imported)
+                    .skipped(skipped)
+                    .errors(errorsCopy)
+                    .message(message)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.chronosecure.backend.service.impl;
 
 import com.chronosecure.backend.service.EncryptionService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.encryption.pbe.PooledPBEStringEncryptor;
@@ -41,6 +42,7 @@ public class EncryptionServiceImpl implements EncryptionService {
     }
 
     @Override
+    @Timed(value = "chronosecure.encryption", extraTags = {"operation", "encrypt"})
     public String encrypt(String plainText) {
         if (plainText == null || plainText.isEmpty()) {
             return plainText;
@@ -54,6 +56,7 @@ public class EncryptionServiceImpl implements EncryptionService {
     }
 
     @Override
+    @Timed(value = "chronosecure.encryption", extraTags = {"operation", "decrypt"})
     public String decrypt(String encryptedText) {
         if (encryptedText == null || encryptedText.isEmpty()) {
             return encryptedText;
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -87,9 +88,7 @@ public class FileStorageServiceImpl implements FileStorageService {
     @Override
     public void deleteFile(String fileUrl) {
         try {
-            // Remove leading slash if present
-            String relativePath = fileUrl.startsWith("/") ? fileUrl.substring(1) : fileUrl;
-            Path filePath = Paths.get(uploadDir).resolve(relativePath);
+            Path filePath = resolveStoredFile(fileUrl);
             Files.deleteIfExists(filePath);
             log.info("File deleted: {}", fileUrl);
         } catch (IOException e) {
@@ -100,15 +99,38 @@ public class FileStorageServiceImpl implements FileStorageService {
     @Override
     public byte[] downloadFile(String fileUrl) {
         try {
-            // Remove leading slash if present
-            String relativePath = fileUrl.startsWith("/") ? fileUrl.substring(1) : fileUrl;
-            Path filePath = Paths.get(uploadDir).resolve(relativePath);
+            Path filePath = resolveStoredFile(fileUrl);
             return Files.readAllBytes(filePath);
         } catch (IOException e) {
             log.error("Error downloading file: {}", fileUrl, e);
             throw new RuntimeException("File download failed", e);
         }
     }
-}
 
+    @Override
+    public InputStream openFile(String fileUrl) {
+        try {
+            return Files.newInputStream(resolveStoredFile(fileUrl));
+        } catch (IOException e) {
+            log.error("Error opening file: {}", fileUrl, e);
+            throw new RuntimeException("File download failed", e);
+        }
+    }
 
+    /**
+     * Map a URL returned by the upload methods ("/uploads/{folder}/...") back to
+     * its location under the upload directory, refusing paths that escape it.
+     */
+    private Path resolveStoredFile(String fileUrl) {
+        String relativePath = fileUrl.startsWith("/") ? fileUrl.substring(1) : fileUrl;
+        if (relativePath.startsWith("uploads/")) {
+            relativePath = relativePath.substring("uploads/".length());
+        }
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path filePath = root.resolve(relativePath).normalize();
+        if (!filePath.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid file path");
+        }
+        return filePath;
+    }
+}
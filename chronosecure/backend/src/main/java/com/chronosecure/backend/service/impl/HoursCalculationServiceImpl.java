@@ -1,5 +1,6 @@
 package com.chronosecure.backend.service.impl;
 
+import com.chronosecure.backend.config.BackgroundExecutors;
 import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.CalculatedHours;
 import com.chronosecure.backend.model.Employee;
@@ -8,22 +9,34 @@ import com.chronosecure.backend.model.enums.AttendanceEventType;
 import com.chronosecure.backend.repository.AttendanceLogRepository;
 import com.chronosecure.backend.repository.CalculatedHoursRepository;
 import com.chronosecure.backend.repository.EmployeeRepository;
-import com.chronosecure.backend.repository.PublicHolidayRepository;
+import com.chronosecure.backend.service.CompiledCalendarService;
 import com.chronosecure.backend.service.HoursCalculationService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.CompiledCalendar;
+import com.chronosecure.backend.util.DayBoundaries;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 @Service
 @RequiredArgsConstructor
@@ -32,54 +45,43 @@ public class HoursCalculationServiceImpl implements HoursCalculationService {
 
     private final AttendanceLogRepository attendanceLogRepository;
     private final CalculatedHoursRepository calculatedHoursRepository;
-    private final PublicHolidayRepository publicHolidayRepository;
-    private final com.chronosecure.backend.repository.CompanyCalendarRepository companyCalendarRepository;
+    private final CompiledCalendarService compiledCalendarService;
     private final EmployeeRepository employeeRepository;
     private final com.chronosecure.backend.repository.TimeOffRequestRepository timeOffRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TimeZoneService timeZoneService;
+    private final BackgroundExecutors backgroundExecutors;
+    private final MeterRegistry meterRegistry;
+
+    // Background worker for coalesced recalculation after bulk writes
+    private ExecutorService recalculationExecutor;
+    private final Set<EmployeeDay> pendingRecalculations = ConcurrentHashMap.newKeySet();
+    private Timer calculationTimer;
+
+    private record EmployeeDay(UUID employeeId, LocalDate date) {
+    }
 
     @Override
     @Transactional
     public CalculatedHours calculateHoursForDate(UUID companyId, UUID employeeId, LocalDate date) {
-        log.debug("Calculating hours for Employee: {} on Date: {}", employeeId, date);
-
-        // --- CALENDAR CONFIGURATION ---
-        com.chronosecure.backend.model.CompanyCalendar calendarEntry = companyCalendarRepository
-                .findByCompanyIdAndDate(companyId, date).orElse(null);
+        // Timed here rather than with @Timed: ranges and background recalculation call it directly
+        return calculationTimer.record(() -> calculate(companyId, employeeId, date));
+    }
 
-        boolean isPublicHoliday = false;
-        boolean isWeekend = false;
-        double payMultiplier = 1.0;
+    private CalculatedHours calculate(UUID companyId, UUID employeeId, LocalDate date) {
+        log.debug("Calculating hours for Employee: {} on Date: {}", employeeId, date);
 
-        if (calendarEntry != null) {
-            // Use custom configuration
-            payMultiplier = calendarEntry.getPayMultiplier() != null ? calendarEntry.getPayMultiplier() : 1.0;
-            switch (calendarEntry.getType()) {
-                case HOLIDAY:
-                    isPublicHoliday = true;
-                    break;
-                case WEEKEND:
-                    isWeekend = true;
-                    break;
-                case WORKING_DAY:
-                    // Explicitly marked as working day (overrides default weekend)
-                    isWeekend = false;
-                    isPublicHoliday = false;
-                    break;
-            }
-        } else {
-            // Fallback to default logic
-            isPublicHoliday = isPublicHoliday(companyId, date); // Legacy check
-            java.time.DayOfWeek dayOfWeek = date.getDayOfWeek();
-            isWeekend = (dayOfWeek == java.time.DayOfWeek.SATURDAY || dayOfWeek == java.time.DayOfWeek.SUNDAY);
-        }
+        // --- CALENDAR CONFIGURATION (overrides, public holidays, weekend rule) ---
+        CompiledCalendar calendar = compiledCalendarService.calendarFor(companyId);
+        boolean isPublicHoliday = calendar.isHoliday(date);
+        boolean isWeekend = calendar.isWeekend(date);
 
         // ... (Rest of fetch logic)
 
-        // Get start and end of day in UTC
-        ZonedDateTime startOfDay = date.atStartOfDay(ZoneId.systemDefault());
-        ZonedDateTime endOfDay = date.plusDays(1).atStartOfDay(ZoneId.systemDefault());
-        Instant startInstant = startOfDay.toInstant();
-        Instant endInstant = endOfDay.toInstant();
+        // Start and end of the day in the company's zone
+        DayBoundaries days = timeZoneService.daysFor(companyId);
+        Instant startInstant = days.startOf(date);
+        Instant endInstant = days.endOf(date);
 
         // Fetch all attendance logs for this day
         List<AttendanceLog> logs = new ArrayList<>(attendanceLogRepository
@@ -126,22 +128,80 @@ public class HoursCalculationServiceImpl implements HoursCalculationService {
                 leaveHours = Duration.ofHours(8);
             }
 
-            return calculatedHoursRepository.save(CalculatedHours.builder()
-                    .companyId(companyId)
-                    .employee(employee)
-                    .workDate(date)
-                    .totalHoursWorked(Duration.ZERO)
-                    .weekdayHours(Duration.ZERO)
-                    .saturdayHours(Duration.ZERO)
-                    .sundayHours(Duration.ZERO)
-                    .publicHolidayHours(Duration.ZERO)
-                    .leaveHours(leaveHours)
-                    .build());
+            // A recalculation after the day's logs were deleted updates the row (uk_employee_work_date)
+            CalculatedHours calculatedHours = findOrCreate(companyId, employee, date);
+            calculatedHours.setTotalHoursWorked(Duration.ZERO);
+            calculatedHours.setWeekdayHours(Duration.ZERO);
+            calculatedHours.setSaturdayHours(Duration.ZERO);
+            calculatedHours.setSundayHours(Duration.ZERO);
+            calculatedHours.setPublicHolidayHours(Duration.ZERO);
+            calculatedHours.setLeaveHours(leaveHours);
+            return calculatedHoursRepository.save(calculatedHours);
         }
 
         // Logic ...
 
         // Reconstruct work sessions and calculate total hours
+        Duration netHours = netWorked(logs);
+
+        // Categorize hours based on Calendar Config
+        Duration weekdayHours = Duration.ZERO;
+        Duration saturdayHours = Duration.ZERO;
+        Duration sundayHours = Duration.ZERO;
+        Duration publicHolidayHours = Duration.ZERO;
+
+        if (isPublicHoliday) {
+            publicHolidayHours = netHours;
+        } else if (isWeekend) {
+            // If manual calendar says "WEEKEND", determine if it's Sat or Sun for legacy
+            // fields,
+            // or just dump into Saturday if unspecified?
+            // Ideally we should just use "Holiday/Weekend" bucket.
+            // For now, respect day of week for specific fields.
+            if (date.getDayOfWeek() == java.time.DayOfWeek.SUNDAY)
+                sundayHours = netHours;
+            else
+                saturdayHours = netHours;
+        } else {
+            weekdayHours = netHours;
+        }
+
+        // ... Save logic
+        CalculatedHours calculatedHours = findOrCreate(companyId, employee, date);
+        calculatedHours.setTotalHoursWorked(netHours);
+        calculatedHours.setWeekdayHours(weekdayHours);
+        calculatedHours.setSaturdayHours(saturdayHours);
+        calculatedHours.setSundayHours(sundayHours);
+        calculatedHours.setPublicHolidayHours(publicHolidayHours);
+        calculatedHours.setLeaveHours(Duration.ZERO); // If presence detected, set leave to 0 (Override)
+
+        return calculatedHoursRepository.save(calculatedHours);
+    }
+
+    /**
+     * The employee's row for the day, or a new unsaved one.
+     */
+    private CalculatedHours findOrCreate(UUID companyId, Employee employee, LocalDate date) {
+        Optional<CalculatedHours> existing = calculatedHoursRepository
+                .findByCompanyIdAndWorkDateBetweenOrderByWorkDateAsc(companyId, date, date)
+                .stream()
+                .filter(ch -> ch.getEmployee().getId().equals(employee.getId()))
+                .findFirst();
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        CalculatedHours calculatedHours = new CalculatedHours();
+        calculatedHours.setCompanyId(companyId);
+        calculatedHours.setEmployee(employee);
+        calculatedHours.setWorkDate(date);
+        return calculatedHours;
+    }
+
+    /**
+     * Net time worked from one day's events in time order: clock-in to break
+     * start or clock-out, less the breaks. Package-private for the benchmarks.
+     */
+    static Duration netWorked(List<AttendanceLog> logs) {
         Duration totalWorked = Duration.ZERO;
         Duration breakDuration = Duration.ZERO;
 
@@ -176,56 +236,7 @@ public class HoursCalculationServiceImpl implements HoursCalculationService {
 
         // Net hours
         Duration netHours = totalWorked.minus(breakDuration);
-        if (netHours.isNegative())
-            netHours = Duration.ZERO;
-
-        // Categorize hours based on Calendar Config
-        Duration weekdayHours = Duration.ZERO;
-        Duration saturdayHours = Duration.ZERO;
-        Duration sundayHours = Duration.ZERO;
-        Duration publicHolidayHours = Duration.ZERO;
-
-        if (isPublicHoliday) {
-            publicHolidayHours = netHours;
-        } else if (isWeekend) {
-            // If manual calendar says "WEEKEND", determine if it's Sat or Sun for legacy
-            // fields,
-            // or just dump into Saturday if unspecified?
-            // Ideally we should just use "Holiday/Weekend" bucket.
-            // For now, respect day of week for specific fields.
-            if (date.getDayOfWeek() == java.time.DayOfWeek.SUNDAY)
-                sundayHours = netHours;
-            else
-                saturdayHours = netHours;
-        } else {
-            weekdayHours = netHours;
-        }
-
-        // ... Save logic
-        Optional<CalculatedHours> existing = calculatedHoursRepository
-                .findByCompanyIdAndWorkDateBetweenOrderByWorkDateAsc(companyId, date, date)
-                .stream()
-                .filter(ch -> ch.getEmployee().getId().equals(employeeId))
-                .findFirst();
-
-        CalculatedHours calculatedHours;
-        if (existing.isPresent()) {
-            calculatedHours = existing.get();
-        } else {
-            calculatedHours = new CalculatedHours();
-            calculatedHours.setCompanyId(companyId);
-            calculatedHours.setEmployee(employee);
-            calculatedHours.setWorkDate(date);
-        }
-
-        calculatedHours.setTotalHoursWorked(netHours);
-        calculatedHours.setWeekdayHours(weekdayHours);
-        calculatedHours.setSaturdayHours(saturdayHours);
-        calculatedHours.setSundayHours(sundayHours);
-        calculatedHours.setPublicHolidayHours(publicHolidayHours);
-        calculatedHours.setLeaveHours(Duration.ZERO); // If presence detected, set leave to 0 (Override)
-
-        return calculatedHoursRepository.save(calculatedHours);
+        return netHours.isNegative() ? Duration.ZERO : netHours;
     }
 
     @Override
@@ -244,8 +255,43 @@ public class HoursCalculationServiceImpl implements HoursCalculationService {
         return results;
     }
 
+    @Override
+    public void scheduleRecalculation(UUID companyId, Map<UUID, ? extends Collection<LocalDate>> employeeDays) {
+        employeeDays.forEach((employeeId, dates) -> {
+            for (LocalDate date : new TreeSet<>(dates)) {
+                EmployeeDay key = new EmployeeDay(employeeId, date);
+                if (!pendingRecalculations.add(key)) {
+                    continue; // Already queued - coalesce into the pending run
+                }
+                recalculationExecutor.execute(() -> {
+                    pendingRecalculations.remove(key);
+                    try {
+                        transactionTemplate.executeWithoutResult(
+                                status -> calculateHoursForDate(companyId, employeeId, date));
+                    } catch (Exception e) {
+                        log.error("Failed to recalculate hours for Employee: {} on Date: {}", employeeId, date, e);
+                    }
+                });
+            }
+        });
+    }
+
+    @PostConstruct
+    public void startRecalculation() {
+        recalculationExecutor = backgroundExecutors.singleThread("hours-recalculation");
+        calculationTimer = Timer.builder("chronosecure.hours.calculate")
+                .description("Hours calculation of one employee day")
+                .register(meterRegistry);
+        meterRegistry.gauge("chronosecure.hours.recalculation.pending", pendingRecalculations, Set::size);
+    }
+
+    @PreDestroy
+    public void shutdownRecalculation() {
+        recalculationExecutor.shutdown();
+    }
+
     @Override
     public boolean isPublicHoliday(UUID companyId, LocalDate date) {
-        return publicHolidayRepository.findByCompanyIdAndHolidayDate(companyId, date).isPresent();
+        return compiledCalendarService.calendarFor(companyId).isHoliday(date);
     }
 }
@@ -0,0 +1,171 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.model.AttendanceLog;
+import com.chronosecure.backend.repository.AttendanceLogRepository;
+import com.chronosecure.backend.service.LastEventService;
+import com.chronosecure.backend.util.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last Event Implementation
+ * An entry is read from the database and trusted for a short time only:
+ * writes handled by other instances reach this one when it expires. Logs
+ * stored here update fresh entries straight away, newest-wins by event
+ * timestamp, so offline replays never replace a newer event. Employees
+ * without any event are cached too.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LastEventServiceImpl implements LastEventService {
+
+    // Stands for "no events yet"; never returned to callers
+    private static final LastEvent NONE = new LastEvent(null, null, null);
+
+    private final AttendanceLogRepository attendanceLogRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Past this many employees start over rather than grow (misses are one indexed row read)
+    @Value("${attendance.last-event-cache.max-entries:200000}")
+    private int maxEntries;
+
+    // How long a loaded entry is served without reading the logs again (0 = always read them)
+    @Value("${attendance.last-event-cache.ttl-seconds:10}")
+    private long ttlSeconds;
+
+    private final Map<UUID, Entry> lastEvents = new ConcurrentHashMap<>();
+    private CacheMetrics cacheMetrics;
+
+    @PostConstruct
+    public void registerMetrics() {
+        cacheMetrics = CacheMetrics.register(meterRegistry, "last-event");
+    }
+
+    /**
+     * @param loadedAt {@link System#nanoTime()} when the event was read from the database
+     */
+    private record Entry(LastEvent event, long loadedAt) {
+    }
+
+    @Override
+    public Optional<LastEvent> lastEvent(UUID employeeId) {
+        long now = System.nanoTime();
+        Entry cached = lastEvents.get(employeeId);
+        LastEvent event;
+        if (cached != null && isFresh(cached, now)) {
+            cacheMetrics.hit();
+            event = cached.event();
+        } else {
+            cacheMetrics.miss();
+            LastEvent loaded = attendanceLogRepository
+                    .findFirstByEmployeeIdAndEventTimestampIsNotNullOrderByEventTimestampDesc(employeeId)
+                    .map(LastEventServiceImpl::toLastEvent)
+                    .orElse(NONE);
+            event = put(employeeId, new Entry(loaded, now)).event();
+        }
+        return event == NONE ? Optional.empty() : Optional.of(event);
+    }
+
+    @Override
+    public void record(Collection<AttendanceLog> logs) {
+        List<AttendanceLog> events = new ArrayList<>(logs.size());
+        for (AttendanceLog log : logs) {
+            if (log.getEventTimestamp() != null && log.getEventType() != null && log.getEmployee() != null) {
+                events.add(log);
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> events.forEach(log -> update(log.getEmployee().getId(), toLastEvent(log))));
+    }
+
+    @Override
+    public void evictEmployee(UUID employeeId) {
+        afterCommit(() -> lastEvents.remove(employeeId));
+    }
+
+    @Override
+    public void evictCompany(UUID companyId) {
+        afterCommit(() -> lastEvents.values().removeIf(entry -> companyId.equals(entry.event().companyId())));
+    }
+
+    /**
+     * Store a loaded entry. One loaded later by a concurrent miss is kept; a
+     * fresh one loaded earlier may hold a write recorded while this load read
+     * the logs, so the newer event of the two wins.
+     */
+    private Entry put(UUID employeeId, Entry loaded) {
+        if (lastEvents.size() >= maxEntries && !lastEvents.containsKey(employeeId)) {
+            log.debug("Last-event cache reached {} entries; clearing", maxEntries);
+            lastEvents.clear();
+        }
+        return lastEvents.merge(employeeId, loaded, (current, candidate) -> {
+            if (current.loadedAt() - candidate.loadedAt() > 0) {
+                return current;
+            }
+            return isFresh(current, candidate.loadedAt())
+                    ? new Entry(newer(current.event(), candidate.event()), candidate.loadedAt())
+                    : candidate;
+        });
+    }
+
+    /**
+     * Apply a stored event to a fresh entry. Without one the event is not
+     * cached: it may be older than what the logs hold (an offline replay), so
+     * the next lookup reads them instead.
+     */
+    private void update(UUID employeeId, LastEvent event) {
+        long now = System.nanoTime();
+        lastEvents.computeIfPresent(employeeId, (id, current) -> isFresh(current, now)
+                ? new Entry(newer(current.event(), event), current.loadedAt())
+                : null);
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return now - entry.loadedAt() < TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private static LastEvent newer(LastEvent current, LastEvent candidate) {
+        if (current == NONE) {
+            return candidate;
+        }
+        if (candidate == NONE) {
+            return current;
+        }
+        return candidate.eventTimestamp().isBefore(current.eventTimestamp()) ? current : candidate;
+    }
+
+    private static LastEvent toLastEvent(AttendanceLog log) {
+        return new LastEvent(log.getCompanyId(), log.getEventType(), log.getEventTimestamp());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
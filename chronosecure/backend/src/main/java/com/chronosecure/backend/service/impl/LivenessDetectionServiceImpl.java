@@ -1,6 +1,7 @@
 package com.chronosecure.backend.service.impl;
 
 import com.chronosecure.backend.service.LivenessDetectionService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +27,7 @@ public class LivenessDetectionServiceImpl implements LivenessDetectionService {
     private final Random random = new Random();
 
     @Override
+    @Timed(value = "chronosecure.liveness.score", description = "Liveness scoring of a kiosk photo")
     public double detectLiveness(String photoBase64) {
         if (photoBase64 == null || photoBase64.isEmpty()) {
             log.warn("Empty photo provided for liveness detection");
@@ -3,6 +3,7 @@ package com.chronosecure.backend.service.impl;
 import com.chronosecure.backend.model.Location;
 import com.chronosecure.backend.repository.LocationRepository;
 import com.chronosecure.backend.service.LocationService;
+import com.chronosecure.backend.service.TimeZoneService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,10 +15,14 @@ import java.util.UUID;
 public class LocationServiceImpl implements LocationService {
 
     private final LocationRepository locationRepository;
+    private final TimeZoneService timeZoneService;
 
     @Override
     public Location createLocation(Location location) {
-        return locationRepository.save(location);
+        location.setTimezone(timeZoneService.validate(location.getTimezone()));
+        Location saved = locationRepository.save(location);
+        timeZoneService.evictLocation(saved.getId());
+        return saved;
     }
 
     @Override
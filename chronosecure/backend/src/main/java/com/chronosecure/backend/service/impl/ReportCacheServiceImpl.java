@@ -0,0 +1,441 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.model.ReportDataVersion;
+import com.chronosecure.backend.repository.ReportDataVersionJdbcRepository;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.CacheMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Report Cache Implementation
+ * Files are named by a hash of (report type, company, subject, range,
+ * variant, data versions of the months in the range), so a change to the
+ * tenant's data simply makes the old file unreachable; it then ages out of
+ * the size-bounded LRU index like any other entry.
+ */
+@Service
+@Slf4j
+public class ReportCacheServiceImpl implements ReportCacheService {
+
+    private static final String EXTENSION = ".xlsx";
+
+    private final ReportDataVersionJdbcRepository reportDataVersionJdbcRepository;
+    private final TimeZoneService timeZoneService;
+    private final TransactionTemplate bumpTransaction;
+    private final MeterRegistry meterRegistry;
+    private final CacheMetrics cacheMetrics;
+
+    @Value("${report.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.cache.dir:./report-cache}")
+    private String cacheDir;
+
+    @Value("${report.cache.max-size-mb:512}")
+    private long maxSizeMb;
+
+    private Path cachePath;
+    private long maxBytes;
+
+    // Access-ordered: iteration starts at the least recently used entry. Guarded by a
+    // ReentrantLock rather than synchronized: file operations run under it, which
+    // would pin a virtual thread to its carrier
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    // Concurrent requests for the same report share one build
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ReportCacheServiceImpl(ReportDataVersionJdbcRepository reportDataVersionJdbcRepository,
+            TimeZoneService timeZoneService, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.reportDataVersionJdbcRepository = reportDataVersionJdbcRepository;
+        this.timeZoneService = timeZoneService;
+        this.meterRegistry = meterRegistry;
+        this.cacheMetrics = CacheMetrics.register(meterRegistry, "report");
+        // Bumps run after the caller's commit, so they need a transaction of their own
+        this.bumpTransaction = new TransactionTemplate(transactionManager);
+        this.bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void loadIndex() {
+        maxBytes = maxSizeMb * 1024 * 1024;
+        cachePath = Paths.get(cacheDir).toAbsolutePath().normalize();
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("chronosecure.report.cache.size", this, cache -> cache.totalBytes)
+                .description("Bytes of cached report files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        try {
+            Files.createDirectories(cachePath);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(cachePath)) {
+                files = stream.filter(Files::isRegularFile).toList();
+            }
+            // Oldest first, so the rebuilt index keeps the previous run's recency order
+            List<Path> cached = files.stream()
+                    .filter(p -> p.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(ReportCacheServiceImpl::lastModified))
+                    .toList();
+            for (Path file : files) {
+                if (!file.getFileName().toString().endsWith(EXTENSION)) {
+                    Files.deleteIfExists(file); // Half-written leftovers
+                }
+            }
+            indexLock.lock();
+            try {
+                for (Path file : cached) {
+                    long size = Files.size(file);
+                    index.put(keyOf(file), size);
+                    totalBytes += size;
+                }
+                evict();
+            } finally {
+                indexLock.unlock();
+            }
+            log.info("Report cache at {}: {} files, {} bytes", cachePath, index.size(), totalBytes);
+        } catch (IOException e) {
+            log.warn("Report cache disabled: cannot use {}", cachePath, e);
+            enabled = false;
+        }
+    }
+
+    @Override
+    public Resource getOrGenerate(String reportType, UUID companyId, String subject, LocalDate startDate,
+            LocalDate endDate, String variant, Supplier<Resource> generator) {
+        if (!enabled) {
+            return generate(reportType, generator);
+        }
+
+        String key = cacheKey(reportType, companyId, subject, startDate, endDate, variant);
+        Path file = cachePath.resolve(key + EXTENSION);
+
+        Resource cached = open(key, file);
+        if (cached != null) {
+            cacheMetrics.hit();
+            log.debug("Report cache hit: {} for company {} ({} to {})", reportType, companyId, startDate, endDate);
+            return cached;
+        }
+
+        CompletableFuture<Path> build = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(key, build);
+        if (running != null) {
+            cacheMetrics.shared();
+            try {
+                Path built = running.join();
+                Resource shared = built != null ? open(key, built) : null;
+                return shared != null ? shared : generate(reportType, generator);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        cacheMetrics.miss();
+        try {
+            Resource generated = generate(reportType, generator);
+            Path stored = store(key, file, generated);
+            build.complete(stored);
+            Resource opened = stored != null ? open(key, stored) : null;
+            return opened != null ? opened : generated;
+        } catch (RuntimeException e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private Resource generate(String reportType, Supplier<Resource> generator) {
+        return Timer.builder("chronosecure.report.generation")
+                .description("Report generation on a cache miss")
+                .tag("type", reportType)
+                .register(meterRegistry)
+                .record(generator);
+    }
+
+    @Override
+    public void markChanged(UUID companyId, Collection<LocalDate> dates) {
+        Set<LocalDate> months = dates.stream().map(d -> d.withDayOfMonth(1)).collect(Collectors.toSet());
+        if (!months.isEmpty()) {
+            bumpAfterCommit(companyId, months);
+        }
+    }
+
+    @Override
+    public void markChanged(UUID companyId, LocalDate startDate, LocalDate endDate) {
+        Set<LocalDate> months = new HashSet<>();
+        for (LocalDate month = startDate.withDayOfMonth(1); !month.isAfter(endDate); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        bumpAfterCommit(companyId, months);
+    }
+
+    @Override
+    public void markAllChanged(UUID companyId) {
+        bumpAfterCommit(companyId, Set.of(ReportDataVersion.ALL_PERIODS));
+    }
+
+    /**
+     * Collects the months touched by the current transaction and bumps them
+     * once after it commits (or straight away when there is no transaction).
+     */
+    private void bumpAfterCommit(UUID companyId, Set<LocalDate> months) {
+        if (companyId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(Map.of(companyId, months));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, Set<LocalDate>> pending = (Map<UUID, Set<LocalDate>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<UUID, Set<LocalDate>> touched = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, touched);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportCacheServiceImpl.this);
+                    if (status == STATUS_COMMITTED) {
+                        bump(touched);
+                    }
+                }
+            });
+            pending = touched;
+        }
+        pending.computeIfAbsent(companyId, k -> new HashSet<>()).addAll(months);
+    }
+
+    private void bump(Map<UUID, Set<LocalDate>> touched) {
+        try {
+            bumpTransaction.executeWithoutResult(status ->
+                    touched.forEach(reportDataVersionJdbcRepository::bump));
+        } catch (Exception e) {
+            log.error("Failed to bump report data versions for companies {}", touched.keySet(), e);
+        }
+    }
+
+    private String cacheKey(String reportType, UUID companyId, String subject, LocalDate startDate,
+            LocalDate endDate, String variant) {
+        Map<LocalDate, Long> versions = reportDataVersionJdbcRepository.findVersions(companyId,
+                startDate.withDayOfMonth(1), endDate.withDayOfMonth(1));
+
+        StringBuilder material = new StringBuilder()
+                .append(reportType).append('|').append(companyId).append('|').append(subject)
+                .append('|').append(startDate).append('|').append(endDate).append('|').append(variant);
+        versions.forEach((month, version) -> material.append('|').append(month).append('=').append(version));
+
+        // Ranges reaching today show ABSENT/FUTURE relative to the company's today; they change daily on their own
+        LocalDate today = LocalDate.now(timeZoneService.zoneFor(companyId));
+        if (!endDate.isBefore(today)) {
+            material.append("|asOf=").append(today);
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(material.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the cached file, or null when the report could not be cached
+     */
+    private Path store(String key, Path file, Resource generated) {
+        Path tmp = null;
+        try {
+            long size = generated.contentLength();
+            if (size > maxBytes) {
+                return null;
+            }
+            tmp = Files.createTempFile(cachePath, key, ".tmp");
+            try (InputStream in = generated.getInputStream()) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            indexLock.lock();
+            try {
+                Long previous = index.put(key, size);
+                totalBytes += size - (previous != null ? previous : 0L);
+                evict();
+            } finally {
+                indexLock.unlock();
+            }
+            return file;
+        } catch (IOException e) {
+            log.warn("Could not cache report {}", key, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // Cleaned up on the next start
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Open a cached file while holding the index lock, so eviction cannot
+     * delete it in between; once open, the stream stays readable after the
+     * file is unlinked.
+     *
+     * @return the open file, or null when it is not (or no longer) cached
+     */
+    private Resource open(String key, Path file) {
+        indexLock.lock();
+        try {
+            if (index.get(key) == null) {
+                return null;
+            }
+            long size = Files.size(file);
+            InputStream in = Files.newInputStream(file);
+            touch(file);
+            return new OpenedFile(file, size, in);
+        } catch (IOException e) {
+            // Deleted behind the index's back; rebuilt by the caller
+            return null;
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    // Caller holds the index lock
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            try {
+                Files.deleteIfExists(cachePath.resolve(entry.getKey() + EXTENSION));
+            } catch (IOException e) {
+                log.warn("Could not delete cached report {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // Only affects eviction order after a restart
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0L);
+        }
+    }
+
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - EXTENSION.length());
+    }
+
+    /**
+     * A cached report whose stream was opened under the index lock. Like
+     * InputStreamResource it can be read once; unlike it, it knows its length,
+     * so responses still carry Content-Length.
+     */
+    private static final class OpenedFile extends AbstractResource {
+
+        private final Path file;
+        private final long size;
+        private final AtomicReference<InputStream> in;
+
+        OpenedFile(Path file, long size, InputStream in) {
+            this.file = file;
+            this.size = size;
+            this.in = new AtomicReference<>(in);
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            InputStream stream = in.getAndSet(null);
+            if (stream == null) {
+                throw new IllegalStateException("Cached report " + file.getFileName() + " was already read");
+            }
+            return stream;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+
+        @Override
+        public String getFilename() {
+            return file.getFileName().toString();
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached report [" + file + "]";
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.dto.ReportJobRequest;
+import com.chronosecure.backend.exception.TooManyRequestsException;
+import com.chronosecure.backend.model.ReportJob;
+import com.chronosecure.backend.model.enums.ReportJobStatus;
+import com.chronosecure.backend.model.enums.ReportType;
+import com.chronosecure.backend.repository.CompanyRepository;
+import com.chronosecure.backend.repository.ReportJobRepository;
+import com.chronosecure.backend.service.ReportJobService;
+import com.chronosecure.backend.service.ReportService;
+import com.chronosecure.backend.util.TenantFairExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Report Job Implementation
+ * Jobs run on a small tenant-fair worker pool, separate from the Tomcat
+ * threads, so large reports neither time out at the proxy nor take request
+ * threads (and database connections) away from kiosk traffic.
+ * Every instance queues every unfinished job; a conditional update lets one
+ * of them claim it. The owner refreshes a heartbeat while it runs, and a job
+ * whose heartbeat goes stale (its instance died) is queued again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final List<ReportJobStatus> UNFINISHED = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+
+    private final ReportJobRepository reportJobRepository;
+    private final CompanyRepository companyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportService reportService;
+    private final BackgroundExecutors backgroundExecutors;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.jobs.dir:./report-jobs}")
+    private String jobsDir;
+
+    @Value("${report.jobs.workers:2}")
+    private int workers;
+
+    @Value("${report.jobs.max-pending-per-company:10}")
+    private int maxPendingPerCompany;
+
+    @Value("${report.jobs.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${report.jobs.stale-after-seconds:120}")
+    private long staleAfterSeconds;
+
+    // Identifies this instance's claims; a restarted instance is a new owner
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // Jobs waiting in or running on this instance's executor
+    private final Set<UUID> queuedJobs = ConcurrentHashMap.newKeySet();
+
+    private Path jobsPath;
+    private TenantFairExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        jobsPath = Paths.get(jobsDir).toAbsolutePath().normalize();
+        Files.createDirectories(jobsPath);
+        executor = new TenantFairExecutor(workers, backgroundExecutors.threadFactory("report-job"));
+        backgroundExecutors.reserveConnections(workers);
+        meterRegistry.gauge("chronosecure.report.jobs.queued", executor, TenantFairExecutor::pending);
+    }
+
+    @Override
+    public ReportJob submit(UUID companyId, ReportJobRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (request.getReportType() == ReportType.EMPLOYEE && request.getEmployeeId() == null) {
+            throw new IllegalArgumentException("employeeId is required for an employee report");
+        }
+
+        ReportJob job = transactionTemplate.execute(status -> {
+            // The company row lock serialises submissions of one tenant, across nodes too,
+            // so concurrent requests cannot all pass the count before any of them is saved
+            companyRepository.lockById(companyId)
+                    .orElseThrow(() -> new EntityNotFoundException("Company not found"));
+            if (reportJobRepository.countByCompanyIdAndStatusIn(companyId, UNFINISHED) >= maxPendingPerCompany) {
+                throw new TooManyRequestsException("Too many reports in progress; try again when one has finished");
+            }
+            return reportJobRepository.save(ReportJob.builder()
+                    .companyId(companyId)
+                    .reportType(request.getReportType())
+                    .employeeId(request.getReportType() == ReportType.EMPLOYEE ? request.getEmployeeId() : null)
+                    .startDate(request.getStartDate())
+                    .endDate(request.getEndDate())
+                    .status(ReportJobStatus.QUEUED)
+                    .downloadToken(newToken())
+                    .build());
+        });
+
+        // After the commit, so the worker finds the job
+        enqueue(job);
+        log.info("Queued {} report job {} for company {}", job.getReportType(), job.getId(), companyId);
+        return job;
+    }
+
+    @Override
+    public ReportJob getJob(UUID companyId, UUID jobId) {
+        return reportJobRepository.findByIdAndCompanyId(jobId, companyId)
+                .orElseThrow(() -> new EntityNotFoundException("Report job not found"));
+    }
+
+    @Override
+    public List<ReportJob> getRecentJobs(UUID companyId) {
+        return reportJobRepository.findTop50ByCompanyIdOrderByCreatedAtDesc(companyId);
+    }
+
+    @Override
+    public ReportJob getDownloadableJob(UUID jobId, String token) {
+        ReportJob job = reportJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Report job not found"));
+
+        if (token == null || !MessageDigest.isEqual(job.getDownloadToken().getBytes(StandardCharsets.US_ASCII),
+                token.getBytes(StandardCharsets.US_ASCII))) {
+            throw new SecurityException("Invalid download token");
+        }
+        if (job.getStatus() == ReportJobStatus.EXPIRED
+                || (job.getExpiresAt() != null && job.getExpiresAt().isBefore(Instant.now()))) {
+            throw new EntityNotFoundException("Report has expired");
+        }
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Report is not ready (status " + job.getStatus() + ")");
+        }
+        return job;
+    }
+
+    @Override
+    public Resource openFile(ReportJob job) {
+        Path file = fileOf(job.getId());
+        if (!Files.exists(file)) {
+            throw new EntityNotFoundException("Report file is no longer available");
+        }
+        return new FileSystemResource(file);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        recoverJobs(Instant.now().minusSeconds(staleAfterSeconds), true);
+    }
+
+    /**
+     * Refresh the heartbeat of this instance's running jobs, then take over
+     * jobs abandoned by others: running ones with a stale heartbeat, and queued
+     * ones old enough that the instance that queued them may be gone.
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.heartbeat-interval-ms:30000}",
+            initialDelayString = "${report.jobs.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        transactionTemplate.executeWithoutResult(status ->
+                reportJobRepository.heartbeat(instanceId, ReportJobStatus.RUNNING));
+        recoverJobs(Instant.now().minusSeconds(staleAfterSeconds), false);
+    }
+
+    private void recoverJobs(Instant staleBefore, boolean allQueued) {
+        for (ReportJob job : reportJobRepository.findByStatusInOrderByCreatedAtAsc(UNFINISHED)) {
+            if (job.getStatus() == ReportJobStatus.RUNNING) {
+                Integer requeued = transactionTemplate.execute(status -> reportJobRepository.requeueIfStale(
+                        job.getId(), staleBefore, ReportJobStatus.RUNNING, ReportJobStatus.QUEUED));
+                if (requeued == null || requeued == 0) {
+                    continue; // Alive on its owner
+                }
+                log.info("Re-queuing report job {} for company {}: owner {} stopped", job.getId(),
+                        job.getCompanyId(), job.getOwner());
+            } else if (!allQueued && job.getCreatedAt() != null && job.getCreatedAt().isAfter(staleBefore)) {
+                continue; // Still waiting in the queue of the instance it was submitted to
+            }
+            if (enqueue(job)) {
+                log.info("Queued report job {} for company {}", job.getId(), job.getCompanyId());
+            }
+        }
+    }
+
+    /**
+     * Expire finished reports past their retention and remove stray files
+     * (e.g. of tenants deleted since).
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval-ms:600000}")
+    public void expireFinishedJobs() {
+        Instant now = Instant.now();
+        for (ReportJob job : reportJobRepository.findByStatusAndExpiresAtBefore(ReportJobStatus.COMPLETED, now)) {
+            deleteQuietly(fileOf(job.getId()));
+            job.setStatus(ReportJobStatus.EXPIRED);
+            reportJobRepository.save(job);
+        }
+
+        Instant cutoff = now.minus(Duration.ofHours(retentionHours)).minus(Duration.ofHours(1));
+        try (Stream<Path> files = Files.list(jobsPath)) {
+            files.filter(file -> lastModified(file).isBefore(cutoff)).forEach(ReportJobServiceImpl::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not sweep report job directory {}", jobsPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownJobs() {
+        // Running jobs stay RUNNING in the database and are re-queued once their heartbeat is stale
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return false when the job is already queued on this instance
+     */
+    private boolean enqueue(ReportJob job) {
+        UUID jobId = job.getId();
+        if (!queuedJobs.add(jobId)) {
+            return false;
+        }
+        executor.submit(job.getCompanyId(), () -> {
+            try {
+                runJob(jobId);
+            } finally {
+                queuedJobs.remove(jobId);
+            }
+        });
+        return true;
+    }
+
+    private void runJob(UUID jobId) {
+        Integer claimed = transactionTemplate.execute(status ->
+                reportJobRepository.claim(jobId, instanceId, ReportJobStatus.QUEUED, ReportJobStatus.RUNNING));
+        if (claimed == null || claimed == 0) {
+            return; // Finished, or claimed by another instance
+        }
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        Path tmp = null;
+        try {
+            Resource report = switch (job.getReportType()) {
+                case COMPANY -> reportService.generateCompanyReport(job.getCompanyId(), job.getStartDate(), job.getEndDate());
+                case EMPLOYEE -> reportService.generateEmployeeReport(job.getCompanyId(), job.getEmployeeId(),
+                        job.getStartDate(), job.getEndDate());
+                case COST -> reportService.generateCostReport(job.getCompanyId(), job.getStartDate(), job.getEndDate());
+            };
+
+            tmp = Files.createTempFile(jobsPath, jobId.toString(), ".tmp");
+            try (InputStream in = report.getInputStream()) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Path file = fileOf(jobId);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            Instant now = Instant.now();
+            long size = Files.size(file);
+            Integer completed = transactionTemplate.execute(status -> reportJobRepository.complete(jobId, instanceId,
+                    downloadName(job), size, now, now.plus(Duration.ofHours(retentionHours)),
+                    ReportJobStatus.RUNNING, ReportJobStatus.COMPLETED));
+            if (completed == null || completed == 0) {
+                // Taken over while this instance stalled; the new owner writes the same file
+                log.warn("Report job {} was re-queued before it completed here", jobId);
+                return;
+            }
+            log.info("Report job {} completed in {} ms", jobId, Duration.between(job.getStartedAt(), now).toMillis());
+        } catch (Throwable e) {
+            // Errors too (e.g. OutOfMemoryError on a huge workbook): the job must not stay RUNNING
+            log.error("Report job {} failed", jobId, e);
+            if (tmp != null) {
+                deleteQuietly(tmp);
+            }
+            transactionTemplate.executeWithoutResult(status -> reportJobRepository.fail(jobId, instanceId,
+                    e.getMessage(), ReportJobStatus.RUNNING, ReportJobStatus.FAILED));
+        }
+    }
+
+    private Path fileOf(UUID jobId) {
+        return jobsPath.resolve(jobId + ".xlsx");
+    }
+
+    private static String downloadName(ReportJob job) {
+        String prefix = switch (job.getReportType()) {
+            case COMPANY -> "company-attendance-report";
+            case EMPLOYEE -> "employee-attendance-report";
+            case COST -> "cost-report";
+        };
+        return String.format("%s-%s-to-%s.xlsx", prefix, job.getStartDate(), job.getEndDate());
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        TOKEN_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.now();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+}
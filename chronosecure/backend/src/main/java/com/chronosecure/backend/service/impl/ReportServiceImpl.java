@@ -1,5 +1,6 @@
 package com.chronosecure.backend.service.impl;
 
+import com.chronosecure.backend.config.BillingProperties;
 import com.chronosecure.backend.model.AttendanceLog;
 import com.chronosecure.backend.model.CalculatedHours;
 import com.chronosecure.backend.model.Employee;
@@ -12,87 +13,162 @@ import com.chronosecure.backend.repository.CalculatedHoursRepository;
 import com.chronosecure.backend.repository.EmployeeRepository;
 import com.chronosecure.backend.repository.TimeOffRequestRepository;
 import com.chronosecure.backend.repository.CompanyRepository;
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.service.ReportCacheService;
 import com.chronosecure.backend.service.ReportService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.service.UsageRollupService;
+import com.chronosecure.backend.util.CompiledCalendar;
+import com.chronosecure.backend.util.DayBoundaries;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReportServiceImpl implements ReportService {
 
+    // Employees per leaf task when computing company report rows
+    private static final int COMPUTE_PARTITION_SIZE = 16;
+
+    private static final DateTimeFormatter CHECK_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
     private final CalculatedHoursRepository calculatedHoursRepository;
     private final EmployeeRepository employeeRepository;
     private final TimeOffRequestRepository timeOffRequestRepository;
     private final AttendanceLogRepository attendanceLogRepository;
     private final CompanyRepository companyRepository;
+    private final UsageRollupService usageRollupService;
+    private final BillingProperties billingProperties;
+    private final ReportCacheService reportCacheService;
+    private final TimeZoneService timeZoneService;
+    private final CompiledCalendarService compiledCalendarService;
+    private final MeterRegistry meterRegistry;
+
+    // 0 = one worker per core
+    @Value("${report.compute.parallelism:0}")
+    private int computeParallelism;
+
+    // Company report rows and bundle workbooks are built here; the company workbook
+    // itself is still written by the calling thread
+    private ForkJoinPool computePool;
+
+    @PostConstruct
+    public void startComputePool() {
+        int parallelism = computeParallelism > 0 ? computeParallelism : Runtime.getRuntime().availableProcessors();
+        computePool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("report-compute-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdownComputePool() {
+        computePool.shutdownNow();
+    }
 
     @Override
     public Resource generateCompanyReport(UUID companyId, LocalDate startDate, LocalDate endDate) {
+        return reportCacheService.getOrGenerate("COMPANY", companyId, null, startDate, endDate, null,
+                () -> buildCompanyReport(companyId, startDate, endDate));
+    }
+
+    @Override
+    public Resource generateEmployeeReport(UUID companyId, UUID employeeId, LocalDate startDate, LocalDate endDate) {
+        return reportCacheService.getOrGenerate("EMPLOYEE", companyId, employeeId.toString(), startDate, endDate, null,
+                () -> buildEmployeeReport(companyId, employeeId, startDate, endDate));
+    }
+
+    @Override
+    public StreamingResponseBody generateEmployeeReportBundle(UUID companyId, LocalDate startDate, LocalDate endDate) {
+        log.info("Generating employee report bundle for Company: {} from {} to {}", companyId, startDate, endDate);
+        // Bundles are never cached, so they are timed here rather than in the report cache
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Loaded before the response starts, so failures still produce a proper error
+        TenantReportData data = loadTenantData(companyId, startDate, endDate);
+        return out -> {
+            try {
+                writeEmployeeReportBundle(data, startDate, endDate, out);
+            } finally {
+                sample.stop(meterRegistry.timer("chronosecure.report.generation", "type", "EMPLOYEE_BUNDLE"));
+            }
+        };
+    }
+
+    @Override
+    public Resource generateCostReport(UUID companyId, LocalDate startDate, LocalDate endDate) {
+        // Plan, prices and name are not part of the versioned data, so they go into the key
+        Company company = companyRepository.findById(companyId).orElse(null);
+        BillingProperties.PlanPricing pricing = billingProperties.pricingFor(
+                company != null ? company.getSubscriptionPlan() : null);
+        String variant = String.join("|",
+                company != null ? company.getName() : "",
+                String.valueOf(company != null ? company.getSubscriptionPlan() : null),
+                billingProperties.getCurrency(),
+                pricing.getDailyBaseFee().toPlainString(),
+                String.valueOf(pricing.getIncludedHeadcount()),
+                pricing.getPerHeadFee().toPlainString());
+        return reportCacheService.getOrGenerate("COST", companyId, null, startDate, endDate, variant,
+                () -> buildCostReport(companyId, startDate, endDate));
+    }
+
+    private Resource buildCompanyReport(UUID companyId, LocalDate startDate, LocalDate endDate) {
         log.info("Generating company report for Company: {} from {} to {}", companyId, startDate, endDate);
 
+        // --- 0. PREPARE DATA ---
+        TenantReportData data = loadTenantData(companyId, startDate, endDate);
+        List<Employee> employees = data.employees();
+
+        // --- 1. COMPUTE (parallel over employee partitions) ---
+        EmployeeReportRows[] computed = new EmployeeReportRows[employees.size()];
+        computePool.invoke(new CompanyReportTask(data, 0, employees.size(), computed, startDate, endDate));
+
+        // --- 2. WRITE (single writer, employee order) ---
         try (Workbook workbook = new XSSFWorkbook()) {
-            
+
             // --- STYLES ---
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dataStyle = createDataStyle(workbook);
-            CellStyle boldDataStyle = createDataStyle(workbook);
-            Font boldFont = workbook.createFont();
-            boldFont.setBold(true);
-            boldDataStyle.setFont(boldFont);
 
-            // --- 0. PREPARE DATA ---
-            List<Employee> employees = employeeRepository.findByCompanyId(companyId);
-            employees.sort(Comparator.comparing(Employee::getFirstName).thenComparing(Employee::getLastName));
-
-            List<CalculatedHours> allHours = calculatedHoursRepository
-                    .findByCompanyIdAndWorkDateBetweenOrderByWorkDateAsc(companyId, startDate, endDate);
-            
-            List<TimeOffRequest> allLeaves = timeOffRequestRepository.findByCompanyIdOrderByCreatedAtDesc(companyId);
-
-            // Fetch raw logs for Check-In/Out times
-            List<AttendanceLog> allLogs = attendanceLogRepository
-                    .findByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(
-                            companyId,
-                            startDate.atStartOfDay(ZoneId.systemDefault()).toInstant(),
-                            endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-            // Indexing Data
-            Map<UUID, Map<LocalDate, CalculatedHours>> hoursMap = new HashMap<>();
-            for (CalculatedHours h : allHours) {
-                hoursMap.computeIfAbsent(h.getEmployee().getId(), k -> new HashMap<>()).put(h.getWorkDate(), h);
-            }
-
-            Map<UUID, Map<LocalDate, List<AttendanceLog>>> logsMap = allLogs.stream()
-                    .collect(Collectors.groupingBy(
-                            l -> l.getEmployee().getId(),
-                            Collectors.groupingBy(
-                                    l -> LocalDateTime.ofInstant(l.getEventTimestamp(), ZoneId.systemDefault())
-                                            .toLocalDate())));
-
-            // --- 1. DETAILS SHEET ---
+            // --- DETAILS SHEET ---
             Sheet detailSheet = workbook.createSheet("Daily Details");
             createDetailHeader(detailSheet, headerStyle);
             int detRowIdx = 1;
 
-            // --- 2. MATRIX SHEET ---
+            // --- MATRIX SHEET ---
             Sheet matrixSheet = workbook.createSheet("Monthly Matrix");
             // Create Matrix Header
             Row matrixHeader = matrixSheet.createRow(0);
@@ -100,7 +176,7 @@ public class ReportServiceImpl implements ReportService {
             matrixHeader.createCell(1).setCellValue("Employee Name");
             matrixHeader.getCell(0).setCellStyle(headerStyle);
             matrixHeader.getCell(1).setCellStyle(headerStyle);
-            
+
             int colIdx = 2;
             for (LocalDate d = startDate; !d.isAfter(endDate); d = d.plusDays(1)) {
                 Cell c = matrixHeader.createCell(colIdx++);
@@ -113,121 +189,38 @@ public class ReportServiceImpl implements ReportService {
 
             int matRowIdx = 1;
 
-            // --- PROCESS EMPLOYEES ---
-            for (Employee employee : employees) {
-                Map<LocalDate, CalculatedHours> empHours = hoursMap.getOrDefault(employee.getId(), Collections.emptyMap());
-                Map<LocalDate, List<AttendanceLog>> empLogs = logsMap.getOrDefault(employee.getId(), Collections.emptyMap());
-
-                // Filter Leaves
-                List<TimeOffRequest> empLeaves = allLeaves.stream()
-                        .filter(l -> l.getEmployee().getId().equals(employee.getId())
-                                && l.getStatus() == TimeOffStatus.APPROVED
-                                && !l.getStartDate().isAfter(endDate)
-                                && !l.getEndDate().isBefore(startDate))
-                        .collect(Collectors.toList());
-
-                Duration totalWorked = Duration.ZERO;
-                
+            for (EmployeeReportRows employeeRows : computed) {
                 // Matrix Row
                 Row matrixRow = matrixSheet.createRow(matRowIdx++);
-                matrixRow.createCell(0).setCellValue(employee.getEmployeeCode());
-                matrixRow.createCell(1).setCellValue(employee.getFirstName() + " " + employee.getLastName());
+                matrixRow.createCell(0).setCellValue(employeeRows.code());
+                matrixRow.createCell(1).setCellValue(employeeRows.name());
                 int matrixCol = 2;
 
-                for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-                    // --- DETERMINE STATUS & HOURS ---
-                    CalculatedHours hours = empHours.get(date);
-                    if (hours == null || (hours.getTotalHoursWorked() == null || hours.getTotalHoursWorked().isZero())) {
-                        CalculatedHours computed = calculateFromLogs(empLogs.get(date), date);
-                        if (computed != null) hours = computed;
-                    }
-
-                    String status = "ABSENT";
-                    Duration dailyTotal = Duration.ZERO;
-                    String checkInStr = "-";
-                    String checkOutStr = "-";
-
-                    // Determine basic status from existence of Hours
-                    if (hours != null) {
-                        dailyTotal = hours.getTotalHoursWorked() != null ? hours.getTotalHoursWorked() : Duration.ZERO;
-                        
-                        if (hours.getLeaveHours() != null && !hours.getLeaveHours().isZero()) status = "LEAVE";
-                        else if (!dailyTotal.isZero()) status = "PRESENT";
-                        else if (hours.getPublicHolidayHours() != null && !hours.getPublicHolidayHours().isZero()) status = "HOLIDAY";
-                    }
-
-                    // Leave Override
-                    final LocalDate currentDate = date;
-                    boolean onLeave = empLeaves.stream().anyMatch(
-                            l -> !currentDate.isBefore(l.getStartDate()) && !currentDate.isAfter(l.getEndDate()));
-                    if (onLeave) status = "LEAVE";
-
-                    // Weekend Check for Absent
-                    java.time.DayOfWeek dayOfWeek = date.getDayOfWeek();
-                    boolean isWeekend = (dayOfWeek == java.time.DayOfWeek.SATURDAY || dayOfWeek == java.time.DayOfWeek.SUNDAY);
-                    
-                    if ("ABSENT".equals(status) && isWeekend) {
-                        status = "WEEKEND";
-                    }
-
-                    // Get Check In/Out Times from logs
-                    List<AttendanceLog> dailyLogs = empLogs.get(date);
-                    if (dailyLogs != null && !dailyLogs.isEmpty()) {
-                        Instant firstIn = dailyLogs.stream()
-                                .filter(l -> l.getEventType() == AttendanceEventType.CLOCK_IN)
-                                .map(AttendanceLog::getEventTimestamp)
-                                .min(Comparator.naturalOrder()).orElse(null);
-                        Instant lastOut = dailyLogs.stream()
-                                .filter(l -> l.getEventType() == AttendanceEventType.CLOCK_OUT)
-                                .map(AttendanceLog::getEventTimestamp)
-                                .max(Comparator.naturalOrder()).orElse(null);
-
-                        DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault());
-                        if (firstIn != null) checkInStr = timeFmt.format(firstIn);
-                        if (lastOut != null) checkOutStr = timeFmt.format(lastOut);
-                    }
-
-                    // Update Aggregators
-                    if ("PRESENT".equals(status)) {
-                        totalWorked = totalWorked.plus(dailyTotal);
-                    }
-                    
+                for (DayReportRow day : employeeRows.days()) {
                     // --- POPULATE MATRIX CELL ---
                     Cell matCell = matrixRow.createCell(matrixCol++);
-                    if ("PRESENT".equals(status)) {
-                         matCell.setCellValue(formatDuration(dailyTotal)); // Show Hours
-                    } else if ("LEAVE".equals(status)) {
-                        matCell.setCellValue("L");
-                        matCell.setCellStyle(headerStyle); // Use color style
-                    } else if ("HOLIDAY".equals(status)) {
-                         matCell.setCellValue("H");
-                    } else if ("WEEKEND".equals(status)) {
-                         matCell.setCellValue("W");
-                    } else {
-                         matCell.setCellValue("A"); // Absent
-                    }
+                    matCell.setCellValue(day.matrixValue());
                     matCell.setCellStyle(dataStyle);
 
                     // --- WRITE DETAIL ROW ---
                     Row row = detailSheet.createRow(detRowIdx++);
-                    row.createCell(0).setCellValue(employee.getEmployeeCode());
-                    row.createCell(1).setCellValue(employee.getFirstName() + " " + employee.getLastName());
-                    row.createCell(2).setCellValue(date.format(DateTimeFormatter.ISO_LOCAL_DATE));
-                    row.createCell(3).setCellValue(dayOfWeek.getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
-                    row.createCell(4).setCellValue(status);
-                    row.createCell(5).setCellValue(checkInStr);
-                    row.createCell(6).setCellValue(checkOutStr);
-                    row.createCell(7).setCellValue(formatDuration(dailyTotal));
+                    row.createCell(0).setCellValue(employeeRows.code());
+                    row.createCell(1).setCellValue(employeeRows.name());
+                    row.createCell(2).setCellValue(day.date());
+                    row.createCell(3).setCellValue(day.dayName());
+                    row.createCell(4).setCellValue(day.status());
+                    row.createCell(5).setCellValue(day.checkIn());
+                    row.createCell(6).setCellValue(day.checkOut());
+                    row.createCell(7).setCellValue(day.totalHours());
 
                     for (int i = 0; i < 8; i++) {
-                        Cell c = row.getCell(i);
-                        if (c != null) c.setCellStyle(dataStyle);
+                        row.getCell(i).setCellStyle(dataStyle);
                     }
                 }
-                
+
                 // --- MATRIX TOTAL CELL ---
                 Cell finalTotalCell = matrixRow.createCell(matrixCol);
-                finalTotalCell.setCellValue(formatDuration(totalWorked));
+                finalTotalCell.setCellValue(employeeRows.totalWorked());
                 finalTotalCell.setCellStyle(dataStyle);
             }
 
@@ -245,6 +238,202 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
+    /**
+     * Everything the company report and the employee bundle need, loaded with
+     * one query per table and indexed by employee (then day).
+     */
+    private record TenantReportData(DayBoundaries days, CompiledCalendar calendar, List<Employee> employees,
+            Map<UUID, Map<LocalDate, CalculatedHours>> hours,
+            Map<UUID, Map<LocalDate, List<AttendanceLog>>> logs,
+            Map<UUID, List<TimeOffRequest>> approvedLeaves) {
+
+        DateTimeFormatter checkTimeFormat() {
+            return CHECK_TIME_FORMAT.withZone(days.zone());
+        }
+
+        Map<LocalDate, CalculatedHours> hoursOf(UUID employeeId) {
+            return hours.getOrDefault(employeeId, Collections.emptyMap());
+        }
+
+        Map<LocalDate, List<AttendanceLog>> logsOf(UUID employeeId) {
+            return logs.getOrDefault(employeeId, Collections.emptyMap());
+        }
+
+        List<TimeOffRequest> approvedLeavesOf(UUID employeeId) {
+            return approvedLeaves.getOrDefault(employeeId, Collections.emptyList());
+        }
+    }
+
+    private TenantReportData loadTenantData(UUID companyId, LocalDate startDate, LocalDate endDate) {
+        DayBoundaries days = timeZoneService.daysFor(companyId);
+        CompiledCalendar calendar = compiledCalendarService.calendarFor(companyId).prepare(startDate, endDate);
+
+        List<Employee> employees = employeeRepository.findByCompanyId(companyId);
+        employees.sort(Comparator.comparing(Employee::getFirstName).thenComparing(Employee::getLastName));
+
+        List<CalculatedHours> allHours = calculatedHoursRepository
+                .findByCompanyIdAndWorkDateBetweenOrderByWorkDateAsc(companyId, startDate, endDate);
+
+        List<TimeOffRequest> allLeaves = timeOffRequestRepository.findByCompanyIdOrderByCreatedAtDesc(companyId);
+
+        // Fetch raw logs for Check-In/Out times
+        List<AttendanceLog> allLogs = attendanceLogRepository
+                .findByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(
+                        companyId,
+                        days.startOf(startDate),
+                        days.endOf(endDate));
+
+        // Indexing Data
+        Map<UUID, Map<LocalDate, CalculatedHours>> hoursMap = new HashMap<>();
+        for (CalculatedHours h : allHours) {
+            hoursMap.computeIfAbsent(h.getEmployee().getId(), k -> new HashMap<>()).put(h.getWorkDate(), h);
+        }
+
+        Map<UUID, Map<LocalDate, List<AttendanceLog>>> logsMap = allLogs.stream()
+                .collect(Collectors.groupingBy(
+                        l -> l.getEmployee().getId(),
+                        Collectors.groupingBy(l -> days.dateOf(l.getEventTimestamp()))));
+
+        Map<UUID, List<TimeOffRequest>> leavesMap = allLeaves.stream()
+                .filter(l -> l.getStatus() == TimeOffStatus.APPROVED
+                        && !l.getStartDate().isAfter(endDate)
+                        && !l.getEndDate().isBefore(startDate))
+                .collect(Collectors.groupingBy(l -> l.getEmployee().getId()));
+
+        return new TenantReportData(days, calendar, employees, hoursMap, logsMap, leavesMap);
+    }
+
+    /** One detail row of the company report, with every cell already formatted. */
+    private record DayReportRow(String date, String dayName, String status, String checkIn, String checkOut,
+            String totalHours, String matrixValue) {
+    }
+
+    private record EmployeeReportRows(String code, String name, List<DayReportRow> days, String totalWorked) {
+    }
+
+    /**
+     * Computes the company report rows for employees [from, to), splitting
+     * the range in half until it is small enough to run directly. Results land
+     * in {@code out} at the employee's index, so the writer keeps the order.
+     */
+    private final class CompanyReportTask extends RecursiveAction {
+
+        private final TenantReportData data;
+        private final int from;
+        private final int to;
+        private final EmployeeReportRows[] out;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        CompanyReportTask(TenantReportData data, int from, int to, EmployeeReportRows[] out,
+                LocalDate startDate, LocalDate endDate) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.out = out;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= COMPUTE_PARTITION_SIZE) {
+                for (int i = from; i < to; i++) {
+                    Employee employee = data.employees().get(i);
+                    UUID id = employee.getId();
+                    out[i] = computeEmployeeRows(employee, data.hoursOf(id), data.logsOf(id),
+                            data.approvedLeavesOf(id), data.calendar(), data.checkTimeFormat(), startDate, endDate);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CompanyReportTask(data, from, mid, out, startDate, endDate),
+                    new CompanyReportTask(data, mid, to, out, startDate, endDate));
+        }
+    }
+
+    private EmployeeReportRows computeEmployeeRows(Employee employee, Map<LocalDate, CalculatedHours> empHours,
+            Map<LocalDate, List<AttendanceLog>> empLogs, List<TimeOffRequest> empLeaves, CompiledCalendar calendar,
+            DateTimeFormatter checkTimeFormat, LocalDate startDate, LocalDate endDate) {
+        List<DayReportRow> days = new ArrayList<>((int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1);
+        Duration totalWorked = Duration.ZERO;
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            // --- DETERMINE STATUS & HOURS ---
+            CalculatedHours hours = empHours.get(date);
+            List<AttendanceLog> dailyLogs = empLogs.get(date);
+            if (hours == null || (hours.getTotalHoursWorked() == null || hours.getTotalHoursWorked().isZero())) {
+                CalculatedHours computed = calculateFromLogs(dailyLogs, date, calendar);
+                if (computed != null) hours = computed;
+            }
+
+            String status = "ABSENT";
+            Duration dailyTotal = Duration.ZERO;
+            String checkInStr = "-";
+            String checkOutStr = "-";
+
+            // Determine basic status from existence of Hours
+            if (hours != null) {
+                dailyTotal = hours.getTotalHoursWorked() != null ? hours.getTotalHoursWorked() : Duration.ZERO;
+
+                if (hours.getLeaveHours() != null && !hours.getLeaveHours().isZero()) status = "LEAVE";
+                else if (!dailyTotal.isZero()) status = "PRESENT";
+                else if (hours.getPublicHolidayHours() != null && !hours.getPublicHolidayHours().isZero()) status = "HOLIDAY";
+            }
+
+            // Leave Override
+            final LocalDate currentDate = date;
+            boolean onLeave = empLeaves.stream().anyMatch(
+                    l -> !currentDate.isBefore(l.getStartDate()) && !currentDate.isAfter(l.getEndDate()));
+            if (onLeave) status = "LEAVE";
+
+            // Holidays and weekends are not absences
+            java.time.DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if ("ABSENT".equals(status)) {
+                if (calendar.isHoliday(date)) status = "HOLIDAY";
+                else if (calendar.isWeekend(date)) status = "WEEKEND";
+            }
+
+            // Get Check In/Out Times from logs
+            if (dailyLogs != null && !dailyLogs.isEmpty()) {
+                Instant firstIn = null;
+                Instant lastOut = null;
+                for (AttendanceLog l : dailyLogs) {
+                    Instant at = l.getEventTimestamp();
+                    if (l.getEventType() == AttendanceEventType.CLOCK_IN) {
+                        if (firstIn == null || at.isBefore(firstIn)) firstIn = at;
+                    } else if (l.getEventType() == AttendanceEventType.CLOCK_OUT) {
+                        if (lastOut == null || at.isAfter(lastOut)) lastOut = at;
+                    }
+                }
+
+                if (firstIn != null) checkInStr = checkTimeFormat.format(firstIn);
+                if (lastOut != null) checkOutStr = checkTimeFormat.format(lastOut);
+            }
+
+            // Update Aggregators
+            if ("PRESENT".equals(status)) {
+                totalWorked = totalWorked.plus(dailyTotal);
+            }
+
+            String matrixValue = switch (status) {
+                case "PRESENT" -> formatDuration(dailyTotal); // Show Hours
+                case "LEAVE" -> "L";
+                case "HOLIDAY" -> "H";
+                case "WEEKEND" -> "W";
+                default -> "A"; // Absent
+            };
+
+            days.add(new DayReportRow(
+                    date.format(DateTimeFormatter.ISO_LOCAL_DATE),
+                    dayOfWeek.getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                    status, checkInStr, checkOutStr, formatDuration(dailyTotal), matrixValue));
+        }
+
+        return new EmployeeReportRows(employee.getEmployeeCode(),
+                employee.getFirstName() + " " + employee.getLastName(), days, formatDuration(totalWorked));
+    }
+
     private void createDetailHeader(Sheet sheet, CellStyle style) {
         Row row = sheet.createRow(0);
         String[] headers = {"Code", "Employee Name", "Date", "Day", "Status", "Check In", "Check Out", "Total Hours"};
@@ -255,12 +444,117 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    @Override
-    public Resource generateEmployeeReport(UUID companyId, UUID employeeId, LocalDate startDate, LocalDate endDate) {
+    private Resource buildEmployeeReport(UUID companyId, UUID employeeId, LocalDate startDate, LocalDate endDate) {
         log.info("Generating detailed employee report for Employee: {} from {} to {}", employeeId, startDate, endDate);
         Employee employee = employeeRepository.findByCompanyIdAndId(companyId, employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
+        // Fetch Data
+        DayBoundaries days = timeZoneService.daysFor(companyId);
+        CompiledCalendar calendar = compiledCalendarService.calendarFor(companyId).prepare(startDate, endDate);
+        List<CalculatedHours> hoursList = calculatedHoursRepository.findByEmployeeIdAndWorkDateBetweenOrderByWorkDateAsc(employeeId, startDate, endDate);
+        Map<LocalDate, CalculatedHours> hoursMap = hoursList.stream().collect(Collectors.toMap(CalculatedHours::getWorkDate, h -> h));
+
+        List<TimeOffRequest> approvedLeaves = timeOffRequestRepository.findByCompanyIdOrderByCreatedAtDesc(companyId)
+                .stream()
+                .filter(l -> l.getEmployee().getId().equals(employeeId)
+                    && l.getStatus() == TimeOffStatus.APPROVED
+                    && !l.getStartDate().isAfter(endDate)
+                    && !l.getEndDate().isBefore(startDate))
+                .collect(Collectors.toList());
+
+        // Also fetch Logs to calculate on-the-fly if needed
+        List<AttendanceLog> allLogs = attendanceLogRepository
+            .findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc(
+                employeeId, 
+                days.startOf(startDate),
+                days.endOf(endDate));
+        
+        Map<LocalDate, List<AttendanceLog>> logsMap = allLogs.stream()
+            .collect(Collectors.groupingBy(l -> days.dateOf(l.getEventTimestamp())));
+
+        return new ByteArrayResource(writeEmployeeWorkbook(employee, startDate, endDate, hoursMap, approvedLeaves, logsMap,
+                calendar));
+    }
+
+    private record EmployeeWorkbook(Employee employee, byte[] content) {
+    }
+
+    /**
+     * Builds one workbook per employee on the compute pool and writes each to
+     * the ZIP as soon as it is done. At most two workbooks per worker are in
+     * flight, so memory stays bounded however many employees there are.
+     */
+    private void writeEmployeeReportBundle(TenantReportData data, LocalDate startDate, LocalDate endDate,
+            OutputStream out) throws IOException {
+        List<Employee> employees = data.employees();
+        int window = computePool.getParallelism() * 2;
+        CompletionService<EmployeeWorkbook> completion = new ExecutorCompletionService<>(computePool);
+        List<Future<EmployeeWorkbook>> submitted = new ArrayList<>(employees.size());
+        Set<String> entryNames = new HashSet<>();
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            int next = 0;
+            int pending = 0;
+            while (next < employees.size() || pending > 0) {
+                while (next < employees.size() && pending < window) {
+                    Employee employee = employees.get(next++);
+                    UUID id = employee.getId();
+                    submitted.add(completion.submit(() -> new EmployeeWorkbook(employee,
+                            writeEmployeeWorkbook(employee, startDate, endDate, data.hoursOf(id),
+                                    data.approvedLeavesOf(id), data.logsOf(id), data.calendar()))));
+                    pending++;
+                }
+
+                EmployeeWorkbook done = completion.take().get();
+                pending--;
+                writeStoredEntry(zip, bundleEntryName(done.employee(), startDate, endDate, entryNames), done.content());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Employee report bundle interrupted", e);
+        } catch (ExecutionException e) {
+            log.error("Error generating employee report bundle", e.getCause());
+            throw new RuntimeException("Failed to generate report", e.getCause());
+        } finally {
+            // Client gone or a workbook failed: don't finish the rest for nobody
+            submitted.forEach(f -> f.cancel(false));
+        }
+
+        zip.finish();
+        zip.flush();
+    }
+
+    // Workbooks are already ZIP-compressed; storing them avoids deflating twice
+    private static void writeStoredEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static String bundleEntryName(Employee employee, LocalDate startDate, LocalDate endDate, Set<String> used) {
+        String code = employee.getEmployeeCode() != null ? employee.getEmployeeCode() : "";
+        String base = String.format("employee-attendance-report-%s-%s-to-%s",
+                code.replaceAll("[^A-Za-z0-9._-]", "_"), startDate, endDate);
+        String name = base + ".xlsx";
+        if (!used.add(name)) {
+            name = base + "-" + employee.getId() + ".xlsx";
+            used.add(name);
+        }
+        return name;
+    }
+
+    private byte[] writeEmployeeWorkbook(Employee employee, LocalDate startDate, LocalDate endDate,
+            Map<LocalDate, CalculatedHours> hoursMap, List<TimeOffRequest> approvedLeaves,
+            Map<LocalDate, List<AttendanceLog>> logsMap, CompiledCalendar calendar) {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Attendance Report");
 
@@ -295,28 +589,6 @@ public class ReportServiceImpl implements ReportService {
                 c.setCellStyle(headerStyle); 
             }
 
-            // Fetch Data
-            List<CalculatedHours> hoursList = calculatedHoursRepository.findByEmployeeIdAndWorkDateBetweenOrderByWorkDateAsc(employeeId, startDate, endDate);
-            Map<LocalDate, CalculatedHours> hoursMap = hoursList.stream().collect(Collectors.toMap(CalculatedHours::getWorkDate, h -> h));
-
-                List<TimeOffRequest> approvedLeaves = timeOffRequestRepository.findByCompanyIdOrderByCreatedAtDesc(companyId)
-                    .stream()
-                    .filter(l -> l.getEmployee().getId().equals(employeeId)
-                        && l.getStatus() == TimeOffStatus.APPROVED
-                        && !l.getStartDate().isAfter(endDate)
-                        && !l.getEndDate().isBefore(startDate))
-                    .collect(Collectors.toList());
-            
-            // Also fetch Logs to calculate on-the-fly if needed
-            List<AttendanceLog> allLogs = attendanceLogRepository
-                .findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc(
-                    employeeId, 
-                    startDate.atStartOfDay(ZoneId.systemDefault()).toInstant(),
-                    endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-            
-            Map<LocalDate, List<AttendanceLog>> logsMap = allLogs.stream()
-                .collect(Collectors.groupingBy(l -> LocalDateTime.ofInstant(l.getEventTimestamp(), ZoneId.systemDefault()).toLocalDate()));
-
             // Totals
             Duration sumTotal = Duration.ZERO;
             Duration sumWeekday = Duration.ZERO;
@@ -328,7 +600,7 @@ public class ReportServiceImpl implements ReportService {
             for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
                 CalculatedHours h = hoursMap.get(date);
                 if (h == null) {
-                    h = calculateFromLogs(logsMap.get(date), date); // Attempt on-the-fly calculation
+                    h = calculateFromLogs(logsMap.get(date), date, calendar); // Attempt on-the-fly calculation
                 }
 
                 String status = "ABSENT";
@@ -355,9 +627,9 @@ public class ReportServiceImpl implements ReportService {
                         l -> !currentDate.isBefore(l.getStartDate()) && !currentDate.isAfter(l.getEndDate()));
                 if (onLeave) status = "LEAVE";
 
-                java.time.DayOfWeek dayOfWeek = date.getDayOfWeek();
-                if ("ABSENT".equals(status) && (dayOfWeek == java.time.DayOfWeek.SATURDAY || dayOfWeek == java.time.DayOfWeek.SUNDAY)) {
-                    status = "WEEKEND";
+                if ("ABSENT".equals(status)) {
+                    if (calendar.isHoliday(date)) status = "HOLIDAY";
+                    else if (calendar.isWeekend(date)) status = "WEEKEND";
                 }
 
                 // Accumulate
@@ -402,7 +674,7 @@ public class ReportServiceImpl implements ReportService {
 
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
-            return new ByteArrayResource(outputStream.toByteArray());
+            return outputStream.toByteArray();
 
         } catch (IOException e) {
              throw new RuntimeException("Failed to generate report", e);
@@ -443,7 +715,7 @@ public class ReportServiceImpl implements ReportService {
         return String.format("%dh %dm", hours, minutes);
     }
 
-    private CalculatedHours calculateFromLogs(List<AttendanceLog> logs, LocalDate date) {
+    private CalculatedHours calculateFromLogs(List<AttendanceLog> logs, LocalDate date, CompiledCalendar calendar) {
         if (logs == null || logs.isEmpty())
             return null;
 
@@ -467,14 +739,17 @@ public class ReportServiceImpl implements ReportService {
         if (total.isZero() && firstIn == null)
             return null;
 
-        // Smart categorization based on day of week
+        // Categorized like the hours calculation: holiday, then weekend (by day of week), then weekday
         Duration wd = Duration.ZERO;
         Duration sa = Duration.ZERO;
         Duration su = Duration.ZERO;
-        
-        java.time.DayOfWeek day = date.getDayOfWeek();
-        if (day == java.time.DayOfWeek.SATURDAY) sa = total;
-        else if (day == java.time.DayOfWeek.SUNDAY) su = total;
+        Duration ph = Duration.ZERO;
+
+        if (calendar.isHoliday(date)) ph = total;
+        else if (calendar.isWeekend(date)) {
+            if (date.getDayOfWeek() == java.time.DayOfWeek.SUNDAY) su = total;
+            else sa = total;
+        }
         else wd = total;
 
         return CalculatedHours.builder()
@@ -483,18 +758,18 @@ public class ReportServiceImpl implements ReportService {
                 .weekdayHours(wd)
                 .saturdayHours(sa) 
                 .sundayHours(su)
-                .publicHolidayHours(Duration.ZERO)
+                .publicHolidayHours(ph)
                 .leaveHours(Duration.ZERO)
                 .build();
     }
-    @Override
-    public Resource generateCostReport(UUID companyId, LocalDate startDate, LocalDate endDate) {
+    private Resource buildCostReport(UUID companyId, LocalDate startDate, LocalDate endDate) {
         log.info("Generating cost report for Company: {} from {} to {}", companyId, startDate, endDate);
 
-        // Fetch Company Name
-        String companyName = companyRepository.findById(companyId)
-                .map(Company::getName)
-                .orElse("Unknown Company");
+        // Fetch Company Name and the pricing of its plan
+        Company company = companyRepository.findById(companyId).orElse(null);
+        String companyName = company != null ? company.getName() : "Unknown Company";
+        BillingProperties.PlanPricing pricing = billingProperties.pricingFor(
+                company != null ? company.getSubscriptionPlan() : null);
 
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Cost Summary");
@@ -517,28 +792,15 @@ public class ReportServiceImpl implements ReportService {
 
             // Table Header (Row 2)
             Row headerRow = sheet.createRow(2);
-            String[] headers = {"Date", "Day", "Headcount", "Base Fee", "Usage Fee", "Daily Total (AUD)"};
+            String[] headers = {"Date", "Day", "Headcount", "Base Fee", "Usage Fee", "Daily Total (" + billingProperties.getCurrency() + ")"};
             for(int i=0; i<headers.length; i++) {
                 Cell c = headerRow.createCell(i);
                 c.setCellValue(headers[i]);
                 c.setCellStyle(headerStyle);
             }
 
-            // Fetch All Logs for Period
-            List<AttendanceLog> periodLogs = attendanceLogRepository.findByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc(
-                    companyId,
-                    startDate.atStartOfDay(ZoneId.systemDefault()).toInstant(),
-                    endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant()
-            );
-
-            // Group logs by Date
-            Map<LocalDate, Set<UUID>> dailyActiveUsers = new HashMap<>();
-            for (AttendanceLog log : periodLogs) {
-                if (log.getEventType() == AttendanceEventType.CLOCK_IN) {
-                    LocalDate date = LocalDateTime.ofInstant(log.getEventTimestamp(), ZoneId.systemDefault()).toLocalDate();
-                    dailyActiveUsers.computeIfAbsent(date, k -> new HashSet<>()).add(log.getEmployee().getId());
-                }
-            }
+            // Distinct clock-in headcount per day, from the daily_usage rollup
+            Map<LocalDate, Integer> dailyHeadcount = usageRollupService.getDailyHeadcount(companyId, startDate, endDate);
 
             int rowIdx = 3;
             long grandHeadcount = 0;
@@ -547,15 +809,11 @@ public class ReportServiceImpl implements ReportService {
             double grandTotal = 0.0;
 
             for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-                Set<UUID> users = dailyActiveUsers.getOrDefault(date, Collections.emptySet());
-                int count = users.size();
-
-                // Pricing Logic
-                double baseFee = 1.00; // Always apply base fee
-                double usageFee = 0.0;
-                if (count > 3) {
-                    usageFee = (count - 3) * 0.50;
-                }
+                int count = dailyHeadcount.getOrDefault(date, 0);
+
+                // Pricing Logic (same plan pricing as the platform billing run)
+                double baseFee = pricing.getDailyBaseFee().doubleValue(); // Always apply base fee
+                double usageFee = pricing.usageFee(count).doubleValue();
                 double dailyTotal = baseFee + usageFee;
 
                 // Update Grands
@@ -0,0 +1,42 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.dto.KioskRoster;
+import com.chronosecure.backend.repository.RosterJdbcRepository;
+import com.chronosecure.backend.service.RosterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Roster Implementation
+ * The version is read before the employees, so a write that lands between
+ * the two is at worst sent again in the next delta, never lost.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RosterServiceImpl implements RosterService {
+
+    private final RosterJdbcRepository rosterJdbcRepository;
+
+    @Override
+    public long currentVersion(UUID companyId) {
+        return rosterJdbcRepository.findVersions(companyId).version();
+    }
+
+    @Override
+    public KioskRoster getRoster(UUID companyId, long version, Long sinceVersion) {
+        if (sinceVersion != null && sinceVersion > 0 && sinceVersion <= version
+                && sinceVersion >= rosterJdbcRepository.findVersions(companyId).fullSyncVersion()) {
+            List<KioskRoster.Entry> changed = sinceVersion == version
+                    ? List.of()
+                    : rosterJdbcRepository.findChangedSince(companyId, sinceVersion);
+            log.debug("Roster delta for company {}: {} -> {}, {} employees", companyId, sinceVersion, version, changed.size());
+            return new KioskRoster(version, false, changed);
+        }
+        return new KioskRoster(version, true, rosterJdbcRepository.findActive(companyId));
+    }
+}
@@ -0,0 +1,242 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.TenantPurgeJob;
+import com.chronosecure.backend.model.enums.TenantPurgeStatus;
+import com.chronosecure.backend.repository.BulkDeleteJdbcRepository;
+import com.chronosecure.backend.repository.CompanyRepository;
+import com.chronosecure.backend.repository.TenantPurgeJobRepository;
+import com.chronosecure.backend.service.LastEventService;
+import com.chronosecure.backend.service.TenantPurgeService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tenant Purge Implementation
+ * Deletes a company table by table in key-ordered chunks, committing after
+ * every chunk together with the job's progress. A crash loses at most the
+ * chunk in flight; on restart the job resumes at its recorded stage, and a
+ * failed job is retried on the next start or when the deletion is requested again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantPurgeServiceImpl implements TenantPurgeService {
+
+    // FAILED jobs are retried too: a purge is never left half done
+    private static final List<TenantPurgeStatus> UNFINISHED = List.of(TenantPurgeStatus.PENDING, TenantPurgeStatus.RUNNING,
+            TenantPurgeStatus.FAILED);
+
+    /**
+     * Purge order respects foreign keys: dependants first, then employees,
+     * then users. Every predicate binds the company id to each '?'.
+     * Audit entries go by company only: entries this tenant's users wrote under
+     * another company belong to that company's trail, and deleting the users
+     * sets their user_id to NULL (ON DELETE SET NULL).
+     */
+    private static final List<PurgeStage> STAGES = List.of(
+            new PurgeStage("attendance_logs", "attendance_logs", "company_id = ?"),
+            new PurgeStage("calculated_hours", "calculated_hours", "company_id = ?"),
+            new PurgeStage("time_off_requests", "time_off_requests", "company_id = ?"),
+            new PurgeStage("company_calendars", "company_calendars", "company_id = ?"),
+            new PurgeStage("public_holidays", "public_holidays", "company_id = ?"),
+            new PurgeStage("locations", "locations", "company_id = ?"),
+            new PurgeStage("audit_logs", "audit_logs", "company_id = ?"),
+            new PurgeStage("daily_usage_members", "daily_usage_members", false, "company_id = ?"),
+            new PurgeStage("daily_usage", "daily_usage", false, "company_id = ?"),
+            new PurgeStage("report_jobs", "report_jobs", "company_id = ?"),
+            new PurgeStage("report_data_versions", "report_data_versions", false, "company_id = ?"),
+            new PurgeStage("roster_versions", "roster_versions", false, "company_id = ?"),
+            new PurgeStage("invoices", "invoices", "company_id = ?"),
+            new PurgeStage("consent_records", "consent_records",
+                    "employee_id IN (SELECT id FROM employees WHERE company_id = ?)"),
+            new PurgeStage("employees", "employees", "company_id = ?"),
+            new PurgeStage("password_reset_tokens", "password_reset_tokens",
+                    "user_id IN (SELECT id FROM users WHERE company_id = ?)"),
+            new PurgeStage("users", "users", "company_id = ?"));
+
+    private final TenantPurgeJobRepository tenantPurgeJobRepository;
+    private final CompanyRepository companyRepository;
+    private final BulkDeleteJdbcRepository bulkDeleteJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LastEventService lastEventService;
+    private final BackgroundExecutors backgroundExecutors;
+
+    @Value("${tenant.purge.chunk-size:5000}")
+    private int chunkSize;
+
+    // One purge at a time keeps the delete load on the database predictable
+    private ExecutorService purgeExecutor;
+    private final Set<UUID> queuedJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param keyed the table has an id column, deleted in id order; otherwise
+     *              {@code where} must lead its composite key
+     */
+    private record PurgeStage(String name, String table, boolean keyed, String where) {
+        PurgeStage(String name, String table, String where) {
+            this(name, table, true, where);
+        }
+    }
+
+    @Override
+    public TenantPurgeJob startPurge(UUID companyId) {
+        TenantPurgeJob job = transactionTemplate.execute(status -> {
+            TenantPurgeJob existing = tenantPurgeJobRepository.findFirstByCompanyIdAndStatusIn(companyId,
+                    List.of(TenantPurgeStatus.PENDING, TenantPurgeStatus.RUNNING, TenantPurgeStatus.FAILED))
+                    .orElse(null);
+            if (existing != null) {
+                if (existing.getStatus() == TenantPurgeStatus.FAILED) {
+                    existing.setStatus(TenantPurgeStatus.PENDING);
+                    return tenantPurgeJobRepository.save(existing);
+                }
+                return existing;
+            }
+
+            Company company = companyRepository.findById(companyId)
+                    .orElseThrow(() -> new RuntimeException("Company not found"));
+
+            // Lock the tenant out straight away; its data disappears in the background
+            company.setActive(false);
+            companyRepository.save(company);
+
+            return tenantPurgeJobRepository.save(TenantPurgeJob.builder()
+                    .companyId(companyId)
+                    .companyName(company.getName())
+                    .status(TenantPurgeStatus.PENDING)
+                    .stage(STAGES.get(0).name())
+                    .build());
+        });
+
+        enqueue(job.getId());
+        log.info("Queued purge job {} for company {}", job.getId(), companyId);
+        return job;
+    }
+
+    @Override
+    public TenantPurgeJob getPurgeJob(UUID jobId) {
+        return tenantPurgeJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Purge job not found"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedPurges() {
+        List<TenantPurgeJob> interrupted = tenantPurgeJobRepository.findByStatusIn(UNFINISHED);
+        for (TenantPurgeJob job : interrupted) {
+            log.info("Resuming purge job {} for company {} at stage {}", job.getId(), job.getCompanyId(), job.getStage());
+            enqueue(job.getId());
+        }
+    }
+
+    @PostConstruct
+    public void startPurgeExecutor() {
+        purgeExecutor = backgroundExecutors.singleThread("tenant-purge");
+    }
+
+    @PreDestroy
+    public void shutdownPurges() {
+        // Interrupted jobs stay RUNNING in the database and are resumed on the next start
+        purgeExecutor.shutdownNow();
+    }
+
+    private void enqueue(UUID jobId) {
+        if (queuedJobs.add(jobId)) {
+            purgeExecutor.submit(() -> {
+                try {
+                    runPurge(jobId);
+                } finally {
+                    queuedJobs.remove(jobId);
+                }
+            });
+        }
+    }
+
+    private void runPurge(UUID jobId) {
+        TenantPurgeJob job = tenantPurgeJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == TenantPurgeStatus.COMPLETED) {
+            return;
+        }
+
+        job.setStatus(TenantPurgeStatus.RUNNING);
+        job.setLastError(null);
+        tenantPurgeJobRepository.save(job);
+
+        UUID companyId = job.getCompanyId();
+        try {
+            for (int i = indexOfStage(job.getStage()); i < STAGES.size(); i++) {
+                PurgeStage stage = STAGES.get(i);
+                Object[] args = Collections.nCopies(countParameters(stage.where()), companyId).toArray();
+
+                // Only an optimisation: after a restart the stage starts over from the lowest id left
+                UUID lastId = null;
+                int deleted;
+                do {
+                    UUID afterId = lastId;
+                    BulkDeleteJdbcRepository.Chunk chunk = transactionTemplate.execute(status -> {
+                        BulkDeleteJdbcRepository.Chunk c = stage.keyed()
+                                ? bulkDeleteJdbcRepository.deleteChunk(stage.table(), stage.where(), afterId, chunkSize, args)
+                                : new BulkDeleteJdbcRepository.Chunk(bulkDeleteJdbcRepository.deleteUnorderedChunk(
+                                        stage.table(), stage.where(), chunkSize, args), null);
+                        tenantPurgeJobRepository.recordProgress(jobId, stage.name(), c.deleted());
+                        return c;
+                    });
+                    deleted = chunk.deleted();
+                    lastId = chunk.lastId();
+                    job.setStage(stage.name());
+                    job.setRowsDeleted(job.getRowsDeleted() + deleted);
+                } while (deleted == chunkSize && !Thread.currentThread().isInterrupted());
+
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Purge job {} interrupted at stage {}", jobId, stage.name());
+                    return;
+                }
+                log.debug("Purge job {} finished stage {}", jobId, stage.name());
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                companyRepository.findById(companyId).ifPresent(companyRepository::delete);
+                job.setStage(null);
+                job.setStatus(TenantPurgeStatus.COMPLETED);
+                job.setCompletedAt(Instant.now());
+                tenantPurgeJobRepository.save(job);
+                lastEventService.evictCompany(companyId);
+            });
+            log.info("Purge job {} completed: company {} removed, {} rows deleted", jobId, companyId, job.getRowsDeleted());
+        } catch (Exception e) {
+            log.error("Purge job {} failed at stage {}", jobId, job.getStage(), e);
+            job.setStatus(TenantPurgeStatus.FAILED);
+            job.setLastError(e.getMessage());
+            tenantPurgeJobRepository.save(job);
+        }
+    }
+
+    private static int indexOfStage(String stage) {
+        for (int i = 0; i < STAGES.size(); i++) {
+            if (STAGES.get(i).name().equals(stage)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static int countParameters(String where) {
+        return (int) where.chars().filter(c -> c == '?').count();
+    }
+}
@@ -0,0 +1,164 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.repository.TimeZoneJdbcRepository;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.CacheMetrics;
+import com.chronosecure.backend.util.DayBoundaries;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time Zone Implementation
+ * Zones are cached per company and per location; a change to either is
+ * evicted after commit, and other instances see it once their entry is
+ * older than the TTL. Only region ids are accepted, because the same ids
+ * are handed to PostgreSQL's AT TIME ZONE, which reads bare offsets with the
+ * opposite sign.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimeZoneServiceImpl implements TimeZoneService {
+
+    private final TimeZoneJdbcRepository timeZoneJdbcRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Blank = the JVM's zone, which is what all days were counted in before zones were configurable
+    @Value("${app.default-timezone:}")
+    private String defaultTimezone;
+
+    // How long a looked-up zone is used before it is read again (0 = on every lookup)
+    @Value("${app.timezone-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private ZoneId defaultZone;
+
+    private final Map<UUID, Entry> companyZones = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> locationZones = new ConcurrentHashMap<>();
+    private CacheMetrics cacheMetrics;
+
+    /**
+     * @param loadedAt {@link System#nanoTime()} when the zone was read from the database
+     */
+    private record Entry(ZoneId zone, long loadedAt) {
+    }
+
+    @PostConstruct
+    public void resolveDefaultZone() {
+        defaultZone = defaultTimezone == null || defaultTimezone.isBlank()
+                ? ZoneId.systemDefault()
+                : ZoneId.of(validate(defaultTimezone));
+        log.info("Default time zone for tenants without one: {}", defaultZone);
+        cacheMetrics = CacheMetrics.register(meterRegistry, "time-zone");
+    }
+
+    @Override
+    public ZoneId defaultZone() {
+        return defaultZone;
+    }
+
+    @Override
+    public ZoneId zoneFor(UUID companyId) {
+        if (companyId == null) {
+            return defaultZone;
+        }
+        long now = System.nanoTime();
+        Entry cached = companyZones.get(companyId);
+        if (cached != null && isFresh(cached, now)) {
+            cacheMetrics.hit();
+            return cached.zone();
+        }
+        cacheMetrics.miss();
+        ZoneId zone = parse(timeZoneJdbcRepository.findCompanyTimezone(companyId), defaultZone, companyId);
+        companyZones.put(companyId, new Entry(zone, now));
+        return zone;
+    }
+
+    @Override
+    public ZoneId zoneForLocation(UUID locationId) {
+        long now = System.nanoTime();
+        Entry cached = locationZones.get(locationId);
+        if (cached != null && isFresh(cached, now)) {
+            return cached.zone();
+        }
+        return timeZoneJdbcRepository.findLocationTimezone(locationId)
+                .map(location -> {
+                    ZoneId zone = parse(location.timezone(), zoneFor(location.companyId()), locationId);
+                    locationZones.put(locationId, new Entry(zone, now));
+                    return zone;
+                })
+                .orElse(defaultZone);
+    }
+
+    @Override
+    public DayBoundaries daysFor(UUID companyId) {
+        return DayBoundaries.of(zoneFor(companyId));
+    }
+
+    @Override
+    public String validate(String timezone) {
+        if (timezone == null || timezone.isBlank()) {
+            return null;
+        }
+        String id = timezone.trim();
+        if (!ZoneId.getAvailableZoneIds().contains(id)) {
+            throw new IllegalArgumentException("Unknown time zone: " + timezone + " (use a region id such as Australia/Sydney)");
+        }
+        return id;
+    }
+
+    @Override
+    public void evictCompany(UUID companyId) {
+        afterCommit(() -> {
+            companyZones.remove(companyId);
+            // Locations without a zone of their own inherited the old one
+            locationZones.clear();
+        });
+    }
+
+    @Override
+    public void evictLocation(UUID locationId) {
+        afterCommit(() -> locationZones.remove(locationId));
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return now - entry.loadedAt() < TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static ZoneId parse(String timezone, ZoneId fallback, UUID owner) {
+        if (timezone == null || timezone.isBlank()) {
+            return fallback;
+        }
+        try {
+            return ZoneId.of(timezone.trim());
+        } catch (RuntimeException e) {
+            log.warn("Ignoring invalid time zone '{}' of {}; using {}", timezone, owner, fallback);
+            return fallback;
+        }
+    }
+}
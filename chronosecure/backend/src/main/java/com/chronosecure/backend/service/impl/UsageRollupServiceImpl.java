@@ -0,0 +1,144 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.model.AttendanceLog;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import com.chronosecure.backend.repository.DailyUsageJdbcRepository;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.service.UsageRollupService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Usage Rollup Implementation
+ * Ingestion increments daily_usage as clock-ins arrive; a nightly job
+ * rebuilds the recent days from attendance_logs to absorb late offline
+ * syncs and any increment lost outside a transaction. Headcounts only go
+ * up, so erased employees stay counted on the days they were billed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UsageRollupServiceImpl implements UsageRollupService {
+
+    private final DailyUsageJdbcRepository dailyUsageJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TimeZoneService timeZoneService;
+    private final ReportCacheService reportCacheService;
+    private final BackgroundExecutors backgroundExecutors;
+
+    @Value("${billing.usage.reconcile-days:7}")
+    private int reconcileDays;
+
+    private ExecutorService backfillExecutor;
+
+    @Override
+    public void recordClockIns(Collection<AttendanceLog> logs) {
+        Set<DailyUsageJdbcRepository.UsageKey> keys = new LinkedHashSet<>();
+        for (AttendanceLog log : logs) {
+            if (log.getEventType() == AttendanceEventType.CLOCK_IN) {
+                LocalDate day = timeZoneService.daysFor(log.getCompanyId()).dateOf(log.getEventTimestamp());
+                keys.add(new DailyUsageJdbcRepository.UsageKey(log.getCompanyId(), day, log.getEmployee().getId()));
+            }
+        }
+        if (!keys.isEmpty()) {
+            dailyUsageJdbcRepository.increment(List.copyOf(keys));
+        }
+    }
+
+    @Override
+    public Map<LocalDate, Integer> getDailyHeadcount(UUID companyId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Integer> stored = dailyUsageJdbcRepository.findHeadcounts(companyId, startDate, endDate);
+        Map<LocalDate, Integer> headcounts = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            headcounts.put(date, stored.getOrDefault(date, 0));
+        }
+        return headcounts;
+    }
+
+    @Override
+    public void reconcile(LocalDate from, LocalDate to) {
+        String defaultZone = timeZoneService.defaultZone().getId();
+        Integer days = transactionTemplate.execute(status -> {
+            Map<UUID, List<LocalDate>> written = dailyUsageJdbcRepository.rebuild(from, to, defaultZone);
+            // Cost reports read these headcounts; cached ones of the changed months are rebuilt
+            written.forEach(reportCacheService::markChanged);
+            return written.values().stream().mapToInt(List::size).sum();
+        });
+        log.debug("Reconciled daily usage {} to {}: {} company-days", from, to, days);
+    }
+
+    @Scheduled(cron = "${billing.usage.reconcile-cron:0 15 2 * * *}")
+    public void reconcileRecentDays() {
+        LocalDate today = LocalDate.now();
+        try {
+            reconcile(today.minusDays(reconcileDays), today);
+        } catch (Exception e) {
+            log.error("Nightly daily usage reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Build the rollup for days that predate it, newest month first and one
+     * month per transaction, without holding up startup. The oldest day
+     * already rolled up marks where an interrupted backfill resumes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillHistory() {
+        backfillExecutor.submit(() -> {
+            try {
+                LocalDate firstDay = dailyUsageJdbcRepository.findFirstClockInDate(timeZoneService.defaultZone().getId());
+                if (firstDay == null) {
+                    return;
+                }
+                LocalDate firstUsage = dailyUsageJdbcRepository.findFirstUsageDate();
+                if (firstUsage != null && !firstUsage.isAfter(firstDay)) {
+                    return;
+                }
+
+                // A tenant further west may have clocked in later but on the previous local day
+                LocalDate oldest = firstDay.minusDays(1);
+                LocalDate to = firstUsage != null ? firstUsage : LocalDate.now();
+                log.info("Backfilling daily usage from {} back to {}", to, oldest);
+                while (!to.isBefore(oldest) && !Thread.currentThread().isInterrupted()) {
+                    LocalDate from = to.withDayOfMonth(1);
+                    reconcile(from.isBefore(oldest) ? oldest : from, to);
+                    to = from.minusDays(1);
+                }
+                log.info("Daily usage backfill finished");
+            } catch (Exception e) {
+                log.error("Daily usage backfill failed", e);
+            }
+        });
+    }
+
+    @PostConstruct
+    public void startBackfill() {
+        backfillExecutor = backgroundExecutors.singleThread("usage-backfill");
+    }
+
+    @PreDestroy
+    public void shutdownBackfill() {
+        // An interrupted backfill resumes from the oldest rolled-up day on the next start
+        backfillExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,48 @@
+package com.chronosecure.backend.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lookup counters of one in-process cache, as
+ * {@code chronosecure.cache.requests{cache=<name>, result=hit|miss|shared}}.
+ * A shared lookup waited for a concurrent miss of the same entry to load it.
+ * The hit rate is hits over the sum of all three.
+ */
+public final class CacheMetrics {
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter shared;
+
+    private CacheMetrics(Counter hits, Counter misses, Counter shared) {
+        this.hits = hits;
+        this.misses = misses;
+        this.shared = shared;
+    }
+
+    public static CacheMetrics register(MeterRegistry registry, String cache) {
+        return new CacheMetrics(counter(registry, cache, "hit"), counter(registry, cache, "miss"),
+                counter(registry, cache, "shared"));
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void shared() {
+        shared.increment();
+    }
+
+    private static Counter counter(MeterRegistry registry, String cache, String result) {
+        return Counter.builder("chronosecure.cache.requests")
+                .description("In-process cache lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+}
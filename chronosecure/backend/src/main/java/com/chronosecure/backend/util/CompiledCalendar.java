@@ -0,0 +1,178 @@
+package com.chronosecure.backend.util;
+
+import com.chronosecure.backend.model.CompanyCalendar;
+import com.chronosecure.backend.model.enums.CalendarDayType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * A company's working calendar compiled into bitsets, one year at a time.
+ * Classifying a day is a bit read (and an array read for its pay multiplier)
+ * instead of a calendar lookup, a public holiday lookup and the weekend rule.
+ * <p>
+ * Precedence matches the hours calculation: a {@link CompanyCalendar}
+ * override decides the day on its own; without one, public holidays and
+ * Saturday/Sunday apply (both can be set, callers give holidays priority).
+ * Years are compiled on first use and never change; a calendar write
+ * replaces the whole instance, so a holder always sees one consistent version.
+ */
+public final class CompiledCalendar {
+
+    private final IntFunction<Year> compiler;
+    private final Map<Integer, Year> years = new ConcurrentHashMap<>();
+
+    /**
+     * @param compiler builds a year, normally with {@link Year#compile}
+     */
+    public CompiledCalendar(IntFunction<Year> compiler) {
+        this.compiler = compiler;
+    }
+
+    /**
+     * Compile every year of the range now, e.g. before the calendar is read
+     * from worker threads that should not query the database.
+     */
+    public CompiledCalendar prepare(LocalDate startDate, LocalDate endDate) {
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            year(LocalDate.of(year, 1, 1));
+        }
+        return this;
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return year(date).holidays.get(date.getDayOfYear() - 1);
+    }
+
+    public boolean isWeekend(LocalDate date) {
+        return year(date).weekends.get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * HOLIDAY before WEEKEND, otherwise WORKING_DAY.
+     */
+    public CalendarDayType dayType(LocalDate date) {
+        Year year = year(date);
+        int index = date.getDayOfYear() - 1;
+        if (year.holidays.get(index)) {
+            return CalendarDayType.HOLIDAY;
+        }
+        return year.weekends.get(index) ? CalendarDayType.WEEKEND : CalendarDayType.WORKING_DAY;
+    }
+
+    /**
+     * Multiplier of an override, 1.0 for every other day.
+     */
+    public double payMultiplier(LocalDate date) {
+        Year year = year(date);
+        return year.multipliers != null ? year.multipliers[date.getDayOfYear() - 1] : 1.0;
+    }
+
+    /**
+     * Description of the override or name of the public holiday, if any.
+     */
+    public String description(LocalDate date) {
+        Year year = year(date);
+        return year.descriptions != null ? year.descriptions[date.getDayOfYear() - 1] : null;
+    }
+
+    private Year year(LocalDate date) {
+        int key = date.getYear();
+        Year year = years.get(key);
+        if (year == null) {
+            // Compiled outside the map lock (it queries the database); a lost race only costs a duplicate build
+            year = compiler.apply(key);
+            Year raced = years.putIfAbsent(key, year);
+            if (raced != null) {
+                year = raced;
+            }
+        }
+        return year;
+    }
+
+    /**
+     * One compiled year. Bit / index {@code n} is day-of-year {@code n + 1}.
+     */
+    public static final class Year {
+
+        private final BitSet holidays;
+        private final BitSet weekends;
+        private final double[] multipliers; // null when every day pays 1.0
+        private final String[] descriptions; // null when no day has one
+
+        private Year(BitSet holidays, BitSet weekends, double[] multipliers, String[] descriptions) {
+            this.holidays = holidays;
+            this.weekends = weekends;
+            this.multipliers = multipliers;
+            this.descriptions = descriptions;
+        }
+
+        /**
+         * @param overrides      calendar entries of the year
+         * @param publicHolidays public holiday names of the year by date
+         */
+        public static Year compile(int year, Collection<CompanyCalendar> overrides,
+                Map<LocalDate, String> publicHolidays) {
+            LocalDate first = LocalDate.of(year, 1, 1);
+            int length = first.lengthOfYear();
+            BitSet holidays = new BitSet(length);
+            BitSet weekends = new BitSet(length);
+            double[] multipliers = null;
+            String[] descriptions = null;
+
+            // Default rules
+            int firstSaturday = (DayOfWeek.SATURDAY.getValue() - first.getDayOfWeek().getValue() + 7) % 7;
+            for (int i = firstSaturday; i < length; i += 7) {
+                weekends.set(i);
+                if (i + 1 < length) {
+                    weekends.set(i + 1);
+                }
+            }
+            if (firstSaturday == 6) {
+                weekends.set(0); // Jan 1st is a Sunday
+            }
+            for (Map.Entry<LocalDate, String> holiday : publicHolidays.entrySet()) {
+                if (holiday.getKey().getYear() != year) {
+                    continue;
+                }
+                int index = holiday.getKey().getDayOfYear() - 1;
+                holidays.set(index);
+                if (holiday.getValue() != null) {
+                    descriptions = descriptions != null ? descriptions : new String[length];
+                    descriptions[index] = holiday.getValue();
+                }
+            }
+
+            // Overrides replace the default rules for their day
+            for (CompanyCalendar entry : overrides) {
+                if (entry.getDate() == null || entry.getDate().getYear() != year) {
+                    continue;
+                }
+                int index = entry.getDate().getDayOfYear() - 1;
+                CalendarDayType type = entry.getType() != null ? entry.getType() : CalendarDayType.WORKING_DAY;
+                holidays.set(index, type == CalendarDayType.HOLIDAY);
+                weekends.set(index, type == CalendarDayType.WEEKEND);
+
+                Double multiplier = entry.getPayMultiplier();
+                if (multiplier != null && multiplier != 1.0) {
+                    if (multipliers == null) {
+                        multipliers = new double[length];
+                        Arrays.fill(multipliers, 1.0);
+                    }
+                    multipliers[index] = multiplier;
+                }
+                if (entry.getDescription() != null || descriptions != null) {
+                    descriptions = descriptions != null ? descriptions : new String[length];
+                    descriptions[index] = entry.getDescription();
+                }
+            }
+            return new Year(holidays, weekends, multipliers, descriptions);
+        }
+    }
+}
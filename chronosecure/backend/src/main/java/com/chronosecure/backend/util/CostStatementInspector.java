@@ -0,0 +1,17 @@
+package com.chronosecure.backend.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL Hibernate prepares (entity loads, lazy associations,
+ * flushes) into {@link RequestCost}, so N+1 loads show up separately from
+ * hand-written JDBC. The SQL is passed through unchanged.
+ */
+public class CostStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestCost.recordHibernateStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,86 @@
+package com.chronosecure.backend.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed start-of-day instants for one time zone.
+ * Days are computed a year at a time on first use and kept, so bucketing an
+ * event or turning a date range into an instant range is a couple of array
+ * reads instead of a zone-rules lookup. DST days (23 or 25 hours) and zones
+ * where midnight does not exist are handled by {@link LocalDate#atStartOfDay(ZoneId)}.
+ * Instances are shared per zone and thread-safe.
+ */
+public final class DayBoundaries {
+
+    private static final Map<ZoneId, DayBoundaries> BY_ZONE = new ConcurrentHashMap<>();
+
+    private final ZoneId zone;
+    // Year -> epoch second of the start of each day of that year
+    private final Map<Integer, long[]> years = new ConcurrentHashMap<>();
+
+    private DayBoundaries(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public static DayBoundaries of(ZoneId zone) {
+        return BY_ZONE.computeIfAbsent(zone, DayBoundaries::new);
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * First instant of {@code date} in this zone.
+     */
+    public Instant startOf(LocalDate date) {
+        return Instant.ofEpochSecond(startSecond(date));
+    }
+
+    /**
+     * First instant after {@code date} (exclusive end of the day).
+     */
+    public Instant endOf(LocalDate date) {
+        return Instant.ofEpochSecond(startSecond(date.plusDays(1)));
+    }
+
+    /**
+     * Local date of {@code instant} in this zone.
+     */
+    public LocalDate dateOf(Instant instant) {
+        long second = instant.getEpochSecond();
+        // Offsets never exceed 18 hours, so the local date is the UTC date or a neighbour
+        LocalDate utcDate = LocalDate.ofEpochDay(Math.floorDiv(second, 86_400L));
+        LocalDate next = utcDate.plusDays(1);
+        if (second >= startSecond(next)) {
+            return next;
+        }
+        return second >= startSecond(utcDate) ? utcDate : utcDate.minusDays(1);
+    }
+
+    private long startSecond(LocalDate date) {
+        long[] starts = years.computeIfAbsent(date.getYear(), this::computeYear);
+        return starts[date.getDayOfYear() - 1];
+    }
+
+    private long[] computeYear(int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        long[] starts = new long[first.lengthOfYear()];
+        if (zone instanceof ZoneOffset offset) {
+            long base = first.toEpochDay() * 86_400L - offset.getTotalSeconds();
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = base + i * 86_400L;
+            }
+            return starts;
+        }
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = first.plusDays(i).atStartOfDay(zone).toEpochSecond();
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,263 @@
+package com.chronosecure.backend.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for iCalendar (.ics, RFC 5545) feeds.
+ * Lines are unfolded and parsed one at a time and each VEVENT is handed to
+ * the handler as soon as it ends, so a feed of any length is read in
+ * constant memory. Only what a holiday calendar needs is interpreted:
+ * the days an event covers, its summary, status and whether it recurs.
+ */
+public final class ICalendarReader {
+
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private ICalendarReader() {
+    }
+
+    /**
+     * One event. {@code endDate} is exclusive, as in an all-day DTEND.
+     */
+    public record Event(String uid, LocalDate startDate, LocalDate endDate, String summary, String status,
+            boolean recurring) {
+
+        public boolean isCancelled() {
+            return "CANCELLED".equalsIgnoreCase(status);
+        }
+    }
+
+    /**
+     * Read every VEVENT of the feed.
+     *
+     * @param zone zone used to date UTC ("Z") timestamps; floating and TZID
+     *             timestamps keep the date they are written with
+     * @throws IllegalArgumentException if the content is not iCalendar or a date is malformed
+     */
+    public static void read(InputStream in, ZoneId zone, Consumer<Event> handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Parser parser = new Parser(zone, handler);
+
+        StringBuilder logical = null;
+        int lineNumber = 0;
+        int logicalStart = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (logical != null && !line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                // Folded continuation of the previous line
+                logical.append(line, 1, line.length());
+                continue;
+            }
+            if (logical != null) {
+                parser.line(logical.toString(), logicalStart);
+            }
+            logical = new StringBuilder(line);
+            logicalStart = lineNumber;
+        }
+        if (logical != null) {
+            parser.line(logical.toString(), logicalStart);
+        }
+
+        if (!parser.sawCalendar) {
+            throw new IllegalArgumentException("Not an iCalendar file (no BEGIN:VCALENDAR)");
+        }
+    }
+
+    private static final class Parser {
+
+        private final ZoneId zone;
+        private final Consumer<Event> handler;
+
+        private boolean sawCalendar;
+        private boolean inEvent;
+        private int nestedDepth; // Components inside the event (e.g. VALARM) whose properties are ignored
+
+        private String uid;
+        private String summary;
+        private String status;
+        private boolean recurring;
+        private LocalDate start;
+        private boolean startIsDate;
+        private LocalDateTime startDateTime;
+        private LocalDate end;
+        private LocalDateTime endDateTime;
+
+        private Parser(ZoneId zone, Consumer<Event> handler) {
+            this.zone = zone;
+            this.handler = handler;
+        }
+
+        private void line(String line, int lineNumber) {
+            if (line.isBlank()) {
+                return;
+            }
+            int colon = valueSeparator(line);
+            if (colon < 0) {
+                return; // Not a property line; tolerated like most calendar clients do
+            }
+            String head = line.substring(0, colon);
+            String value = line.substring(colon + 1);
+            int semicolon = head.indexOf(';');
+            String name = (semicolon < 0 ? head : head.substring(0, semicolon)).toUpperCase(Locale.ROOT);
+            String params = semicolon < 0 ? "" : head.substring(semicolon + 1).toUpperCase(Locale.ROOT);
+
+            if ("BEGIN".equals(name)) {
+                begin(value.trim().toUpperCase(Locale.ROOT));
+                return;
+            }
+            if ("END".equals(name)) {
+                end(value.trim().toUpperCase(Locale.ROOT));
+                return;
+            }
+            if (!inEvent || nestedDepth > 0) {
+                return;
+            }
+
+            switch (name) {
+                case "UID" -> uid = value.trim();
+                case "SUMMARY" -> summary = unescape(value).trim();
+                case "STATUS" -> status = value.trim();
+                case "RRULE", "RDATE" -> recurring = true;
+                case "DTSTART" -> {
+                    startIsDate = isDateValue(params, value);
+                    if (startIsDate) {
+                        start = parseDate(value, lineNumber);
+                    } else {
+                        startDateTime = parseDateTime(value, lineNumber);
+                        start = startDateTime.toLocalDate();
+                    }
+                }
+                case "DTEND" -> {
+                    if (isDateValue(params, value)) {
+                        end = parseDate(value, lineNumber);
+                    } else {
+                        endDateTime = parseDateTime(value, lineNumber);
+                        end = endDateTime.toLocalDate();
+                    }
+                }
+                default -> {
+                    // Other properties do not affect the calendar
+                }
+            }
+        }
+
+        private void begin(String component) {
+            if ("VCALENDAR".equals(component)) {
+                sawCalendar = true;
+            } else if (inEvent) {
+                nestedDepth++;
+            } else if ("VEVENT".equals(component)) {
+                inEvent = true;
+                nestedDepth = 0;
+                uid = null;
+                summary = null;
+                status = null;
+                recurring = false;
+                start = null;
+                startIsDate = false;
+                startDateTime = null;
+                end = null;
+                endDateTime = null;
+            }
+        }
+
+        private void end(String component) {
+            if (!inEvent) {
+                return;
+            }
+            if (nestedDepth > 0) {
+                nestedDepth--;
+                return;
+            }
+            if ("VEVENT".equals(component)) {
+                inEvent = false;
+                if (start != null) {
+                    handler.accept(new Event(uid, start, exclusiveEnd(), summary, status, recurring));
+                }
+            }
+        }
+
+        private LocalDate exclusiveEnd() {
+            if (end == null || !end.isAfter(start)) {
+                return start.plusDays(1);
+            }
+            // A timed event ending at midnight does not occupy the day it ends on
+            if (!startIsDate && endDateTime != null && !endDateTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+                return end.plusDays(1);
+            }
+            return end;
+        }
+
+        private LocalDateTime parseDateTime(String value, int lineNumber) {
+            String text = value.trim();
+            try {
+                if (text.endsWith("Z") || text.endsWith("z")) {
+                    LocalDateTime utc = LocalDateTime.parse(text.substring(0, text.length() - 1), BASIC_DATE_TIME);
+                    return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+                }
+                return LocalDateTime.parse(text, BASIC_DATE_TIME);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid iCalendar date-time on line " + lineNumber + ": " + text);
+            }
+        }
+    }
+
+    private static boolean isDateValue(String params, String value) {
+        return params.contains("VALUE=DATE") && !params.contains("VALUE=DATE-TIME") || value.trim().length() == 8;
+    }
+
+    private static LocalDate parseDate(String value, int lineNumber) {
+        String text = value.trim();
+        try {
+            return LocalDate.parse(text, BASIC_DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid iCalendar date on line " + lineNumber + ": " + text);
+        }
+    }
+
+    // The name/parameter part ends at the first colon outside a quoted parameter value
+    private static int valueSeparator(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                out.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
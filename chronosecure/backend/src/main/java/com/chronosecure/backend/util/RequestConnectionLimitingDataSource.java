@@ -0,0 +1,125 @@
+package com.chronosecure.backend.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * DataSource on which web requests hold at most a fixed number of connections
+ * between them, so the connections counted for background workers (see
+ * BackgroundExecutors) stay free for those workers. Threads outside a request,
+ * and further connections of a request that already holds one, are not
+ * limited; the latter would otherwise wait on themselves.
+ */
+public class RequestConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<int[]> HELD = ThreadLocal.withInitial(() -> new int[1]);
+
+    // Null until the permits are sized at startup
+    private final Supplier<Semaphore> permits;
+    private final long timeoutMillis;
+
+    public RequestConnectionLimitingDataSource(DataSource target, Supplier<Semaphore> permits, long timeoutMillis) {
+        super(target);
+        this.permits = permits;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Semaphore semaphore = permitFor();
+        if (semaphore == null) {
+            return super.getConnection();
+        }
+        try {
+            return limit(super.getConnection(), semaphore);
+        } catch (SQLException | RuntimeException e) {
+            release(semaphore);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Semaphore semaphore = permitFor();
+        if (semaphore == null) {
+            return super.getConnection(username, password);
+        }
+        try {
+            return limit(super.getConnection(username, password), semaphore);
+        } catch (SQLException | RuntimeException e) {
+            release(semaphore);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the semaphore a permit was taken from, or null when this connection is not limited
+     */
+    private Semaphore permitFor() throws SQLException {
+        Semaphore semaphore = permits.get();
+        if (semaphore == null || RequestContextHolder.getRequestAttributes() == null || HELD.get()[0] > 0) {
+            return null;
+        }
+        try {
+            // Same wait as the pool's connection-timeout, and the same kind of failure
+            if (!semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Request connections are all in use; waited "
+                        + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a request connection", e);
+        }
+        HELD.get()[0]++;
+        return semaphore;
+    }
+
+    private static void release(Semaphore semaphore) {
+        HELD.get()[0]--;
+        semaphore.release();
+    }
+
+    // Gives the permit back on the first close
+    private static Connection limit(Connection connection, Semaphore semaphore) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(RequestConnectionLimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            return invoke(connection, method, args);
+                        } finally {
+                            if (closed.compareAndSet(false, true)) {
+                                release(semaphore);
+                            }
+                        }
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.chronosecure.backend.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+
+/**
+ * What one unit of work (usually an HTTP request) cost its thread: JDBC
+ * statements executed and the time spent in them, statements generated by
+ * Hibernate, CPU time and bytes allocated.
+ * <p>
+ * Tracking is per thread. Work handed to an executor (report compute pool,
+ * background recalculation, streamed downloads) is not counted. CPU time and
+ * allocation are not available on virtual threads and are reported as -1.
+ */
+public final class RequestCost {
+
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS =
+            THREADS instanceof com.sun.management.ThreadMXBean allocations ? allocations : null;
+
+    private final RequestCost previous;
+    private final long startNanos;
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+
+    private int statements;
+    private int hibernateStatements;
+    private long dbNanos;
+
+    private RequestCost(RequestCost previous) {
+        this.previous = previous;
+        this.startNanos = System.nanoTime();
+        this.startCpuNanos = cpuNanos();
+        this.startAllocatedBytes = allocatedBytes();
+    }
+
+    /**
+     * Start tracking on this thread; pair with {@link #finish()} in a finally block.
+     * Nested tracking (e.g. a query budget inside a request) counts into the inner one only.
+     */
+    public static RequestCost start() {
+        RequestCost cost = new RequestCost(CURRENT.get());
+        CURRENT.set(cost);
+        return cost;
+    }
+
+    /**
+     * Called by the JDBC wrapper for every statement execution on this thread.
+     */
+    public static void recordStatement(long nanos) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.statements++;
+            cost.dbNanos += nanos;
+        }
+    }
+
+    /**
+     * Called by the Hibernate statement inspector for every SQL string Hibernate prepares.
+     */
+    public static void recordHibernateStatement() {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.hibernateStatements++;
+        }
+    }
+
+    /**
+     * Cost so far, tracking continues.
+     */
+    public Snapshot snapshot() {
+        long cpu = cpuNanos();
+        long allocated = allocatedBytes();
+        return new Snapshot(System.nanoTime() - startNanos, statements, hibernateStatements, dbNanos,
+                cpu >= 0 && startCpuNanos >= 0 ? cpu - startCpuNanos : -1,
+                allocated >= 0 && startAllocatedBytes >= 0 ? allocated - startAllocatedBytes : -1);
+    }
+
+    /**
+     * Stop tracking on this thread and return the final cost.
+     */
+    public Snapshot finish() {
+        Snapshot snapshot = snapshot();
+        if (CURRENT.get() == this) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        return snapshot;
+    }
+
+    private static long cpuNanos() {
+        if (Thread.currentThread().isVirtual() || !THREADS.isCurrentThreadCpuTimeSupported()) {
+            return -1;
+        }
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    private static long allocatedBytes() {
+        if (ALLOCATIONS == null || Thread.currentThread().isVirtual() || !ALLOCATIONS.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        return ALLOCATIONS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * @param statements          JDBC executions (a batch counts once)
+     * @param hibernateStatements SQL strings prepared by Hibernate, a subset of statements by origin
+     * @param cpuNanos            -1 when not measurable on this thread
+     * @param allocatedBytes      -1 when not measurable on this thread
+     */
+    public record Snapshot(long elapsedNanos, int statements, int hibernateStatements, long dbNanos, long cpuNanos,
+            long allocatedBytes) {
+
+        public double elapsedMillis() {
+            return elapsedNanos / 1e6;
+        }
+
+        /**
+         * Server-Timing header value, e.g.
+         * {@code db;dur=12.4;desc="7 statements", hibernate;desc="5 statements", cpu;dur=3.1, alloc;desc="2048576 bytes", total;dur=20.0}
+         */
+        public String serverTiming() {
+            StringBuilder header = new StringBuilder()
+                    .append("db;dur=").append(millis(dbNanos)).append(";desc=\"").append(statements).append(" statements\"")
+                    .append(", hibernate;desc=\"").append(hibernateStatements).append(" statements\"");
+            if (cpuNanos >= 0) {
+                header.append(", cpu;dur=").append(millis(cpuNanos));
+            }
+            if (allocatedBytes >= 0) {
+                header.append(", alloc;desc=\"").append(allocatedBytes).append(" bytes\"");
+            }
+            return header.append(", total;dur=").append(millis(elapsedNanos)).toString();
+        }
+
+        private static String millis(long nanos) {
+            return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.chronosecure.backend.util;
+
+import com.chronosecure.backend.model.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streaming writer for CSV and NDJSON exports.
+ * Callers emit one row at a time as a sequence of values in column order;
+ * nothing is buffered beyond the output buffer itself. CSV gets a header
+ * line, NDJSON uses the column names as field names.
+ */
+public abstract class TabularExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final List<String> columns;
+
+    private TabularExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public static TabularExportWriter open(ExportFormat format, OutputStream out, JsonFactory jsonFactory,
+            List<String> columns) throws IOException {
+        return format == ExportFormat.NDJSON
+                ? new NdjsonWriter(out, jsonFactory, columns)
+                : new CsvWriter(out, columns);
+    }
+
+    public abstract void startRow() throws IOException;
+
+    public abstract void value(String value) throws IOException;
+
+    public abstract void value(long value) throws IOException;
+
+    public abstract void value(boolean value) throws IOException;
+
+    public abstract void nullValue() throws IOException;
+
+    public abstract void endRow() throws IOException;
+
+    /**
+     * Flush everything written so far. The underlying stream is left open.
+     */
+    public abstract void finish() throws IOException;
+
+    private static final class CsvWriter extends TabularExportWriter {
+
+        private final Writer writer;
+        private int column;
+
+        CsvWriter(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            startRow();
+            for (String name : columns) {
+                value(name);
+            }
+            endRow();
+        }
+
+        @Override
+        public void startRow() {
+            column = 0;
+        }
+
+        @Override
+        public void value(String value) throws IOException {
+            if (value == null) {
+                nullValue();
+                return;
+            }
+            separator();
+            if (needsQuoting(value)) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+
+        @Override
+        public void value(long value) throws IOException {
+            separator();
+            writer.write(Long.toString(value));
+        }
+
+        @Override
+        public void value(boolean value) throws IOException {
+            separator();
+            writer.write(value ? "true" : "false");
+        }
+
+        @Override
+        public void nullValue() throws IOException {
+            separator();
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void separator() throws IOException {
+            if (column++ > 0) {
+                writer.write(',');
+            }
+        }
+
+        private static boolean needsQuoting(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class NdjsonWriter extends TabularExportWriter {
+
+        private final JsonGenerator json;
+        private int column;
+
+        NdjsonWriter(OutputStream out, JsonFactory jsonFactory, List<String> columns) throws IOException {
+            super(columns);
+            this.json = jsonFactory.createGenerator(out);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null); // Records are separated by newlines only
+        }
+
+        @Override
+        public void startRow() throws IOException {
+            column = 0;
+            json.writeStartObject();
+        }
+
+        @Override
+        public void value(String value) throws IOException {
+            if (value == null) {
+                nullValue();
+                return;
+            }
+            json.writeStringField(columns.get(column++), value);
+        }
+
+        @Override
+        public void value(long value) throws IOException {
+            json.writeNumberField(columns.get(column++), value);
+        }
+
+        @Override
+        public void value(boolean value) throws IOException {
+            json.writeBooleanField(columns.get(column++), value);
+        }
+
+        @Override
+        public void nullValue() throws IOException {
+            json.writeNullField(columns.get(column++));
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
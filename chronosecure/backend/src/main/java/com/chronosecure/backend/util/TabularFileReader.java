@@ -0,0 +1,166 @@
+package com.chronosecure.backend.util;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for CSV and XLSX uploads.
+ * Rows are pushed to the handler one at a time, so memory use does not
+ * grow with the file (XLSX is read through the POI SAX event model, not
+ * by loading the whole workbook).
+ */
+public final class TabularFileReader {
+
+    private TabularFileReader() {
+    }
+
+    public static boolean isSupported(String filename) {
+        String lower = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".csv") || lower.endsWith(".xlsx");
+    }
+
+    /**
+     * Read every row of the first sheet (XLSX) or the whole file (CSV).
+     * The format is chosen from the original file name.
+     */
+    public static void read(Path file, String filename, Consumer<List<String>> rowHandler) throws IOException {
+        if (filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            readXlsx(file, rowHandler);
+        } else {
+            readCsv(file, rowHandler);
+        }
+    }
+
+    private static void readCsv(Path file, Consumer<List<String>> rowHandler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> row = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            String line;
+            boolean firstLine = true;
+
+            while ((line = reader.readLine()) != null) {
+                if (firstLine && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1); // Strip UTF-8 BOM written by Excel
+                }
+                firstLine = false;
+
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (inQuotes) {
+                        if (c == '"') {
+                            if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                inQuotes = false;
+                            }
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        inQuotes = true;
+                    } else if (c == ',') {
+                        row.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+
+                if (inQuotes) {
+                    field.append('\n'); // Quoted field spans lines
+                    continue;
+                }
+
+                row.add(field.toString());
+                field.setLength(0);
+                if (!isBlank(row)) {
+                    rowHandler.accept(row);
+                }
+                row = new ArrayList<>();
+            }
+        }
+    }
+
+    private static void readXlsx(Path file, Consumer<List<String>> rowHandler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings,
+                        new RowCollector(rowHandler), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Unable to read spreadsheet", e);
+        }
+    }
+
+    private static boolean isBlank(List<String> row) {
+        return row.stream().allMatch(v -> v == null || v.isBlank());
+    }
+
+    /**
+     * Rebuilds dense rows from the sparse cell callbacks of the SAX handler.
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<List<String>> rowHandler;
+        private List<String> current;
+
+        private RowCollector(Consumer<List<String>> rowHandler) {
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            current = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!isBlank(current)) {
+                rowHandler.accept(current);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = new CellReference(cellReference).getCol();
+            while (current.size() < col) {
+                current.add("");
+            }
+            current.add(formattedValue);
+        }
+    }
+}
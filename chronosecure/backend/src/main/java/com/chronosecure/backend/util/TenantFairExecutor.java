@@ -0,0 +1,142 @@
+package com.chronosecure.backend.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of workers that serves tenants round-robin.
+ * Each tenant has its own FIFO queue and at most one task running at a time,
+ * so one tenant submitting many heavy tasks cannot hold every worker while
+ * others wait behind it.
+ */
+@Slf4j
+public final class TenantFairExecutor {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+
+    // Insertion order is the rotation order: a tenant moves to the back once served
+    private final LinkedHashMap<UUID, ArrayDeque<Runnable>> queues = new LinkedHashMap<>();
+    private final Set<UUID> running = new HashSet<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private boolean shutdown;
+
+    /**
+     * @param threadFactory creates the workers, e.g. virtual threads; the worker count still bounds concurrency
+     */
+    public TenantFairExecutor(int workerCount, ThreadFactory threadFactory) {
+        for (int i = 1; i <= Math.max(1, workerCount); i++) {
+            Thread worker = threadFactory.newThread(this::workLoop);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public void submit(UUID tenantId, Runnable task) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new IllegalStateException("Executor has been shut down");
+            }
+            queues.computeIfAbsent(tenantId, k -> new ArrayDeque<>()).addLast(task);
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tasks queued and not yet started, over all tenants.
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return queues.values().stream().mapToInt(ArrayDeque::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void shutdownNow() {
+        lock.lock();
+        try {
+            shutdown = true;
+            queues.clear();
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void workLoop() {
+        while (true) {
+            UUID tenantId;
+            Runnable task;
+            lock.lock();
+            try {
+                Map.Entry<UUID, Runnable> next;
+                while ((next = takeNext()) == null) {
+                    if (shutdown) {
+                        return;
+                    }
+                    workAvailable.await();
+                }
+                tenantId = next.getKey();
+                task = next.getValue();
+                running.add(tenantId);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // Errors too: a dead worker would shrink the pool for good
+                log.error("Task for tenant {} failed", tenantId, e);
+            } finally {
+                lock.lock();
+                try {
+                    running.remove(tenantId);
+                    workAvailable.signal(); // The tenant's next task may now run
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private Map.Entry<UUID, Runnable> takeNext() {
+        Iterator<Map.Entry<UUID, ArrayDeque<Runnable>>> it = queues.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, ArrayDeque<Runnable>> entry = it.next();
+            if (running.contains(entry.getKey())) {
+                continue;
+            }
+            UUID tenantId = entry.getKey();
+            ArrayDeque<Runnable> queue = entry.getValue();
+            Runnable task = queue.pollFirst();
+            it.remove();
+            if (!queue.isEmpty()) {
+                queues.put(tenantId, queue); // Back of the rotation
+            }
+            return Map.entry(tenantId, task);
+        }
+        return null;
+    }
+}
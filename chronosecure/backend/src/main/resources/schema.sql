@@ -10,6 +10,7 @@ CREATE TABLE companies (
     subdomain VARCHAR(100) UNIQUE NOT NULL, -- Used for tenant resolution (e.g., acme.chronosecure.com) [cite: 118]
     billing_address TEXT,
     stripe_customer_id VARCHAR(255), -- For subscription management [cite: 122]
+    timezone VARCHAR(64), -- IANA region id for day bucketing; NULL = platform default
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     is_active BOOLEAN DEFAULT TRUE
@@ -61,6 +62,7 @@ CREATE TABLE employees (
     is_active BOOLEAN DEFAULT TRUE, -- Soft delete for "Right to Erasure" handling [cite: 188]
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    roster_version BIGINT, -- roster_versions.version of the last write (kiosk delta sync)
     
     -- Ensure employee codes are unique per company
     CONSTRAINT uk_company_employee_code UNIQUE (company_id, employee_code)
@@ -68,6 +70,7 @@ CREATE TABLE employees (
 
 -- Index for faster tenant-scoped queries
 CREATE INDEX idx_employees_company ON employees(company_id);
+CREATE INDEX idx_employees_company_roster ON employees(company_id, roster_version);
 
 -- -----------------------------------------------------------------------------
 -- 4. ATTENDANCE LOGS (Raw Events) [cite: 137]
@@ -96,6 +99,9 @@ CREATE TABLE attendance_logs (
 -- Index for reporting queries (filtering by time ranges)
 CREATE INDEX idx_attendance_timestamp ON attendance_logs(event_timestamp);
 CREATE INDEX idx_attendance_employee ON attendance_logs(employee_id);
+CREATE INDEX idx_attendance_company_timestamp ON attendance_logs(company_id, event_timestamp);
+CREATE INDEX idx_attendance_employee_timestamp ON attendance_logs(employee_id, event_timestamp DESC); -- Latest event per employee
+CREATE INDEX idx_attendance_company_id ON attendance_logs(company_id, id); -- Key-ordered purge chunks
 
 -- -----------------------------------------------------------------------------
 -- 5. PUBLIC HOLIDAYS [cite: 149]
@@ -134,25 +140,39 @@ CREATE TABLE calculated_hours (
     CONSTRAINT uk_employee_work_date UNIQUE (employee_id, work_date)
 );
 
+CREATE INDEX idx_calculated_hours_company_id ON calculated_hours(company_id, id); -- Key-ordered purge chunks
+
 -- -----------------------------------------------------------------------------
 -- 7. AUDIT LOGS (APPI Compliance - Track data access) [cite: 53-54]
 -- -----------------------------------------------------------------------------
+-- Range-partitioned by month; the application creates upcoming partitions
+-- at startup. An existing unpartitioned table is converted on request
+-- (POST /api/v1/super-admin/audit-logs/partitioning).
 CREATE TABLE audit_logs (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
     user_id UUID REFERENCES users(id) ON DELETE SET NULL,
-    company_id UUID REFERENCES companies(id) ON DELETE CASCADE,
+    company_id UUID,
     action VARCHAR(100) NOT NULL, -- e.g., 'VIEW_EMPLOYEE_DATA', 'EXPORT_DATA', 'DELETE_DATA'
     resource_type VARCHAR(50) NOT NULL, -- e.g., 'EMPLOYEE', 'ATTENDANCE_LOG'
     resource_id UUID,
     ip_address VARCHAR(45), -- IPv6 compatible
     user_agent TEXT,
     details JSONB, -- Additional context
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
-);
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_audit_logs PRIMARY KEY (id, created_at) -- Partition key must be part of the PK
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE audit_logs_y2025m01 PARTITION OF audit_logs
+    FOR VALUES FROM ('2025-01-01 00:00:00+00') TO ('2025-02-01 00:00:00+00');
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
 
 CREATE INDEX idx_audit_logs_user ON audit_logs(user_id);
-CREATE INDEX idx_audit_logs_company ON audit_logs(company_id);
-CREATE INDEX idx_audit_logs_created ON audit_logs(created_at);
+-- Keyset pagination: newest first per tenant
+CREATE INDEX idx_audit_logs_company_created ON audit_logs(company_id, created_at DESC, id DESC);
+-- Key-ordered purge chunks
+CREATE INDEX idx_audit_logs_company_id ON audit_logs(company_id, id);
+-- Containment search over details (details @> '{"reason": "..."}')
+CREATE INDEX idx_audit_logs_details ON audit_logs USING GIN (details jsonb_path_ops);
 
 -- -----------------------------------------------------------------------------
 -- 8. CONSENT RECORDS (BIPA Compliance - Biometric consent tracking) [cite: 49]
@@ -171,3 +191,138 @@ CREATE TABLE consent_records (
 );
 
 CREATE INDEX idx_consent_employee ON consent_records(employee_id);
+
+-- -----------------------------------------------------------------------------
+-- 9. TENANT PURGE JOBS (Resumable background deletion of a company)
+-- -----------------------------------------------------------------------------
+CREATE TABLE tenant_purge_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    company_id UUID NOT NULL, -- No FK: the company row is deleted last
+    company_name VARCHAR(255),
+    status VARCHAR(20) NOT NULL, -- 'PENDING', 'RUNNING', 'COMPLETED', 'FAILED'
+    stage VARCHAR(50), -- Table currently being purged
+    rows_deleted BIGINT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_tenant_purge_company ON tenant_purge_jobs(company_id);
+
+-- -----------------------------------------------------------------------------
+-- 10. DAILY USAGE (Billable headcount rollup)
+-- -----------------------------------------------------------------------------
+-- Distinct employees clocking in per company and day. Incremented at ingestion
+-- through daily_usage_members (first clock-in of the day only) and rebuilt
+-- nightly for recent days from attendance_logs. Headcounts never go down, so
+-- an erased employee stays counted on the days already billed.
+CREATE TABLE daily_usage (
+    company_id UUID NOT NULL,
+    usage_date DATE NOT NULL,
+    headcount INTEGER NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (company_id, usage_date)
+);
+
+CREATE TABLE daily_usage_members (
+    company_id UUID NOT NULL,
+    usage_date DATE NOT NULL,
+    employee_id UUID NOT NULL,
+    PRIMARY KEY (company_id, usage_date, employee_id)
+);
+
+CREATE INDEX idx_daily_usage_members_employee ON daily_usage_members(employee_id);
+
+-- -----------------------------------------------------------------------------
+-- 11. BILLING RUNS & INVOICES (Platform billing snapshots)
+-- -----------------------------------------------------------------------------
+CREATE TABLE billing_runs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    status VARCHAR(20) NOT NULL, -- 'PENDING', 'RUNNING', 'COMPLETED', 'FAILED'
+    companies_total BIGINT NOT NULL DEFAULT 0,
+    companies_invoiced BIGINT NOT NULL DEFAULT 0,
+    companies_failed BIGINT NOT NULL DEFAULT 0,
+    total_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    currency VARCHAR(3) NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Plan, prices and company name are copied so issued invoices never change
+CREATE TABLE invoices (
+    id UUID PRIMARY KEY,
+    billing_run_id UUID NOT NULL,
+    company_id UUID NOT NULL,
+    company_name VARCHAR(255),
+    subscription_plan VARCHAR(20),
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    billable_days INTEGER NOT NULL,
+    total_headcount BIGINT NOT NULL, -- Person-days over the period
+    daily_base_fee NUMERIC(10, 2) NOT NULL,
+    included_headcount INTEGER NOT NULL,
+    per_head_fee NUMERIC(10, 2) NOT NULL,
+    base_amount NUMERIC(12, 2) NOT NULL,
+    usage_amount NUMERIC(12, 2) NOT NULL,
+    total_amount NUMERIC(12, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_invoices_run_company UNIQUE (billing_run_id, company_id)
+);
+
+CREATE INDEX idx_invoices_company_period ON invoices(company_id, period_start);
+
+-- -----------------------------------------------------------------------------
+-- 12. REPORT DATA VERSIONS (Report cache invalidation)
+-- -----------------------------------------------------------------------------
+-- Bumped after every committed change to logs, leaves, calendar entries, hours
+-- or employees of a company in that month. period_month = '1970-01-01' holds
+-- changes that affect every month.
+CREATE TABLE report_data_versions (
+    company_id UUID NOT NULL,
+    period_month DATE NOT NULL, -- First day of the month
+    version BIGINT NOT NULL,
+    PRIMARY KEY (company_id, period_month)
+);
+
+-- -----------------------------------------------------------------------------
+-- 13. REPORT JOBS (Background report generation)
+-- -----------------------------------------------------------------------------
+CREATE TABLE report_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    company_id UUID NOT NULL,
+    report_type VARCHAR(20) NOT NULL, -- 'COMPANY', 'EMPLOYEE', 'COST'
+    employee_id UUID,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL, -- 'QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'EXPIRED'
+    file_name VARCHAR(255),
+    file_size BIGINT,
+    download_token VARCHAR(64) NOT NULL,
+    error_message TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP WITH TIME ZONE,
+    owner VARCHAR(64), -- instance running the job
+    heartbeat_at TIMESTAMP WITH TIME ZONE, -- refreshed by the owner; a stale one marks an abandoned job
+    completed_at TIMESTAMP WITH TIME ZONE,
+    expires_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_report_jobs_company_created ON report_jobs(company_id, created_at);
+CREATE INDEX idx_report_jobs_status ON report_jobs(status);
+
+-- -----------------------------------------------------------------------------
+-- 14. ROSTER VERSIONS (Kiosk roster delta sync)
+-- -----------------------------------------------------------------------------
+-- Every employee write takes the next version and stamps it on the employee;
+-- deleting an employee moves full_sync_version so older kiosks resync fully.
+CREATE TABLE roster_versions (
+    company_id UUID PRIMARY KEY,
+    version BIGINT NOT NULL,
+    full_sync_version BIGINT NOT NULL
+);
@@ -0,0 +1,127 @@
+package com.chronosecure.backend.controller;
+
+import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import com.chronosecure.backend.repository.CompanyRepository;
+import com.chronosecure.backend.util.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The attendance log listing and the dashboard stats must not load each
+ * log's employee separately: their statement counts stay the same however
+ * many employees the day has.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AttendanceLogsQueryBudgetTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+    private static final int EMPLOYEES = 5;
+    private static final AttendanceEventType[] EVENTS = {
+            AttendanceEventType.CLOCK_IN, AttendanceEventType.BREAK_START,
+            AttendanceEventType.BREAK_END, AttendanceEventType.CLOCK_OUT};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID companyId;
+
+    @BeforeEach
+    void seed() {
+        // Committed up front: rows already in a test transaction would hide lazy loads.
+        // Employees and logs are inserted directly, past the PostgreSQL-only entity listeners
+        Company company = companyRepository.save(Company.builder()
+                .name("Budget Test")
+                .subdomain("budget-" + UUID.randomUUID().toString().substring(0, 8))
+                .timezone("UTC")
+                .build());
+        companyId = company.getId();
+
+        Instant start = DAY.atTime(8, 0).toInstant(ZoneOffset.UTC);
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            UUID employeeId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO employees (id, company_id, employee_code, first_name, last_name, is_active) "
+                    + "VALUES (?, ?, ?, ?, ?, TRUE)", employeeId, companyId, "E" + i, "Employee", String.valueOf(i));
+            for (int e = 0; e < EVENTS.length; e++) {
+                jdbcTemplate.update("INSERT INTO attendance_logs (id, company_id, employee_id, event_type, event_timestamp, "
+                        + "device_id, is_offline_sync) VALUES (?, ?, ?, ?, ?, 'kiosk-1', FALSE)",
+                        UUID.randomUUID(), companyId, employeeId, EVENTS[e].name(),
+                        Timestamp.from(start.plusSeconds(3 * 3600L * e + i)));
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM attendance_logs WHERE company_id = ?", companyId);
+        jdbcTemplate.update("DELETE FROM employees WHERE company_id = ?", companyId);
+        companyRepository.deleteById(companyId);
+    }
+
+    @Test
+    @WithMockUser(roles = "COMPANY_ADMIN")
+    void listsADayOfLogsWithinItsQueryBudget() throws Exception {
+        // Company time zone plus the logs with their employees; one more per employee would be an N+1
+        mockMvc.perform(get("/api/v1/attendance/logs")
+                        .header("X-Company-Id", companyId)
+                        .param("startDate", DAY.toString())
+                        .param("endDate", DAY.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EMPLOYEES * EVENTS.length))
+                .andExpect(QueryBudget.statementsAtMost(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "COMPANY_ADMIN")
+    void reportsTodaysStatsWithinItsQueryBudget() throws Exception {
+        // Today's logs, spread between midnight and now so they fall inside the stats' window
+        Instant midnight = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant();
+        long elapsed = Duration.between(midnight, Instant.now()).toMillis();
+        jdbcTemplate.query("SELECT id FROM employees WHERE company_id = ? ORDER BY employee_code",
+                (RowCallbackHandler) rs -> jdbcTemplate.update("INSERT INTO attendance_logs (id, company_id, "
+                        + "employee_id, event_type, event_timestamp, device_id, is_offline_sync) "
+                        + "VALUES (?, ?, ?, ?, ?, 'kiosk-1', FALSE)",
+                        UUID.randomUUID(), companyId, rs.getObject(1, UUID.class), AttendanceEventType.CLOCK_IN.name(),
+                        Timestamp.from(midnight.plusMillis(elapsed * rs.getRow() / (EMPLOYEES + 1)))),
+                companyId);
+        // Left during the day: not among the active employees the stats read first, so nothing
+        // has loaded them yet when the recent activity shows their names
+        jdbcTemplate.update("UPDATE employees SET is_active = FALSE WHERE company_id = ?", companyId);
+
+        // Employees, zone, today's logs with their employees, leave and pending requests
+        mockMvc.perform(get("/api/v1/attendance/today-stats")
+                        .header("X-Company-Id", companyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clockedIn").value(EMPLOYEES))
+                .andExpect(jsonPath("$.recentActivity.length()").value(5))
+                .andExpect(QueryBudget.statementsAtMost(5));
+    }
+}
@@ -0,0 +1,100 @@
+package com.chronosecure.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // 5 requests at once, then one per second
+    private static final RateLimiter.Limit LIMIT = RateLimiter.Limit.of(5, 60);
+
+    @Test
+    void limitIsOneIntervalPerTokenWithCapacityMinusOneOfTolerance() {
+        assertThat(LIMIT.interval()).isEqualTo(SECOND);
+        assertThat(LIMIT.tolerance()).isEqualTo(4 * SECOND);
+        assertThat(RateLimiter.Limit.of(1, 60).tolerance()).isZero();
+    }
+
+    @Test
+    void fullBucketAllowsABurstOfItsCapacity() {
+        long now = 1_000 * SECOND;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.acquire(now, LIMIT)).as("request %d", i + 1).isZero();
+        }
+        assertThat(bucket.acquire(now, LIMIT)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        long now = 1_000 * SECOND;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+        for (int i = 0; i < 5; i++) {
+            bucket.acquire(now, LIMIT);
+        }
+
+        assertThat(bucket.acquire(now + SECOND / 4, LIMIT)).isEqualTo(3 * SECOND / 4);
+        assertThat(bucket.acquire(now + SECOND, LIMIT)).isZero();
+        assertThat(bucket.acquire(now + SECOND, LIMIT)).isEqualTo(SECOND);
+        assertThat(bucket.acquire(now + 3 * SECOND, LIMIT)).isZero();
+        assertThat(bucket.acquire(now + 3 * SECOND, LIMIT)).isZero();
+        assertThat(bucket.acquire(now + 3 * SECOND, LIMIT)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void idleTimeDoesNotBankMoreThanTheCapacity() {
+        long now = 1_000 * SECOND;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+        bucket.acquire(now, LIMIT);
+
+        long later = now + 3_600 * SECOND;
+        assertThat(bucket.isFull(later)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.acquire(later, LIMIT)).isZero();
+        }
+        assertThat(bucket.acquire(later, LIMIT)).isPositive();
+    }
+
+    @Test
+    void isFullOnceEveryTakenTokenHasRefilled() {
+        long now = 1_000 * SECOND;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+        assertThat(bucket.isFull(now)).isTrue();
+
+        bucket.acquire(now, LIMIT);
+        bucket.acquire(now, LIMIT);
+        assertThat(bucket.isFull(now + SECOND)).isFalse();
+        assertThat(bucket.isFull(now + 2 * SECOND)).isTrue();
+    }
+
+    @Test
+    void refundGivesBackTheToken() {
+        long now = 1_000 * SECOND;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+        for (int i = 0; i < 5; i++) {
+            bucket.acquire(now, LIMIT);
+        }
+
+        bucket.refund(LIMIT);
+        assertThat(bucket.acquire(now, LIMIT)).isZero();
+        assertThat(bucket.acquire(now, LIMIT)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void worksAcrossNanoTimeOverflow() {
+        long now = Long.MAX_VALUE - SECOND / 2;
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(now);
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.acquire(now, LIMIT)).isZero();
+        }
+
+        assertThat(bucket.acquire(now, LIMIT)).isEqualTo(SECOND);
+        assertThat(bucket.acquire(now + SECOND, LIMIT)).isZero();
+    }
+}
@@ -0,0 +1,129 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.model.ReportJob;
+import com.chronosecure.backend.model.enums.ReportJobStatus;
+import com.chronosecure.backend.model.enums.ReportType;
+import com.chronosecure.backend.repository.ReportJobRepository;
+import com.chronosecure.backend.service.impl.ReportJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Several instances share the report job table: a job runs on one of them,
+ * and only jobs whose owner stopped heartbeating are taken over.
+ */
+@SpringBootTest(properties = "report.jobs.dir=target/test-report-jobs")
+@ActiveProfiles("h2")
+class ReportJobServiceTest {
+
+    @Autowired
+    private ReportJobServiceImpl reportJobService;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private ReportService reportService;
+
+    private final UUID companyId = UUID.randomUUID();
+
+    @BeforeEach
+    void stubReports() {
+        when(reportService.generateCompanyReport(eq(companyId), any(), any()))
+                .thenReturn(new ByteArrayResource("report".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void aQueuedJobIsClaimedOnce() {
+        ReportJob job = save(ReportJobStatus.QUEUED, null, null);
+
+        assertThat(claim(job, "instance-a")).isEqualTo(1);
+        assertThat(claim(job, "instance-b")).isZero();
+
+        ReportJob claimed = reportJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(ReportJobStatus.RUNNING);
+        assertThat(claimed.getOwner()).isEqualTo("instance-a");
+        assertThat(claimed.getHeartbeatAt()).isNotNull();
+    }
+
+    @Test
+    void onlyJobsWithAStaleHeartbeatAreTakenOver() throws InterruptedException {
+        ReportJob abandoned = save(ReportJobStatus.RUNNING, "crashed", Instant.now().minus(Duration.ofHours(1)));
+        ReportJob alive = save(ReportJobStatus.RUNNING, "busy", Instant.now());
+
+        reportJobService.resumeInterruptedJobs();
+
+        ReportJob finished = awaitFinished(abandoned.getId());
+        assertThat(finished.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+        assertThat(finished.getOwner()).isNotEqualTo("crashed");
+
+        ReportJob untouched = reportJobRepository.findById(alive.getId()).orElseThrow();
+        assertThat(untouched.getStatus()).isEqualTo(ReportJobStatus.RUNNING);
+        assertThat(untouched.getOwner()).isEqualTo("busy");
+        verify(reportService).generateCompanyReport(companyId, abandoned.getStartDate(), abandoned.getEndDate());
+    }
+
+    @Test
+    void aJobClaimedElsewhereIsNotRunHere() throws InterruptedException {
+        ReportJob job = save(ReportJobStatus.QUEUED, null, null);
+        claim(job, "other-instance");
+
+        reportJobService.resumeInterruptedJobs();
+        Thread.sleep(200);
+
+        assertThat(reportJobRepository.findById(job.getId()).orElseThrow().getOwner()).isEqualTo("other-instance");
+        verify(reportService, never()).generateCompanyReport(any(), any(), any());
+    }
+
+    private ReportJob save(ReportJobStatus status, String owner, Instant heartbeatAt) {
+        return reportJobRepository.save(ReportJob.builder()
+                .companyId(companyId)
+                .reportType(ReportType.COMPANY)
+                .startDate(LocalDate.of(2025, 1, 1))
+                .endDate(LocalDate.of(2025, 1, 31))
+                .status(status)
+                .owner(owner)
+                .heartbeatAt(heartbeatAt)
+                .startedAt(heartbeatAt)
+                .downloadToken(UUID.randomUUID().toString())
+                .build());
+    }
+
+    private int claim(ReportJob job, String owner) {
+        return transactionTemplate.execute(status -> reportJobRepository.claim(job.getId(), owner,
+                ReportJobStatus.QUEUED, ReportJobStatus.RUNNING));
+    }
+
+    private ReportJob awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        ReportJob job = reportJobRepository.findById(jobId).orElseThrow();
+        while ((job.getStatus() == ReportJobStatus.QUEUED || job.getStatus() == ReportJobStatus.RUNNING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            job = reportJobRepository.findById(jobId).orElseThrow();
+        }
+        return job;
+    }
+}
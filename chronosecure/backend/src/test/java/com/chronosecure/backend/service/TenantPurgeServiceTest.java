@@ -0,0 +1,178 @@
+package com.chronosecure.backend.service;
+
+import com.chronosecure.backend.model.Company;
+import com.chronosecure.backend.model.TenantPurgeJob;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import com.chronosecure.backend.model.enums.TenantPurgeStatus;
+import com.chronosecure.backend.repository.BulkDeleteJdbcRepository;
+import com.chronosecure.backend.repository.CompanyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A tenant purge removes the purged company's rows and nothing else, in
+ * particular not the audit trail of another company that mentions its users.
+ */
+@SpringBootTest(properties = "tenant.purge.chunk-size=2")
+@ActiveProfiles("h2")
+class TenantPurgeServiceTest {
+
+    private static final String[] COMPANY_TABLES = {
+            "users", "employees", "attendance_logs", "audit_logs", "daily_usage", "roster_versions"};
+
+    @Autowired
+    private TenantPurgeService tenantPurgeService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID purgedId;
+    private UUID keptId;
+    private UUID purgedUserId;
+    private UUID crossTenantEntryId;
+
+    /**
+     * The chunk SQL is PostgreSQL-only (DELETE in a CTE, ctid); this runs the
+     * same predicates, chunk by chunk and in id order, in portable SQL.
+     */
+    @TestConfiguration
+    static class PortableBulkDelete {
+
+        @Bean
+        @Primary
+        BulkDeleteJdbcRepository portableBulkDeleteJdbcRepository(JdbcTemplate jdbcTemplate) {
+            return new BulkDeleteJdbcRepository(jdbcTemplate) {
+                @Override
+                public Chunk deleteChunk(String table, String where, UUID afterId, int limit, Object... args) {
+                    List<Object> params = new ArrayList<>(Arrays.asList(args));
+                    String keyset = "";
+                    if (afterId != null) {
+                        keyset = " AND id > ?";
+                        params.add(afterId);
+                    }
+                    List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE (" + where + ")"
+                            + keyset + " ORDER BY id LIMIT " + limit, UUID.class, params.toArray());
+                    for (UUID id : ids) {
+                        jdbcTemplate.update("DELETE FROM " + table + " WHERE id = ?", id);
+                    }
+                    return new Chunk(ids.size(), ids.isEmpty() ? null : ids.get(ids.size() - 1));
+                }
+
+                @Override
+                public int deleteUnorderedChunk(String table, String where, int limit, Object... args) {
+                    return jdbcTemplate.update("DELETE FROM " + table + " WHERE " + where
+                            + " FETCH FIRST " + limit + " ROWS ONLY", args);
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        // Same foreign key as schema.sql; Hibernate's own has no ON DELETE action
+        List<String> keys = jdbcTemplate.queryForList("SELECT constraint_name FROM information_schema.table_constraints "
+                + "WHERE table_name = 'audit_logs' AND constraint_type = 'FOREIGN KEY'", String.class);
+        for (String key : keys) {
+            jdbcTemplate.execute("ALTER TABLE audit_logs DROP CONSTRAINT " + key);
+        }
+        jdbcTemplate.execute("ALTER TABLE audit_logs ADD CONSTRAINT fk_audit_logs_user "
+                + "FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE SET NULL");
+
+        purgedId = seedCompany("Purged");
+        keptId = seedCompany("Kept");
+        purgedUserId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE company_id = ? ORDER BY email LIMIT 1",
+                UUID.class, purgedId);
+
+        // The purged tenant's user acting on the kept tenant, e.g. a shared consultant
+        crossTenantEntryId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO audit_logs (id, user_id, company_id, action, resource_type, created_at) "
+                + "VALUES (?, ?, ?, 'EMPLOYEE_UPDATED', 'EMPLOYEE', ?)",
+                crossTenantEntryId, purgedUserId, keptId, Timestamp.from(Instant.now()));
+    }
+
+    @Test
+    void purgeRemovesOnlyThePurgedTenant() throws InterruptedException {
+        long[] keptBefore = countRows(keptId);
+
+        TenantPurgeJob job = awaitFinished(tenantPurgeService.startPurge(purgedId).getId());
+
+        assertThat(job.getStatus()).isEqualTo(TenantPurgeStatus.COMPLETED);
+        assertThat(companyRepository.existsById(purgedId)).isFalse();
+        assertThat(countRows(purgedId)).containsOnly(0L);
+
+        assertThat(companyRepository.existsById(keptId)).isTrue();
+        assertThat(countRows(keptId)).containsExactly(keptBefore);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs WHERE id = ? AND user_id IS NULL",
+                Long.class, crossTenantEntryId)).isEqualTo(1L);
+    }
+
+    private UUID seedCompany(String name) {
+        UUID companyId = companyRepository.save(Company.builder()
+                .name(name)
+                .subdomain(name.toLowerCase() + "-" + UUID.randomUUID().toString().substring(0, 8))
+                .timezone("UTC")
+                .build()).getId();
+
+        // More rows than a chunk, so every keyed stage takes several chunks
+        for (int i = 1; i <= 5; i++) {
+            UUID userId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO users (id, company_id, email, password_hash, role, is_active) "
+                    + "VALUES (?, ?, ?, 'x', 'EMPLOYEE', TRUE)", userId, companyId, userId + "@example.com");
+            jdbcTemplate.update("INSERT INTO audit_logs (id, user_id, company_id, action, resource_type, created_at) "
+                    + "VALUES (?, ?, ?, 'LOGIN', 'USER', ?)", UUID.randomUUID(), userId, companyId,
+                    Timestamp.from(Instant.now()));
+
+            UUID employeeId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO employees (id, company_id, employee_code, first_name, last_name, is_active) "
+                    + "VALUES (?, ?, ?, 'Employee', ?, TRUE)", employeeId, companyId, "E" + i, String.valueOf(i));
+            jdbcTemplate.update("INSERT INTO attendance_logs (id, company_id, employee_id, event_type, event_timestamp, "
+                    + "device_id, is_offline_sync) VALUES (?, ?, ?, ?, ?, 'kiosk-1', FALSE)",
+                    UUID.randomUUID(), companyId, employeeId, AttendanceEventType.CLOCK_IN.name(),
+                    Timestamp.from(Instant.now().minus(Duration.ofHours(i))));
+            jdbcTemplate.update("INSERT INTO daily_usage (company_id, usage_date, headcount, updated_at) VALUES (?, ?, 1, ?)",
+                    companyId, LocalDate.now().minusDays(i), Timestamp.from(Instant.now()));
+        }
+        jdbcTemplate.update("INSERT INTO roster_versions (company_id, version, full_sync_version) VALUES (?, 1, 1)",
+                companyId);
+        return companyId;
+    }
+
+    private long[] countRows(UUID companyId) {
+        return Arrays.stream(COMPANY_TABLES)
+                .mapToLong(table -> jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM " + table + " WHERE company_id = ?", Long.class, companyId))
+                .toArray();
+    }
+
+    private TenantPurgeJob awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        TenantPurgeJob job = tenantPurgeService.getPurgeJob(jobId);
+        while (job.getStatus() != TenantPurgeStatus.COMPLETED && job.getStatus() != TenantPurgeStatus.FAILED
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            job = tenantPurgeService.getPurgeJob(jobId);
+        }
+        return job;
+    }
+}
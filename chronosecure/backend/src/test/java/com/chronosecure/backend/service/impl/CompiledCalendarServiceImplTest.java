@@ -0,0 +1,68 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.model.PublicHoliday;
+import com.chronosecure.backend.repository.CompanyCalendarRepository;
+import com.chronosecure.backend.repository.PublicHolidayRepository;
+import com.chronosecure.backend.util.CompiledCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompiledCalendarServiceImplTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final LocalDate NEW_YEAR = LocalDate.of(2025, 1, 1);
+
+    private final CompanyCalendarRepository calendarRepository = mock(CompanyCalendarRepository.class);
+    private final PublicHolidayRepository publicHolidayRepository = mock(PublicHolidayRepository.class);
+    private CompiledCalendarServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(calendarRepository.findByCompanyIdAndDateBetween(eq(COMPANY_ID), any(), any())).thenReturn(List.of());
+        when(publicHolidayRepository.findByCompanyIdAndHolidayDateBetween(eq(COMPANY_ID), any(), any()))
+                .thenReturn(List.of());
+
+        service = new CompiledCalendarServiceImpl(calendarRepository, publicHolidayRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "ttlSeconds", 3600L);
+        service.registerMetrics();
+    }
+
+    @Test
+    void freshCalendarIsReused() {
+        assertThat(service.calendarFor(COMPANY_ID)).isSameAs(service.calendarFor(COMPANY_ID));
+    }
+
+    @Test
+    void expiredCalendarSeesAHolidayAddedElsewhere() {
+        ReflectionTestUtils.setField(service, "ttlSeconds", 0L);
+        assertThat(service.calendarFor(COMPANY_ID).isHoliday(NEW_YEAR)).isFalse();
+
+        // Added through another instance: this one never evicts
+        PublicHoliday holiday = PublicHoliday.builder().holidayDate(NEW_YEAR).holidayName("New Year's Day").build();
+        when(publicHolidayRepository.findByCompanyIdAndHolidayDateBetween(eq(COMPANY_ID), any(), any()))
+                .thenReturn(List.of(holiday));
+
+        assertThat(service.calendarFor(COMPANY_ID).isHoliday(NEW_YEAR)).isTrue();
+    }
+
+    @Test
+    void evictedCalendarIsCompiledAgain() {
+        CompiledCalendar before = service.calendarFor(COMPANY_ID);
+
+        service.evict(COMPANY_ID);
+
+        assertThat(service.calendarFor(COMPANY_ID)).isNotSameAs(before);
+    }
+}
@@ -0,0 +1,122 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.model.AttendanceLog;
+import com.chronosecure.backend.model.Employee;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import com.chronosecure.backend.repository.AttendanceLogRepository;
+import com.chronosecure.backend.service.LastEventService.LastEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LastEventServiceImplTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final Instant MORNING = Instant.parse("2025-03-03T08:00:00Z");
+
+    private final AttendanceLogRepository repository = mock(AttendanceLogRepository.class);
+    private final Employee employee = Employee.builder().id(UUID.randomUUID()).companyId(COMPANY_ID).build();
+    private LastEventServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LastEventServiceImpl(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "maxEntries", 1000);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 3600L);
+        service.registerMetrics();
+    }
+
+    @Test
+    void servesAFreshEntryWithoutReadingTheLogs() {
+        stored(AttendanceEventType.CLOCK_IN, MORNING);
+
+        assertThat(service.lastEvent(employee.getId())).map(LastEvent::eventType).contains(AttendanceEventType.CLOCK_IN);
+        assertThat(service.lastEvent(employee.getId())).map(LastEvent::eventType).contains(AttendanceEventType.CLOCK_IN);
+
+        verify(repository, times(1)).findFirstByEmployeeIdAndEventTimestampIsNotNullOrderByEventTimestampDesc(employee.getId());
+    }
+
+    @Test
+    void expiredEntrySeesAWriteOfAnotherInstance() {
+        ReflectionTestUtils.setField(service, "ttlSeconds", 0L);
+        stored(AttendanceEventType.CLOCK_IN, MORNING);
+        assertThat(service.lastEvent(employee.getId())).map(LastEvent::eventType).contains(AttendanceEventType.CLOCK_IN);
+
+        // Logged through another instance: this one never sees record()
+        stored(AttendanceEventType.BREAK_START, MORNING.plusSeconds(7200));
+
+        assertThat(service.lastEvent(employee.getId())).map(LastEvent::eventType).contains(AttendanceEventType.BREAK_START);
+    }
+
+    @Test
+    void expiredEntryForgetsEventsErasedElsewhere() {
+        ReflectionTestUtils.setField(service, "ttlSeconds", 0L);
+        stored(AttendanceEventType.CLOCK_IN, MORNING);
+        service.lastEvent(employee.getId());
+
+        when(repository.findFirstByEmployeeIdAndEventTimestampIsNotNullOrderByEventTimestampDesc(employee.getId()))
+                .thenReturn(Optional.empty());
+
+        assertThat(service.lastEvent(employee.getId())).isEmpty();
+    }
+
+    @Test
+    void recordedEventsUpdateAFreshEntryNewestWins() {
+        stored(AttendanceEventType.CLOCK_IN, MORNING);
+        service.lastEvent(employee.getId());
+
+        service.record(List.of(log(AttendanceEventType.BREAK_START, MORNING.plusSeconds(3600))));
+        // An offline replay of an earlier scan
+        service.record(List.of(log(AttendanceEventType.CLOCK_OUT, MORNING.minusSeconds(86_400))));
+
+        assertThat(service.lastEvent(employee.getId())).map(LastEvent::eventType).contains(AttendanceEventType.BREAK_START);
+        verify(repository, times(1)).findFirstByEmployeeIdAndEventTimestampIsNotNullOrderByEventTimestampDesc(employee.getId());
+    }
+
+    @Test
+    void recordedEventWithoutAnEntryIsReadFromTheLogs() {
+        stored(AttendanceEventType.BREAK_END, MORNING.plusSeconds(7200));
+
+        // Older than what the logs hold; caching it would answer with the wrong next event
+        service.record(List.of(log(AttendanceEventType.CLOCK_IN, MORNING)));
+
+        assertThat(service.lastEvent(employee.getId())).map(LastEvent::eventType).contains(AttendanceEventType.BREAK_END);
+    }
+
+    @Test
+    void evictingTheEmployeeReadsTheLogsAgain() {
+        stored(AttendanceEventType.CLOCK_IN, MORNING);
+        service.lastEvent(employee.getId());
+
+        service.evictEmployee(employee.getId());
+        service.lastEvent(employee.getId());
+
+        verify(repository, times(2)).findFirstByEmployeeIdAndEventTimestampIsNotNullOrderByEventTimestampDesc(employee.getId());
+    }
+
+    private void stored(AttendanceEventType type, Instant timestamp) {
+        when(repository.findFirstByEmployeeIdAndEventTimestampIsNotNullOrderByEventTimestampDesc(employee.getId()))
+                .thenReturn(Optional.of(log(type, timestamp)));
+    }
+
+    private AttendanceLog log(AttendanceEventType type, Instant timestamp) {
+        return AttendanceLog.builder()
+                .companyId(COMPANY_ID)
+                .employee(employee)
+                .eventType(type)
+                .eventTimestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.repository.ReportDataVersionJdbcRepository;
+import com.chronosecure.backend.service.TimeZoneService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportCacheServiceImplTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    private final ReportDataVersionJdbcRepository versions = mock(ReportDataVersionJdbcRepository.class);
+    private final TimeZoneService timeZoneService = mock(TimeZoneService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger builds = new AtomicInteger();
+    private ReportCacheServiceImpl service;
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void setUp() {
+        when(timeZoneService.zoneFor(COMPANY_ID)).thenReturn(ZoneId.of("Pacific/Auckland"));
+        when(versions.findVersions(eq(COMPANY_ID), any(), any())).thenReturn(Map.of(START, 1L));
+
+        service = new ReportCacheServiceImpl(versions, timeZoneService, mock(PlatformTransactionManager.class),
+                meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "cacheDir", cacheDir.toString());
+        ReflectionTestUtils.setField(service, "maxSizeMb", 1L);
+        service.loadIndex();
+    }
+
+    @Test
+    void unchangedDataIsServedFromTheCache() throws IOException {
+        assertThat(read(request(this::build))).isEqualTo("build 1");
+        assertThat(read(request(this::build))).isEqualTo("build 1");
+
+        assertThat(builds).hasValue(1);
+        assertThat(lookups("hit")).isEqualTo(1.0);
+        assertThat(lookups("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void newDataVersionRebuildsTheReport() throws IOException {
+        read(request(this::build));
+
+        // e.g. the nightly usage rebuild raised a headcount of the month
+        when(versions.findVersions(eq(COMPANY_ID), any(), any())).thenReturn(Map.of(START, 2L));
+
+        assertThat(read(request(this::build))).isEqualTo("build 2");
+        assertThat(lookups("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void rangeReachingTodayIsDatedInTheCompanyZone() throws IOException {
+        LocalDate today = LocalDate.now(ZoneId.of("Pacific/Auckland"));
+        read(service.getOrGenerate("attendance", COMPANY_ID, null, today.withDayOfMonth(1), today, null, this::build));
+
+        verify(timeZoneService).zoneFor(COMPANY_ID);
+    }
+
+    @Test
+    void joiningAConcurrentBuildIsCountedAsShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Resource> slowBuild = () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return build();
+        };
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> readUnchecked(request(slowBuild)));
+        awaitLookups("miss", 1.0);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> readUnchecked(request(this::build)));
+        awaitLookups("shared", 1.0);
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("build 1");
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("build 1");
+        assertThat(builds).hasValue(1);
+        assertThat(lookups("hit")).isZero();
+        assertThat(lookups("miss")).isEqualTo(1.0);
+    }
+
+    private Resource request(Supplier<Resource> generator) {
+        return service.getOrGenerate("attendance", COMPANY_ID, null, START, END, null, generator);
+    }
+
+    private Resource build() {
+        return new ByteArrayResource(("build " + builds.incrementAndGet()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("chronosecure.cache.requests", "cache", "report", "result", result).count();
+    }
+
+    private void awaitLookups(String result, double count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (lookups(result) < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String readUnchecked(Resource resource) {
+        try {
+            return read(resource);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
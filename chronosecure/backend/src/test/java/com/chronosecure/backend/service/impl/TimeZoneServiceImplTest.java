@@ -0,0 +1,69 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.repository.TimeZoneJdbcRepository;
+import com.chronosecure.backend.repository.TimeZoneJdbcRepository.LocationZone;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimeZoneServiceImplTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final UUID LOCATION_ID = UUID.randomUUID();
+
+    private final TimeZoneJdbcRepository repository = mock(TimeZoneJdbcRepository.class);
+    private TimeZoneServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findCompanyTimezone(COMPANY_ID)).thenReturn("Europe/Berlin");
+        when(repository.findLocationTimezone(LOCATION_ID)).thenReturn(Optional.of(new LocationZone(COMPANY_ID, null)));
+
+        service = new TimeZoneServiceImpl(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "defaultTimezone", "UTC");
+        ReflectionTestUtils.setField(service, "ttlSeconds", 3600L);
+        service.resolveDefaultZone();
+    }
+
+    @Test
+    void freshZoneIsServedWithoutReadingTheCompany() {
+        assertThat(service.zoneFor(COMPANY_ID)).isEqualTo(ZoneId.of("Europe/Berlin"));
+        assertThat(service.zoneFor(COMPANY_ID)).isEqualTo(ZoneId.of("Europe/Berlin"));
+
+        verify(repository, times(1)).findCompanyTimezone(COMPANY_ID);
+    }
+
+    @Test
+    void expiredZoneSeesAChangeMadeElsewhere() {
+        ReflectionTestUtils.setField(service, "ttlSeconds", 0L);
+        assertThat(service.zoneFor(COMPANY_ID)).isEqualTo(ZoneId.of("Europe/Berlin"));
+        assertThat(service.zoneForLocation(LOCATION_ID)).isEqualTo(ZoneId.of("Europe/Berlin"));
+
+        // Changed through another instance: this one never evicts
+        when(repository.findCompanyTimezone(COMPANY_ID)).thenReturn("America/Chicago");
+
+        assertThat(service.zoneFor(COMPANY_ID)).isEqualTo(ZoneId.of("America/Chicago"));
+        assertThat(service.zoneForLocation(LOCATION_ID)).isEqualTo(ZoneId.of("America/Chicago"));
+    }
+
+    @Test
+    void evictingTheCompanyReadsItsZoneAgain() {
+        service.zoneFor(COMPANY_ID);
+        when(repository.findCompanyTimezone(COMPANY_ID)).thenReturn("Asia/Tokyo");
+
+        service.evictCompany(COMPANY_ID);
+
+        assertThat(service.zoneFor(COMPANY_ID)).isEqualTo(ZoneId.of("Asia/Tokyo"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.chronosecure.backend.util;
+
+import com.chronosecure.backend.model.CompanyCalendar;
+import com.chronosecure.backend.model.enums.CalendarDayType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledCalendarTest {
+
+    private static CompiledCalendar defaults() {
+        return new CompiledCalendar(year -> CompiledCalendar.Year.compile(year, List.of(), Map.of()));
+    }
+
+    @Test
+    void yearStartingOnASundayHasJanuaryFirstAsWeekend() {
+        CompiledCalendar calendar = defaults();
+
+        assertThat(LocalDate.of(2023, 1, 1).getDayOfWeek()).isEqualTo(DayOfWeek.SUNDAY);
+        assertThat(calendar.isWeekend(LocalDate.of(2023, 1, 1))).isTrue();
+        assertThat(calendar.isWeekend(LocalDate.of(2023, 1, 2))).isFalse();
+        assertThat(calendar.isWeekend(LocalDate.of(2023, 1, 7))).isTrue();
+        assertThat(calendar.isWeekend(LocalDate.of(2023, 12, 31))).isTrue();
+    }
+
+    @Test
+    void leapYearStartingOnASaturdayEndsOnAWeekend() {
+        CompiledCalendar calendar = defaults();
+
+        assertThat(calendar.isWeekend(LocalDate.of(2028, 1, 1))).isTrue();
+        assertThat(calendar.isWeekend(LocalDate.of(2028, 1, 2))).isTrue();
+        assertThat(calendar.isWeekend(LocalDate.of(2028, 12, 30))).isTrue();
+        assertThat(calendar.isWeekend(LocalDate.of(2028, 12, 31))).isTrue();
+    }
+
+    @Test
+    void weekendBitsMatchTheDayOfWeekForEveryStartingDay() {
+        CompiledCalendar calendar = defaults();
+
+        // 2017 to 2030 starts on every day of the week, in leap and common years
+        for (LocalDate date = LocalDate.of(2017, 1, 1); date.getYear() <= 2030; date = date.plusDays(1)) {
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            assertThat(calendar.isWeekend(date)).as("%s (%s)", date, date.getDayOfWeek()).isEqualTo(weekend);
+        }
+    }
+
+    @Test
+    void overridesReplaceTheDefaultRulesForTheirDay() {
+        CompanyCalendar workedSunday = CompanyCalendar.builder()
+                .date(LocalDate.of(2023, 1, 1)).type(CalendarDayType.WORKING_DAY).payMultiplier(1.5).build();
+        CompanyCalendar holiday = CompanyCalendar.builder()
+                .date(LocalDate.of(2023, 1, 2)).type(CalendarDayType.HOLIDAY).description("Bank holiday").build();
+        CompiledCalendar calendar = new CompiledCalendar(year -> CompiledCalendar.Year.compile(year,
+                List.of(workedSunday, holiday), Map.of(LocalDate.of(2023, 1, 3), "Poya Day")));
+
+        assertThat(calendar.dayType(LocalDate.of(2023, 1, 1))).isEqualTo(CalendarDayType.WORKING_DAY);
+        assertThat(calendar.payMultiplier(LocalDate.of(2023, 1, 1))).isEqualTo(1.5);
+        assertThat(calendar.dayType(LocalDate.of(2023, 1, 2))).isEqualTo(CalendarDayType.HOLIDAY);
+        assertThat(calendar.description(LocalDate.of(2023, 1, 2))).isEqualTo("Bank holiday");
+        assertThat(calendar.dayType(LocalDate.of(2023, 1, 3))).isEqualTo(CalendarDayType.HOLIDAY);
+        assertThat(calendar.description(LocalDate.of(2023, 1, 3))).isEqualTo("Poya Day");
+        assertThat(calendar.payMultiplier(LocalDate.of(2023, 1, 3))).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.chronosecure.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DayBoundariesTest {
+
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    @Test
+    void springForwardDayIs23Hours() {
+        DayBoundaries days = DayBoundaries.of(LONDON);
+        LocalDate date = LocalDate.of(2025, 3, 30);
+
+        assertThat(days.startOf(date)).isEqualTo(Instant.parse("2025-03-30T00:00:00Z"));
+        assertThat(days.endOf(date)).isEqualTo(Instant.parse("2025-03-30T23:00:00Z"));
+        assertThat(Duration.between(days.startOf(date), days.endOf(date))).isEqualTo(Duration.ofHours(23));
+    }
+
+    @Test
+    void fallBackDayIs25Hours() {
+        DayBoundaries days = DayBoundaries.of(LONDON);
+        LocalDate date = LocalDate.of(2025, 10, 26);
+
+        assertThat(days.startOf(date)).isEqualTo(Instant.parse("2025-10-25T23:00:00Z"));
+        assertThat(days.endOf(date)).isEqualTo(Instant.parse("2025-10-27T00:00:00Z"));
+        assertThat(Duration.between(days.startOf(date), days.endOf(date))).isEqualTo(Duration.ofHours(25));
+    }
+
+    @Test
+    void dayWithoutMidnightStartsAtTheFirstValidTime() {
+        // Brazil moved its clocks from 00:00 to 01:00 on 2018-11-04
+        DayBoundaries days = DayBoundaries.of(ZoneId.of("America/Sao_Paulo"));
+
+        assertThat(days.startOf(LocalDate.of(2018, 11, 4))).isEqualTo(Instant.parse("2018-11-04T03:00:00Z"));
+        assertThat(days.dateOf(Instant.parse("2018-11-04T02:59:59Z"))).isEqualTo(LocalDate.of(2018, 11, 3));
+    }
+
+    @Test
+    void dateOfAroundMidnightOfAHalfHourZone() {
+        DayBoundaries days = DayBoundaries.of(ZoneId.of("Asia/Colombo"));
+
+        assertThat(days.dateOf(Instant.parse("2025-01-01T18:29:59Z"))).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(days.dateOf(Instant.parse("2025-01-01T18:30:00Z"))).isEqualTo(LocalDate.of(2025, 1, 2));
+    }
+
+    @Test
+    void dateOfAcrossTheYearEnd() {
+        // UTC date one ahead of the local date, and one behind
+        assertThat(DayBoundaries.of(ZoneId.of("America/New_York")).dateOf(Instant.parse("2025-01-01T04:59:59Z")))
+                .isEqualTo(LocalDate.of(2024, 12, 31));
+        assertThat(DayBoundaries.of(ZoneId.of("Pacific/Kiritimati")).dateOf(Instant.parse("2024-12-31T10:00:00Z")))
+                .isEqualTo(LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void dateOfIgnoresFractionsOfASecond() {
+        DayBoundaries days = DayBoundaries.of(ZoneOffset.UTC);
+
+        assertThat(days.dateOf(Instant.parse("2025-06-01T23:59:59.999Z"))).isEqualTo(LocalDate.of(2025, 6, 1));
+        assertThat(days.dateOf(Instant.parse("2025-06-02T00:00:00Z"))).isEqualTo(LocalDate.of(2025, 6, 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTC", "-03:00", "+05:45", "Europe/London", "America/New_York", "Australia/Lord_Howe",
+            "Pacific/Chatham"})
+    void everyDayOfALeapYearMatchesZoneRules(String zoneId) {
+        ZoneId zone = ZoneId.of(zoneId);
+        DayBoundaries days = DayBoundaries.of(zone);
+
+        for (LocalDate date = LocalDate.of(2024, 1, 1); date.getYear() == 2024; date = date.plusDays(1)) {
+            Instant start = date.atStartOfDay(zone).toInstant();
+            assertThat(days.startOf(date)).as("start of %s", date).isEqualTo(start);
+            assertThat(days.dateOf(start)).as("first second of %s", date).isEqualTo(date);
+            assertThat(days.dateOf(start.minusSeconds(1))).as("second before %s", date).isEqualTo(date.minusDays(1));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.chronosecure.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ICalendarReaderTest {
+
+    private static final ZoneId COLOMBO = ZoneId.of("Asia/Colombo");
+
+    @Test
+    void unfoldsContinuationLines() throws IOException {
+        List<ICalendarReader.Event> events = read(COLOMBO,
+                "BEGIN:VEVENT",
+                "UID:folded-1",
+                "SUMMARY:Sinhala and Tamil ",
+                " New Year\\, day o",
+                "\tne",
+                "DTSTART;VALUE=DATE:20250414",
+                "END:VEVENT");
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.uid()).isEqualTo("folded-1");
+            assertThat(event.summary()).isEqualTo("Sinhala and Tamil New Year, day one");
+        });
+    }
+
+    @Test
+    void allDayEndIsExclusive() throws IOException {
+        List<ICalendarReader.Event> events = read(COLOMBO,
+                "BEGIN:VEVENT",
+                "DTSTART;VALUE=DATE:20251224",
+                "DTEND;VALUE=DATE:20251226",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "DTSTART;VALUE=DATE:20251231",
+                "END:VEVENT");
+
+        assertThat(events).extracting(ICalendarReader.Event::startDate, ICalendarReader.Event::endDate)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 12, 24), LocalDate.of(2025, 12, 26)),
+                        tuple(LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 1)));
+    }
+
+    @Test
+    void tzidTimestampsKeepTheirWrittenDate() throws IOException {
+        // 23:00 in New York is already the next day in Colombo; the written date wins
+        List<ICalendarReader.Event> events = read(COLOMBO,
+                "BEGIN:VEVENT",
+                "DTSTART;TZID=\"America/New_York\":20250704T230000",
+                "DTEND;TZID=\"America/New_York\":20250704T235900",
+                "END:VEVENT");
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.startDate()).isEqualTo(LocalDate.of(2025, 7, 4));
+            assertThat(event.endDate()).isEqualTo(LocalDate.of(2025, 7, 5));
+        });
+    }
+
+    @Test
+    void utcTimestampsAreDatedInTheGivenZone() throws IOException {
+        String[] lines = {
+                "BEGIN:VEVENT",
+                "DTSTART:20250101T200000Z",
+                "DTEND:20250101T210000Z",
+                "END:VEVENT"};
+
+        assertThat(read(ZoneOffset.UTC, lines)).singleElement()
+                .extracting(ICalendarReader.Event::startDate).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(read(COLOMBO, lines)).singleElement().satisfies(event -> {
+            assertThat(event.startDate()).isEqualTo(LocalDate.of(2025, 1, 2));
+            assertThat(event.endDate()).isEqualTo(LocalDate.of(2025, 1, 3));
+        });
+    }
+
+    @Test
+    void timedEventEndingAtMidnightDoesNotCoverTheNextDay() throws IOException {
+        List<ICalendarReader.Event> events = read(COLOMBO,
+                "BEGIN:VEVENT",
+                "DTSTART:20250501T090000",
+                "DTEND:20250502T000000",
+                "END:VEVENT");
+
+        assertThat(events).singleElement()
+                .extracting(ICalendarReader.Event::endDate).isEqualTo(LocalDate.of(2025, 5, 2));
+    }
+
+    @Test
+    void ignoresNestedComponentsAndReadsStatusAndRecurrence() throws IOException {
+        List<ICalendarReader.Event> events = read(COLOMBO,
+                "BEGIN:VEVENT",
+                "DTSTART;VALUE=DATE:20250101",
+                "RRULE:FREQ=YEARLY",
+                "STATUS:CANCELLED",
+                "BEGIN:VALARM",
+                "SUMMARY:Reminder",
+                "DTSTART;VALUE=DATE:20241231",
+                "END:VALARM",
+                "SUMMARY:New Year",
+                "END:VEVENT");
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.summary()).isEqualTo("New Year");
+            assertThat(event.startDate()).isEqualTo(LocalDate.of(2025, 1, 1));
+            assertThat(event.recurring()).isTrue();
+            assertThat(event.isCancelled()).isTrue();
+        });
+    }
+
+    @Test
+    void rejectsMalformedDatesWithTheirLine() {
+        assertThatThrownBy(() -> read(COLOMBO,
+                "BEGIN:VEVENT",
+                "DTSTART;VALUE=DATE:2025-01-01",
+                "END:VEVENT"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 4");
+    }
+
+    @Test
+    void rejectsContentWithoutACalendar() {
+        ByteArrayInputStream in = new ByteArrayInputStream("name,date\r\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ICalendarReader.read(in, COLOMBO, event -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Wraps the lines in a VCALENDAR with CRLF line endings, as feeds are served
+    private static List<ICalendarReader.Event> read(ZoneId zone, String... lines) throws IOException {
+        String content = "BEGIN:VCALENDAR\r\nVERSION:2.0\r\n" + String.join("\r\n", lines) + "\r\nEND:VCALENDAR\r\n";
+        List<ICalendarReader.Event> events = new ArrayList<>();
+        ICalendarReader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), zone, events::add);
+        return events;
+    }
+}
@@ -0,0 +1,94 @@
+package com.chronosecure.backend.util;
+
+import com.chronosecure.backend.security.RequestCostFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Query budgets for tests, so an N+1 fails the build instead of production.
+ * <p>
+ * Around a service call:
+ * <pre>{@code
+ * List<AttendanceLog> logs = QueryBudget.atMost(3, () -> attendanceService.getAttendanceLogs(companyId, from, to));
+ * }</pre>
+ * Against an endpoint, with MockMvc and its filters ({@code @AutoConfigureMockMvc}):
+ * <pre>{@code
+ * mockMvc.perform(get("/api/v1/attendance/logs")).andExpect(QueryBudget.statementsAtMost(3));
+ * }</pre>
+ * Only statements run on the calling thread are counted, see {@link RequestCost}.
+ */
+public final class QueryBudget {
+
+    private static final Pattern DB_STATEMENTS = Pattern.compile("db;dur=[0-9.]+;desc=\"(\\d+) statements\"");
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Run {@code work} and fail if it executed more than {@code maxStatements} statements.
+     */
+    public static <T> T atMost(int maxStatements, Supplier<T> work) {
+        RequestCost cost = RequestCost.start();
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            cost.finish();
+        }
+        check(maxStatements, cost.snapshot());
+        return result;
+    }
+
+    public static void atMost(int maxStatements, Runnable work) {
+        atMost(maxStatements, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run {@code work} and return what it cost.
+     */
+    public static RequestCost.Snapshot measure(Runnable work) {
+        RequestCost cost = RequestCost.start();
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            cost.finish();
+            throw e;
+        }
+        return cost.finish();
+    }
+
+    /**
+     * MockMvc matcher on the Server-Timing header of the response.
+     */
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(RequestCostFilter.SERVER_TIMING_HEADER);
+            if (header == null) {
+                throw new AssertionError("No " + RequestCostFilter.SERVER_TIMING_HEADER
+                        + " header; is request-cost enabled and MockMvc built with filters?");
+            }
+            Matcher matcher = DB_STATEMENTS.matcher(header);
+            if (!matcher.find()) {
+                throw new AssertionError("No statement count in " + header);
+            }
+            int statements = Integer.parseInt(matcher.group(1));
+            if (statements > maxStatements) {
+                throw new AssertionError("Query budget exceeded: " + statements + " statements, budget "
+                        + maxStatements + " (" + header + ")");
+            }
+        };
+    }
+
+    private static void check(int maxStatements, RequestCost.Snapshot snapshot) {
+        if (snapshot.statements() > maxStatements) {
+            throw new AssertionError("Query budget exceeded: " + snapshot.statements() + " statements ("
+                    + snapshot.hibernateStatements() + " from Hibernate), budget " + maxStatements);
+        }
+    }
+}
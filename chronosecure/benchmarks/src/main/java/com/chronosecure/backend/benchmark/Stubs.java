@@ -0,0 +1,53 @@
+package com.chronosecure.backend.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for repositories and services: a proxy that answers
+ * the named methods and fails on any other, so a benchmark notices when the
+ * code under test starts calling something new.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * @param answers method name to result, given the call's arguments
+     */
+    public static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Stub of " + type.getSimpleName();
+                default:
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName()
+                                + " is not stubbed");
+                    }
+                    return answer.apply(args);
+            }
+        }));
+    }
+
+    /**
+     * Set a field Spring would inject with @Value.
+     */
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
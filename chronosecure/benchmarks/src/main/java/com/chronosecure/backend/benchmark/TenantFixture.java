@@ -0,0 +1,125 @@
+package com.chronosecure.backend.benchmark;
+
+import com.chronosecure.backend.model.AttendanceLog;
+import com.chronosecure.backend.model.CalculatedHours;
+import com.chronosecure.backend.model.Employee;
+import com.chronosecure.backend.model.TimeOffRequest;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import com.chronosecure.backend.model.enums.TimeOffStatus;
+import com.chronosecure.backend.util.CompiledCalendar;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * One tenant's month: employees, their clock events (in, break, back, out on
+ * every working day), the hours calculated from them, and approved leave for
+ * a few employees. Generated from a fixed seed, so every run measures the
+ * same data.
+ */
+public final class TenantFixture {
+
+    public static final LocalDate START = LocalDate.of(2024, 3, 1);
+    public static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    // Share of employees with two days of approved leave in the month
+    private static final double LEAVE_SHARE = 0.05;
+
+    public final UUID companyId = new UUID(0L, 1L);
+    public final List<Employee> employees = new ArrayList<>();
+    public final List<AttendanceLog> logs = new ArrayList<>();
+    public final List<CalculatedHours> hours = new ArrayList<>();
+    public final List<TimeOffRequest> leaves = new ArrayList<>();
+
+    public TenantFixture(int employeeCount) {
+        Random random = new Random(42);
+        for (int i = 0; i < employeeCount; i++) {
+            Employee employee = Employee.builder()
+                    .id(new UUID(1L, i))
+                    .companyId(companyId)
+                    .employeeCode(String.format("E%05d", i))
+                    .firstName("First" + (i % 500))
+                    .lastName("Last" + i)
+                    .build();
+            employees.add(employee);
+
+            LocalDate leaveStart = random.nextDouble() < LEAVE_SHARE ? START.plusDays(random.nextInt(27)) : null;
+            if (leaveStart != null) {
+                leaves.add(TimeOffRequest.builder()
+                        .id(UUID.randomUUID())
+                        .companyId(companyId)
+                        .employee(employee)
+                        .employeeId(employee.getId())
+                        .startDate(leaveStart)
+                        .endDate(leaveStart.plusDays(1))
+                        .status(TimeOffStatus.APPROVED)
+                        .build());
+            }
+
+            for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+                boolean onLeave = leaveStart != null && !date.isBefore(leaveStart) && !date.isAfter(leaveStart.plusDays(1));
+                if (isWeekend(date) || onLeave) {
+                    continue;
+                }
+                List<AttendanceLog> day = workDay(employee, date, random);
+                logs.addAll(day);
+                hours.add(CalculatedHours.builder()
+                        .id(UUID.randomUUID())
+                        .companyId(companyId)
+                        .employee(employee)
+                        .workDate(date)
+                        .totalHoursWorked(Duration.between(day.get(0).getEventTimestamp(), day.get(3).getEventTimestamp())
+                                .minus(Duration.between(day.get(1).getEventTimestamp(), day.get(2).getEventTimestamp())))
+                        .build());
+            }
+        }
+        // As the company-wide repository query returns them
+        logs.sort(Comparator.comparing(AttendanceLog::getEventTimestamp).reversed());
+    }
+
+    /**
+     * Clock in around 09:00, a 30-60 minute break around noon, clock out around 17:30.
+     */
+    public static List<AttendanceLog> workDay(Employee employee, LocalDate date, Random random) {
+        Instant midnight = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant in = midnight.plus(Duration.ofMinutes(8 * 60 + 30 + random.nextInt(60)));
+        Instant breakStart = midnight.plus(Duration.ofMinutes(12 * 60 + random.nextInt(30)));
+        Instant breakEnd = breakStart.plus(Duration.ofMinutes(30 + random.nextInt(30)));
+        Instant out = midnight.plus(Duration.ofMinutes(17 * 60 + random.nextInt(60)));
+        return List.of(
+                event(employee, AttendanceEventType.CLOCK_IN, in),
+                event(employee, AttendanceEventType.BREAK_START, breakStart),
+                event(employee, AttendanceEventType.BREAK_END, breakEnd),
+                event(employee, AttendanceEventType.CLOCK_OUT, out));
+    }
+
+    public static AttendanceLog event(Employee employee, AttendanceEventType type, Instant at) {
+        return AttendanceLog.builder()
+                .id(UUID.randomUUID())
+                .companyId(employee.getCompanyId())
+                .employee(employee)
+                .eventType(type)
+                .eventTimestamp(at)
+                .build();
+    }
+
+    /**
+     * Default rules only: Saturday and Sunday off, no public holidays.
+     */
+    public static CompiledCalendar calendar() {
+        return new CompiledCalendar(year -> CompiledCalendar.Year.compile(year, List.of(), Map.of()));
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,55 @@
+package com.chronosecure.backend.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template comparison of a fingerprint verification, for a SHA-256 hex hash
+ * (64 characters) and a larger template, against a near match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BiometricSimilarityBenchmark {
+
+    @Param({"64", "1024"})
+    private int templateLength;
+
+    private String stored;
+    private String scanned;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        byte[] template = new byte[templateLength / 2];
+        random.nextBytes(template);
+        stored = HexFormat.of().formatHex(template);
+        // Same finger, a few characters read differently
+        char[] scan = stored.toCharArray();
+        for (int i = 0; i < scan.length; i += 16) {
+            scan[i] = scan[i] == '0' ? '1' : '0';
+        }
+        scanned = new String(scan);
+    }
+
+    @Benchmark
+    public double calculateSimilarity() {
+        return BiometricServiceImpl.calculateSimilarity(stored, scanned);
+    }
+}
@@ -0,0 +1,50 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.benchmark.Stubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encryption and decryption of a fingerprint template, as done on every
+ * enrollment and verification.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncryptionBenchmark {
+
+    private static final String TEMPLATE = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private EncryptionServiceImpl encryptionService;
+    private String encrypted;
+
+    @Setup
+    public void setUp() {
+        encryptionService = new EncryptionServiceImpl();
+        Stubs.setField(encryptionService, "encryptionPassword", "benchmark-encryption-password");
+        encrypted = encryptionService.encrypt(TEMPLATE);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionService.encrypt(TEMPLATE);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionService.decrypt(encrypted);
+    }
+}
@@ -0,0 +1,149 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.benchmark.Stubs;
+import com.chronosecure.backend.benchmark.TenantFixture;
+import com.chronosecure.backend.config.BackgroundExecutors;
+import com.chronosecure.backend.model.AttendanceLog;
+import com.chronosecure.backend.model.CalculatedHours;
+import com.chronosecure.backend.model.Employee;
+import com.chronosecure.backend.model.TimeOffRequest;
+import com.chronosecure.backend.model.enums.AttendanceEventType;
+import com.chronosecure.backend.model.enums.TimeOffStatus;
+import com.chronosecure.backend.repository.AttendanceLogRepository;
+import com.chronosecure.backend.repository.CalculatedHoursRepository;
+import com.chronosecure.backend.repository.EmployeeRepository;
+import com.chronosecure.backend.repository.TimeOffRequestRepository;
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.CompiledCalendar;
+import com.chronosecure.backend.util.DayBoundaries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hours calculation of one employee day: the session reconstruction on its
+ * own (a regular day and a day of short split shifts), and the whole
+ * calculation against in-memory repositories, where the time-off table size
+ * matters because every call filters all of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HoursCalculationBenchmark {
+
+    private static final LocalDate DAY = TenantFixture.START;
+
+    // Time-off rows in the table (all tenants); the calculation reads them all
+    @Param({"100", "10000"})
+    private int timeOffRows;
+
+    private List<AttendanceLog> regularDay;
+    private List<AttendanceLog> splitShifts;
+    private HoursCalculationServiceImpl hoursService;
+    private UUID companyId;
+    private UUID employeeId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Employee employee = Employee.builder()
+                .id(new UUID(1L, 1L))
+                .companyId(new UUID(0L, 1L))
+                .employeeCode("E00001")
+                .firstName("First")
+                .lastName("Last")
+                .build();
+        companyId = employee.getCompanyId();
+        employeeId = employee.getId();
+
+        regularDay = TenantFixture.workDay(employee, DAY, random);
+        splitShifts = new ArrayList<>();
+        Instant at = DAY.atStartOfDay(ZoneOffset.UTC).toInstant().plus(Duration.ofHours(6));
+        for (int shift = 0; shift < 10; shift++) {
+            splitShifts.add(TenantFixture.event(employee, AttendanceEventType.CLOCK_IN, at));
+            splitShifts.add(TenantFixture.event(employee, AttendanceEventType.BREAK_START, at.plusSeconds(1800)));
+            splitShifts.add(TenantFixture.event(employee, AttendanceEventType.BREAK_END, at.plusSeconds(2100)));
+            splitShifts.add(TenantFixture.event(employee, AttendanceEventType.CLOCK_OUT, at.plusSeconds(3600)));
+            at = at.plusSeconds(4200);
+        }
+
+        List<TimeOffRequest> timeOffs = new ArrayList<>(timeOffRows);
+        for (int i = 0; i < timeOffRows; i++) {
+            LocalDate start = DAY.plusDays(random.nextInt(365));
+            timeOffs.add(TimeOffRequest.builder()
+                    .id(UUID.randomUUID())
+                    .employeeId(new UUID(2L, random.nextInt(5000)))
+                    .startDate(start)
+                    .endDate(start.plusDays(random.nextInt(5)))
+                    .status(TimeOffStatus.APPROVED)
+                    .build());
+        }
+        CompiledCalendar calendar = TenantFixture.calendar();
+
+        hoursService = new HoursCalculationServiceImpl(
+                Stubs.of(AttendanceLogRepository.class, Map.of(
+                        "findByEmployeeIdAndEventTimestampBetweenOrderByEventTimestampAsc", args -> regularDay)),
+                Stubs.of(CalculatedHoursRepository.class, Map.of(
+                        "findByCompanyIdAndWorkDateBetweenOrderByWorkDateAsc", args -> List.<CalculatedHours>of(),
+                        "save", args -> args[0])),
+                Stubs.of(CompiledCalendarService.class, Map.of(
+                        "calendarFor", args -> calendar)),
+                Stubs.of(EmployeeRepository.class, Map.of(
+                        "findById", args -> Optional.of(employee))),
+                Stubs.of(TimeOffRequestRepository.class, Map.of(
+                        "findAll", args -> timeOffs)),
+                null,
+                Stubs.of(TimeZoneService.class, Map.of(
+                        "daysFor", args -> DayBoundaries.of(ZoneOffset.UTC))),
+                new BackgroundExecutors(),
+                new SimpleMeterRegistry());
+        hoursService.startRecalculation();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hoursService.shutdownRecalculation();
+    }
+
+    @Benchmark
+    public Duration reconstructRegularDay() {
+        return HoursCalculationServiceImpl.netWorked(regularDay);
+    }
+
+    @Benchmark
+    public Duration reconstructSplitShifts() {
+        return HoursCalculationServiceImpl.netWorked(splitShifts);
+    }
+
+    @Benchmark
+    public CalculatedHours calculateHoursForDate() {
+        return hoursService.calculateHoursForDate(companyId, employeeId, DAY);
+    }
+}
@@ -0,0 +1,98 @@
+package com.chronosecure.backend.service.impl;
+
+import com.chronosecure.backend.benchmark.Stubs;
+import com.chronosecure.backend.benchmark.TenantFixture;
+import com.chronosecure.backend.repository.AttendanceLogRepository;
+import com.chronosecure.backend.repository.CalculatedHoursRepository;
+import com.chronosecure.backend.repository.EmployeeRepository;
+import com.chronosecure.backend.repository.TimeOffRequestRepository;
+import com.chronosecure.backend.service.CompiledCalendarService;
+import com.chronosecure.backend.service.ReportCacheService;
+import com.chronosecure.backend.service.TimeZoneService;
+import com.chronosecure.backend.util.CompiledCalendar;
+import com.chronosecure.backend.util.DayBoundaries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Company report and employee bundle workbooks for a month, from in-memory
+ * repositories, with the report cache bypassed. Each operation is one full
+ * report, so runs are single shots; 10k employees needs a large heap.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+@State(Scope.Benchmark)
+public class ReportServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int employees;
+
+    private TenantFixture tenant;
+    private ReportServiceImpl reportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tenant = new TenantFixture(employees);
+        CompiledCalendar calendar = TenantFixture.calendar();
+
+        reportService = new ReportServiceImpl(
+                Stubs.of(CalculatedHoursRepository.class, Map.of(
+                        "findByCompanyIdAndWorkDateBetweenOrderByWorkDateAsc", args -> tenant.hours)),
+                Stubs.of(EmployeeRepository.class, Map.of(
+                        // The service sorts the list it gets
+                        "findByCompanyId", args -> new ArrayList<>(tenant.employees))),
+                Stubs.of(TimeOffRequestRepository.class, Map.of(
+                        "findByCompanyIdOrderByCreatedAtDesc", args -> tenant.leaves)),
+                Stubs.of(AttendanceLogRepository.class, Map.of(
+                        "findByCompanyIdAndEventTimestampBetweenOrderByEventTimestampDesc", args -> tenant.logs)),
+                null, null, null,
+                Stubs.of(ReportCacheService.class, Map.of(
+                        "getOrGenerate", args -> ((Supplier<?>) args[6]).get())),
+                Stubs.of(TimeZoneService.class, Map.of(
+                        "daysFor", args -> DayBoundaries.of(ZoneOffset.UTC))),
+                Stubs.of(CompiledCalendarService.class, Map.of(
+                        "calendarFor", args -> calendar)),
+                new SimpleMeterRegistry());
+        reportService.startComputePool();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reportService.shutdownComputePool();
+    }
+
+    @Benchmark
+    public Resource companyReport() {
+        return reportService.generateCompanyReport(tenant.companyId, TenantFixture.START, TenantFixture.END);
+    }
+
+    @Benchmark
+    public void employeeBundle() throws IOException {
+        reportService.generateEmployeeReportBundle(tenant.companyId, TenantFixture.START, TenantFixture.END)
+                .writeTo(OutputStream.nullOutputStream());
+    }
+}
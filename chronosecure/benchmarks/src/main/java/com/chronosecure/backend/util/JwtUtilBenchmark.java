@@ -0,0 +1,57 @@
+package com.chronosecure.backend.util;
+
+import com.chronosecure.backend.benchmark.Stubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT parsing: one claim extraction, and the calls JwtAuthenticationFilter
+ * makes for every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String EMAIL = "admin@example.com";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        Stubs.setField(jwtUtil, "secret", "benchmark-secret-key-of-at-least-thirty-two-characters");
+        Stubs.setField(jwtUtil, "expiration", TimeUnit.DAYS.toMillis(1));
+        token = jwtUtil.generateToken(new UUID(0L, 7L), EMAIL, new UUID(0L, 1L), "ADMIN");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public void authenticationFilterPath(Blackhole blackhole) {
+        String email = jwtUtil.extractUsername(token);
+        blackhole.consume(jwtUtil.extractRole(token));
+        blackhole.consume(jwtUtil.extractUserId(token));
+        blackhole.consume(jwtUtil.extractCompanyId(token));
+        blackhole.consume(jwtUtil.validateToken(token, email));
+    }
+}
@@ -0,0 +1,263 @@
+package com.chronosecure.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays kiosk scans, dashboard polling and report downloads against a
+ * running backend at fixed arrival rates, then prints latency percentiles.
+ * <p>
+ * Arrivals follow an open model: each scenario starts a request every 1/rate
+ * seconds on its own virtual thread whether or not earlier ones finished,
+ * so a slow backend builds a backlog instead of slowing the harness down.
+ * Tenants and employees come from the manifest of the synthetic data generator.
+ */
+public final class LoadHarness {
+
+    private final Options options;
+    private final Manifest manifest;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<UUID, String> tokens = new HashMap<>();
+
+    private LoadHarness(Options options, Manifest manifest) {
+        this.options = options;
+        this.manifest = manifest;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.println(Options.USAGE);
+            return;
+        }
+
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Manifest manifest = Manifest.read(options.manifest());
+        System.out.printf("%d companies, %d employees from %s%n",
+                manifest.companies().size(), manifest.employeeCount(), options.manifest());
+
+        LoadHarness harness = new LoadHarness(options, manifest);
+        if (options.dashboardRate() > 0 || options.reportRate() > 0) {
+            harness.login();
+        }
+        harness.run();
+    }
+
+    /**
+     * One token per company admin, taken before the load starts.
+     */
+    private void login() throws IOException, InterruptedException {
+        for (Manifest.Company company : manifest.companies()) {
+            String body = objectMapper.writeValueAsString(
+                    Map.of("email", company.adminEmail(), "password", options.password()));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                    .timeout(options.timeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login of " + company.adminEmail() + " failed with HTTP "
+                        + response.statusCode());
+            }
+            JsonNode json = objectMapper.readTree(response.body());
+            tokens.put(company.id(), json.get("token").asText());
+        }
+    }
+
+    private void run() throws InterruptedException {
+        List<Scenario> scenarios = new ArrayList<>();
+        if (options.kioskRate() > 0) {
+            scenarios.add(new Scenario(new ScenarioStats("kiosk-scan", options.kioskRate()), this::kioskScan));
+        }
+        if (options.dashboardRate() > 0) {
+            scenarios.add(new Scenario(new ScenarioStats("dashboard", options.dashboardRate()), this::dashboardPoll));
+        }
+        if (options.reportRate() > 0) {
+            scenarios.add(new Scenario(new ScenarioStats("report", options.reportRate()), this::reportDownload));
+        }
+        if (scenarios.isEmpty()) {
+            System.err.println("Every scenario has a rate of 0, nothing to do");
+            return;
+        }
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        System.out.printf("Warming up for %ds, then measuring for %ds against %s%n",
+                options.warmup().toSeconds(), options.duration().toSeconds(), options.baseUrl());
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> schedulers = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                schedulers.add(Thread.ofPlatform().name("schedule-" + scenario.stats().name())
+                        .start(() -> schedule(scenario, start, measureFrom, end, requests)));
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+            // Closing the executor waits for the requests still in flight
+        }
+
+        double seconds = options.duration().toNanos() / 1e9;
+        System.out.println();
+        System.out.println(ScenarioStats.Result.HEADER);
+        for (Scenario scenario : scenarios) {
+            System.out.println(scenario.stats().result(seconds).row());
+        }
+    }
+
+    /**
+     * Start request i at start + i / rate, catching up at once when behind.
+     * Requests intended before measureFrom are sent but not recorded.
+     */
+    private void schedule(Scenario scenario, long start, long measureFrom, long end, ExecutorService requests) {
+        double intervalNanos = 1e9 / scenario.stats().rate();
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            requests.execute(() -> {
+                int status = send(scenario.request());
+                if (intended >= measureFrom) {
+                    scenario.stats().record(System.nanoTime() - intended, status);
+                }
+            });
+        }
+    }
+
+    private static int send(Request request) {
+        try {
+            return request.send();
+        } catch (IOException e) {
+            return ScenarioStats.NO_RESPONSE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ScenarioStats.NO_RESPONSE;
+        }
+    }
+
+    /**
+     * A kiosk scan: the expected next event of a random employee, then that
+     * event logged from one of the company's kiosks.
+     */
+    private int kioskScan() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Manifest.Company company = randomCompany(random);
+        UUID employeeId = company.employeeIds().get(random.nextInt(company.employeeIds().size()));
+        String deviceId = "loadtest-" + company.id().toString().substring(0, 8) + "-"
+                + (1 + random.nextInt(options.kiosksPerCompany()));
+
+        HttpResponse<String> next = client.send(HttpRequest.newBuilder(
+                        uri("/api/v1/attendance/next-state/" + company.id() + "/" + employeeId))
+                .timeout(options.timeout())
+                .header("X-Device-Id", deviceId)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (next.statusCode() != 200) {
+            return next.statusCode();
+        }
+
+        String body = objectMapper.writeValueAsString(Map.of(
+                "companyId", company.id(),
+                "employeeId", employeeId,
+                "eventType", objectMapper.readValue(next.body(), String.class),
+                "deviceId", deviceId,
+                "confidenceScore", 0.85 + random.nextDouble() * 0.14));
+        return client.send(HttpRequest.newBuilder(uri("/api/v1/attendance/log"))
+                .timeout(options.timeout())
+                .header("Content-Type", "application/json")
+                .header("X-Device-Id", deviceId)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * The admin dashboard's periodic refresh of today's figures.
+     */
+    private int dashboardPoll() throws IOException, InterruptedException {
+        Manifest.Company company = randomCompany(ThreadLocalRandom.current());
+        return client.send(authorized(company, "/api/v1/attendance/today-stats").GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * A company report workbook for one month among the last report-months,
+     * read to the end.
+     */
+    private int reportDownload() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Manifest.Company company = randomCompany(random);
+        YearMonth month = YearMonth.now(ZoneId.of(company.timezone())).minusMonths(random.nextInt(options.reportMonths()));
+        LocalDate yesterday = LocalDate.now(ZoneId.of(company.timezone())).minusDays(1);
+        LocalDate endDate = month.atEndOfMonth().isAfter(yesterday) ? yesterday : month.atEndOfMonth();
+        String path = String.format(Locale.ROOT, "/api/v1/reports/company?startDate=%s&endDate=%s",
+                month.atDay(1), endDate);
+        return client.send(authorized(company, path).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder authorized(Manifest.Company company, String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(options.timeout())
+                .header("Authorization", "Bearer " + tokens.get(company.id()))
+                .header("X-Company-Id", company.id().toString());
+    }
+
+    private Manifest.Company randomCompany(ThreadLocalRandom random) {
+        return manifest.companies().get(random.nextInt(manifest.companies().size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.baseUrl() + path);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        /**
+         * @return the HTTP status of the last response
+         */
+        int send() throws IOException, InterruptedException;
+    }
+
+    private record Scenario(ScenarioStats stats, Request request) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.chronosecure.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Companies and employees written by the backend's synthetic data generator
+ * (profile synthetic-data), read from its CSV manifest.
+ */
+record Manifest(List<Company> companies) {
+
+    record Company(UUID id, String timezone, String adminEmail, List<UUID> employeeIds) {
+    }
+
+    static Manifest read(Path path) throws IOException {
+        Map<UUID, Company> companies = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                // company_id,timezone,admin_email,employee_id,employee_code
+                String[] fields = line.split(",", -1);
+                UUID companyId = UUID.fromString(fields[0]);
+                companies.computeIfAbsent(companyId, id -> new Company(id, fields[1], fields[2], new ArrayList<>()))
+                        .employeeIds().add(UUID.fromString(fields[3]));
+            }
+        }
+        if (companies.isEmpty()) {
+            throw new IllegalArgumentException("No companies in manifest " + path);
+        }
+        return new Manifest(List.copyOf(companies.values()));
+    }
+
+    int employeeCount() {
+        return companies.stream().mapToInt(c -> c.employeeIds().size()).sum();
+    }
+}
@@ -0,0 +1,75 @@
+package com.chronosecure.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value.
+ */
+record Options(
+        URI baseUrl,
+        Path manifest,
+        String password,
+        Duration warmup,
+        Duration duration,
+        double kioskRate,
+        double dashboardRate,
+        double reportRate,
+        int reportMonths,
+        int kiosksPerCompany,
+        Duration timeout) {
+
+    static final String USAGE = """
+            Usage: java -jar loadtest.jar [--option=value ...]
+              --base-url=http://localhost:8080       backend to load
+              --manifest=./synthetic-manifest.csv    written by the synthetic-data profile
+              --password=synthetic123                password of the company admins
+              --warmup=10                            seconds of load before measuring
+              --duration=60                          seconds measured
+              --kiosk-rate=20                        kiosk scans per second (next-state + log)
+              --dashboard-rate=5                     dashboard polls per second (today-stats)
+              --report-rate=0.2                      company report downloads per second
+              --report-months=12                     reports pick a month among the last N
+              --kiosks-per-company=3                 distinct X-Device-Id values per company
+              --timeout=30                           request timeout in seconds
+            A rate of 0 disables the scenario.""";
+
+    static Options parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("base-url", "http://localhost:8080");
+        values.put("manifest", "./synthetic-manifest.csv");
+        values.put("password", "synthetic123");
+        values.put("warmup", "10");
+        values.put("duration", "60");
+        values.put("kiosk-rate", "20");
+        values.put("dashboard-rate", "5");
+        values.put("report-rate", "0.2");
+        values.put("report-months", "12");
+        values.put("kiosks-per-company", "3");
+        values.put("timeout", "30");
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !values.containsKey(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return new Options(
+                URI.create(values.get("base-url").replaceAll("/+$", "")),
+                Path.of(values.get("manifest")),
+                values.get("password"),
+                Duration.ofSeconds(Long.parseLong(values.get("warmup"))),
+                Duration.ofSeconds(Long.parseLong(values.get("duration"))),
+                Double.parseDouble(values.get("kiosk-rate")),
+                Double.parseDouble(values.get("dashboard-rate")),
+                Double.parseDouble(values.get("report-rate")),
+                Integer.parseInt(values.get("report-months")),
+                Integer.parseInt(values.get("kiosks-per-company")),
+                Duration.ofSeconds(Long.parseLong(values.get("timeout"))));
+    }
+}
@@ -0,0 +1,84 @@
+package com.chronosecure.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one scenario. Latency runs from the intended
+ * start of a request, not from when it was sent, so a backend that stalls
+ * is charged for the requests queued behind the stall.
+ */
+final class ScenarioStats {
+
+    // Outcome of a request that got no response (timeout, connection refused)
+    static final int NO_RESPONSE = -1;
+
+    private final String name;
+    private final double rate;
+    private final Recorder recorder = new Recorder(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    ScenarioStats(String name, double rate) {
+        this.name = name;
+        this.rate = rate;
+    }
+
+    String name() {
+        return name;
+    }
+
+    double rate() {
+        return rate;
+    }
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    Result result(double seconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long ok = 0;
+        long tooManyRequests = 0;
+        long unavailable = 0;
+        long failed = 0;
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            int status = entry.getKey();
+            long count = entry.getValue().sum();
+            if (status >= 200 && status < 300) {
+                ok += count;
+            } else if (status == 429) {
+                tooManyRequests += count;
+            } else if (status == 503) {
+                unavailable += count;
+            } else {
+                failed += count;
+            }
+        }
+        return new Result(name, rate, histogram.getTotalCount() / seconds, ok, tooManyRequests, unavailable, failed,
+                histogram);
+    }
+
+    record Result(String name, double rate, double throughput, long ok, long tooManyRequests, long unavailable,
+            long failed, Histogram latencies) {
+
+        static final String HEADER = String.format("%-14s %8s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s",
+                "scenario", "rate/s", "done/s", "ok", "429", "503", "failed",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        String row() {
+            return String.format("%-14s %8.2f %9.2f %9d %7d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    name, rate, throughput, ok, tooManyRequests, unavailable, failed,
+                    millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / 1000.0);
+        }
+
+        private double millis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}